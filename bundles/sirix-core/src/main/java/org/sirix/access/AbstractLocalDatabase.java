@@ -21,6 +21,7 @@ import org.sirix.api.ResourceManager;
 import org.sirix.api.Transaction;
 import org.sirix.api.TransactionManager;
 import org.sirix.cache.BufferManager;
+import org.sirix.cache.BufferPool;
 import org.sirix.exception.SirixIOException;
 import org.sirix.io.bytepipe.Encryptor;
 import org.sirix.utils.SirixFiles;
@@ -47,6 +48,9 @@ public abstract class AbstractLocalDatabase<T extends ResourceManager<? extends
   /** Buffers / page cache for each resource. */
   protected final ConcurrentMap<Path, BufferManager> mBufferManagers;
 
+  /** Memory budget shared by the buffers of all resources. */
+  protected final BufferPool mBufferPool;
+
   /** Central repository of all resource-ID/resource-name tuples. */
   protected final BiMap<Long, String> mResources;
 
@@ -62,6 +66,9 @@ public abstract class AbstractLocalDatabase<T extends ResourceManager<? extends
     mDBConfig = checkNotNull(dbConfig);
     mResources = Maps.synchronizedBiMap(HashBiMap.create());
     mBufferManagers = new ConcurrentHashMap<>();
+    mBufferPool = dbConfig.isUsingGlobalBuffer()
+        ? BufferPool.global(dbConfig.getMaxBufferSize())
+        : new BufferPool(dbConfig.getMaxBufferSize());
     mTransactionManager = new TransactionManagerImpl();
   }
 
@@ -160,7 +167,10 @@ public abstract class AbstractLocalDatabase<T extends ResourceManager<? extends
 
       // mReadSemaphores.remove(resourceFile);
       // mWriteSemaphores.remove(resourceFile);
-      mBufferManagers.remove(resourceFile);
+      final BufferManager bufferManager = mBufferManagers.remove(resourceFile);
+      if (bufferManager != null) {
+        bufferManager.clearAllCaches();
+      }
     }
 
     return this;
@@ -125,6 +125,9 @@ public final class DatabaseConfiguration {
   /** Maximum of open resource write transactions. */
   public static final int MAX_RESOURCE_WTX = 1;
 
+  /** Standard maximum estimated size of the buffered pages: 256 MiB, but at most a quarter of the heap. */
+  public static final long MAX_BUFFER_SIZE = Math.min(1L << 28, Runtime.getRuntime().maxMemory() / 4);
+
   /** Binary version of storage. */
   private final String mBinaryVersion;
 
@@ -140,6 +143,12 @@ public final class DatabaseConfiguration {
   /** The database type. */
   private DatabaseType mDatabaseType;
 
+  /** Maximum estimated size in bytes of the pages buffered for all resources of the database. */
+  private long mMaxBufferSize;
+
+  /** Determines if the buffered pages share one budget with all other databases using the global buffer. */
+  private boolean mUseGlobalBuffer;
+
   /**
    * Constructor with the path to be set.
    *
@@ -151,6 +160,7 @@ public final class DatabaseConfiguration {
     // For temporal axis (for instance we can have a reading trx in principle on every possible
     // revision) -- all-time axis.
     mMaxResourceReadTrx = Integer.MAX_VALUE;
+    mMaxBufferSize = MAX_BUFFER_SIZE;
   }
 
   /**
@@ -165,6 +175,53 @@ public final class DatabaseConfiguration {
     return this;
   }
 
+  /**
+   * Set the maximum estimated size in bytes of the pages, which are buffered for all resources of the
+   * database.
+   *
+   * @param maxBufferSize the maximum size in bytes
+   * @return this {@link DatabaseConfiguration} instance
+   */
+  public DatabaseConfiguration setMaxBufferSize(final long maxBufferSize) {
+    checkArgument(maxBufferSize > 0, "maxBufferSize must be > 0!");
+    mMaxBufferSize = maxBufferSize;
+    return this;
+  }
+
+  /**
+   * Get the maximum estimated size in bytes of the pages, which are buffered for all resources of the
+   * database.
+   *
+   * @return the maximum size in bytes
+   */
+  public long getMaxBufferSize() {
+    return mMaxBufferSize;
+  }
+
+  /**
+   * Determines if the buffered pages should share one budget with all other databases using the
+   * global buffer. The size of the global buffer is determined by the first database opened with this
+   * setting.
+   *
+   * @param useGlobalBuffer {@code true}, if the global buffer should be used, {@code false} if the
+   *        database gets its own buffer (the default)
+   * @return this {@link DatabaseConfiguration} instance
+   */
+  public DatabaseConfiguration setUseGlobalBuffer(final boolean useGlobalBuffer) {
+    mUseGlobalBuffer = useGlobalBuffer;
+    return this;
+  }
+
+  /**
+   * Determines if the buffered pages share one budget with all other databases using the global
+   * buffer.
+   *
+   * @return {@code true}, if the global buffer is used, {@code false} otherwise
+   */
+  public boolean isUsingGlobalBuffer() {
+    return mUseGlobalBuffer;
+  }
+
   /**
    * Set the database type.
    *
@@ -267,6 +324,8 @@ public final class DatabaseConfiguration {
       jsonWriter.name("ID").value(config.mMaxResourceID);
       jsonWriter.name("max-resource-read-trx").value(config.mMaxResourceReadTrx);
       jsonWriter.name("databaseType").value(config.mDatabaseType.toString());
+      jsonWriter.name("max-buffer-size").value(config.mMaxBufferSize);
+      jsonWriter.name("global-buffer").value(config.mUseGlobalBuffer);
       jsonWriter.endObject();
     } catch (final IOException e) {
       throw new SirixIOException(e);
@@ -298,12 +357,25 @@ public final class DatabaseConfiguration {
       final String databaseType = jsonReader.nextName();
       assert databaseType.equals("databaseType");
       final String type = jsonReader.nextString();
+      // Buffer settings (not available in configurations of older databases).
+      long maxBufferSize = MAX_BUFFER_SIZE;
+      boolean useGlobalBuffer = false;
+      if (jsonReader.hasNext()) {
+        final String maxBufferSizeName = jsonReader.nextName();
+        assert maxBufferSizeName.equals("max-buffer-size");
+        maxBufferSize = jsonReader.nextLong();
+        final String globalBufferName = jsonReader.nextName();
+        assert globalBufferName.equals("global-buffer");
+        useGlobalBuffer = jsonReader.nextBoolean();
+      }
       jsonReader.endObject();
       final DatabaseType dbType =
           DatabaseType.fromString(type).orElseThrow(() -> new IllegalStateException("Type can not be unknown."));
       return new DatabaseConfiguration(dbFile).setMaximumResourceID(ID)
                                               .setMaxResourceReadTrx(maxResourceRtx)
-                                              .setDatabaseType(dbType);
+                                              .setDatabaseType(dbType)
+                                              .setMaxBufferSize(maxBufferSize)
+                                              .setUseGlobalBuffer(useGlobalBuffer);
     } catch (final IOException e) {
       throw new SirixIOException(e);
     }
@@ -10,6 +10,7 @@ import org.sirix.api.Database;
 import org.sirix.api.NodeReadOnlyTrx;
 import org.sirix.api.NodeTrx;
 import org.sirix.api.ResourceManager;
+import org.sirix.node.NodeHash;
 import org.sirix.node.SirixDeweyID;
 import org.sirix.node.delegates.NodeDelegate;
 import org.sirix.node.delegates.StructNodeDelegate;
@@ -30,7 +31,7 @@ public enum DatabaseType {
     @Override
     public Node getDocumentNode(SirixDeweyID id) {
       final NodeDelegate nodeDel = new NodeDelegate(Fixed.DOCUMENT_NODE_KEY.getStandardProperty(),
-          Fixed.NULL_NODE_KEY.getStandardProperty(), null, null, 0, id);
+          Fixed.NULL_NODE_KEY.getStandardProperty(), null, NodeHash.ZERO, 0, id);
       final StructNodeDelegate structDel = new StructNodeDelegate(nodeDel, Fixed.NULL_NODE_KEY.getStandardProperty(),
           Fixed.NULL_NODE_KEY.getStandardProperty(), Fixed.NULL_NODE_KEY.getStandardProperty(), 0, 0);
 
@@ -49,7 +50,7 @@ public enum DatabaseType {
     @Override
     public Node getDocumentNode(SirixDeweyID id) {
       final NodeDelegate nodeDel = new NodeDelegate(Fixed.DOCUMENT_NODE_KEY.getStandardProperty(),
-          Fixed.NULL_NODE_KEY.getStandardProperty(), null, null, 0, null);
+          Fixed.NULL_NODE_KEY.getStandardProperty(), null, NodeHash.ZERO, 0, null);
       final StructNodeDelegate structDel = new StructNodeDelegate(nodeDel, Fixed.NULL_NODE_KEY.getStandardProperty(),
           Fixed.NULL_NODE_KEY.getStandardProperty(), Fixed.NULL_NODE_KEY.getStandardProperty(), 0, 0);
 
@@ -28,6 +28,7 @@ import org.sirix.api.Database;
 import org.sirix.api.ResourceManager;
 import org.sirix.api.xml.XmlResourceManager;
 import org.sirix.api.xml.XmlNodeTrx;
+import org.sirix.cache.BufferManager;
 import org.sirix.cache.BufferManagerImpl;
 import org.sirix.exception.SirixException;
 import org.sirix.exception.SirixUsageException;
@@ -72,6 +73,9 @@ public final class LocalXmlDatabase extends AbstractLocalDatabase<XmlResourceMan
     mResourceStore.close();
     mTransactionManager.close();
 
+    // Release the buffered pages, the buffer pool might be shared with other databases.
+    mBufferManagers.values().forEach(BufferManager::clearAllCaches);
+
     // Remove from database mapping.
     Databases.removeDatabase(mDBConfig.getFile(), this);
 
@@ -103,7 +107,7 @@ public final class LocalXmlDatabase extends AbstractLocalDatabase<XmlResourceMan
     mResources.forcePut(resourceConfig.getID(), resourceConfig.getResource().getFileName().toString());
 
     if (!mBufferManagers.containsKey(resourceFile))
-      mBufferManagers.put(resourceFile, new BufferManagerImpl());
+      mBufferManagers.put(resourceFile, new BufferManagerImpl(mBufferPool));
 
     final XmlResourceManager resourceManager =
         mResourceStore.openResource(this, resourceConfig, mBufferManagers.get(resourceFile), resourceFile);
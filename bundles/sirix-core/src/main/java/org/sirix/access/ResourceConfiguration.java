@@ -30,12 +30,16 @@ import java.lang.reflect.InvocationTargetException;
 import java.nio.file.Files;
 import java.nio.file.Path;
 import java.nio.file.Paths;
+import java.time.Duration;
 import java.util.ArrayList;
 import java.util.List;
 import java.util.Objects;
 import javax.annotation.Nonnegative;
 import org.sirix.access.trx.node.HashType;
 import org.sirix.exception.SirixIOException;
+import org.sirix.exception.SirixUsageException;
+import org.sirix.io.DurabilityMode;
+import org.sirix.io.PageHashType;
 import org.sirix.io.StorageType;
 import org.sirix.io.bytepipe.ByteHandlePipeline;
 import org.sirix.io.bytepipe.ByteHandler;
@@ -139,6 +143,32 @@ public final class ResourceConfiguration {
     }
   }
 
+  /**
+   * The version of the format, in which the pages and the revisions file of resources are stored.
+   * Configurations of resources created before the format has been versioned don't contain a
+   * version, which is read as version {@code 0}. Such resources are migrated to the current format,
+   * once their configuration is read. Resources stored in any other format can't be opened.
+   *
+   * <p>
+   * Version {@code 1} differs from the unversioned format as follows:
+   * </p>
+   *
+   * <ul>
+   * <li>The records of key/value pages are stored in slots, first the keys and lengths of all
+   * records, then the serialized records.</li>
+   * <li>Record pages store the number of the reference keys to their previous versions, followed by
+   * the keys, instead of a flag and a single reference key.</li>
+   * <li>An entry of the revisions file holds the offset of the revision root page followed by the
+   * timestamp of the revision, that is 16 instead of 8 bytes.</li>
+   * <li>Node hashes are stored as two longs, the upper and the lower 64 bits of the 128 bit hash,
+   * instead of the length and the bytes of a {@link java.math.BigInteger}.</li>
+   * <li>Page references in pages of the transaction intent log store the storage key and the hash of
+   * the referenced page besides the log key, and record pages in the log store their overflow pages
+   * inline.</li>
+   * </ul>
+   */
+  public static final int STORAGE_FORMAT_VERSION = 1;
+
   // FIXED STANDARD FIELDS
   /** Standard storage. */
   private static final StorageType STORAGE = StorageType.FILE;
@@ -152,6 +182,18 @@ public final class ResourceConfiguration {
   /** Versions to restore. */
   private static final int VERSIONSTORESTORE = 3;
 
+  /** Standard page hash function. */
+  private static final PageHashType PAGE_HASH_TYPE = PageHashType.SHA256;
+
+  /** Standard durability mode. */
+  private static final DurabilityMode DURABILITY_MODE = DurabilityMode.NONE;
+
+  /** Standard time window of group commits. */
+  private static final Duration GROUP_COMMIT_WINDOW = Duration.ZERO;
+
+  /** Standard memory budget of transaction intent logs in bytes. */
+  private static final long INTENT_LOG_MEMORY_BUDGET = 64L << 20;
+
   /** Persistenter for records. */
   private static final RecordPersister PERSISTENTER = new NodePersistenterImpl();
 
@@ -197,6 +239,24 @@ public final class ResourceConfiguration {
   /** The hash function used for hashing nodes. */
   public final HashFunction nodeHashFunction;
 
+  /** The hash function used for hashing the serialized pages. */
+  public final PageHashType pageHashType;
+
+  /** Determines if the page hashes are verified when pages are read. */
+  public final boolean verifyPageHashes;
+
+  /** Determines when the pages written by a commit are forced to the storage device. */
+  public final DurabilityMode durabilityMode;
+
+  /** The time window, within which commits are grouped, if group commits are used. */
+  public final Duration groupCommitWindow;
+
+  /**
+   * The memory in bytes, which the transaction intent log uses for the pages, which are not record
+   * pages, and for record pages evicted off-heap from the heap, before it spills them to a file.
+   */
+  public final long intentLogMemoryBudget;
+
   private String resourceName;
 
   // END MEMBERS FOR FIXED FIELDS
@@ -229,6 +289,11 @@ public final class ResourceConfiguration {
     recordPersister = builder.mPersistenter;
     resourceName = builder.mResource;
     nodeHashFunction = builder.mHashFunction;
+    pageHashType = builder.mPageHashType;
+    verifyPageHashes = builder.mVerifyPageHashes;
+    durabilityMode = builder.mDurabilityMode;
+    groupCommitWindow = builder.mGroupCommitWindow;
+    intentLogMemoryBudget = builder.mIntentLogMemoryBudget;
   }
 
   ResourceConfiguration setDatabaseConfiguration(final DatabaseConfiguration config) {
@@ -238,6 +303,35 @@ public final class ResourceConfiguration {
     return this;
   }
 
+  /**
+   * Get a copy of this configuration, which uses another byte handler pipeline. The pipeline has to
+   * be able to read the pages already stored with the current pipeline.
+   *
+   * @param pipeline the byte handler pipeline
+   * @return the new configuration
+   */
+  public ResourceConfiguration withByteHandlePipeline(final ByteHandlePipeline pipeline) {
+    final ResourceConfiguration.Builder builder = ResourceConfiguration.newBuilder(resourceName);
+    builder.byteHandlerPipeline(checkNotNull(pipeline))
+           .hashKind(hashType)
+           .versioningApproach(revisioningType)
+           .revisionsToRestore(numberOfRevisionsToRestore)
+           .storageType(storageType)
+           .persistenter(recordPersister)
+           .useTextCompression(useTextCompression)
+           .buildPathSummary(withPathSummary)
+           .useDeweyIDs(areDeweyIDsStored)
+           .pageHashType(pageHashType)
+           .verifyPageHashes(verifyPageHashes)
+           .durabilityMode(durabilityMode)
+           .groupCommitWindow(groupCommitWindow)
+           .intentLogMemoryBudget(intentLogMemoryBudget);
+
+    final ResourceConfiguration config = new ResourceConfiguration(builder);
+    config.setDatabaseConfiguration(databaseConfig);
+    return config.setID(id);
+  }
+
   /**
    * Set a unique ID.
    *
@@ -308,7 +402,9 @@ public final class ResourceConfiguration {
    */
   private static final String[] JSONNAMES =
       {"revisioning", "revisioningClass", "numbersOfRevisiontoRestore", "byteHandlerClasses", "storageKind", "hashKind",
-          "hashFunction", "compression", "pathSummary", "resourceID", "deweyIDsStored", "persistenter"};
+          "hashFunction", "compression", "pathSummary", "resourceID", "deweyIDsStored", "persistenter",
+          "storageFormatVersion", "pageHashType", "verifyPageHashes", "durabilityMode", "groupCommitWindow",
+          "intentLogMemoryBudget"};
 
   /**
    * Serialize the configuration.
@@ -351,6 +447,17 @@ public final class ResourceConfiguration {
       jsonWriter.name(JSONNAMES[10]).value(config.areDeweyIDsStored);
       // Persistenter.
       jsonWriter.name(JSONNAMES[11]).value(config.recordPersister.getClass().getName());
+      // Storage format version.
+      jsonWriter.name(JSONNAMES[12]).value(STORAGE_FORMAT_VERSION);
+      // Page hash function.
+      jsonWriter.name(JSONNAMES[13]).value(config.pageHashType.name());
+      // Verify page hashes or not.
+      jsonWriter.name(JSONNAMES[14]).value(config.verifyPageHashes);
+      // Durability.
+      jsonWriter.name(JSONNAMES[15]).value(config.durabilityMode.name());
+      jsonWriter.name(JSONNAMES[16]).value(config.groupCommitWindow.toMillis());
+      // Memory budget of the transaction intent log.
+      jsonWriter.name(JSONNAMES[17]).value(config.intentLogMemoryBudget);
       jsonWriter.endObject();
     } catch (final IOException e) {
       throw new SirixIOException(e);
@@ -393,7 +500,7 @@ public final class ResourceConfiguration {
         jsonReader.beginObject();
         @SuppressWarnings("unchecked")
         final Class<ByteHandler> clazzName = (Class<ByteHandler>) Class.forName(jsonReader.nextName());
-        handlerList.add(ByteHandlerKind.getKind(clazzName).deserialize(jsonReader));
+        handlerList.add(ByteHandlerKind.getKind(clazzName).deserialize(jsonReader, file));
         jsonReader.endObject();
       }
       jsonReader.endArray();
@@ -439,6 +546,46 @@ public final class ResourceConfiguration {
       final Class<?> persistenterClazz = Class.forName(jsonReader.nextString());
       final Constructor<?> persistenterConstr = persistenterClazz.getConstructors()[0];
       final RecordPersister persistenter = (RecordPersister) persistenterConstr.newInstance();
+      // Storage format version (not available in configurations of resources created before the format
+      // has been versioned, which end with the persistenter). The settings following the version are only
+      // read in the current format.
+      final boolean unversioned = !jsonReader.hasNext();
+      int storageFormatVersion = 0;
+      if (!unversioned && jsonReader.nextName().equals(JSONNAMES[12])) {
+        storageFormatVersion = jsonReader.nextInt();
+      }
+      if (!unversioned && storageFormatVersion != STORAGE_FORMAT_VERSION) {
+        jsonReader.close();
+        fileReader.close();
+        throw new SirixUsageException("The resource " + file + " is stored in format version " + storageFormatVersion
+            + ", but only format version " + STORAGE_FORMAT_VERSION
+            + " can be read. Serialize it with the sirix version it has been created with and import it again.");
+      }
+      PageHashType pageHashType = PAGE_HASH_TYPE;
+      boolean verifyPageHashes = false;
+      DurabilityMode durabilityMode = DURABILITY_MODE;
+      Duration groupCommitWindow = GROUP_COMMIT_WINDOW;
+      long intentLogMemoryBudget = INTENT_LOG_MEMORY_BUDGET;
+      if (!unversioned) {
+        // Page hashes.
+        name = jsonReader.nextName();
+        assert name.equals(JSONNAMES[13]);
+        pageHashType = PageHashType.valueOf(jsonReader.nextString());
+        name = jsonReader.nextName();
+        assert name.equals(JSONNAMES[14]);
+        verifyPageHashes = jsonReader.nextBoolean();
+        // Durability.
+        name = jsonReader.nextName();
+        assert name.equals(JSONNAMES[15]);
+        durabilityMode = DurabilityMode.valueOf(jsonReader.nextString());
+        name = jsonReader.nextName();
+        assert name.equals(JSONNAMES[16]);
+        groupCommitWindow = Duration.ofMillis(jsonReader.nextLong());
+        // Memory budget of the transaction intent log.
+        name = jsonReader.nextName();
+        assert name.equals(JSONNAMES[17]);
+        intentLogMemoryBudget = jsonReader.nextLong();
+      }
       jsonReader.endObject();
       jsonReader.close();
       fileReader.close();
@@ -456,12 +603,25 @@ public final class ResourceConfiguration {
              .persistenter(persistenter)
              .useTextCompression(compression)
              .buildPathSummary(pathSummary)
-             .useDeweyIDs(deweyIDsStored);
+             .useDeweyIDs(deweyIDsStored)
+             .pageHashType(pageHashType)
+             .verifyPageHashes(verifyPageHashes)
+             .durabilityMode(durabilityMode)
+             .groupCommitWindow(groupCommitWindow)
+             .intentLogMemoryBudget(intentLogMemoryBudget);
 
       // Deserialized instance.
       final ResourceConfiguration config = new ResourceConfiguration(builder);
       config.setDatabaseConfiguration(dbConfig);
-      return config.setID(ID);
+      config.setID(ID);
+
+      if (unversioned) {
+        // Resources created before the format has been versioned are migrated to the current format
+        // with the default settings.
+        StorageFormatMigrator.migrate(config);
+      }
+
+      return config;
     } catch (IOException | ClassNotFoundException | IllegalArgumentException | InstantiationException
         | IllegalAccessException | InvocationTargetException e) {
       throw new SirixIOException(e);
@@ -476,6 +636,21 @@ public final class ResourceConfiguration {
     /** Hashing function for hashing nodes. */
     private HashFunction mHashFunction = Hashing.sha256();
 
+    /** Hashing function for hashing the serialized pages. */
+    private PageHashType mPageHashType = PAGE_HASH_TYPE;
+
+    /** Determines if the page hashes are verified when pages are read. */
+    private boolean mVerifyPageHashes;
+
+    /** Determines when the pages written by a commit are forced to the storage device. */
+    private DurabilityMode mDurabilityMode = DURABILITY_MODE;
+
+    /** The time window, within which commits are grouped. */
+    private Duration mGroupCommitWindow = GROUP_COMMIT_WINDOW;
+
+    /** The memory budget of transaction intent logs in bytes. */
+    private long mIntentLogMemoryBudget = INTENT_LOG_MEMORY_BUDGET;
+
     /** Type of Storage (File, Berkeley). */
     private StorageType mType = STORAGE;
 
@@ -555,6 +730,69 @@ public final class ResourceConfiguration {
 //      return this;
 //    }
 
+    /**
+     * Set the hash function used for hashing the serialized pages.
+     *
+     * @param pageHashType the page hash function
+     * @return reference to the builder object
+     */
+    public Builder pageHashType(final PageHashType pageHashType) {
+      mPageHashType = checkNotNull(pageHashType);
+      return this;
+    }
+
+    /**
+     * Determines if the page hashes should be verified when pages are read (default: no).
+     *
+     * @param verifyPageHashes verify the page hashes or not
+     * @return reference to the builder object
+     */
+    public Builder verifyPageHashes(final boolean verifyPageHashes) {
+      mVerifyPageHashes = verifyPageHashes;
+      return this;
+    }
+
+    /**
+     * Set the durability mode, which determines when the pages written by a commit are forced to the
+     * storage device (default: never).
+     *
+     * @param durabilityMode the durability mode
+     * @return reference to the builder object
+     */
+    public Builder durabilityMode(final DurabilityMode durabilityMode) {
+      mDurabilityMode = checkNotNull(durabilityMode);
+      return this;
+    }
+
+    /**
+     * Set the time window, within which the commits of all resources join a group, before the group is
+     * forced, if {@link DurabilityMode#GROUP_COMMIT} is used and no group is forced at the moment
+     * (default: zero, that is the commits issued while a group is forced form the next group).
+     *
+     * @param groupCommitWindow the time window
+     * @return reference to the builder object
+     */
+    public Builder groupCommitWindow(final Duration groupCommitWindow) {
+      checkArgument(!groupCommitWindow.isNegative(), "groupCommitWindow must not be negative!");
+      mGroupCommitWindow = groupCommitWindow;
+      return this;
+    }
+
+    /**
+     * Set the memory in bytes, which the transaction intent log of a write transaction uses for the
+     * pages, which are not record pages, and for serialized record pages evicted off-heap from the
+     * heap, before it spills them to a file (default: 64 MiB). The pages, which are not record pages,
+     * are never evicted, such that a budget exceeded by them spills the record pages right away.
+     *
+     * @param intentLogMemoryBudget the memory budget in bytes
+     * @return reference to the builder object
+     */
+    public Builder intentLogMemoryBudget(final @Nonnegative long intentLogMemoryBudget) {
+      checkArgument(intentLogMemoryBudget >= 0, "intentLogMemoryBudget must be >= 0!");
+      mIntentLogMemoryBudget = intentLogMemoryBudget;
+      return this;
+    }
+
     /**
      * Set the versioning algorithm to use.
      *
@@ -638,6 +876,8 @@ public final class ResourceConfiguration {
                         .add("RevisionKind", mRevisionKind)
                         .add("HashKind", mHashKind)
                         .add("HashFunction", mHashFunction)
+                        .add("PageHashType", mPageHashType)
+                        .add("DurabilityMode", mDurabilityMode)
                         .toString();
     }
 
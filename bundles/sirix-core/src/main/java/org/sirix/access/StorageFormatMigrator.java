@@ -0,0 +1,488 @@
+package org.sirix.access;
+
+import static org.sirix.node.Utils.getVarLong;
+import static org.sirix.node.Utils.putVarLong;
+import java.io.ByteArrayInputStream;
+import java.io.ByteArrayOutputStream;
+import java.io.DataInputStream;
+import java.io.DataOutput;
+import java.io.DataOutputStream;
+import java.io.IOException;
+import java.io.RandomAccessFile;
+import java.nio.ByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardCopyOption;
+import java.nio.file.StandardOpenOption;
+import java.util.ArrayDeque;
+import java.util.Deque;
+import java.util.HashMap;
+import java.util.Map;
+import java.util.SortedMap;
+import java.util.TreeMap;
+import org.sirix.access.ResourceConfiguration.ResourcePaths;
+import org.sirix.exception.SirixIOException;
+import org.sirix.io.file.FileReader;
+import org.sirix.node.NodeKind;
+import org.sirix.node.SirixDeweyID;
+import org.sirix.node.interfaces.NodePersistenter;
+import org.sirix.page.DeserializedTuple;
+import org.sirix.page.PageKind;
+import org.sirix.page.PageReference;
+import org.sirix.page.SerializationType;
+import org.sirix.settings.Constants;
+
+/**
+ * Migrates a resource, which has been created before the storage format has been versioned, that
+ * is a resource in storage format version 0, to the current storage format (see
+ * {@link ResourceConfiguration#STORAGE_FORMAT_VERSION}).
+ *
+ * <p>
+ * The pages reachable from the most recent uber page are rewritten into a new data file, the
+ * referenced pages before the pages referencing them, such that each page refers to the storage
+ * keys and hashes of the rewritten pages. Pages of aborted commits are not rewritten. The revisions
+ * file is rebuilt from the revision root pages.
+ * </p>
+ * <p>
+ * The original data file is kept as a backup, until the configuration has been stored in the
+ * current format. Thus, a migration, which has been interrupted, is restarted from the backup the
+ * next time the resource is opened.
+ * </p>
+ */
+final class StorageFormatMigrator {
+
+  /** Name of the data file of the file based storages. */
+  private static final String DATA_FILENAME = "sirix.data";
+
+  /** Name of the revisions file of the file based storages. */
+  private static final String REVISIONS_FILENAME = "sirix.revisions";
+
+  /** Suffix of the backup of the data file in storage format version 0. */
+  private static final String BACKUP_SUFFIX = ".v0";
+
+  /** The configuration of the resource. */
+  private final ResourceConfiguration mConfig;
+
+  /** The data file in storage format version 0. */
+  private final RandomAccessFile mSource;
+
+  /** The data file in the current storage format. */
+  private final FileChannel mTarget;
+
+  /** The offset, at which the next page is written to the target. */
+  private long mTargetTail = FileReader.FIRST_BEACON;
+
+  /** The references to the rewritten pages, keyed by the storage keys of the original pages. */
+  private final Map<Long, PageReference> mMigratedPages = new HashMap<>();
+
+  /** The entries of the revisions file, keyed by the revision numbers. */
+  private final SortedMap<Integer, ByteBuffer> mRevisions = new TreeMap<>();
+
+  private StorageFormatMigrator(final ResourceConfiguration config, final RandomAccessFile source,
+      final FileChannel target) {
+    mConfig = config;
+    mSource = source;
+    mTarget = target;
+  }
+
+  /**
+   * Migrate a resource in storage format version 0 and store its configuration in the current
+   * format.
+   *
+   * @param config the configuration of the resource, with the defaults of all settings, which
+   *        haven't been available in storage format version 0
+   * @throws SirixIOException if an I/O error occurs
+   */
+  static void migrate(final ResourceConfiguration config) {
+    final Path dataFolder = config.resourcePath.resolve(ResourcePaths.DATA.getPath());
+    final Path dataFile = dataFolder.resolve(DATA_FILENAME);
+    final Path revisionsFile = dataFolder.resolve(REVISIONS_FILENAME);
+    final Path backup = dataFolder.resolve(DATA_FILENAME + BACKUP_SUFFIX);
+
+    try {
+      // If the backup exists, the data file has been partially rewritten by an interrupted migration.
+      if (!Files.exists(backup) && Files.exists(dataFile) && Files.size(dataFile) > 0) {
+        Files.move(dataFile, backup, StandardCopyOption.ATOMIC_MOVE);
+      }
+
+      if (Files.exists(backup)) {
+        try (final RandomAccessFile source = new RandomAccessFile(backup.toFile(), "r");
+            final FileChannel target = FileChannel.open(dataFile, StandardOpenOption.CREATE, StandardOpenOption.WRITE,
+                StandardOpenOption.TRUNCATE_EXISTING);
+            final FileChannel revisions = FileChannel.open(revisionsFile, StandardOpenOption.CREATE,
+                StandardOpenOption.WRITE, StandardOpenOption.TRUNCATE_EXISTING)) {
+          new StorageFormatMigrator(config, source, target).migrate(revisions);
+          target.force(true);
+          revisions.force(true);
+        }
+      }
+
+      ResourceConfiguration.serialize(config);
+      Files.deleteIfExists(backup);
+    } catch (final IOException e) {
+      throw new SirixIOException(e);
+    }
+  }
+
+  /**
+   * Rewrite the pages reachable from the most recent uber page and write the revisions file.
+   *
+   * @param revisions the revisions file
+   * @throws IOException if an I/O error occurs
+   */
+  private void migrate(final FileChannel revisions) throws IOException {
+    mSource.seek(0);
+    final PageReference uberPageReference = migratePages(mSource.readLong());
+
+    for (final ByteBuffer revision : mRevisions.values()) {
+      writeFully(revisions, revision, revisions.size());
+    }
+
+    final ByteBuffer beacon = ByteBuffer.allocate(Long.BYTES).putLong(0, uberPageReference.getKey());
+    writeFully(mTarget, beacon, 0);
+  }
+
+  /**
+   * Rewrite a page and all pages it references, the referenced pages first. The pages are traversed
+   * with an explicit stack, as the chains of previous versions of record pages and of uber pages
+   * might be long.
+   *
+   * @param key the storage key of the page in the original data file
+   * @return the reference to the rewritten page
+   * @throws IOException if an I/O error occurs
+   */
+  private PageReference migratePages(final long key) throws IOException {
+    final Deque<SourcePage> pages = new ArrayDeque<>();
+    pages.push(readPage(key));
+
+    while (!pages.isEmpty()) {
+      final SourcePage page = pages.peek();
+      if (page.mNextChild < page.mChildKeys.length) {
+        final long childKey = page.mChildKeys[page.mNextChild++];
+        if (childKey >= 0 && !mMigratedPages.containsKey(childKey)) {
+          pages.push(readPage(childKey));
+        }
+      } else {
+        pages.pop();
+        mMigratedPages.put(page.mKey, writePage(page));
+      }
+    }
+
+    return mMigratedPages.get(key);
+  }
+
+  /**
+   * Read a page of the original data file.
+   *
+   * @param key the storage key of the page
+   * @return the page in the current storage format, apart from its references to other pages
+   * @throws IOException if an I/O error occurs
+   */
+  private SourcePage readPage(final long key) throws IOException {
+    mSource.seek(key);
+    final byte[] serializedPage = new byte[mSource.readInt()];
+    mSource.readFully(serializedPage);
+    final ByteBuffer deserializedPage = mConfig.byteHandlePipeline.deserialize(ByteBuffer.wrap(serializedPage));
+    final byte[] page = new byte[deserializedPage.remaining()];
+    deserializedPage.get(page);
+
+    final ByteArrayInputStream input = new ByteArrayInputStream(page, 1, page.length - 1);
+    final DataInputStream in = new DataInputStream(input);
+    final PageKind kind = PageKind.getKind(page[0]);
+    switch (kind) {
+      case RECORDPAGE:
+        return readRecordPage(key, page, input, in);
+      case OVERFLOWPAGE:
+        final byte[] record = new byte[in.readInt()];
+        in.readFully(record);
+        return new SourceOverflowPage(key, NodeKind.convertVersion0Record(record, mConfig.hashType));
+      // $CASES-OMITTED$
+      default:
+        // All other pages start with the references to their child pages, the format of the
+        // remaining bytes hasn't changed.
+        final DeserializedTuple references = SerializationType.DATA.deserialize(0, in);
+        final byte[] remainder = new byte[input.available()];
+        in.readFully(remainder);
+        return new SourceIndirectPage(key, kind, references, remainder);
+    }
+  }
+
+  /**
+   * Read a record page, which is stored with a single reference to its previous version and whose
+   * records aren't slotted. The node hashes of the records are converted.
+   */
+  private SourcePage readRecordPage(final long key, final byte[] page, final ByteArrayInputStream input,
+      final DataInputStream in) throws IOException {
+    final ByteArrayOutputStream output = new ByteArrayOutputStream(page.length);
+    final DataOutputStream out = new DataOutputStream(output);
+    out.writeByte(page[0]);
+    putVarLong(out, getVarLong(in));
+
+    if (mConfig.areDeweyIDsStored && mConfig.recordPersister instanceof NodePersistenter) {
+      final NodePersistenter persistenter = (NodePersistenter) mConfig.recordPersister;
+      final int deweyIDCount = in.readInt();
+      out.writeInt(deweyIDCount);
+      SirixDeweyID id = null;
+      for (int index = 0; index < deweyIDCount; index++) {
+        // The dewey IDs are stored relative to their predecessors, their format hasn't changed.
+        final int start = page.length - input.available();
+        id = persistenter.deserializeDeweyID(in, id, mConfig).orElse(null);
+        out.write(page, start, page.length - input.available() - start);
+        if (id != null) {
+          putVarLong(out, getVarLong(in));
+          final byte[] record = readRecord(in);
+          out.writeInt(record.length);
+          out.write(record);
+        }
+      }
+    }
+
+    // Slotted layout: the keys and lengths of the records followed by the records.
+    final byte[][] records = new byte[in.readInt()][];
+    out.writeInt(records.length);
+    for (int index = 0; index < records.length; index++) {
+      putVarLong(out, getVarLong(in));
+      records[index] = readRecord(in);
+      out.writeInt(records[index].length);
+    }
+    for (final byte[] record : records) {
+      out.write(record);
+    }
+    out.flush();
+
+    final int overflowPageCount = in.readInt();
+    final long[] overflowRecordKeys = new long[overflowPageCount];
+    final long[] childKeys = new long[overflowPageCount + 1];
+    for (int index = 0; index < overflowPageCount; index++) {
+      overflowRecordKeys[index] = in.readLong();
+      childKeys[index] = in.readLong();
+    }
+    final long previousPageKey = in.readBoolean()
+        ? in.readLong()
+        : Constants.NULL_ID_LONG;
+    childKeys[overflowPageCount] = previousPageKey;
+
+    return new SourceRecordPage(key, output.toByteArray(), overflowRecordKeys, childKeys, in.readByte());
+  }
+
+  private byte[] readRecord(final DataInputStream in) throws IOException {
+    final byte[] record = new byte[in.readInt()];
+    in.readFully(record);
+    return NodeKind.convertVersion0Record(record, mConfig.hashType);
+  }
+
+  /**
+   * Write a page to the target, once the pages it references have been written.
+   *
+   * @param page the page
+   * @return the reference to the written page
+   * @throws IOException if an I/O error occurs
+   */
+  private PageReference writePage(final SourcePage page) throws IOException {
+    final ByteArrayOutputStream output = new ByteArrayOutputStream();
+    final DataOutputStream out = new DataOutputStream(output);
+    page.serialize(out);
+    out.flush();
+
+    final ByteBuffer serializedPage = mConfig.byteHandlePipeline.serialize(ByteBuffer.wrap(output.toByteArray()));
+    final ByteBuffer lengthPrefix = ByteBuffer.allocate(FileReader.OTHER_BEACON);
+    lengthPrefix.putInt(0, serializedPage.remaining());
+
+    final PageReference reference = new PageReference();
+    reference.setKey(mTargetTail);
+    reference.setLength(FileReader.OTHER_BEACON + serializedPage.remaining());
+    reference.setHash(mConfig.pageHashType.hash(serializedPage.duplicate()));
+
+    writeFully(mTarget, lengthPrefix, mTargetTail);
+    writeFully(mTarget, serializedPage, mTargetTail + FileReader.OTHER_BEACON);
+    mTargetTail += reference.getLength();
+
+    if (page instanceof SourceIndirectPage && ((SourceIndirectPage) page).mKind == PageKind.REVISIONROOTPAGE) {
+      // The revision number is followed by the maximum node key and the timestamp.
+      final ByteBuffer remainder = ByteBuffer.wrap(((SourceIndirectPage) page).mRemainder);
+      final ByteBuffer revision = ByteBuffer.allocate(FileReader.REVISIONS_FILE_ENTRY_SIZE);
+      revision.putLong(0, reference.getKey());
+      revision.putLong(Long.BYTES, remainder.getLong(Integer.BYTES + Long.BYTES));
+      mRevisions.put(remainder.getInt(0), revision);
+    }
+
+    return reference;
+  }
+
+  private static void writeFully(final FileChannel channel, final ByteBuffer buffer, final long position)
+      throws IOException {
+    long offset = position;
+    while (buffer.hasRemaining()) {
+      offset += channel.write(buffer, offset);
+    }
+  }
+
+  /**
+   * Get the storage key of a rewritten page.
+   *
+   * @param key the storage key of the original page or a negative key, if there's no page (the first
+   *        uber page for instance refers to the key {@code -1} of the bootstrapped uber page, which
+   *        hasn't been written)
+   * @return the storage key of the rewritten page or the negative key
+   */
+  private long migratedKey(final long key) {
+    return key < 0
+        ? key
+        : mMigratedPages.get(key).getKey();
+  }
+
+  /**
+   * A page read from the original data file.
+   */
+  private abstract static class SourcePage {
+    /** The storage key in the original data file. */
+    final long mKey;
+
+    /** The storage keys of the referenced pages in the original data file. */
+    final long[] mChildKeys;
+
+    /** The index of the next referenced page to rewrite. */
+    int mNextChild;
+
+    SourcePage(final long key, final long[] childKeys) {
+      mKey = key;
+      mChildKeys = childKeys;
+    }
+
+    /**
+     * Serialize the page in the current storage format, once the referenced pages have been
+     * rewritten.
+     */
+    abstract void serialize(DataOutput out) throws IOException;
+  }
+
+  /**
+   * A page, which starts with the references to its child pages, for instance an indirect page.
+   */
+  private final class SourceIndirectPage extends SourcePage {
+    /** The kind of page. */
+    final PageKind mKind;
+
+    /** The references to the child pages. */
+    final DeserializedTuple mReferences;
+
+    /** The serialized page following the references. */
+    final byte[] mRemainder;
+
+    SourceIndirectPage(final long key, final PageKind kind, final DeserializedTuple references,
+        final byte[] remainder) {
+      super(key, childKeys(kind, references, remainder));
+      mKind = kind;
+      mReferences = references;
+      mRemainder = remainder;
+    }
+
+    @Override
+    void serialize(final DataOutput out) throws IOException {
+      for (final PageReference reference : mReferences.getReferences()) {
+        final PageReference migratedReference = mMigratedPages.get(reference.getKey());
+        if (migratedReference != null) {
+          reference.setKey(migratedReference.getKey());
+          reference.setHash(migratedReference.getHash());
+        }
+      }
+
+      out.writeByte(mKind.getID());
+      SerializationType.DATA.serialize(out, mReferences.getReferences(), mReferences.getBitmap());
+      if (hasPreviousUberPage(mKind, mRemainder)) {
+        // The number of revisions and a flag precede the key of the previous uber page.
+        final ByteBuffer remainder = ByteBuffer.wrap(mRemainder.clone());
+        remainder.putLong(Integer.BYTES + 1, migratedKey(remainder.getLong(Integer.BYTES + 1)));
+        out.write(remainder.array());
+      } else {
+        out.write(mRemainder);
+      }
+    }
+  }
+
+  private static long[] childKeys(final PageKind kind, final DeserializedTuple references, final byte[] remainder) {
+    final long[] childKeys = references.getReferences()
+                                       .stream()
+                                       .mapToLong(PageReference::getKey)
+                                       .filter(key -> key >= 0)
+                                       .toArray();
+    if (hasPreviousUberPage(kind, remainder)) {
+      final long[] withPreviousUberPage = new long[childKeys.length + 1];
+      System.arraycopy(childKeys, 0, withPreviousUberPage, 0, childKeys.length);
+      withPreviousUberPage[childKeys.length] = ByteBuffer.wrap(remainder).getLong(Integer.BYTES + 1);
+      return withPreviousUberPage;
+    }
+    return childKeys;
+  }
+
+  private static boolean hasPreviousUberPage(final PageKind kind, final byte[] remainder) {
+    return kind == PageKind.UBERPAGE && remainder[Integer.BYTES] != 0;
+  }
+
+  /**
+   * A record page, whose records have been converted.
+   */
+  private final class SourceRecordPage extends SourcePage {
+    /** The serialized page up to the references to the overflow pages. */
+    final byte[] mRecords;
+
+    /** The keys of the records stored in overflow pages. */
+    final long[] mOverflowRecordKeys;
+
+    /** The kind of subtree the page belongs to. */
+    final byte mPageKind;
+
+    /**
+     * Constructor.
+     *
+     * @param childKeys the storage keys of the overflow pages followed by the storage key of the
+     *        previous version of the page or {@link Constants#NULL_ID_LONG}
+     */
+    SourceRecordPage(final long key, final byte[] records, final long[] overflowRecordKeys, final long[] childKeys,
+        final byte pageKind) {
+      super(key, childKeys);
+      mRecords = records;
+      mOverflowRecordKeys = overflowRecordKeys;
+      mPageKind = pageKind;
+    }
+
+    @Override
+    void serialize(final DataOutput out) throws IOException {
+      out.write(mRecords);
+      out.writeInt(mOverflowRecordKeys.length);
+      for (int index = 0; index < mOverflowRecordKeys.length; index++) {
+        out.writeLong(mOverflowRecordKeys[index]);
+        out.writeLong(migratedKey(mChildKeys[index]));
+      }
+      final long previousPageKey = mChildKeys[mOverflowRecordKeys.length];
+      if (previousPageKey == Constants.NULL_ID_LONG) {
+        out.writeInt(0);
+      } else {
+        out.writeInt(1);
+        out.writeLong(migratedKey(previousPageKey));
+      }
+      out.writeByte(mPageKind);
+    }
+  }
+
+  /**
+   * An overflow page, whose record has been converted.
+   */
+  private static final class SourceOverflowPage extends SourcePage {
+    /** The record. */
+    final byte[] mRecord;
+
+    SourceOverflowPage(final long key, final byte[] record) {
+      super(key, new long[0]);
+      mRecord = record;
+    }
+
+    @Override
+    void serialize(final DataOutput out) throws IOException {
+      out.writeByte(PageKind.OVERFLOWPAGE.getID());
+      out.writeInt(mRecord.length);
+      out.write(mRecord);
+    }
+  }
+}
@@ -2,7 +2,6 @@ package org.sirix.access.trx.node;
 
 import static com.google.common.base.Preconditions.checkArgument;
 import static com.google.common.base.Preconditions.checkNotNull;
-import java.math.BigInteger;
 import java.time.Instant;
 import java.util.Optional;
 import javax.annotation.Nonnegative;
@@ -14,6 +13,7 @@ import org.sirix.api.Move;
 import org.sirix.api.NodeCursor;
 import org.sirix.api.NodeReadOnlyTrx;
 import org.sirix.api.PageReadOnlyTrx;
+import org.sirix.node.NodeHash;
 import org.sirix.node.NodeKind;
 import org.sirix.node.NullNode;
 import org.sirix.node.interfaces.NameNode;
@@ -183,7 +183,7 @@ public abstract class AbstractNodeReadTrx<T extends NodeCursor> implements NodeC
   }
 
   @Override
-  public BigInteger getHash() {
+  public NodeHash getHash() {
     assertNotClosed();
     return mCurrentNode.getHash();
   }
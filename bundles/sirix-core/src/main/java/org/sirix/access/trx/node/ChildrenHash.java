@@ -0,0 +1,103 @@
+package org.sirix.access.trx.node;
+
+import static com.google.common.base.Preconditions.checkNotNull;
+import org.sirix.node.NodeHash;
+import org.sirix.node.interfaces.Node;
+
+/**
+ * The combined hashes of the children of a node, which are added one by one in document order, such
+ * that the hash of the node is set once its subtree has been built. The hashes are combined in
+ * place, without allocating node hashes for each child.
+ */
+public final class ChildrenHash {
+
+  /** The kind of hashes, either rolling or postorder hashes. */
+  private final HashType mHashType;
+
+  /** The prime, with which the hashes are combined. */
+  private final long mPrime;
+
+  /** The upper 64 bits of the combined hashes of the children. */
+  private long mHigh;
+
+  /** The lower 64 bits of the combined hashes of the children. */
+  private long mLow;
+
+  /** The number of children. */
+  private int mCount;
+
+  /**
+   * Constructor.
+   *
+   * @param hashType the kind of hashes, either rolling or postorder hashes
+   * @param prime the prime, with which the hashes are combined
+   */
+  public ChildrenHash(final HashType hashType, final long prime) {
+    mHashType = checkNotNull(hashType);
+    mPrime = prime;
+  }
+
+  /**
+   * Remove all children, such that the combined hashes are reused for another node.
+   *
+   * @return this instance
+   */
+  public ChildrenHash reset() {
+    mHigh = 0;
+    mLow = 0;
+    mCount = 0;
+    return this;
+  }
+
+  /**
+   * Add the hash of the next child.
+   *
+   * @param child the child, whose hash has been set
+   */
+  public void add(final Node child) {
+    if (mHashType == HashType.ROLLING) {
+      // The rolling hash of a node adds the hashes of its children multiplied by the prime.
+      final long high = NodeHash.multiplyHigh(child.getHashHigh(), child.getHashLow(), mPrime);
+      final long low = NodeHash.multiplyLow(child.getHashHigh(), child.getHashLow(), mPrime);
+      final long sumHigh = NodeHash.addHigh(mHigh, mLow, high, low);
+      mLow = NodeHash.addLow(mHigh, mLow, high, low);
+      mHigh = sumHigh;
+    } else {
+      // The postorder hash of a node multiplies the hashes of the preceding nodes by the prime.
+      final long high = NodeHash.multiplyHigh(mHigh, mLow, mPrime);
+      final long low = NodeHash.multiplyLow(mHigh, mLow, mPrime);
+      mHigh = NodeHash.addHigh(high, low, child.getHashHigh(), child.getHashLow());
+      mLow = NodeHash.addLow(high, low, child.getHashHigh(), child.getHashLow());
+    }
+    mCount++;
+  }
+
+  /**
+   * Add the combined hashes of the children to the rolling hash of a node, which has been stored once
+   * the node has been built.
+   *
+   * @param node the node
+   */
+  public void addTo(final Node node) {
+    node.addHash(mHigh, mLow);
+  }
+
+  /**
+   * Set the postorder hash of a node from the hash of the node itself and the combined hashes of its
+   * children.
+   *
+   * @param node the node
+   * @param hash the hash of the node itself
+   */
+  public void setHash(final Node node, final NodeHash hash) {
+    // The hash of the node itself precedes the hashes of all children.
+    long high = hash.getHigh();
+    long low = hash.getLow();
+    for (int i = 0; i < mCount; i++) {
+      final long productHigh = NodeHash.multiplyHigh(high, low, mPrime);
+      low = NodeHash.multiplyLow(high, low, mPrime);
+      high = productHigh;
+    }
+    node.setHash(NodeHash.addHigh(high, low, mHigh, mLow), NodeHash.addLow(high, low, mHigh, mLow));
+  }
+}
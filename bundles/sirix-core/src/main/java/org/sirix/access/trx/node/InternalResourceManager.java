@@ -1,47 +1,71 @@
-package org.sirix.access.trx.node;
-
-import java.nio.file.Path;
-import java.util.concurrent.locks.Lock;
-import org.sirix.api.NodeCursor;
-import org.sirix.api.NodeReadOnlyTrx;
-import org.sirix.api.NodeTrx;
-import org.sirix.api.PageTrx;
-import org.sirix.api.ResourceManager;
-import org.sirix.node.interfaces.Record;
-import org.sirix.page.UberPage;
-import org.sirix.page.UnorderedKeyValuePage;
-
-public interface InternalResourceManager<R extends NodeReadOnlyTrx & NodeCursor, W extends NodeTrx & NodeCursor>
-    extends ResourceManager<R, W> {
-  /** Abort a write transaction. */
-  enum Abort {
-    /** Yes, abort. */
-    YES,
-
-    /** No, don't abort. */
-    NO
-  }
-
-  Path getCommitFile();
-
-  void assertAccess(int revision);
-
-  PageTrx<Long, Record, UnorderedKeyValuePage> createPageWriteTransaction(long trxID, int revision, int i, Abort no,
-      boolean isBoundToNodeTrx);
-
-  Lock getCommitLock();
-
-  void setLastCommittedUberPage(UberPage lastUberPage);
-
-  void closeWriteTransaction(long transactionID);
-
-  void setNodePageWriteTransaction(long transactionID, PageTrx<Long, Record, UnorderedKeyValuePage> pageWriteTrx);
-
-  void closeNodePageWriteTransaction(long transactionID);
-
-  void closeReadTransaction(long trxId);
-
-  void closePageReadTransaction(long trxId);
-
-  void closePageWriteTransaction(long transactionID);
-}
+package org.sirix.access.trx.node;
+
+import java.nio.file.Path;
+import java.util.concurrent.locks.Lock;
+import org.sirix.api.NodeCursor;
+import org.sirix.api.NodeReadOnlyTrx;
+import org.sirix.api.NodeTrx;
+import org.sirix.api.PageTrx;
+import org.sirix.api.ResourceManager;
+import org.sirix.api.RevisionInfo;
+import org.sirix.io.Writer;
+import org.sirix.node.interfaces.Record;
+import org.sirix.page.UberPage;
+import org.sirix.page.UnorderedKeyValuePage;
+
+public interface InternalResourceManager<R extends NodeReadOnlyTrx & NodeCursor, W extends NodeTrx & NodeCursor>
+    extends ResourceManager<R, W> {
+  /** Abort a write transaction. */
+  enum Abort {
+    /** Yes, abort. */
+    YES,
+
+    /** No, don't abort. */
+    NO
+  }
+
+  Path getCommitFile();
+
+  void assertAccess(int revision);
+
+  PageTrx<Long, Record, UnorderedKeyValuePage> createPageWriteTransaction(long trxID, int revision, int i, Abort no,
+      boolean isBoundToNodeTrx);
+
+  Lock getCommitLock();
+
+  void setLastCommittedUberPage(UberPage lastUberPage);
+
+  void closeWriteTransaction(long transactionID);
+
+  void setNodePageWriteTransaction(long transactionID, PageTrx<Long, Record, UnorderedKeyValuePage> pageWriteTrx);
+
+  void closeNodePageWriteTransaction(long transactionID);
+
+  void closeReadTransaction(long trxId);
+
+  void closePageReadTransaction(long trxId);
+
+  void closePageWriteTransaction(long transactionID);
+
+  /**
+   * Log the metadata of a committed revision, such that the history is read without reading the
+   * revision root pages.
+   *
+   * @param revisionInfo the metadata of the committed revision
+   */
+  void logRevisionInfo(RevisionInfo revisionInfo);
+
+  /**
+   * Force the logged metadata of the revisions to the storage device.
+   */
+  void forceRevisionInfoLog();
+
+  /**
+   * Truncate the storage and the logged metadata of the revisions to a revision, while no revision
+   * is looked up by its point in time.
+   *
+   * @param writer the writer of the storage
+   * @param revision the revision to truncate to
+   */
+  void truncateTo(Writer writer, int revision);
+}
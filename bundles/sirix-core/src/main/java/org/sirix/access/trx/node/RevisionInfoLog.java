@@ -0,0 +1,307 @@
+package org.sirix.access.trx.node;
+
+import static com.google.common.base.Preconditions.checkArgument;
+import static com.google.common.base.Preconditions.checkNotNull;
+import java.io.BufferedInputStream;
+import java.io.ByteArrayInputStream;
+import java.io.ByteArrayOutputStream;
+import java.io.DataInput;
+import java.io.DataInputStream;
+import java.io.DataOutput;
+import java.io.DataOutputStream;
+import java.io.EOFException;
+import java.io.IOException;
+import java.io.RandomAccessFile;
+import java.nio.channels.Channels;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Path;
+import java.time.Instant;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.UUID;
+import javax.annotation.Nonnegative;
+import org.sirix.access.User;
+import org.sirix.api.RevisionInfo;
+import org.sirix.exception.SirixIOException;
+
+/**
+ * Append-only log of the metadata of the revisions of a resource, that is the timestamp, the user
+ * and the commit message of each revision. Entries are appended in revision order, starting with
+ * revision {@code 1}, such that the history of a resource is read without reading any revision root
+ * page.
+ *
+ * <p>
+ * The offsets of the entries are kept in memory, once the log has been scanned after opening it. An
+ * incomplete entry at the end of the log, written during a crash, is truncated. Revisions missing
+ * in the log, because it didn't exist when they have been committed, are appended once the history
+ * is read.
+ * </p>
+ */
+final class RevisionInfoLog implements AutoCloseable {
+
+  /** File name of the log. */
+  static final String FILENAME = "sirix.history";
+
+  /** Flag of an entry with a user. */
+  private static final int HAS_USER = 1;
+
+  /** Flag of an entry with a commit message. */
+  private static final int HAS_COMMIT_MESSAGE = 2;
+
+  /** The file of the log. */
+  private final Path mFile;
+
+  /** The opened log or {@code null}, if it hasn't been opened yet. */
+  private RandomAccessFile mLog;
+
+  /** The offsets of the entries, followed by the offset of the next entry. */
+  private long[] mOffsets;
+
+  /** The number of entries, which is the last revision in the log. */
+  private int mSize;
+
+  /**
+   * Constructor.
+   *
+   * @param file the file of the log
+   */
+  RevisionInfoLog(final Path file) {
+    mFile = checkNotNull(file);
+  }
+
+  /**
+   * Get the last revision in the log.
+   *
+   * @return the last revision in the log or {@code 0}, if the log is empty
+   */
+  synchronized int getLastRevision() {
+    open();
+    return mSize;
+  }
+
+  /**
+   * Append the metadata of a revision, if it directly follows the last revision in the log.
+   *
+   * @param revisionInfo the metadata of the revision
+   * @return {@code true}, if the metadata has been appended, {@code false} otherwise
+   * @throws SirixIOException if the metadata can't be written
+   */
+  synchronized boolean append(final RevisionInfo revisionInfo) {
+    open();
+    if (revisionInfo.getRevision() != mSize + 1) {
+      return false;
+    }
+
+    try {
+      final ByteArrayOutputStream output = new ByteArrayOutputStream();
+      try (final DataOutputStream dataOutput = new DataOutputStream(output)) {
+        serialize(dataOutput, revisionInfo);
+      }
+      final long offset = mOffsets[mSize];
+      mLog.seek(offset);
+      mLog.write(output.toByteArray());
+
+      if (mSize + 1 == mOffsets.length) {
+        mOffsets = Arrays.copyOf(mOffsets, mOffsets.length << 1);
+      }
+      mOffsets[++mSize] = offset + output.size();
+      return true;
+    } catch (final IOException e) {
+      throw new SirixIOException(e);
+    }
+  }
+
+  /**
+   * Force the appended metadata to the storage device.
+   *
+   * @throws SirixIOException if the log can't be forced
+   */
+  synchronized void force() {
+    if (mLog == null) {
+      return;
+    }
+
+    try {
+      mLog.getChannel().force(false);
+    } catch (final IOException e) {
+      throw new SirixIOException(e);
+    }
+  }
+
+  /**
+   * Read the metadata of a range of revisions with one read of the log.
+   *
+   * @param fromRevision the first revision, which must be at least {@code 1}
+   * @param toRevision the last revision, which must not be bigger than {@link #getLastRevision()}
+   * @return the metadata of the revisions in ascending order
+   * @throws SirixIOException if the log can't be read
+   */
+  synchronized List<RevisionInfo> read(final @Nonnegative int fromRevision, final @Nonnegative int toRevision) {
+    open();
+    checkArgument(fromRevision > 0 && fromRevision <= toRevision && toRevision <= mSize,
+        "Revisions %s to %s aren't in the log.", fromRevision, toRevision);
+
+    try {
+      final long offset = mOffsets[fromRevision - 1];
+      final byte[] entries = new byte[(int) (mOffsets[toRevision] - offset)];
+      mLog.seek(offset);
+      mLog.readFully(entries);
+
+      final DataInputStream input = new DataInputStream(new ByteArrayInputStream(entries));
+      final List<RevisionInfo> revisionInfos = new ArrayList<>(toRevision - fromRevision + 1);
+      for (int revision = fromRevision; revision <= toRevision; revision++) {
+        revisionInfos.add(deserialize(input));
+      }
+      return revisionInfos;
+    } catch (final IOException e) {
+      throw new SirixIOException(e);
+    }
+  }
+
+  /**
+   * Truncate the log to a revision, such that the revisions committed after the revision are logged
+   * again once they are committed anew.
+   *
+   * @param revision the last revision, which is kept in the log
+   * @throws SirixIOException if the log can't be truncated
+   */
+  synchronized void truncateTo(final @Nonnegative int revision) {
+    open();
+    if (revision >= mSize) {
+      return;
+    }
+
+    try {
+      mLog.setLength(mOffsets[revision]);
+      mSize = revision;
+    } catch (final IOException e) {
+      throw new SirixIOException(e);
+    }
+  }
+
+  /**
+   * Open the log and scan the offsets of its entries.
+   */
+  private void open() {
+    if (mLog != null) {
+      return;
+    }
+
+    try {
+      mLog = new RandomAccessFile(mFile.toFile(), "rw");
+      mOffsets = new long[64];
+
+      final DataInputStream input =
+          new DataInputStream(new BufferedInputStream(Channels.newInputStream(mLog.getChannel())));
+      long offset = 0;
+      try {
+        while (offset < mLog.length()) {
+          final int length = skip(input);
+          if (mSize + 1 == mOffsets.length) {
+            mOffsets = Arrays.copyOf(mOffsets, mOffsets.length << 1);
+          }
+          offset += length;
+          mOffsets[++mSize] = offset;
+        }
+      } catch (final EOFException e) {
+        // Truncate an incomplete entry.
+        mLog.setLength(offset);
+      }
+    } catch (final IOException e) {
+      throw new SirixIOException(e);
+    }
+  }
+
+  @Override
+  public synchronized void close() {
+    if (mLog != null) {
+      try {
+        mLog.close();
+      } catch (final IOException e) {
+        throw new SirixIOException(e);
+      } finally {
+        mLog = null;
+        mOffsets = null;
+        mSize = 0;
+      }
+    }
+  }
+
+  private static void serialize(final DataOutput output, final RevisionInfo revisionInfo) throws IOException {
+    final User user = revisionInfo.getUser();
+    final String commitMessage = revisionInfo.getCommitMessage().orElse(null);
+
+    int flags = 0;
+    if (user != null) {
+      flags |= HAS_USER;
+    }
+    if (commitMessage != null) {
+      flags |= HAS_COMMIT_MESSAGE;
+    }
+
+    output.writeInt(revisionInfo.getRevision());
+    output.writeLong(revisionInfo.getRevisionTimestamp().toEpochMilli());
+    output.writeByte(flags);
+    if (user != null) {
+      writeString(output, user.getName());
+      output.writeLong(user.getId().getMostSignificantBits());
+      output.writeLong(user.getId().getLeastSignificantBits());
+    }
+    if (commitMessage != null) {
+      writeString(output, commitMessage);
+    }
+  }
+
+  private static RevisionInfo deserialize(final DataInput input) throws IOException {
+    final int revision = input.readInt();
+    final Instant revisionTimestamp = Instant.ofEpochMilli(input.readLong());
+    final int flags = input.readByte();
+    final User user = (flags & HAS_USER) == 0
+        ? null
+        : new User(readString(input), new UUID(input.readLong(), input.readLong()));
+    final String commitMessage = (flags & HAS_COMMIT_MESSAGE) == 0
+        ? null
+        : readString(input);
+    return new RevisionInfo(user, revision, revisionTimestamp, commitMessage);
+  }
+
+  /**
+   * Skip an entry.
+   *
+   * @return the length of the entry in bytes
+   */
+  private static int skip(final DataInput input) throws IOException {
+    int length = Integer.BYTES + Long.BYTES + Byte.BYTES;
+    input.readInt();
+    input.readLong();
+    final int flags = input.readByte();
+    if ((flags & HAS_USER) != 0) {
+      length += skipString(input) + 2 * Long.BYTES;
+      input.readLong();
+      input.readLong();
+    }
+    if ((flags & HAS_COMMIT_MESSAGE) != 0) {
+      length += skipString(input);
+    }
+    return length;
+  }
+
+  private static void writeString(final DataOutput output, final String string) throws IOException {
+    final byte[] bytes = string.getBytes(StandardCharsets.UTF_8);
+    output.writeInt(bytes.length);
+    output.write(bytes);
+  }
+
+  private static String readString(final DataInput input) throws IOException {
+    final byte[] bytes = new byte[input.readInt()];
+    input.readFully(bytes);
+    return new String(bytes, StandardCharsets.UTF_8);
+  }
+
+  private static int skipString(final DataInput input) throws IOException {
+    final int length = input.readInt();
+    input.readFully(new byte[length]);
+    return Integer.BYTES + length;
+  }
+}
@@ -1,6 +1,5 @@
 package org.sirix.access.trx.node.json;
 
-import java.math.BigInteger;
 import java.time.Instant;
 import java.util.Optional;
 import org.brackit.xquery.atomic.QNm;
@@ -12,6 +11,7 @@ import org.sirix.api.json.JsonNodeReadOnlyTrx;
 import org.sirix.api.json.JsonResourceManager;
 import org.sirix.api.visitor.JsonNodeVisitor;
 import org.sirix.api.visitor.VisitResult;
+import org.sirix.node.NodeHash;
 import org.sirix.node.NodeKind;
 import org.sirix.node.interfaces.immutable.ImmutableNode;
 import com.google.common.collect.ForwardingObject;
@@ -31,7 +31,7 @@ public abstract class AbstractForwardingJsonNodeReadOnlyTrx extends ForwardingOb
   }
 
   @Override
-  public BigInteger getHash() {
+  public NodeHash getHash() {
     return delegate().getHash();
   }
 
@@ -7,6 +7,7 @@ import javax.annotation.Nonnull;
 import org.brackit.xquery.atomic.QNm;
 import org.sirix.api.PageTrx;
 import org.sirix.index.path.summary.PathNode;
+import org.sirix.node.NodeHash;
 import org.sirix.node.NodeKind;
 import org.sirix.node.delegates.NameNodeDelegate;
 import org.sirix.node.delegates.NodeDelegate;
@@ -71,7 +72,7 @@ final class JsonNodeFactoryImpl implements JsonNodeFactory {
                                         .getPathSummaryPageReference()
                                         .getPage()).getMaxNodeKey(0)
             + 1,
-        parentKey, mHashFunction, null, revision, null);
+        parentKey, mHashFunction, NodeHash.ZERO, revision, null);
     final StructNodeDelegate structDel =
         new StructNodeDelegate(nodeDel, Fixed.NULL_NODE_KEY.getStandardProperty(), rightSibKey, leftSibKey, 0, 0);
     final NameNodeDelegate nameDel = new NameNodeDelegate(nodeDel, uriKey, prefixKey, localName, 0);
@@ -84,7 +85,7 @@ final class JsonNodeFactoryImpl implements JsonNodeFactory {
   public ArrayNode createJsonArrayNode(long parentKey, long leftSibKey, long rightSibKey, long pathNodeKey) {
     final long revision = mPageWriteTrx.getRevisionNumber();
     final NodeDelegate nodeDel = new NodeDelegate(mPageWriteTrx.getActualRevisionRootPage().getMaxNodeKey() + 1,
-        parentKey, mHashFunction, null, revision, null);
+        parentKey, mHashFunction, NodeHash.ZERO, revision, null);
     final StructNodeDelegate structDel =
         new StructNodeDelegate(nodeDel, Fixed.NULL_NODE_KEY.getStandardProperty(), rightSibKey, leftSibKey, 0, 0);
     return (ArrayNode) mPageWriteTrx.createEntry(nodeDel.getNodeKey(), new ArrayNode(structDel, pathNodeKey),
@@ -95,7 +96,7 @@ final class JsonNodeFactoryImpl implements JsonNodeFactory {
   public ObjectNode createJsonObjectNode(long parentKey, long leftSibKey, long rightSibKey) {
     final long revision = mPageWriteTrx.getRevisionNumber();
     final NodeDelegate nodeDel = new NodeDelegate(mPageWriteTrx.getActualRevisionRootPage().getMaxNodeKey() + 1,
-        parentKey, mHashFunction, null, revision, null);
+        parentKey, mHashFunction, NodeHash.ZERO, revision, null);
     final StructNodeDelegate structDel =
         new StructNodeDelegate(nodeDel, Fixed.NULL_NODE_KEY.getStandardProperty(), rightSibKey, leftSibKey, 0, 0);
     return (ObjectNode) mPageWriteTrx.createEntry(nodeDel.getNodeKey(), new ObjectNode(structDel), PageKind.RECORDPAGE,
@@ -106,7 +107,7 @@ final class JsonNodeFactoryImpl implements JsonNodeFactory {
   public NullNode createJsonNullNode(long parentKey, long leftSibKey, long rightSibKey) {
     final long revision = mPageWriteTrx.getRevisionNumber();
     final NodeDelegate nodeDel = new NodeDelegate(mPageWriteTrx.getActualRevisionRootPage().getMaxNodeKey() + 1,
-        parentKey, mHashFunction, null, revision, null);
+        parentKey, mHashFunction, NodeHash.ZERO, revision, null);
     final StructNodeDelegate structDel =
         new StructNodeDelegate(nodeDel, Fixed.NULL_NODE_KEY.getStandardProperty(), rightSibKey, leftSibKey, 0, 0);
     return (NullNode) mPageWriteTrx.createEntry(nodeDel.getNodeKey(), new NullNode(structDel), PageKind.RECORDPAGE, -1);
@@ -118,7 +119,7 @@ final class JsonNodeFactoryImpl implements JsonNodeFactory {
     final int localNameKey = mPageWriteTrx.createNameKey(name, NodeKind.OBJECT_KEY);
     final long revision = mPageWriteTrx.getRevisionNumber();
     final NodeDelegate nodeDel = new NodeDelegate(mPageWriteTrx.getActualRevisionRootPage().getMaxNodeKey() + 1,
-        parentKey, mHashFunction, null, revision, null);
+        parentKey, mHashFunction, NodeHash.ZERO, revision, null);
     final StructNodeDelegate structDel = new StructNodeDelegate(nodeDel, objectValueKey, rightSibKey, leftSibKey, 0, 0);
     return (ObjectKeyNode) mPageWriteTrx.createEntry(nodeDel.getNodeKey(),
         new ObjectKeyNode(structDel, localNameKey, name, pathNodeKey), PageKind.RECORDPAGE, -1);
@@ -129,7 +130,7 @@ final class JsonNodeFactoryImpl implements JsonNodeFactory {
       boolean doCompress) {
     final long revision = mPageWriteTrx.getRevisionNumber();
     final NodeDelegate nodeDel = new NodeDelegate(mPageWriteTrx.getActualRevisionRootPage().getMaxNodeKey() + 1,
-        parentKey, mHashFunction, null, revision, null);
+        parentKey, mHashFunction, NodeHash.ZERO, revision, null);
     final boolean compression = doCompress && value.length > 10;
     final byte[] compressedValue = compression
         ? Compression.compress(value, Deflater.HUFFMAN_ONLY)
@@ -145,7 +146,7 @@ final class JsonNodeFactoryImpl implements JsonNodeFactory {
   public BooleanNode createJsonBooleanNode(long parentKey, long leftSibKey, long rightSibKey, boolean boolValue) {
     final long revision = mPageWriteTrx.getRevisionNumber();
     final NodeDelegate nodeDel = new NodeDelegate(mPageWriteTrx.getActualRevisionRootPage().getMaxNodeKey() + 1,
-        parentKey, mHashFunction, null, revision, null);
+        parentKey, mHashFunction, NodeHash.ZERO, revision, null);
     final StructNodeDelegate structDel =
         new StructNodeDelegate(nodeDel, Fixed.NULL_NODE_KEY.getStandardProperty(), rightSibKey, leftSibKey, 0, 0);
     return (BooleanNode) mPageWriteTrx.createEntry(nodeDel.getNodeKey(), new BooleanNode(boolValue, structDel),
@@ -156,7 +157,7 @@ final class JsonNodeFactoryImpl implements JsonNodeFactory {
   public NumberNode createJsonNumberNode(long parentKey, long leftSibKey, long rightSibKey, Number value) {
     final long revision = mPageWriteTrx.getRevisionNumber();
     final NodeDelegate nodeDel = new NodeDelegate(mPageWriteTrx.getActualRevisionRootPage().getMaxNodeKey() + 1,
-        parentKey, mHashFunction, null, revision, null);
+        parentKey, mHashFunction, NodeHash.ZERO, revision, null);
     final StructNodeDelegate structDel =
         new StructNodeDelegate(nodeDel, Fixed.NULL_NODE_KEY.getStandardProperty(), rightSibKey, leftSibKey, 0, 0);
     return (NumberNode) mPageWriteTrx.createEntry(nodeDel.getNodeKey(), new NumberNode(value, structDel),
@@ -17,7 +17,6 @@ import org.sirix.api.visitor.JsonNodeVisitor;
 import org.sirix.api.visitor.VisitResult;
 import org.sirix.exception.SirixIOException;
 import org.sirix.node.NodeKind;
-import org.sirix.node.immutable.json.ImmutableObjectKeyNode;
 import org.sirix.node.interfaces.Node;
 import org.sirix.node.interfaces.Record;
 import org.sirix.node.interfaces.ValueNode;
@@ -271,7 +270,7 @@ public final class JsonNodeReadOnlyTrxImpl extends AbstractNodeReadTrx<JsonNodeR
   public int getNameKey() {
     assertNotClosed();
     if (mCurrentNode.getKind() == NodeKind.OBJECT_KEY) {
-      return ((ImmutableObjectKeyNode) mCurrentNode).getNameKey();
+      return ((ObjectKeyNode) mCurrentNode).getNameKey();
     }
     return -1;
   }
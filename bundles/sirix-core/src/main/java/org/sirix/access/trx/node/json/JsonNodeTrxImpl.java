@@ -24,12 +24,16 @@ package org.sirix.access.trx.node.json;
 import static com.google.common.base.Preconditions.checkNotNull;
 import java.io.IOException;
 import java.io.UncheckedIOException;
-import java.math.BigInteger;
 import java.nio.file.Path;
+import java.util.ArrayDeque;
 import java.util.ArrayList;
+import java.util.Deque;
 import java.util.List;
 import java.util.Optional;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
 import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
 import java.util.concurrent.ScheduledExecutorService;
 import java.util.concurrent.TimeUnit;
 import java.util.concurrent.locks.Lock;
@@ -39,6 +43,7 @@ import javax.annotation.Nonnull;
 import javax.annotation.Nullable;
 import org.brackit.xquery.atomic.QNm;
 import org.sirix.access.User;
+import org.sirix.access.trx.node.ChildrenHash;
 import org.sirix.access.trx.node.CommitCredentials;
 import org.sirix.access.trx.node.HashType;
 import org.sirix.access.trx.node.InternalResourceManager;
@@ -61,6 +66,7 @@ import org.sirix.exception.SirixUsageException;
 import org.sirix.index.path.summary.PathSummaryReader;
 import org.sirix.index.path.summary.PathSummaryWriter;
 import org.sirix.index.path.summary.PathSummaryWriter.OPType;
+import org.sirix.node.NodeHash;
 import org.sirix.node.NodeKind;
 import org.sirix.node.interfaces.NameNode;
 import org.sirix.node.interfaces.Node;
@@ -81,6 +87,8 @@ import org.sirix.page.NamePage;
 import org.sirix.page.PageKind;
 import org.sirix.page.UberPage;
 import org.sirix.page.UnorderedKeyValuePage;
+import org.sirix.service.json.shredder.JsonArrayChunk;
+import org.sirix.service.json.shredder.JsonArrayChunker;
 import org.sirix.service.json.shredder.JsonShredder;
 import org.sirix.service.xml.shredder.InsertPosition;
 import org.sirix.settings.Constants;
@@ -89,6 +97,7 @@ import com.google.common.base.MoreObjects;
 import com.google.common.base.Objects;
 import com.google.common.base.Preconditions;
 import com.google.common.hash.HashFunction;
+import com.google.common.util.concurrent.ThreadFactoryBuilder;
 import com.google.gson.stream.JsonReader;
 import com.google.gson.stream.JsonToken;
 
@@ -115,7 +124,7 @@ import com.google.gson.stream.JsonToken;
 final class JsonNodeTrxImpl extends AbstractForwardingJsonNodeReadOnlyTrx implements JsonNodeTrx {
 
   /** Prime for computing the hash. */
-  private static final BigInteger PRIME = BigInteger.valueOf(77081);
+  static final long PRIME = 77081;
 
   /** Maximum number of node modifications before auto commit. */
   private final int mMaxNodeCount;
@@ -126,6 +135,9 @@ final class JsonNodeTrxImpl extends AbstractForwardingJsonNodeReadOnlyTrx implem
   /** Hash kind of Structure. */
   private final HashType mHashKind;
 
+  /** The combined hashes of the children of a node, which are reused for all nodes of a subtree. */
+  private final ChildrenHash mChildrenHash;
+
   /** Scheduled executor service. */
   private final ScheduledExecutorService mPool =
       Executors.newScheduledThreadPool(Runtime.getRuntime().availableProcessors());
@@ -220,6 +232,7 @@ final class JsonNodeTrxImpl extends AbstractForwardingJsonNodeReadOnlyTrx implem
         : null;
 
     mHashKind = resourceManager.getResourceConfig().hashType;
+    mChildrenHash = new ChildrenHash(mHashKind, PRIME);
     mCompression = resourceManager.getResourceConfig().useTextCompression;
 
     // // Redo last transaction if the system crashed.
@@ -276,59 +289,26 @@ final class JsonNodeTrxImpl extends AbstractForwardingJsonNodeReadOnlyTrx implem
       if (peekedJsonToken != JsonToken.BEGIN_OBJECT && peekedJsonToken != JsonToken.BEGIN_ARRAY)
         throw new SirixUsageException("JSON to insert must begin with an array or object.");
 
-      final var nodeKind = getKind();
-      var skipRootJsonToken = false;
-
-      switch (insertionPosition) {
-        case AS_FIRST_CHILD:
-          if (nodeKind != NodeKind.JSON_DOCUMENT && nodeKind != NodeKind.ARRAY && nodeKind != NodeKind.OBJECT) {
-            throw new IllegalStateException(
-                "Current node must either be the document root, an array or an object key.");
-          }
-
-          switch (peekedJsonToken) {
-            case BEGIN_OBJECT:
-              if (nodeKind != NodeKind.OBJECT && nodeKind != NodeKind.ARRAY && nodeKind != NodeKind.JSON_DOCUMENT) {
-                throw new IllegalStateException("Current node in storage must be an object node.");
-              }
-
-              if (nodeKind == NodeKind.OBJECT)
-                skipRootJsonToken = true;
-              break;
-            case BEGIN_ARRAY:
-              if (nodeKind != NodeKind.ARRAY && nodeKind != NodeKind.JSON_DOCUMENT) {
-                throw new IllegalStateException("Current node in storage must be an array node.");
-              }
-
-              if (nodeKind == NodeKind.ARRAY)
-                skipRootJsonToken = true;
-
-              break;
-            // $CASES-OMITTED$
-            default:
-          }
-          break;
-        case AS_RIGHT_SIBLING:
-          final NodeKind parentKind = getParentKind();
-          if (parentKind != NodeKind.ARRAY) {
-            throw new IllegalStateException("Current parent node must an array.");
-          }
-          break;
-        // $CASES-OMITTED$
-        default:
-          throw new UnsupportedOperationException();
-      }
+      final boolean skipRootJsonToken = isSkipRootJsonToken(peekedJsonToken, insertionPosition);
 
       checkAccessAndCommit();
-      mBulkInsert = true;
       var nodeKey = getCurrentNode().getNodeKey();
+      // The nodes, which have been inserted, are followed by the former first child or right sibling.
+      final long stopKey = insertionPosition == InsertPosition.AS_FIRST_CHILD
+          ? mNodeReadOnlyTrx.getStructuralNode().getFirstChildKey()
+          : mNodeReadOnlyTrx.getStructuralNode().getRightSiblingKey();
       final var shredderBuilder = new JsonShredder.Builder(this, reader, insertionPosition);
 
       if (skipRootJsonToken)
         shredderBuilder.skipRootJsonToken();
 
       final var shredder = shredderBuilder.build();
-      shredder.call();
+      mBulkInsert = true;
+      try {
+        shredder.call();
+      } finally {
+        mBulkInsert = false;
+      }
       moveTo(nodeKey);
 
       switch (insertionPosition) {
@@ -345,20 +325,87 @@ final class JsonNodeTrxImpl extends AbstractForwardingJsonNodeReadOnlyTrx implem
           // May not happen.
       }
 
-      if (mHashKind != HashType.NONE) {
+      // Nothing has been inserted, if the cursor is still on the node or on the node following the
+      // inserted nodes.
+      if (mHashKind != HashType.NONE && getCurrentNode().getNodeKey() != nodeKey
+          && getCurrentNode().getNodeKey() != stopKey) {
         nodeKey = getCurrentNode().getNodeKey();
-        postOrderTraversalHashes();
-        final ImmutableNode startNode = getCurrentNode();
-        moveToParent();
-        while (getCurrentNode().hasParent()) {
-          moveToParent();
-          addParentHash(startNode);
-        }
+        do {
+          final long subtreeKey = getCurrentNode().getNodeKey();
+          postOrderTraversalHashes();
+          moveTo(subtreeKey);
+          adaptHashesWithAdd();
+        } while (moveToRightSibling().hasMoved() && getCurrentNode().getNodeKey() != stopKey);
         moveTo(nodeKey);
       }
 
       commit();
-      mBulkInsert = false;
+    } catch (final IOException e) {
+      throw new UncheckedIOException(e);
+    } finally {
+      unLock();
+    }
+    return this;
+  }
+
+  @Override
+  public JsonNodeTrx insertSubtreeAsFirstChild(final JsonArrayChunker chunker) {
+    return insertSubtree(chunker, InsertPosition.AS_FIRST_CHILD);
+  }
+
+  @Override
+  public JsonNodeTrx insertSubtreeAsRightSibling(final JsonArrayChunker chunker) {
+    return insertSubtree(chunker, InsertPosition.AS_RIGHT_SIBLING);
+  }
+
+  private JsonNodeTrx insertSubtree(final JsonArrayChunker chunker, final InsertPosition insertionPosition) {
+    checkNotNull(chunker);
+    assert insertionPosition != null;
+    acquireLock();
+    try (chunker) {
+      final boolean skipRootJsonToken = isSkipRootJsonToken(JsonToken.BEGIN_ARRAY, insertionPosition);
+
+      checkAccessAndCommit();
+      // The elements are followed by the former first child of an array they are merged into.
+      final long rightSiblingKey = skipRootJsonToken
+          ? mNodeReadOnlyTrx.getStructuralNode().getFirstChildKey()
+          : Fixed.NULL_NODE_KEY.getStandardProperty();
+
+      if (!skipRootJsonToken) {
+        mBulkInsert = true;
+        try {
+          if (insertionPosition == InsertPosition.AS_FIRST_CHILD) {
+            insertArrayAsFirstChild();
+          } else {
+            insertArrayAsRightSibling();
+          }
+        } finally {
+          mBulkInsert = false;
+        }
+      }
+
+      final long arrayKey = getCurrentNode().getNodeKey();
+      final long firstElementKey = insertArrayElements(chunker, rightSiblingKey);
+
+      if (mHashKind != HashType.NONE) {
+        if (!skipRootJsonToken) {
+          addHashAndDescendantCount();
+          adaptHashesWithAdd();
+        } else if (firstElementKey != Fixed.NULL_NODE_KEY.getStandardProperty()) {
+          // The hashes and descendant counts of the elements have been computed, when they've been built.
+          moveTo(firstElementKey);
+          do {
+            adaptHashesWithAdd();
+          } while (moveToRightSibling().hasMoved() && getCurrentNode().getNodeKey() != rightSiblingKey);
+        }
+      }
+
+      moveTo(arrayKey);
+      if (skipRootJsonToken) {
+        moveToFirstChild();
+      }
+
+      commit();
     } catch (final IOException e) {
       throw new UncheckedIOException(e);
     } finally {
@@ -368,78 +415,252 @@ final class JsonNodeTrxImpl extends AbstractForwardingJsonNodeReadOnlyTrx implem
   }
 
   /**
-   * Modifying hashes in a postorder-traversal.
+   * Insert the elements of the chunks into the current array, before its former first child. The
+   * nodes of each chunk are built by worker threads on a range of reserved node keys, whereas the
+   * name keys, the path summary and the indexes are adapted by the current thread, once the nodes are
+   * added in document order. The elements of adjacent chunks are linked when they are added.
    *
-   * @throws SirixIOException if an I/O error occurs
+   * @param chunker the chunks of array elements
+   * @param rightSiblingKey the former first child of the array
+   * @return the node key of the first element, or the {@code NULL_NODE_KEY} if the array is empty
+   * @throws IOException if the JSON can't be read
    */
-  private void postOrderTraversalHashes() {
-    new PostOrderAxis(this, IncludeSelf.YES).forEach((unused) -> {
-      addHashAndDescendantCount();
-    });
+  private long insertArrayElements(final JsonArrayChunker chunker, final long rightSiblingKey) throws IOException {
+    final long arrayKey = getCurrentNode().getNodeKey();
+    final long arrayPathNodeKey = ((ArrayNode) getCurrentNode()).getPathNodeKey();
+    final var builder = new JsonRecordChunkBuilder(mHashFunction, mHashKind, mCompression,
+        mPageWriteTrx.getRevisionNumber(), arrayKey, rightSiblingKey);
+    final int threads = chunker.getThreads();
+    final ExecutorService executor = Executors.newFixedThreadPool(threads,
+        new ThreadFactoryBuilder().setNameFormat("json-record-builder-%d").setDaemon(true).build());
+    final Deque<Future<JsonRecordChunk>> chunks = new ArrayDeque<>();
+    long firstElementKey = Fixed.NULL_NODE_KEY.getStandardProperty();
+    long lastElementKey = Fixed.NULL_NODE_KEY.getStandardProperty();
+    long lastAddedElementKey = Fixed.NULL_NODE_KEY.getStandardProperty();
+    long elementCount = 0;
+    try {
+      JsonArrayChunk tokens;
+      while ((tokens = chunker.next()) != null) {
+        if (tokens.getNodeCount() == 0) {
+          continue;
+        }
+        final JsonArrayChunk chunkTokens = tokens;
+        final long leftSiblingKey = lastElementKey;
+        final long firstNodeKey = mPageWriteTrx.getActualRevisionRootPage().reserveNodeKeys(tokens.getNodeCount());
+        chunks.add(executor.submit(() -> builder.build(chunkTokens, firstNodeKey, leftSiblingKey)));
+
+        if (firstElementKey == Fixed.NULL_NODE_KEY.getStandardProperty()) {
+          firstElementKey = firstNodeKey;
+        }
+        lastElementKey = firstNodeKey + tokens.getLastElementNode();
+        elementCount += tokens.getElementCount();
+        mModificationCount += tokens.getNodeCount();
+
+        if (chunks.size() > threads) {
+          lastAddedElementKey = addRecordChunk(chunks.remove().get(), arrayPathNodeKey, lastAddedElementKey);
+        }
+      }
+      while (!chunks.isEmpty()) {
+        lastAddedElementKey = addRecordChunk(chunks.remove().get(), arrayPathNodeKey, lastAddedElementKey);
+      }
+    } catch (final InterruptedException e) {
+      Thread.currentThread().interrupt();
+      throw new SirixThreadedException(e);
+    } catch (final ExecutionException e) {
+      throw new SirixThreadedException(e);
+    } finally {
+      executor.shutdownNow();
+    }
+
+    if (elementCount > 0) {
+      final StructNode array =
+          (StructNode) mPageWriteTrx.prepareEntryForModification(arrayKey, PageKind.RECORDPAGE, -1);
+      for (long i = 0; i < elementCount; i++) {
+        array.incrementChildCount();
+      }
+      array.setFirstChildKey(firstElementKey);
+
+      if (rightSiblingKey != Fixed.NULL_NODE_KEY.getStandardProperty()) {
+        final StructNode rightSibling =
+            (StructNode) mPageWriteTrx.prepareEntryForModification(rightSiblingKey, PageKind.RECORDPAGE, -1);
+        rightSibling.setLeftSiblingKey(lastElementKey);
+      }
+    }
+    moveTo(arrayKey);
+
+    return firstElementKey;
   }
 
   /**
-   * Add a hash.
+   * Add the nodes of a chunk to the record pages. The name keys of the object keys and the path node
+   * keys are set and the indexes are notified, just as if the nodes are inserted one by one.
    *
-   * @param startNode start node
+   * @param chunk the nodes of the chunk
+   * @param arrayPathNodeKey the path node key of the array the elements are inserted into
+   * @param leftSiblingKey the last element of the preceding chunk, or the {@code NULL_NODE_KEY} if the
+   *        chunk is the first one
+   * @return the node key of the last element of the chunk
    */
-  private void addParentHash(final ImmutableNode startNode) {
-    switch (mHashKind) {
-      case ROLLING:
-        final BigInteger hashToAdd = startNode.computeHash();
-        final Node node =
-            (Node) mPageWriteTrx.prepareEntryForModification(mNodeReadOnlyTrx.getCurrentNode().getNodeKey(),
-                PageKind.RECORDPAGE, -1);
-        node.setHash(node.getHash().add(hashToAdd.multiply(PRIME)));
-        if (startNode instanceof StructNode) {
-          ((StructNode) node).setDescendantCount(
-              ((StructNode) node).getDescendantCount() + ((StructNode) startNode).getDescendantCount() + 1);
+  private long addRecordChunk(final JsonRecordChunk chunk, final long arrayPathNodeKey, final long leftSiblingKey) {
+    if (leftSiblingKey != Fixed.NULL_NODE_KEY.getStandardProperty()) {
+      final StructNode leftSibling =
+          (StructNode) mPageWriteTrx.prepareEntryForModification(leftSiblingKey, PageKind.RECORDPAGE, -1);
+      leftSibling.setRightSiblingKey(chunk.getNode(0).getNodeKey());
+    }
+
+    final long[] pathNodeKeys = new long[chunk.size()];
+    for (int i = 0, size = chunk.size(); i < size; i++) {
+      final StructNode node = chunk.getNode(i);
+      final long parentPathNodeKey = chunk.getPathParent(i) == -1
+          ? arrayPathNodeKey
+          : pathNodeKeys[chunk.getPathParent(i)];
+
+      switch (node.getKind()) {
+        case OBJECT_KEY:
+          final ObjectKeyNode objectKey = (ObjectKeyNode) node;
+          objectKey.setLocalNameKey(mPageWriteTrx.createNameKey(objectKey.getName(), NodeKind.OBJECT_KEY));
+          pathNodeKeys[i] = mBuildPathSummary
+              ? mPathSummaryWriter.getPathNodeKey(parentPathNodeKey, new QNm(objectKey.getName()), NodeKind.OBJECT_KEY)
+              : 0;
+          objectKey.setPathNodeKey(pathNodeKeys[i]);
+          break;
+        case ARRAY:
+          pathNodeKeys[i] = mBuildPathSummary
+              ? mPathSummaryWriter.getPathNodeKey(parentPathNodeKey, new QNm("array"), NodeKind.ARRAY)
+              : 0;
+          ((ArrayNode) node).setPathNodeKey(pathNodeKeys[i]);
+          break;
+        // $CASES-OMITTED$
+        default:
+      }
+
+      mPageWriteTrx.createReservedEntry(node);
+
+      // Index the node, just like it's indexed if inserted as first child or right sibling.
+      if (node.hasLeftSibling()) {
+        mIndexController.notifyChange(ChangeType.INSERT, node, node.getKind() == NodeKind.OBJECT_KEY
+            ? pathNodeKeys[i]
+            : -1);
+      } else if (node.getKind() == NodeKind.STRING_VALUE || node.getKind() == NodeKind.BOOLEAN_VALUE
+          || node.getKind() == NodeKind.NUMBER_VALUE) {
+        mIndexController.notifyChange(ChangeType.INSERT, node, node.getParentKey());
+      }
+    }
+
+    return chunk.getNode(chunk.getLastElement()).getNodeKey();
+  }
+
+  /**
+   * Check if JSON, which begins with the given token, can be inserted at the given position.
+   *
+   * @param peekedJsonToken the first token of the JSON to insert
+   * @param insertionPosition the position to insert the JSON at
+   * @return {@code true}, if the root array or object is merged into the current node, {@code false}
+   *         otherwise
+   * @throws IllegalStateException if the JSON can't be inserted at the position
+   */
+  private boolean isSkipRootJsonToken(final JsonToken peekedJsonToken, final InsertPosition insertionPosition) {
+    final var nodeKind = getKind();
+    var skipRootJsonToken = false;
+
+    switch (insertionPosition) {
+      case AS_FIRST_CHILD:
+        if (nodeKind != NodeKind.JSON_DOCUMENT && nodeKind != NodeKind.ARRAY && nodeKind != NodeKind.OBJECT) {
+          throw new IllegalStateException(
+              "Current node must either be the document root, an array or an object key.");
+        }
+
+        switch (peekedJsonToken) {
+          case BEGIN_OBJECT:
+            if (nodeKind != NodeKind.OBJECT && nodeKind != NodeKind.ARRAY && nodeKind != NodeKind.JSON_DOCUMENT) {
+              throw new IllegalStateException("Current node in storage must be an object node.");
+            }
+
+            if (nodeKind == NodeKind.OBJECT)
+              skipRootJsonToken = true;
+            break;
+          case BEGIN_ARRAY:
+            if (nodeKind != NodeKind.ARRAY && nodeKind != NodeKind.JSON_DOCUMENT) {
+              throw new IllegalStateException("Current node in storage must be an array node.");
+            }
+
+            if (nodeKind == NodeKind.ARRAY)
+              skipRootJsonToken = true;
+
+            break;
+          // $CASES-OMITTED$
+          default:
         }
         break;
-      case POSTORDER:
+      case AS_RIGHT_SIBLING:
+        final NodeKind parentKind = getParentKind();
+        if (parentKind != NodeKind.ARRAY) {
+          throw new IllegalStateException("Current parent node must an array.");
+        }
         break;
-      case NONE:
+      // $CASES-OMITTED$
       default:
+        throw new UnsupportedOperationException();
     }
+
+    return skipRootJsonToken;
+  }
+
+  /**
+   * Computing the hashes and descendant counts of an inserted subtree in a single postorder-traversal,
+   * such that each node is modified once instead of adapting all ancestors for each inserted node.
+   */
+  private void postOrderTraversalHashes() {
+    new PostOrderAxis(this, IncludeSelf.YES).forEach((unused) -> {
+      addHashAndDescendantCount();
+    });
   }
 
-  /** Add a hash and the descendant count. */
+  /**
+   * Compute the hash and the descendant count of the current node from its children, whose hashes and
+   * descendant counts are already computed. The hash equals the hash of the node, if the subtree had
+   * been inserted node by node in document order. Just as then, descendant counts are only maintained
+   * with rolling hashes.
+   */
   private void addHashAndDescendantCount() {
-    switch (mHashKind) {
-      case ROLLING:
-        // Setup.
-        final ImmutableJsonNode startNode = getCurrentNode();
-        final long oldDescendantCount = mNodeReadOnlyTrx.getStructuralNode().getDescendantCount();
-        final long descendantCount = oldDescendantCount == 0
-            ? 1
-            : oldDescendantCount + 1;
-
-        // Set start node.
-        final BigInteger hashToAdd = startNode.computeHash();
-        Node node = (Node) mPageWriteTrx.prepareEntryForModification(mNodeReadOnlyTrx.getCurrentNode().getNodeKey(),
-            PageKind.RECORDPAGE, -1);
-        node.setHash(hashToAdd);
-
-        // Set parent node.
-        if (startNode.hasParent()) {
-          moveToParent();
-          node = (Node) mPageWriteTrx.prepareEntryForModification(mNodeReadOnlyTrx.getCurrentNode().getNodeKey(),
-              PageKind.RECORDPAGE, -1);
-          final BigInteger hash = node.getHash() == null
-              ? node.computeHash()
-              : node.getHash();
-          node.setHash(hash.add(hashToAdd.multiply(PRIME)));
+    final long nodeKey = getCurrentNode().getNodeKey();
+    long descendantCount = 0;
+    final ChildrenHash childrenHash = mChildrenHash.reset();
+    if (moveToFirstChild().hasMoved()) {
+      do {
+        descendantCount += mNodeReadOnlyTrx.getStructuralNode().getDescendantCount() + 1;
+        childrenHash.add((Node) getCurrentNode());
+      } while (moveToRightSibling().hasMoved());
+    }
 
-          setAddDescendants(startNode, node, descendantCount);
-        }
+    final StructNode node =
+        (StructNode) mPageWriteTrx.prepareEntryForModification(nodeKey, PageKind.RECORDPAGE, -1);
+    setHashAndDescendantCount(mHashKind, node, childrenHash, descendantCount);
+    mNodeReadOnlyTrx.setCurrentNode((ImmutableJsonNode) node);
+  }
 
-        mNodeReadOnlyTrx.setCurrentNode(startNode);
-        break;
-      case POSTORDER:
-        postorderAdd();
-        break;
-      case NONE:
-      default:
+  /**
+   * Set the hash and the descendant count of a node from its children.
+   *
+   * @param hashType the kind of hashes, either rolling or postorder hashes
+   * @param node the node, whose rolling hash has been computed once it's been inserted
+   * @param childrenHash the combined hashes of the children
+   * @param descendantCount the number of descendants
+   */
+  static void setHashAndDescendantCount(final HashType hashType, final StructNode node,
+      final ChildrenHash childrenHash, final long descendantCount) {
+    if (hashType == HashType.ROLLING) {
+      // The rolling hash of a node is computed once it's inserted and has been stored by then.
+      childrenHash.addTo(node);
+      node.setDescendantCount(descendantCount);
+    } else {
+      // The postorder hash of a node is computed last, once its subtree has been inserted, that is
+      // before its right sibling is inserted.
+      final long rightSiblingKey = node.getRightSiblingKey();
+      node.setRightSiblingKey(Fixed.NULL_NODE_KEY.getStandardProperty());
+      final NodeHash hash = node.computeHash();
+      node.setRightSiblingKey(rightSiblingKey);
+      childrenHash.setHash(node, hash);
     }
   }
 
@@ -525,21 +746,12 @@ final class JsonNodeTrxImpl extends AbstractForwardingJsonNodeReadOnlyTrx implem
 
       insertValue(value);
 
-      setFirstChildOfObjectKeyNode(node);
-
       return this;
     } finally {
       unLock();
     }
   }
 
-  private void setFirstChildOfObjectKeyNode(final ObjectKeyNode node) {
-    final ObjectKeyNode objectKeyNode =
-        (ObjectKeyNode) mPageWriteTrx.prepareEntryForModification(node.getNodeKey(), PageKind.RECORDPAGE, -1);
-    objectKeyNode.incrementChildCount();
-    objectKeyNode.setFirstChildKey(getNodeKey());
-  }
-
   private void insertValue(final ObjectRecordValue<?> value) throws AssertionError {
     final NodeKind valueKind = value.getKind();
 
@@ -605,6 +817,8 @@ final class JsonNodeTrxImpl extends AbstractForwardingJsonNodeReadOnlyTrx implem
       final long leftSibKey = currentNode.getNodeKey();
       final long rightSibKey = currentNode.getRightSiblingKey();
 
+      // The path of the new node is below the path of its parent, not of its left sibling.
+      mNodeReadOnlyTrx.moveTo(parentKey);
       final long pathNodeKey = getPathNodeKey(currentNode.getNodeKey(), key, NodeKind.OBJECT_KEY);
 
       final ObjectKeyNode node =
@@ -614,8 +828,6 @@ final class JsonNodeTrxImpl extends AbstractForwardingJsonNodeReadOnlyTrx implem
 
       insertValue(value);
 
-      setFirstChildOfObjectKeyNode(node);
-
       return this;
     } finally {
       unLock();
@@ -669,6 +881,8 @@ final class JsonNodeTrxImpl extends AbstractForwardingJsonNodeReadOnlyTrx implem
       final long leftSibKey = currentNode.getNodeKey();
       final long rightSibKey = currentNode.getRightSiblingKey();
 
+      // The path of the new node is below the path of its parent, not of its left sibling.
+      mNodeReadOnlyTrx.moveTo(parentKey);
       final long pathNodeKey = getPathNodeKey(currentNode.getNodeKey(), "array", NodeKind.ARRAY);
 
       final ArrayNode node = mNodeFactory.createJsonArrayNode(parentKey, leftSibKey, rightSibKey, pathNodeKey);
@@ -907,7 +1121,7 @@ final class JsonNodeTrxImpl extends AbstractForwardingJsonNodeReadOnlyTrx implem
 
       final long parentKey = structNode.getNodeKey();
       final long leftSibKey = Fixed.NULL_NODE_KEY.getStandardProperty();
-      final long rightSibKey = structNode.getRightSiblingKey();
+      final long rightSibKey = structNode.getFirstChildKey();
 
       final NullNode node = mNodeFactory.createJsonNullNode(parentKey, leftSibKey, rightSibKey);
 
@@ -1059,7 +1273,7 @@ final class JsonNodeTrxImpl extends AbstractForwardingJsonNodeReadOnlyTrx implem
       checkAccessAndCommit();
 
       NameNode node = (NameNode) mNodeReadOnlyTrx.getCurrentNode();
-      final BigInteger oldHash = node.computeHash();
+      final NodeHash oldHash = node.computeHash();
 
       // Remove old keys from mapping.
       final NodeKind nodeKind = node.getKind();
@@ -1112,7 +1326,7 @@ final class JsonNodeTrxImpl extends AbstractForwardingJsonNodeReadOnlyTrx implem
       // Remove old value from indexes.
       mIndexController.notifyChange(ChangeType.DELETE, getNode(), pathNodeKey);
 
-      final BigInteger oldHash = mNodeReadOnlyTrx.getCurrentNode().computeHash();
+      final NodeHash oldHash = mNodeReadOnlyTrx.getCurrentNode().computeHash();
       final byte[] byteVal = getBytes(value);
 
       final StringNode node =
@@ -1149,7 +1363,7 @@ final class JsonNodeTrxImpl extends AbstractForwardingJsonNodeReadOnlyTrx implem
       // Remove old value from indexes.
       mIndexController.notifyChange(ChangeType.DELETE, getNode(), pathNodeKey);
 
-      final BigInteger oldHash = mNodeReadOnlyTrx.getCurrentNode().computeHash();
+      final NodeHash oldHash = mNodeReadOnlyTrx.getCurrentNode().computeHash();
 
       final BooleanNode node =
           (BooleanNode) mPageWriteTrx.prepareEntryForModification(mNodeReadOnlyTrx.getCurrentNode().getNodeKey(),
@@ -1183,7 +1397,7 @@ final class JsonNodeTrxImpl extends AbstractForwardingJsonNodeReadOnlyTrx implem
         // Remove old value from indexes.
         mIndexController.notifyChange(ChangeType.DELETE, getNode(), pathNodeKey);
 
-        final BigInteger oldHash = mNodeReadOnlyTrx.getCurrentNode().computeHash();
+        final NodeHash oldHash = mNodeReadOnlyTrx.getCurrentNode().computeHash();
 
         final NumberNode node =
             (NumberNode) mPageWriteTrx.prepareEntryForModification(mNodeReadOnlyTrx.getCurrentNode().getNodeKey(),
@@ -1624,6 +1838,12 @@ final class JsonNodeTrxImpl extends AbstractForwardingJsonNodeReadOnlyTrx implem
         case NONE:
         default:
       }
+    } else if (mHashKind == HashType.ROLLING) {
+      // Keep the hash of the inserted node, which depends on its structure, until the hashes of the
+      // inserted subtree are computed.
+      final Node node = (Node) mPageWriteTrx.prepareEntryForModification(
+          mNodeReadOnlyTrx.getCurrentNode().getNodeKey(), PageKind.RECORDPAGE, -1);
+      node.setHash(node.computeHash());
     }
   }
 
@@ -1653,7 +1873,7 @@ final class JsonNodeTrxImpl extends AbstractForwardingJsonNodeReadOnlyTrx implem
    * @param oldHash pOldHash to be removed
    * @throws SirixIOException if an I/O error occurs
    */
-  private void adaptHashedWithUpdate(final BigInteger oldHash) {
+  private void adaptHashedWithUpdate(final NodeHash oldHash) {
     if (!mBulkInsert) {
       switch (mHashKind) {
         case ROLLING:
@@ -1687,7 +1907,7 @@ final class JsonNodeTrxImpl extends AbstractForwardingJsonNodeReadOnlyTrx implem
     // start with hash to add
     final ImmutableJsonNode startNode = getCurrentNode();
     // long for adapting the hash of the parent
-    BigInteger hashCodeForParent = BigInteger.ZERO;
+    NodeHash hashCodeForParent = NodeHash.ZERO;
     // adapting the parent if the current node is no structural one.
     if (!(startNode instanceof StructNode)) {
       final Node node = (Node) mPageWriteTrx.prepareEntryForModification(mNodeReadOnlyTrx.getCurrentNode().getNodeKey(),
@@ -1729,7 +1949,7 @@ final class JsonNodeTrxImpl extends AbstractForwardingJsonNodeReadOnlyTrx implem
 
       // setting hash and resetting hash
       cursorToRoot.setHash(hashCodeForParent);
-      hashCodeForParent = BigInteger.ZERO;
+      hashCodeForParent = NodeHash.ZERO;
     } while (moveTo(cursorToRoot.getParentKey()).hasMoved());
 
     mNodeReadOnlyTrx.setCurrentNode(startNode);
@@ -1741,24 +1961,22 @@ final class JsonNodeTrxImpl extends AbstractForwardingJsonNodeReadOnlyTrx implem
    * @param oldHash pOldHash to be removed
    * @throws SirixIOException if anything weird happened
    */
-  private void rollingUpdate(final BigInteger oldHash) {
+  private void rollingUpdate(final NodeHash oldHash) {
     final ImmutableJsonNode newNode = getCurrentNode();
-    final BigInteger hash = newNode.computeHash();
-    final BigInteger newNodeHash = hash;
-    BigInteger resultNew = hash;
+    // The hash of the node changes by the difference, the hashes of the ancestors by the difference
+    // multiplied by the prime.
+    final NodeHash difference = newNode.computeHash().subtract(oldHash);
+    final NodeHash ancestorDifference = difference.multiply(PRIME);
 
     // go the path to the root
     do {
       final Node node = (Node) mPageWriteTrx.prepareEntryForModification(mNodeReadOnlyTrx.getCurrentNode().getNodeKey(),
           PageKind.RECORDPAGE, -1);
       if (node.getNodeKey() == newNode.getNodeKey()) {
-        resultNew = Node.to128BitsAtMaximumBigInteger(node.getHash().subtract(oldHash));
-        resultNew = Node.to128BitsAtMaximumBigInteger(resultNew.add(newNodeHash));
+        node.addHash(difference.getHigh(), difference.getLow());
       } else {
-        resultNew = Node.to128BitsAtMaximumBigInteger(node.getHash().subtract(oldHash.multiply(PRIME)));
-        resultNew = Node.to128BitsAtMaximumBigInteger(resultNew.add(newNodeHash.multiply(PRIME)));
+        node.addHash(ancestorDifference.getHigh(), ancestorDifference.getLow());
       }
-      node.setHash(resultNew);
     } while (moveTo(mNodeReadOnlyTrx.getCurrentNode().getParentKey()).hasMoved());
 
     mNodeReadOnlyTrx.setCurrentNode(newNode);
@@ -1769,30 +1987,25 @@ final class JsonNodeTrxImpl extends AbstractForwardingJsonNodeReadOnlyTrx implem
    */
   private void rollingRemove() {
     final ImmutableJsonNode startNode = getCurrentNode();
-    BigInteger hashToRemove = startNode.getHash();
-    BigInteger hashToAdd = BigInteger.ZERO;
-    BigInteger newHash = BigInteger.ZERO;
+    // The hash of the removed node, which is multiplied by the prime once more for each ancestor.
+    final NodeHash removedHash = startNode.getHash();
+    long hashToRemoveHigh = removedHash.getHigh();
+    long hashToRemoveLow = removedHash.getLow();
     // go the path to the root
     do {
       final Node node = (Node) mPageWriteTrx.prepareEntryForModification(mNodeReadOnlyTrx.getCurrentNode().getNodeKey(),
           PageKind.RECORDPAGE, -1);
       if (node.getNodeKey() == startNode.getNodeKey()) {
         // the begin node is always null
-        newHash = BigInteger.ZERO;
-      } else if (node.getNodeKey() == startNode.getParentKey()) {
-        // the parent node is just removed
-        newHash = Node.to128BitsAtMaximumBigInteger(node.getHash().subtract(hashToRemove.multiply(PRIME)));
-        hashToRemove = Node.to128BitsAtMaximumBigInteger(node.getHash());
-        setRemoveDescendants(startNode);
+        node.setHash(0L, 0L);
       } else {
-        // the ancestors are all touched regarding the modification
-        newHash = Node.to128BitsAtMaximumBigInteger(node.getHash().subtract(hashToRemove.multiply(PRIME)));
-        newHash = Node.to128BitsAtMaximumBigInteger(newHash.add(hashToAdd.multiply(PRIME)));
-        hashToRemove = node.getHash();
+        // the parent node and all further ancestors are touched regarding the modification
+        final long high = NodeHash.multiplyHigh(hashToRemoveHigh, hashToRemoveLow, PRIME);
+        hashToRemoveLow = NodeHash.multiplyLow(hashToRemoveHigh, hashToRemoveLow, PRIME);
+        hashToRemoveHigh = high;
+        node.subtractHash(hashToRemoveHigh, hashToRemoveLow);
         setRemoveDescendants(startNode);
       }
-      node.setHash(newHash);
-      hashToAdd = newHash;
     } while (moveTo(mNodeReadOnlyTrx.getCurrentNode().getParentKey()).hasMoved());
 
     mNodeReadOnlyTrx.setCurrentNode(startNode);
@@ -1823,35 +2036,27 @@ final class JsonNodeTrxImpl extends AbstractForwardingJsonNodeReadOnlyTrx implem
     final long descendantCount = oldDescendantCount == 0
         ? 1
         : oldDescendantCount + 1;
-    BigInteger hashToAdd = startNode.getHash() == null || BigInteger.ZERO.equals(startNode.getHash())
+    // The hash of the inserted node, which is multiplied by the prime once more for each ancestor.
+    final NodeHash addedHash = NodeHash.ZERO.equals(startNode.getHash())
         ? startNode.computeHash()
         : startNode.getHash();
-    BigInteger newHash = BigInteger.ZERO;
-    BigInteger possibleOldHash = BigInteger.ZERO;
+    long hashToAddHigh = addedHash.getHigh();
+    long hashToAddLow = addedHash.getLow();
     // go the path to the root
     do {
       final Node node = (Node) mPageWriteTrx.prepareEntryForModification(mNodeReadOnlyTrx.getCurrentNode().getNodeKey(),
           PageKind.RECORDPAGE, -1);
       if (node.getNodeKey() == startNode.getNodeKey()) {
         // at the beginning, take the hashcode of the node only
-        newHash = hashToAdd;
-      } else if (node.getNodeKey() == startNode.getParentKey()) {
-        // at the parent level, just add the node
-        possibleOldHash = node.getHash();
-        newHash = Node.to128BitsAtMaximumBigInteger(possibleOldHash.add(hashToAdd.multiply(PRIME)));
-        hashToAdd = newHash;
-        setAddDescendants(startNode, node, descendantCount);
+        node.setHash(hashToAddHigh, hashToAddLow);
       } else {
-        // at the rest, remove the existing old key for this element
-        // and add the new one
-        newHash = Node.to128BitsAtMaximumBigInteger(node.getHash().subtract(possibleOldHash.multiply(PRIME)));
-        newHash = Node.to128BitsAtMaximumBigInteger(newHash.add(hashToAdd.multiply(PRIME)));
-        hashToAdd = newHash;
-        possibleOldHash = node.getHash();
+        // at the parent level and all further ancestors, add the change of the hash of the child
+        final long high = NodeHash.multiplyHigh(hashToAddHigh, hashToAddLow, PRIME);
+        hashToAddLow = NodeHash.multiplyLow(hashToAddHigh, hashToAddLow, PRIME);
+        hashToAddHigh = high;
+        node.addHash(hashToAddHigh, hashToAddLow);
         setAddDescendants(startNode, node, descendantCount);
       }
-      node.setHash(newHash);
-
     } while (moveTo(mNodeReadOnlyTrx.getCurrentNode().getParentKey()).hasMoved());
     mNodeReadOnlyTrx.setCurrentNode(startNode);
   }
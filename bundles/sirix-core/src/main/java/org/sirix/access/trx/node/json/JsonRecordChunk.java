@@ -0,0 +1,79 @@
+package org.sirix.access.trx.node.json;
+
+import org.sirix.node.interfaces.StructNode;
+
+/**
+ * The nodes of a chunk of elements of a JSON array, which have been built by a
+ * {@link JsonRecordChunkBuilder} on a range of reserved node keys, but which haven't been added to
+ * the record pages yet.
+ *
+ * @author Johannes Lichtenberger
+ *
+ */
+final class JsonRecordChunk {
+
+  /** The nodes in document order, whose keys are consecutive. */
+  private final StructNode[] mNodes;
+
+  /**
+   * The index of the nearest ancestor of each node, which is an object key or an array and thus
+   * determines the path of the node, {@code -1} if it's the array the elements are inserted into.
+   */
+  private final int[] mPathParents;
+
+  /** The index of the last array element, {@code -1} if the chunk has no elements. */
+  private final int mLastElement;
+
+  /**
+   * Constructor.
+   *
+   * @param nodes the nodes in document order
+   * @param pathParents the index of the path parent of each node
+   * @param lastElement the index of the last array element
+   */
+  JsonRecordChunk(final StructNode[] nodes, final int[] pathParents, final int lastElement) {
+    assert nodes.length == pathParents.length;
+    mNodes = nodes;
+    mPathParents = pathParents;
+    mLastElement = lastElement;
+  }
+
+  /**
+   * Get the number of nodes.
+   *
+   * @return the number of nodes
+   */
+  int size() {
+    return mNodes.length;
+  }
+
+  /**
+   * Get a node.
+   *
+   * @param index the index of the node in document order
+   * @return the node
+   */
+  StructNode getNode(final int index) {
+    return mNodes[index];
+  }
+
+  /**
+   * Get the index of the path parent of a node.
+   *
+   * @param index the index of the node in document order
+   * @return the index of the nearest ancestor, which is an object key or an array, or {@code -1} if
+   *         it's the array the elements are inserted into
+   */
+  int getPathParent(final int index) {
+    return mPathParents[index];
+  }
+
+  /**
+   * Get the index of the last array element.
+   *
+   * @return the index of the last array element, {@code -1} if the chunk has no elements
+   */
+  int getLastElement() {
+    return mLastElement;
+  }
+}
@@ -0,0 +1,264 @@
+package org.sirix.access.trx.node.json;
+
+import java.util.ArrayDeque;
+import java.util.Deque;
+import java.util.zip.Deflater;
+import javax.annotation.Nonnegative;
+import org.sirix.access.trx.node.ChildrenHash;
+import org.sirix.access.trx.node.HashType;
+import org.sirix.node.NodeHash;
+import org.sirix.node.delegates.NodeDelegate;
+import org.sirix.node.delegates.StructNodeDelegate;
+import org.sirix.node.delegates.ValueNodeDelegate;
+import org.sirix.node.interfaces.StructNode;
+import org.sirix.node.json.ArrayNode;
+import org.sirix.node.json.BooleanNode;
+import org.sirix.node.json.NullNode;
+import org.sirix.node.json.NumberNode;
+import org.sirix.node.json.ObjectKeyNode;
+import org.sirix.node.json.ObjectNode;
+import org.sirix.node.json.StringNode;
+import org.sirix.service.json.shredder.JsonArrayChunk;
+import org.sirix.service.json.shredder.JsonShredder;
+import org.sirix.settings.Constants;
+import org.sirix.settings.Fixed;
+import org.sirix.utils.Compression;
+import com.google.common.hash.HashFunction;
+
+/**
+ * Builds the nodes of a {@link JsonArrayChunk} on a range of reserved node keys, such that chunks
+ * are built by several threads at once. The nodes, their hashes and descendant counts equal the
+ * nodes of a sequential bulk insert of the array elements, apart from the name keys of the object
+ * keys, the path node keys and the links between the last and first elements of adjacent chunks,
+ * which depend on the transaction and are set once the chunk is added in document order.
+ *
+ * @author Johannes Lichtenberger
+ *
+ */
+final class JsonRecordChunkBuilder {
+
+  /** The hash function used to hash nodes. */
+  private final HashFunction mHashFunction;
+
+  /** The kind of hashes to compute. */
+  private final HashType mHashType;
+
+  /** Determines if string values are compressed. */
+  private final boolean mCompression;
+
+  /** The revision of the nodes. */
+  private final long mRevision;
+
+  /** The node key of the array the elements are inserted into. */
+  private final long mParentKey;
+
+  /** The right sibling of the inserted elements at the time they are inserted. */
+  private final long mRightSiblingKey;
+
+  /** The combined hashes of the children of nodes without children, which are shared. */
+  private final ChildrenHash mNoChildrenHash;
+
+  /**
+   * Constructor.
+   *
+   * @param hashFunction the hash function used to hash nodes
+   * @param hashType the kind of hashes to compute
+   * @param compression determines if string values are compressed
+   * @param revision the revision of the nodes
+   * @param parentKey the node key of the array the elements are inserted into
+   * @param rightSiblingKey the node key of the former first child of the array, which follows the
+   *        inserted elements
+   */
+  JsonRecordChunkBuilder(final HashFunction hashFunction, final HashType hashType, final boolean compression,
+      final @Nonnegative long revision, final @Nonnegative long parentKey, final long rightSiblingKey) {
+    mHashFunction = hashFunction;
+    mHashType = hashType;
+    mCompression = compression;
+    mRevision = revision;
+    mParentKey = parentKey;
+    mRightSiblingKey = rightSiblingKey;
+    mNoChildrenHash = new ChildrenHash(hashType, JsonNodeTrxImpl.PRIME);
+  }
+
+  /**
+   * An array, object or object key, whose children are built.
+   */
+  private static final class Frame {
+    /** The node. */
+    final StructNode mNode;
+
+    /** The index of the path parent of the children. */
+    final int mPathParent;
+
+    /** The last child built so far, {@code null} if there's none. */
+    StructNode mLastChild;
+
+    /** The combined hashes of the children. */
+    final ChildrenHash mChildrenHash;
+
+    /** The number of descendants. */
+    long mDescendantCount;
+
+    Frame(final StructNode node, final int pathParent, final ChildrenHash childrenHash) {
+      mNode = node;
+      mPathParent = pathParent;
+      mChildrenHash = childrenHash;
+    }
+  }
+
+  /**
+   * Build the nodes of a chunk. The method is thread safe.
+   *
+   * @param tokens the tokens of the chunk
+   * @param firstNodeKey the first of the node keys reserved for the chunk
+   * @param leftSiblingKey the node key of the last element of the preceding chunk, or the
+   *        {@code NULL_NODE_KEY} if the chunk is the first one
+   * @return the nodes of the chunk
+   */
+  JsonRecordChunk build(final JsonArrayChunk tokens, final @Nonnegative long firstNodeKey,
+      final long leftSiblingKey) {
+    final int nodeCount = tokens.getNodeCount();
+    final StructNode[] nodes = new StructNode[nodeCount];
+    final int[] pathParents = new int[nodeCount];
+    final Deque<Frame> frames = new ArrayDeque<>();
+    long lastElementKey = leftSiblingKey;
+    StructNode lastElement = null;
+    int index = 0;
+
+    for (int i = 0, size = tokens.size(); i < size; i++) {
+      switch (tokens.getToken(i)) {
+        case END_ARRAY:
+        case END_OBJECT:
+          complete(frames.pop(), frames);
+          continue;
+        // $CASES-OMITTED$
+        default:
+      }
+
+      final Frame parent = frames.peek();
+      final long nodeKey = firstNodeKey + index;
+      final long parentKey;
+      final long leftSibKey;
+      final long rightSibKey;
+      if (parent == null) {
+        parentKey = mParentKey;
+        leftSibKey = lastElementKey;
+        rightSibKey = mRightSiblingKey;
+      } else {
+        parentKey = parent.mNode.getNodeKey();
+        leftSibKey = parent.mLastChild == null
+            ? Fixed.NULL_NODE_KEY.getStandardProperty()
+            : parent.mLastChild.getNodeKey();
+        rightSibKey = Fixed.NULL_NODE_KEY.getStandardProperty();
+      }
+
+      final StructNode node = createNode(tokens, i, nodeKey, parentKey, leftSibKey, rightSibKey);
+      if (mHashType == HashType.ROLLING) {
+        // Just like the hash of a node inserted in bulk, which is computed from its structure at the time
+        // it's inserted.
+        node.setHash(node.computeHash());
+      }
+
+      if (parent == null) {
+        if (lastElement != null) {
+          lastElement.setRightSiblingKey(nodeKey);
+        }
+        lastElement = node;
+        lastElementKey = nodeKey;
+        pathParents[index] = -1;
+      } else {
+        parent.mNode.incrementChildCount();
+        if (parent.mLastChild == null) {
+          parent.mNode.setFirstChildKey(nodeKey);
+        } else {
+          parent.mLastChild.setRightSiblingKey(nodeKey);
+        }
+        parent.mLastChild = node;
+        pathParents[index] = parent.mPathParent;
+      }
+      nodes[index] = node;
+
+      switch (tokens.getToken(i)) {
+        case BEGIN_ARRAY:
+        case NAME:
+          frames.push(new Frame(node, index, new ChildrenHash(mHashType, JsonNodeTrxImpl.PRIME)));
+          break;
+        case BEGIN_OBJECT:
+          frames.push(new Frame(node, pathParents[index], new ChildrenHash(mHashType, JsonNodeTrxImpl.PRIME)));
+          break;
+        // $CASES-OMITTED$
+        default:
+          complete(new Frame(node, pathParents[index], mNoChildrenHash), frames);
+      }
+      index++;
+    }
+
+    assert index == nodeCount && frames.isEmpty();
+    return new JsonRecordChunk(nodes, pathParents, tokens.getLastElementNode());
+  }
+
+  private StructNode createNode(final JsonArrayChunk tokens, final int index, final long nodeKey,
+      final long parentKey, final long leftSibKey, final long rightSibKey) {
+    final NodeDelegate nodeDel = new NodeDelegate(nodeKey, parentKey, mHashFunction, NodeHash.ZERO, mRevision, null);
+    final StructNodeDelegate structDel =
+        new StructNodeDelegate(nodeDel, Fixed.NULL_NODE_KEY.getStandardProperty(), rightSibKey, leftSibKey, 0, 0);
+
+    switch (tokens.getToken(index)) {
+      case BEGIN_ARRAY:
+        // The path node key is set once the chunk is added.
+        return new ArrayNode(structDel, 0);
+      case BEGIN_OBJECT:
+        return new ObjectNode(structDel);
+      case NAME:
+        // The name key and the path node key are set once the chunk is added.
+        return new ObjectKeyNode(structDel, -1, (String) tokens.getValue(index), 0);
+      case STRING:
+        final byte[] value = ((String) tokens.getValue(index)).getBytes(Constants.DEFAULT_ENCODING);
+        final boolean compression = mCompression && value.length > 10;
+        final byte[] compressedValue = compression
+            ? Compression.compress(value, Deflater.HUFFMAN_ONLY)
+            : value;
+        return new StringNode(new ValueNodeDelegate(nodeDel, compressedValue, compression), structDel);
+      case NUMBER:
+        return new NumberNode(JsonShredder.parseNumber((String) tokens.getValue(index)), structDel);
+      case BOOLEAN:
+        return new BooleanNode((Boolean) tokens.getValue(index), structDel);
+      case NULL:
+        return new NullNode(structDel);
+      // $CASES-OMITTED$
+      default:
+        throw new AssertionError("Token is no node.");
+    }
+  }
+
+  /**
+   * Compute the hash and the descendant count of a node, whose subtree has been built, and add them
+   * to its parent. An object key is completed with its value.
+   *
+   * @param frame the node and its combined children
+   * @param frames the ancestors of the node
+   */
+  private void complete(final Frame frame, final Deque<Frame> frames) {
+    Frame current = frame;
+    while (true) {
+      if (mHashType != HashType.NONE) {
+        JsonNodeTrxImpl.setHashAndDescendantCount(mHashType, current.mNode, current.mChildrenHash,
+            current.mDescendantCount);
+      }
+
+      final Frame parent = frames.peek();
+      if (parent == null) {
+        // The hashes of the ancestors of the elements are adapted once all chunks are added.
+        return;
+      }
+      if (mHashType != HashType.NONE) {
+        parent.mChildrenHash.add(current.mNode);
+        parent.mDescendantCount += current.mNode.getDescendantCount() + 1;
+      }
+      if (!(parent.mNode instanceof ObjectKeyNode)) {
+        return;
+      }
+      current = frames.pop();
+    }
+  }
+}
@@ -1,6 +1,5 @@
 package org.sirix.access.trx.node.xml;
 
-import java.math.BigInteger;
 import java.time.Instant;
 import java.util.List;
 import java.util.Optional;
@@ -16,6 +15,7 @@ import org.sirix.api.visitor.VisitResult;
 import org.sirix.api.visitor.XmlNodeVisitor;
 import org.sirix.api.xml.XmlNodeReadOnlyTrx;
 import org.sirix.api.xml.XmlResourceManager;
+import org.sirix.node.NodeHash;
 import org.sirix.node.NodeKind;
 import org.sirix.node.SirixDeweyID;
 import org.sirix.node.interfaces.immutable.ImmutableNameNode;
@@ -364,7 +364,7 @@ public abstract class AbstractForwardingXmlNodeReadOnlyTrx extends ForwardingObj
   }
 
   @Override
-  public BigInteger getHash() {
+  public NodeHash getHash() {
     return delegate().getHash();
   }
 
@@ -8,6 +8,7 @@ import javax.annotation.Nonnull;
 import org.brackit.xquery.atomic.QNm;
 import org.sirix.api.PageTrx;
 import org.sirix.index.path.summary.PathNode;
+import org.sirix.node.NodeHash;
 import org.sirix.node.NodeKind;
 import org.sirix.node.SirixDeweyID;
 import org.sirix.node.delegates.NameNodeDelegate;
@@ -76,7 +77,7 @@ final class XmlNodeFactoryImpl implements XmlNodeFactory {
                                         .getPathSummaryPageReference()
                                         .getPage()).getMaxNodeKey(0)
             + 1,
-        parentKey, mHashFunction, null, revision, null);
+        parentKey, mHashFunction, NodeHash.ZERO, revision, null);
     final StructNodeDelegate structDel =
         new StructNodeDelegate(nodeDel, Fixed.NULL_NODE_KEY.getStandardProperty(), rightSibKey, leftSibKey, 0, 0);
     final NameNodeDelegate nameDel = new NameNodeDelegate(nodeDel, uriKey, prefixKey, localName, 0);
@@ -99,7 +100,7 @@ final class XmlNodeFactoryImpl implements XmlNodeFactory {
 
     final long revision = mPageWriteTrx.getRevisionNumber();
     final NodeDelegate nodeDel = new NodeDelegate(mPageWriteTrx.getActualRevisionRootPage().getMaxNodeKey() + 1,
-        parentKey, mHashFunction, null, revision, id);
+        parentKey, mHashFunction, NodeHash.ZERO, revision, id);
     final StructNodeDelegate structDel =
         new StructNodeDelegate(nodeDel, Fixed.NULL_NODE_KEY.getStandardProperty(), rightSibKey, leftSibKey, 0, 0);
     final NameNodeDelegate nameDel = new NameNodeDelegate(nodeDel, uriKey, prefixKey, localNameKey, pathNodeKey);
@@ -115,7 +116,7 @@ final class XmlNodeFactoryImpl implements XmlNodeFactory {
       final SirixDeweyID id) {
     final long revision = mPageWriteTrx.getRevisionNumber();
     final NodeDelegate nodeDel = new NodeDelegate(mPageWriteTrx.getActualRevisionRootPage().getMaxNodeKey() + 1,
-        parentKey, mHashFunction, null, revision, id);
+        parentKey, mHashFunction, NodeHash.ZERO, revision, id);
     final boolean compression = isCompressed && value.length > 10;
     final byte[] compressedValue = compression
         ? Compression.compress(value, Deflater.HUFFMAN_ONLY)
@@ -138,7 +139,7 @@ final class XmlNodeFactoryImpl implements XmlNodeFactory {
     final int localNameKey = mPageWriteTrx.createNameKey(name.getLocalName(), NodeKind.ATTRIBUTE);
 
     final NodeDelegate nodeDel = new NodeDelegate(mPageWriteTrx.getActualRevisionRootPage().getMaxNodeKey() + 1,
-        parentKey, mHashFunction, null, revision, id);
+        parentKey, mHashFunction, NodeHash.ZERO, revision, id);
     final NameNodeDelegate nameDel = new NameNodeDelegate(nodeDel, uriKey, prefixKey, localNameKey, pathNodeKey);
     final ValueNodeDelegate valDel = new ValueNodeDelegate(nodeDel, value, false);
 
@@ -151,7 +152,7 @@ final class XmlNodeFactoryImpl implements XmlNodeFactory {
       final @Nonnegative long pathNodeKey, final SirixDeweyID id) {
     final long revision = mPageWriteTrx.getRevisionNumber();
     final NodeDelegate nodeDel = new NodeDelegate(mPageWriteTrx.getActualRevisionRootPage().getMaxNodeKey() + 1,
-        parentKey, mHashFunction, null, revision, id);
+        parentKey, mHashFunction, NodeHash.ZERO, revision, id);
 
     final int uriKey = mPageWriteTrx.createNameKey(name.getNamespaceURI(), NodeKind.NAMESPACE);
     final int prefixKey = name.getPrefix() != null && !name.getPrefix().isEmpty()
@@ -176,7 +177,7 @@ final class XmlNodeFactoryImpl implements XmlNodeFactory {
     final int localNameKey = mPageWriteTrx.createNameKey(target.getLocalName(), NodeKind.PROCESSING_INSTRUCTION);
     final int uriKey = mPageWriteTrx.createNameKey(target.getNamespaceURI(), NodeKind.NAMESPACE);
     final NodeDelegate nodeDel = new NodeDelegate(mPageWriteTrx.getActualRevisionRootPage().getMaxNodeKey() + 1,
-        parentKey, mHashFunction, null, revision, id);
+        parentKey, mHashFunction, NodeHash.ZERO, revision, id);
     final StructNodeDelegate structDel =
         new StructNodeDelegate(nodeDel, Fixed.NULL_NODE_KEY.getStandardProperty(), rightSibKey, leftSibKey, 0, 0);
     final NameNodeDelegate nameDel = new NameNodeDelegate(nodeDel, uriKey, prefixKey, localNameKey, pathNodeKey);
@@ -191,7 +192,7 @@ final class XmlNodeFactoryImpl implements XmlNodeFactory {
       final @Nonnegative long rightSibKey, final byte[] value, final boolean isCompressed, final SirixDeweyID id) {
     final long revision = mPageWriteTrx.getRevisionNumber();
     final NodeDelegate nodeDel = new NodeDelegate(mPageWriteTrx.getActualRevisionRootPage().getMaxNodeKey() + 1,
-        parentKey, mHashFunction, null, revision, id);
+        parentKey, mHashFunction, NodeHash.ZERO, revision, id);
     final boolean compression = isCompressed && value.length > 10;
     final byte[] compressedValue = compression
         ? Compression.compress(value, Deflater.HUFFMAN_ONLY)
@@ -23,7 +23,6 @@ package org.sirix.access.trx.node.xml;
 
 import static com.google.common.base.Preconditions.checkNotNull;
 import java.io.IOException;
-import java.math.BigInteger;
 import java.nio.file.Path;
 import java.util.ArrayList;
 import java.util.List;
@@ -39,6 +38,7 @@ import javax.annotation.Nullable;
 import javax.xml.stream.XMLEventReader;
 import org.brackit.xquery.atomic.QNm;
 import org.sirix.access.User;
+import org.sirix.access.trx.node.ChildrenHash;
 import org.sirix.access.trx.node.CommitCredentials;
 import org.sirix.access.trx.node.HashType;
 import org.sirix.access.trx.node.InternalResourceManager;
@@ -62,6 +62,7 @@ import org.sirix.exception.SirixUsageException;
 import org.sirix.index.path.summary.PathSummaryReader;
 import org.sirix.index.path.summary.PathSummaryWriter;
 import org.sirix.index.path.summary.PathSummaryWriter.OPType;
+import org.sirix.node.NodeHash;
 import org.sirix.node.NodeKind;
 import org.sirix.node.SirixDeweyID;
 import org.sirix.node.immutable.xdm.ImmutableAttributeNode;
@@ -72,7 +73,6 @@ import org.sirix.node.interfaces.Record;
 import org.sirix.node.interfaces.StructNode;
 import org.sirix.node.interfaces.ValueNode;
 import org.sirix.node.interfaces.immutable.ImmutableNode;
-import org.sirix.node.interfaces.immutable.ImmutableStructNode;
 import org.sirix.node.interfaces.immutable.ImmutableXmlNode;
 import org.sirix.node.xml.AttributeNode;
 import org.sirix.node.xml.CommentNode;
@@ -117,7 +117,7 @@ import com.google.common.base.Preconditions;
 final class XmlNodeTrxImpl extends AbstractForwardingXmlNodeReadOnlyTrx implements XmlNodeTrx {
 
   /** Prime for computing the hash. */
-  private static final BigInteger PRIME = BigInteger.valueOf(77081);
+  private static final long PRIME = 77081;
 
   /** Maximum number of node modifications before auto commit. */
   private final int mMaxNodeCount;
@@ -128,6 +128,9 @@ final class XmlNodeTrxImpl extends AbstractForwardingXmlNodeReadOnlyTrx implemen
   /** Hash kind of Structure. */
   private final HashType mHashKind;
 
+  /** The combined hashes of the children of a node, which are reused for all nodes of a subtree. */
+  private final ChildrenHash mChildrenHash;
+
   /** Scheduled executor service. */
   private final ScheduledExecutorService mPool =
       Executors.newScheduledThreadPool(Runtime.getRuntime().availableProcessors());
@@ -224,6 +227,7 @@ final class XmlNodeTrxImpl extends AbstractForwardingXmlNodeReadOnlyTrx implemen
         : null;
 
     mHashKind = resourceManager.getResourceConfig().hashType;
+    mChildrenHash = new ChildrenHash(mHashKind, PRIME);
     mDeweyIDsStored = resourceManager.getResourceConfig().areDeweyIDsStored;
     mCompression = resourceManager.getResourceConfig().useTextCompression;
 
@@ -780,10 +784,14 @@ final class XmlNodeTrxImpl extends AbstractForwardingXmlNodeReadOnlyTrx implemen
     try {
       if (getCurrentNode() instanceof StructNode) {
         checkAccessAndCommit();
-        mBulkInsert = true;
         long nodeKey = getCurrentNode().getNodeKey();
         final XmlShredder shredder = new XmlShredder.Builder(this, reader, insertionPosition).build();
-        shredder.call();
+        mBulkInsert = true;
+        try {
+          shredder.call();
+        } finally {
+          mBulkInsert = false;
+        }
         moveTo(nodeKey);
 
         switch (insertionPosition) {
@@ -803,17 +811,12 @@ final class XmlNodeTrxImpl extends AbstractForwardingXmlNodeReadOnlyTrx implemen
         if (mHashKind != HashType.NONE) {
           nodeKey = getCurrentNode().getNodeKey();
           postOrderTraversalHashes();
-          final ImmutableNode startNode = getCurrentNode();
-          moveToParent();
-          while (getCurrentNode().hasParent()) {
-            moveToParent();
-            addParentHash(startNode);
-          }
+          moveTo(nodeKey);
+          adaptHashesWithAdd();
           moveTo(nodeKey);
         }
 
         commit();
-        mBulkInsert = false;
       }
     } finally {
       unLock();
@@ -1573,7 +1576,7 @@ final class XmlNodeTrxImpl extends AbstractForwardingXmlNodeReadOnlyTrx implemen
           checkAccessAndCommit();
 
           NameNode node = (NameNode) mNodeReadOnlyTrx.getCurrentNode();
-          final BigInteger oldHash = node.computeHash();
+          final NodeHash oldHash = node.computeHash();
 
           // Remove old keys from mapping.
           final NodeKind nodeKind = node.getKind();
@@ -1646,7 +1649,7 @@ final class XmlNodeTrxImpl extends AbstractForwardingXmlNodeReadOnlyTrx implemen
         // Remove old value from indexes.
         mIndexController.notifyChange(ChangeType.DELETE, getNode(), pathNodeKey);
 
-        final BigInteger oldHash = mNodeReadOnlyTrx.getCurrentNode().computeHash();
+        final NodeHash oldHash = mNodeReadOnlyTrx.getCurrentNode().computeHash();
         final byte[] byteVal = getBytes(value);
 
         final ValueNode node =
@@ -1813,94 +1816,76 @@ final class XmlNodeTrxImpl extends AbstractForwardingXmlNodeReadOnlyTrx implemen
   }
 
   /**
-   * Modifying hashes in a postorder-traversal.
+   * Computing the hashes and descendant counts of an inserted subtree in a single postorder-traversal,
+   * such that each node is modified once instead of adapting all ancestors for each inserted node.
    *
    * @throws SirixIOException if an I/O error occurs
    */
   private void postOrderTraversalHashes() throws SirixIOException {
     new PostOrderAxis(this, IncludeSelf.YES).forEach((unused) -> {
-      final StructNode node = mNodeReadOnlyTrx.getStructuralNode();
-      if (node.getKind() == NodeKind.ELEMENT) {
-        final ElementNode element = (ElementNode) node;
-        for (int i = 0, nspCount = element.getNamespaceCount(); i < nspCount; i++) {
-          moveToNamespace(i);
-          addHashAndDescendantCount();
-          moveToParent();
-        }
-        for (int i = 0, attCount = element.getAttributeCount(); i < attCount; i++) {
-          moveToAttribute(i);
-          addHashAndDescendantCount();
-          moveToParent();
-        }
-      }
       addHashAndDescendantCount();
     });
   }
 
   /**
-   * Add a hash.
+   * Compute the hash and the descendant count of the current node from its attributes, namespaces and
+   * children, whose hashes and descendant counts are already computed. The hash equals the hash of
+   * the node, if the subtree had been inserted node by node in document order. Just as then,
+   * descendant counts are only maintained with rolling hashes.
    *
-   * @param startNode start node
+   * @throws SirixIOException if an I/O error occurs
    */
-  private void addParentHash(final ImmutableNode startNode) throws SirixIOException {
-    switch (mHashKind) {
-      case ROLLING:
-        final BigInteger hashToAdd = startNode.computeHash();
-        final Node node =
-            (Node) mPageWriteTrx.prepareEntryForModification(mNodeReadOnlyTrx.getCurrentNode().getNodeKey(),
-                PageKind.RECORDPAGE, -1);
-        node.setHash(node.getHash().add(hashToAdd.multiply(PRIME)));
-
-        if (startNode instanceof StructNode) {
-          ((StructNode) node).setDescendantCount(
-              ((StructNode) node).getDescendantCount() + ((StructNode) startNode).getDescendantCount() + 1);
-        }
-        break;
-      case POSTORDER:
-        break;
-      case NONE:
-      default:
+  private void addHashAndDescendantCount() throws SirixIOException {
+    final long nodeKey = getCurrentNode().getNodeKey();
+    long descendantCount = 0;
+    final ChildrenHash childrenHash = mChildrenHash.reset();
+    if (getKind() == NodeKind.ELEMENT) {
+      final ElementNode element = (ElementNode) mNodeReadOnlyTrx.getCurrentNode();
+      for (int i = 0, attCount = element.getAttributeCount(); i < attCount; i++) {
+        childrenHash.add(setHash(element.getAttributeKey(i)));
+      }
+      for (int i = 0, nspCount = element.getNamespaceCount(); i < nspCount; i++) {
+        childrenHash.add(setHash(element.getNamespaceKey(i)));
+      }
     }
+    if (moveToFirstChild().hasMoved()) {
+      do {
+        descendantCount += mNodeReadOnlyTrx.getStructuralNode().getDescendantCount() + 1;
+        childrenHash.add((Node) getCurrentNode());
+      } while (moveToRightSibling().hasMoved());
+    }
+
+    final StructNode node =
+        (StructNode) mPageWriteTrx.prepareEntryForModification(nodeKey, PageKind.RECORDPAGE, -1);
+    if (mHashKind == HashType.ROLLING) {
+      // The rolling hash of a node is computed once it's inserted and has been stored by then.
+      childrenHash.addTo(node);
+      // Text nodes don't store a descendant count.
+      if (node.getDescendantCount() != descendantCount) {
+        node.setDescendantCount(descendantCount);
+      }
+    } else {
+      // The postorder hash of a node is computed last, once its subtree has been inserted, that is
+      // before its right sibling is inserted.
+      final long rightSiblingKey = node.getRightSiblingKey();
+      node.setRightSiblingKey(Fixed.NULL_NODE_KEY.getStandardProperty());
+      final NodeHash hash = node.computeHash();
+      node.setRightSiblingKey(rightSiblingKey);
+      childrenHash.setHash(node, hash);
+    }
+    mNodeReadOnlyTrx.setCurrentNode((ImmutableXmlNode) node);
   }
 
-  /** Add a hash and the descendant count. */
-  private void addHashAndDescendantCount() throws SirixIOException {
-    switch (mHashKind) {
-      case ROLLING:
-        // Setup.
-        final ImmutableXmlNode startNode = getCurrentNode();
-        final long oldDescendantCount = mNodeReadOnlyTrx.getStructuralNode().getDescendantCount();
-        final long descendantCount = oldDescendantCount == 0
-            ? 1
-            : oldDescendantCount + 1;
-
-        // Set start node.
-        BigInteger hashToAdd = startNode.computeHash();
-        Node node = (Node) mPageWriteTrx.prepareEntryForModification(mNodeReadOnlyTrx.getCurrentNode().getNodeKey(),
-            PageKind.RECORDPAGE, -1);
-        node.setHash(hashToAdd);
-        hashToAdd = node.getHash();
-
-        // Set parent node.
-        if (startNode.hasParent()) {
-          moveToParent();
-          node = (Node) mPageWriteTrx.prepareEntryForModification(mNodeReadOnlyTrx.getCurrentNode().getNodeKey(),
-              PageKind.RECORDPAGE, -1);
-          final BigInteger hash = node.getHash() == null
-              ? node.computeHash()
-              : node.getHash();
-          node.setHash(hash.add(hashToAdd.multiply(PRIME)));
-          setAddDescendants(startNode, node, descendantCount);
-        }
-
-        mNodeReadOnlyTrx.setCurrentNode(startNode);
-        break;
-      case POSTORDER:
-        postorderAdd();
-        break;
-      case NONE:
-      default:
-    }
+  /**
+   * Set the hash of an attribute or a namespace.
+   *
+   * @param nodeKey the key of the attribute or namespace
+   * @return the attribute or namespace
+   */
+  private Node setHash(final long nodeKey) {
+    final Node node = (Node) mPageWriteTrx.prepareEntryForModification(nodeKey, PageKind.RECORDPAGE, -1);
+    node.setHash(node.computeHash());
+    return node;
   }
 
   /**
@@ -2087,6 +2072,12 @@ final class XmlNodeTrxImpl extends AbstractForwardingXmlNodeReadOnlyTrx implemen
         case NONE:
         default:
       }
+    } else if (mHashKind == HashType.ROLLING) {
+      // Keep the hash of the inserted node, which depends on its structure, until the hashes of the
+      // inserted subtree are computed.
+      final Node node = (Node) mPageWriteTrx.prepareEntryForModification(
+          mNodeReadOnlyTrx.getCurrentNode().getNodeKey(), PageKind.RECORDPAGE, -1);
+      node.setHash(node.computeHash());
     }
   }
 
@@ -2116,7 +2107,7 @@ final class XmlNodeTrxImpl extends AbstractForwardingXmlNodeReadOnlyTrx implemen
    * @param oldHash oldHash to be removed
    * @throws SirixIOException if an I/O error occurs
    */
-  private void adaptHashedWithUpdate(final BigInteger oldHash) throws SirixIOException {
+  private void adaptHashedWithUpdate(final NodeHash oldHash) throws SirixIOException {
     if (!mBulkInsert) {
       switch (mHashKind) {
         case ROLLING:
@@ -2150,9 +2141,9 @@ final class XmlNodeTrxImpl extends AbstractForwardingXmlNodeReadOnlyTrx implemen
     // start with hash to add
     final ImmutableXmlNode startNode = getCurrentNode();
     // long for adapting the hash of the parent
-    BigInteger hashCodeForParent = BigInteger.ZERO;
+    NodeHash hashCodeForParent = NodeHash.ZERO;
     // adapting the parent if the current node is no structural one.
-    if (!(startNode instanceof ImmutableStructNode)) {
+    if (!(startNode instanceof StructNode)) {
       final Node node = (Node) mPageWriteTrx.prepareEntryForModification(mNodeReadOnlyTrx.getCurrentNode().getNodeKey(),
           PageKind.RECORDPAGE, -1);
       node.setHash(mNodeReadOnlyTrx.getCurrentNode().computeHash());
@@ -2192,7 +2183,7 @@ final class XmlNodeTrxImpl extends AbstractForwardingXmlNodeReadOnlyTrx implemen
 
       // setting hash and resetting hash
       cursorToRoot.setHash(hashCodeForParent);
-      hashCodeForParent = BigInteger.ZERO;
+      hashCodeForParent = NodeHash.ZERO;
     } while (moveTo(cursorToRoot.getParentKey()).hasMoved());
 
     mNodeReadOnlyTrx.setCurrentNode(startNode);
@@ -2204,24 +2195,22 @@ final class XmlNodeTrxImpl extends AbstractForwardingXmlNodeReadOnlyTrx implemen
    * @param oldHash pOldHash to be removed
    * @throws SirixIOException if anything weird happened
    */
-  private void rollingUpdate(final BigInteger oldHash) {
+  private void rollingUpdate(final NodeHash oldHash) {
     final ImmutableXmlNode newNode = getCurrentNode();
-    final BigInteger hash = newNode.computeHash();
-    final BigInteger newNodeHash = hash;
-    BigInteger resultNew = hash;
+    // The hash of the node changes by the difference, the hashes of the ancestors by the difference
+    // multiplied by the prime.
+    final NodeHash difference = newNode.computeHash().subtract(oldHash);
+    final NodeHash ancestorDifference = difference.multiply(PRIME);
 
     // go the path to the root
     do {
       final Node node = (Node) mPageWriteTrx.prepareEntryForModification(mNodeReadOnlyTrx.getCurrentNode().getNodeKey(),
           PageKind.RECORDPAGE, -1);
       if (node.getNodeKey() == newNode.getNodeKey()) {
-        resultNew = Node.to128BitsAtMaximumBigInteger(node.getHash().subtract(oldHash));
-        resultNew = Node.to128BitsAtMaximumBigInteger(resultNew.add(newNodeHash));
+        node.addHash(difference.getHigh(), difference.getLow());
       } else {
-        resultNew = Node.to128BitsAtMaximumBigInteger(node.getHash().subtract(oldHash.multiply(PRIME)));
-        resultNew = Node.to128BitsAtMaximumBigInteger(resultNew.add(newNodeHash.multiply(PRIME)));
+        node.addHash(ancestorDifference.getHigh(), ancestorDifference.getLow());
       }
-      node.setHash(resultNew);
     } while (moveTo(mNodeReadOnlyTrx.getCurrentNode().getParentKey()).hasMoved());
 
     mNodeReadOnlyTrx.setCurrentNode(newNode);
@@ -2234,31 +2223,25 @@ final class XmlNodeTrxImpl extends AbstractForwardingXmlNodeReadOnlyTrx implemen
    */
   private void rollingRemove() {
     final ImmutableXmlNode startNode = getCurrentNode();
-    BigInteger hashToRemove = startNode.getHash();
-    BigInteger hashToAdd = BigInteger.ZERO;
-    BigInteger newHash = BigInteger.ZERO;
+    // The hash of the removed node, which is multiplied by the prime once more for each ancestor.
+    final NodeHash removedHash = startNode.getHash();
+    long hashToRemoveHigh = removedHash.getHigh();
+    long hashToRemoveLow = removedHash.getLow();
     // go the path to the root
     do {
       final Node node = (Node) mPageWriteTrx.prepareEntryForModification(mNodeReadOnlyTrx.getCurrentNode().getNodeKey(),
           PageKind.RECORDPAGE, -1);
       if (node.getNodeKey() == startNode.getNodeKey()) {
         // the begin node is always null
-        newHash = BigInteger.ZERO;
-      } else if (node.getNodeKey() == startNode.getParentKey()) {
-        // the parent node is just removed
-        newHash = Node.to128BitsAtMaximumBigInteger(node.getHash().subtract(hashToRemove.multiply(PRIME)));
-        hashToRemove = node.getHash();
-        setRemoveDescendants(startNode);
+        node.setHash(0L, 0L);
       } else {
-        // the ancestors are all touched regarding the modification
-        newHash = Node.to128BitsAtMaximumBigInteger(node.getHash().subtract(hashToRemove.multiply(PRIME)));
-        newHash = Node.to128BitsAtMaximumBigInteger(newHash.add(hashToAdd.multiply(PRIME)));
-        hashToRemove = node.getHash();
+        // the parent node and all further ancestors are touched regarding the modification
+        final long high = NodeHash.multiplyHigh(hashToRemoveHigh, hashToRemoveLow, PRIME);
+        hashToRemoveLow = NodeHash.multiplyLow(hashToRemoveHigh, hashToRemoveLow, PRIME);
+        hashToRemoveHigh = high;
+        node.subtractHash(hashToRemoveHigh, hashToRemoveLow);
         setRemoveDescendants(startNode);
       }
-      node.setHash(newHash);
-      newHash = node.getHash();
-      hashToAdd = newHash;
     } while (moveTo(mNodeReadOnlyTrx.getCurrentNode().getParentKey()).hasMoved());
 
     mNodeReadOnlyTrx.setCurrentNode(startNode);
@@ -2289,38 +2272,27 @@ final class XmlNodeTrxImpl extends AbstractForwardingXmlNodeReadOnlyTrx implemen
     final long descendantCount = oldDescendantCount == 0
         ? 1
         : oldDescendantCount + 1;
-    BigInteger hashToAdd = startNode.getHash() == null || BigInteger.ZERO.equals(startNode.getHash())
+    // The hash of the inserted node, which is multiplied by the prime once more for each ancestor.
+    final NodeHash addedHash = NodeHash.ZERO.equals(startNode.getHash())
         ? startNode.computeHash()
         : startNode.getHash();
-    BigInteger newHash = BigInteger.ZERO;
-    BigInteger possibleOldHash = BigInteger.ZERO;
+    long hashToAddHigh = addedHash.getHigh();
+    long hashToAddLow = addedHash.getLow();
     // go the path to the root
     do {
       final Node node = (Node) mPageWriteTrx.prepareEntryForModification(mNodeReadOnlyTrx.getCurrentNode().getNodeKey(),
           PageKind.RECORDPAGE, -1);
       if (node.getNodeKey() == startNode.getNodeKey()) {
         // at the beginning, take the hashcode of the node only
-        newHash = hashToAdd;
-        node.setHash(newHash);
-        hashToAdd = node.getHash();
-      } else if (node.getNodeKey() == startNode.getParentKey()) {
-        // at the parent level, just add the node
-        possibleOldHash = node.getHash();
-        newHash = Node.to128BitsAtMaximumBigInteger(possibleOldHash.add(hashToAdd.multiply(PRIME)));
-        node.setHash(newHash);
-        hashToAdd = node.getHash();
-        setAddDescendants(startNode, node, descendantCount);
+        node.setHash(hashToAddHigh, hashToAddLow);
       } else {
-        // at the rest, remove the existing old key for this element
-        // and add the new one
-        newHash = Node.to128BitsAtMaximumBigInteger(node.getHash().subtract(possibleOldHash.multiply(PRIME)));
-        newHash = Node.to128BitsAtMaximumBigInteger(newHash.add(hashToAdd.multiply(PRIME)));
-        possibleOldHash = node.getHash();
-        node.setHash(newHash);
-        hashToAdd = node.getHash();
+        // at the parent level and all further ancestors, add the change of the hash of the child
+        final long high = NodeHash.multiplyHigh(hashToAddHigh, hashToAddLow, PRIME);
+        hashToAddLow = NodeHash.multiplyLow(hashToAddHigh, hashToAddLow, PRIME);
+        hashToAddHigh = high;
+        node.addHash(hashToAddHigh, hashToAddLow);
         setAddDescendants(startNode, node, descendantCount);
       }
-      newHash = node.getHash();
     } while (moveTo(mNodeReadOnlyTrx.getCurrentNode().getParentKey()).hasMoved());
     mNodeReadOnlyTrx.setCurrentNode(startNode);
   }
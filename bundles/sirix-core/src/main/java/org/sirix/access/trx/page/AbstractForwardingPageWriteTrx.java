@@ -39,6 +39,11 @@ public abstract class AbstractForwardingPageWriteTrx<K extends Comparable<? supe
     return delegate().createEntry(key, record, pageKind, index);
   }
 
+  @Override
+  public V createReservedEntry(@Nonnull V record) {
+    return delegate().createReservedEntry(record);
+  }
+
   @Override
   public V prepareEntryForModification(@Nonnegative K recordKey, @Nonnull PageKind pageKind, @Nonnegative int index) {
     return delegate().prepareEntryForModification(recordKey, pageKind, index);
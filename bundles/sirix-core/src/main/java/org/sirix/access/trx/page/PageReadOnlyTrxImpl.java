@@ -23,10 +23,11 @@ package org.sirix.access.trx.page;
 
 import static com.google.common.base.Preconditions.checkArgument;
 import static com.google.common.base.Preconditions.checkNotNull;
-import java.io.IOException;
 import java.util.ArrayList;
 import java.util.List;
 import java.util.Optional;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
 import javax.annotation.Nonnegative;
 import javax.annotation.Nonnull;
 import javax.annotation.Nullable;
@@ -46,6 +47,7 @@ import org.sirix.cache.PageContainer;
 import org.sirix.cache.TransactionIntentLog;
 import org.sirix.exception.SirixIOException;
 import org.sirix.io.Reader;
+import org.sirix.metrics.SirixMetrics;
 import org.sirix.node.DeletedNode;
 import org.sirix.node.NodeKind;
 import org.sirix.node.interfaces.Record;
@@ -53,12 +55,10 @@ import org.sirix.page.CASPage;
 import org.sirix.page.IndirectPage;
 import org.sirix.page.NamePage;
 import org.sirix.page.PageKind;
-import org.sirix.page.PagePersister;
 import org.sirix.page.PageReference;
 import org.sirix.page.PathPage;
 import org.sirix.page.PathSummaryPage;
 import org.sirix.page.RevisionRootPage;
-import org.sirix.page.SerializationType;
 import org.sirix.page.UberPage;
 import org.sirix.page.UnorderedKeyValuePage;
 import org.sirix.page.interfaces.KeyValuePage;
@@ -67,9 +67,6 @@ import org.sirix.settings.Constants;
 import org.sirix.settings.Fixed;
 import org.sirix.settings.VersioningType;
 import com.google.common.base.MoreObjects;
-import com.google.common.io.ByteArrayDataInput;
-import com.google.common.io.ByteArrayDataOutput;
-import com.google.common.io.ByteStreams;
 
 /**
  * <h1>PageReadOnlyTrxImpl</h1>
@@ -111,6 +108,15 @@ public final class PageReadOnlyTrxImpl implements PageReadOnlyTrx {
   /** The transaction-ID. */
   private long mTrxId;
 
+  /** Key of the most recently read record page or {@code -1}, if no record page has been read. */
+  private long mMostRecentRecordPageKey = -1;
+
+  /**
+   * The most recently read record page, which is pinned, such that reading the records of the same
+   * page doesn't traverse the indirect pages and doesn't look up the record page cache.
+   */
+  private PageContainer mMostRecentRecordPage;
+
   /**
    * Standard constructor.
    *
@@ -151,7 +157,16 @@ public final class PageReadOnlyTrxImpl implements PageReadOnlyTrx {
     return getRecordPageContainer(key.getRecordPageKey(), key.getIndex(), key.getIndexType());
   }
 
-  private Page loadIndirectPage(final PageReference reference) {
+  /**
+   * Load a page, which is not a record page, from the transaction intent log, the page cache or the
+   * storage.
+   *
+   * @param reference the reference to the page
+   * @param readOnly {@code true}, if the page is never modified by this transaction, such that it
+   *        might be shared with other transactions through the page cache
+   * @return the page
+   */
+  private Page loadIndirectPage(final PageReference reference, final boolean readOnly) {
     Page page = reference.getPage();
     if (page == null) {
       if (mTrxIntentLog != null) {
@@ -163,22 +178,20 @@ public final class PageReadOnlyTrxImpl implements PageReadOnlyTrx {
       }
 
       if (page == null) {
-        if (mTrxIntentLog == null) {
-          // Putting to the transaction log afterwards would otherwise render the cached entry invalid
-          // as the reference log key is set and the key is reset to Constants.NULL_ID_LONG.
-          page = mResourceBufferManager.getPageCache().get(reference);
+        // Pages are cached by their offset, which doesn't change once the reference is put into the
+        // transaction log, thus the page write transaction uses the cache as well.
+        final long offset = reference.getKey();
+        final boolean cacheable = (mTrxIntentLog == null || readOnly) && offset != Constants.NULL_ID_LONG;
+
+        if (cacheable) {
+          page = mResourceBufferManager.getPageCache().get(offset);
         }
 
         if (page == null) {
           page = mPageReader.read(reference, this);
 
-          if (page != null && mTrxIntentLog == null) {
-            assert reference.getLogKey() == Constants.NULL_ID_INT
-                && reference.getPersistentLogKey() == Constants.NULL_ID_LONG;
-            // Put page into buffer manager and set page reference (just to
-            // track when the in-memory page must be removed).
-            mResourceBufferManager.getPageCache().put(reference, page);
-            reference.setPage(page);
+          if (page != null && cacheable) {
+            mResourceBufferManager.getPageCache().put(offset, page, reference.getLength());
           }
         }
       }
@@ -223,6 +236,8 @@ public final class PageReadOnlyTrxImpl implements PageReadOnlyTrx {
 
     switch (pageKind) {
       case RECORDPAGE:
+        cont = loadRecordPageContainer(recordPageKey, index);
+        break;
       case PATHSUMMARYPAGE:
       case PATHPAGE:
       case CASPAGE:
@@ -238,10 +253,31 @@ public final class PageReadOnlyTrxImpl implements PageReadOnlyTrx {
       return Optional.empty();
     }
 
-    final Record retVal = ((UnorderedKeyValuePage) cont.getComplete()).getValue(nodeKey);
+    // The page might be shared with other transactions, records are deserialized with this one.
+    final Record retVal = ((UnorderedKeyValuePage) cont.getComplete()).getValue(nodeKey, this);
     return checkItemIfDeleted(retVal);
   }
 
+  /**
+   * Load the container of a record page of the document, which is pinned, if the transaction is
+   * read-only, that is if the record page never changes.
+   *
+   * @param recordPageKey the key of the record page
+   * @param index the index number
+   * @return the container of the record page
+   */
+  private PageContainer loadRecordPageContainer(final long recordPageKey, final int index) {
+    if (mTrxIntentLog != null) {
+      return loadPageContainer(new IndexLogKey(PageKind.RECORDPAGE, recordPageKey, index));
+    }
+
+    if (recordPageKey != mMostRecentRecordPageKey) {
+      mMostRecentRecordPage = loadPageContainer(new IndexLogKey(PageKind.RECORDPAGE, recordPageKey, index));
+      mMostRecentRecordPageKey = recordPageKey;
+    }
+    return mMostRecentRecordPage;
+  }
+
   /**
    * Method to check if an {@link Record} is deleted.
    *
@@ -308,7 +344,7 @@ public final class PageReadOnlyTrxImpl implements PageReadOnlyTrx {
       if (page == null) {
         assert reference.getKey() != Constants.NULL_ID_LONG || reference.getLogKey() != Constants.NULL_ID_INT
             || reference.getPersistentLogKey() != Constants.NULL_ID_LONG;
-        page = (RevisionRootPage) loadIndirectPage(reference);
+        page = (RevisionRootPage) loadIndirectPage(reference, false);
       }
 
       return page;
@@ -349,7 +385,7 @@ public final class PageReadOnlyTrxImpl implements PageReadOnlyTrx {
     Page page = reference.getPage();
 
     if (page == null) {
-      page = loadIndirectPage(reference);
+      page = loadIndirectPage(reference, false);
       reference.setPage(page);
     }
 
@@ -375,10 +411,12 @@ public final class PageReadOnlyTrxImpl implements PageReadOnlyTrx {
       return PageContainer.emptyInstance();
     }
 
-    // Try to get from resource buffer manager.
-    if (mTrxIntentLog == null) {
-      final PageContainer recordPageContainerFromBuffer =
-          mResourceBufferManager.getRecordPageCache().get(pageReferenceToRecordPage.get());
+    // Try to get from resource buffer manager. The record pages are cached by the offset of the most
+    // recent fragment and shared with the page write transaction, which never modifies the read-only
+    // page containers, but reconstructs the record pages for modification.
+    final long offset = pageReferenceToRecordPage.get().getKey();
+    if (offset != Constants.NULL_ID_LONG) {
+      final PageContainer recordPageContainerFromBuffer = mResourceBufferManager.getRecordPageCache().get(offset);
 
       if (recordPageContainerFromBuffer != null) {
         return recordPageContainerFromBuffer;
@@ -386,7 +424,8 @@ public final class PageReadOnlyTrxImpl implements PageReadOnlyTrx {
     }
 
     // Load list of page "fragments" from persistent storage.
-    final List<T> pages = getSnapshotPages(pageReferenceToRecordPage.get());
+    final List<PageReference> fragments = new ArrayList<>();
+    final List<T> pages = getSnapshotPages(pageReferenceToRecordPage.get(), fragments);
 
     if (pages.isEmpty()) {
       return PageContainer.emptyInstance();
@@ -396,27 +435,22 @@ public final class PageReadOnlyTrxImpl implements PageReadOnlyTrx {
     final VersioningType revisioning = mResourceConfig.revisioningType;
     final Page completePage = revisioning.combineRecordPages(pages, mileStoneRevision, this);
 
-    final PageContainer recordPageContainer = PageContainer.getInstance(completePage, clone(completePage));
+    // Read-only transactions never modify the page, a modifiable copy is only created by page
+    // write transactions, which reconstruct the record page for modification.
+    final PageContainer recordPageContainer = PageContainer.getReadOnlyInstance(completePage);
 
-    if (mTrxIntentLog == null)
-      mResourceBufferManager.getRecordPageCache().put(pageReferenceToRecordPage.get(), recordPageContainer);
+    // The container is weighed by the length of all fragments, which it has been combined from.
+    if (offset != Constants.NULL_ID_LONG) {
+      int length = 0;
+      for (final PageReference fragment : fragments) {
+        length += fragment.getLength();
+      }
+      mResourceBufferManager.getRecordPageCache().put(offset, recordPageContainer, length);
+    }
 
     return recordPageContainer;
   }
 
-  @SuppressWarnings("unchecked")
-  <E extends Page> E clone(final E toClone) {
-    try {
-      final ByteArrayDataOutput output = ByteStreams.newDataOutput();
-      final PagePersister pagePersister = new PagePersister();
-      pagePersister.serializePage(output, toClone, SerializationType.TRANSACTION_INTENT_LOG);
-      final ByteArrayDataInput input = ByteStreams.newDataInput(output.toByteArray());
-      return (E) pagePersister.deserializePage(input, this, SerializationType.TRANSACTION_INTENT_LOG);
-    } catch (final IOException e) {
-      throw new SirixIOException(e);
-    }
-  }
-
   final Optional<PageReference> getLeafPageReference(final @Nonnegative long recordPageKey, final int indexNumber,
       final PageKind pageKind) {
     final PageReference tmpRef = getPageReference(mRootPage, pageKind, indexNumber);
@@ -425,51 +459,89 @@ public final class PageReadOnlyTrxImpl implements PageReadOnlyTrx {
 
   /**
    * Dereference key/value page reference and get all leaves, the {@link KeyValuePage}s from the
-   * revision-trees.
+   * revision-trees. The most recent page records the references to its previous versions, thus
+   * these are read concurrently, if the storage supports concurrent reads.
    *
-   * @param recordPageKey key of node page
-   * @param pageKind kind of page, that is the type of tree to dereference
-   * @param index index number or {@code -1}, if it's a regular record page
-   * @param pageReference optional page reference pointing to the first page
+   * @param pageReference page reference pointing to the most recent page
    * @return dereferenced pages
    *
    * @throws SirixIOException if an I/O-error occurs within the creation process
    */
   final <K extends Comparable<? super K>, V extends Record, T extends KeyValuePage<K, V>> List<T> getSnapshotPages(
       final PageReference pageReference) {
+    return getSnapshotPages(pageReference, new ArrayList<>());
+  }
+
+  /**
+   * Dereference key/value page reference and get all leaves, the {@link KeyValuePage}s from the
+   * revision-trees.
+   *
+   * @param pageReference page reference pointing to the most recent page
+   * @param references collects the references to the pages, which have been read, with their lengths
+   * @return dereferenced pages
+   *
+   * @throws SirixIOException if an I/O-error occurs within the creation process
+   */
+  @SuppressWarnings("unchecked")
+  private <K extends Comparable<? super K>, V extends Record, T extends KeyValuePage<K, V>> List<T> getSnapshotPages(
+      final PageReference pageReference, final List<PageReference> references) {
     assert pageReference != null;
     final ResourceConfiguration config = mResourceManager.getResourceConfig();
     final int revsToRestore = config.numberOfRevisionsToRestore;
     final int[] revisionsToRead = config.revisioningType.getRevisionRoots(mRootPage.getRevision(), revsToRestore);
     final List<T> pages = new ArrayList<>(revisionsToRead.length);
-    boolean first = true;
-    for (int i = 0; i < revisionsToRead.length; i++) {
-      long refKeyToRecordPage = Constants.NULL_ID_LONG;
-      if (first) {
-        first = false;
-        refKeyToRecordPage = pageReference.getKey();
-      } else {
-        refKeyToRecordPage = pages.get(pages.size() - 1).getPreviousReferenceKey();
-      }
 
-      if (refKeyToRecordPage != Constants.NULL_ID_LONG) {
-        final PageReference reference = new PageReference().setKey(refKeyToRecordPage);
-        if (reference.getKey() != Constants.NULL_ID_LONG) {
-          @SuppressWarnings("unchecked")
-          final T page = (T) mPageReader.read(reference, this);
+    if (revisionsToRead.length > 0 && pageReference.getKey() != Constants.NULL_ID_LONG) {
+      T page = (T) mPageReader.read(fragment(references, pageReference.getKey()), this);
+      pages.add(page);
+
+      if (page.size() != Constants.NDP_NODE_COUNT) {
+        final long[] previousReferenceKeys = page.getPreviousReferenceKeys();
+        final int fragments = Math.min(previousReferenceKeys.length, revisionsToRead.length - 1);
+        final List<CompletableFuture<Page>> futures = new ArrayList<>(fragments);
+        for (int i = 0; i < fragments && previousReferenceKeys[i] != Constants.NULL_ID_LONG; i++) {
+          futures.add(mPageReader.readAsync(fragment(references, previousReferenceKeys[i]), this));
+        }
+
+        for (final CompletableFuture<Page> future : futures) {
+          page = readSnapshotPage(future);
           pages.add(page);
           if (page.size() == Constants.NDP_NODE_COUNT) {
             // Page is full, thus we can skip reconstructing pages with elder versions.
             break;
           }
         }
-      } else {
-        break;
+
+        // Pages, which don't record all previous versions, are read one after the other.
+        while (pages.size() < revisionsToRead.length && page.size() != Constants.NDP_NODE_COUNT
+            && page.getPreviousReferenceKey() != Constants.NULL_ID_LONG) {
+          page = (T) mPageReader.read(fragment(references, page.getPreviousReferenceKey()), this);
+          pages.add(page);
+        }
       }
     }
+    SirixMetrics.getInstance().snapshotPages(pages.size());
     return pages;
   }
 
+  private static PageReference fragment(final List<PageReference> references, final long key) {
+    final PageReference fragment = new PageReference().setKey(key);
+    references.add(fragment);
+    return fragment;
+  }
+
+  @SuppressWarnings("unchecked")
+  private static <T extends KeyValuePage<?, ?>> T readSnapshotPage(final CompletableFuture<Page> future) {
+    try {
+      return (T) future.join();
+    } catch (final CompletionException e) {
+      if (e.getCause() instanceof RuntimeException) {
+        throw (RuntimeException) e.getCause();
+      }
+      throw new SirixIOException(e.getCause());
+    }
+  }
+
   /**
    * Get the page reference which points to the right subtree (nodes, path summary nodes, CAS index
    * nodes, Path index nodes or Name index nodes).
@@ -537,7 +609,7 @@ public final class PageReadOnlyTrxImpl implements PageReadOnlyTrx {
         || reference.getPersistentLogKey() != Constants.NULL_ID_LONG)) {
       // Then try to get it from the page cache which might read it from the persistent storage on a
       // cache miss.
-      page = (IndirectPage) loadIndirectPage(reference);
+      page = (IndirectPage) loadIndirectPage(reference, true);
     }
 
     return page;
@@ -656,6 +728,7 @@ public final class PageReadOnlyTrxImpl implements PageReadOnlyTrx {
       if (!mResourceManager.getNodeReadTrxByTrxId(mTrxId).isPresent())
         mResourceManager.closePageReadTransaction(mTrxId);
 
+      mMostRecentRecordPage = null;
       mClosed = true;
     }
   }
@@ -677,6 +750,15 @@ public final class PageReadOnlyTrxImpl implements PageReadOnlyTrx {
     return mRootPage.getRevision();
   }
 
+  /**
+   * Get the buffer manager of the resource.
+   *
+   * @return the buffer manager
+   */
+  BufferManager getBufferManager() {
+    return mResourceBufferManager;
+  }
+
   @Override
   public Reader getReader() {
     assertNotClosed();
@@ -43,12 +43,14 @@ import org.sirix.api.NodeTrx;
 import org.sirix.api.PageTrx;
 import org.sirix.api.json.JsonResourceManager;
 import org.sirix.api.xml.XmlResourceManager;
+import org.sirix.cache.BufferManager;
 import org.sirix.cache.PageContainer;
 import org.sirix.cache.TransactionIntentLog;
 import org.sirix.exception.SirixException;
 import org.sirix.exception.SirixIOException;
 import org.sirix.io.Writer;
 import org.sirix.node.interfaces.Record;
+import org.sirix.page.IndirectPage;
 import org.sirix.page.NamePage;
 import org.sirix.page.PageKind;
 import org.sirix.page.PageReference;
@@ -72,6 +74,7 @@ public final class PageTrxFactory {
    * @param resourceManager {@link XmlResourceManagerImpl} this page write trx is bound to
    * @param uberPage root of revision
    * @param writer writer where this transaction should write to
+   * @param bufferManager the caches of the resource, shared with the read-only transactions
    * @param trxId the transaction ID
    * @param representRevision revision represent
    * @param lastStoredRevision last stored revision
@@ -80,7 +83,7 @@ public final class PageTrxFactory {
    */
   public PageTrx<Long, Record, UnorderedKeyValuePage> createPageTrx(
       final InternalResourceManager<? extends NodeReadOnlyTrx, ? extends NodeTrx> resourceManager,
-      final UberPage uberPage, final Writer writer, final @Nonnegative long trxId,
+      final UberPage uberPage, final Writer writer, final BufferManager bufferManager, final @Nonnegative long trxId,
       final @Nonnegative int representRevision, final @Nonnegative int lastStoredRevision,
       final @Nonnegative int lastCommitedRevision, final boolean isBoundToNodeTrx) {
     final boolean usePathSummary = resourceManager.getResourceConfig().withPathSummary;
@@ -109,7 +112,7 @@ public final class PageTrxFactory {
 
     // Page read trx.
     final PageReadOnlyTrxImpl pageRtx = new PageReadOnlyTrxImpl(trxId, resourceManager, uberPage, representRevision,
-        writer, log, indexController, null);
+        writer, log, indexController, bufferManager);
 
     // Create new revision root page.
     final RevisionRootPage lastCommitedRoot = pageRtx.loadRevRoot(lastCommitedRevision);
@@ -160,8 +163,9 @@ public final class PageTrxFactory {
         log.put(newRevisionRootPage.getPathPageReference(), PageContainer.getInstance(pathPage, pathPage));
       }
 
+      // The indirect page might be shared with other transactions, thus it has to be copied.
       final Page indirectPage =
-          pageRtx.dereferenceIndirectPageReference(newRevisionRootPage.getIndirectPageReference());
+          new IndirectPage(pageRtx.dereferenceIndirectPageReference(newRevisionRootPage.getIndirectPageReference()));
       log.put(newRevisionRootPage.getIndirectPageReference(), PageContainer.getInstance(indirectPage, indirectPage));
 
       final PageReference revisionRootPageReference = treeModifier.prepareLeafOfTree(pageRtx, log,
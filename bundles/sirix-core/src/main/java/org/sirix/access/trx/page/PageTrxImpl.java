@@ -26,10 +26,14 @@ import static com.google.common.base.Preconditions.checkNotNull;
 import java.io.FileOutputStream;
 import java.io.IOException;
 import java.io.OutputStream;
+import java.nio.channels.FileChannel;
 import java.nio.file.Files;
 import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+import java.time.Instant;
 import java.util.List;
 import java.util.Optional;
+import java.util.concurrent.CompletionException;
 import javax.annotation.Nonnegative;
 import javax.annotation.Nonnull;
 import javax.annotation.Nullable;
@@ -40,11 +44,15 @@ import org.sirix.access.trx.node.Restore;
 import org.sirix.access.trx.node.xml.XmlIndexController;
 import org.sirix.api.PageReadOnlyTrx;
 import org.sirix.api.PageTrx;
+import org.sirix.api.RevisionInfo;
 import org.sirix.cache.PageContainer;
 import org.sirix.cache.TransactionIntentLog;
 import org.sirix.exception.SirixIOException;
+import org.sirix.io.GroupCommitter;
 import org.sirix.io.Writer;
+import org.sirix.metrics.SirixMetrics;
 import org.sirix.node.DeletedNode;
+import org.sirix.node.NodeHash;
 import org.sirix.node.NodeKind;
 import org.sirix.node.delegates.NodeDelegate;
 import org.sirix.node.interfaces.Node;
@@ -211,6 +219,20 @@ final class PageTrxImpl extends AbstractForwardingPageReadOnlyTrx
     return record;
   }
 
+  @Override
+  public Record createReservedEntry(final Record record) {
+    mPageRtx.assertNotClosed();
+    checkArgument(record.getNodeKey() >= 0 && record.getNodeKey() <= mNewRoot.getMaxNodeKey(),
+        "The key of the record hasn't been allocated!");
+
+    final long recordPageKey = mPageRtx.pageKey(record.getNodeKey());
+    final PageContainer cont = prepareRecordPage(recordPageKey, -1, PageKind.RECORDPAGE);
+    @SuppressWarnings("unchecked")
+    final KeyValuePage<Long, Record> modified = (KeyValuePage<Long, Record>) cont.getModified();
+    modified.setEntry(record.getNodeKey(), record);
+    return record;
+  }
+
   @Override
   public void removeEntry(final Long recordKey, @Nonnull final PageKind pageKind, final int index) {
     mPageRtx.assertNotClosed();
@@ -219,8 +241,8 @@ final class PageTrxImpl extends AbstractForwardingPageReadOnlyTrx
     final Optional<Record> node = getRecord(recordKey, pageKind, index);
     if (node.isPresent()) {
       final Record nodeToDel = node.get();
-      final Node delNode =
-          new DeletedNode(new NodeDelegate(nodeToDel.getNodeKey(), -1, null, null, mPageRtx.getRevisionNumber(), null));
+      final Node delNode = new DeletedNode(
+          new NodeDelegate(nodeToDel.getNodeKey(), -1, null, NodeHash.ZERO, mPageRtx.getRevisionNumber(), null));
       ((UnorderedKeyValuePage) cont.getModified()).setEntry(delNode.getNodeKey(), delNode);
       ((UnorderedKeyValuePage) cont.getComplete()).setEntry(delNode.getNodeKey(), delNode);
     } else {
@@ -274,7 +296,7 @@ final class PageTrxImpl extends AbstractForwardingPageReadOnlyTrx
     if (reference == null)
       return;
 
-    final PageContainer container = mLog.get(reference, mPageRtx);
+    final PageContainer container = mLog.get(reference, this);
 
     Page page = null;
 
@@ -300,6 +322,7 @@ final class PageTrxImpl extends AbstractForwardingPageReadOnlyTrx
   public UberPage commit(final String commitMessage) {
     mPageRtx.assertNotClosed();
 
+    final long start = System.nanoTime();
     mPageRtx.mResourceManager.getCommitLock().lock();
 
     final Path commitFile = mPageRtx.mResourceManager.getCommitFile();
@@ -327,27 +350,36 @@ final class PageTrxImpl extends AbstractForwardingPageReadOnlyTrx
     uberPage.commit(this);
 
     uberPageReference.setPage(uberPage);
-    mPageWriter.writeUberPageReference(uberPageReference);
+    mPageWriter.write(uberPageReference);
     uberPageReference.setPage(null);
 
     final Path indexes =
         mPageRtx.mResourceConfig.resourcePath.resolve(ResourceConfiguration.ResourcePaths.INDEXES.getPath())
                                              .resolve(String.valueOf(revision) + ".xml");
 
-    if (!Files.exists(indexes)) {
-      try {
-        Files.createFile(indexes);
-      } catch (final IOException e) {
-        throw new SirixIOException(e);
-      }
-    }
-
     try (final OutputStream out = new FileOutputStream(indexes.toFile())) {
       mIndexController.serialize(out);
     } catch (final IOException e) {
       throw new SirixIOException("Index definitions couldn't be serialized!", e);
     }
 
+    // The beacon must not point to the new uber page, before the revision has reached the storage device.
+    force(() -> {
+      mPageWriter.force();
+      forceFile(indexes);
+    });
+    mPageWriter.writeUberPageBeacon(uberPageReference);
+
+    final RevisionRootPage revisionRootPage = getActualRevisionRootPage();
+    mPageRtx.mResourceManager.logRevisionInfo(new RevisionInfo(revisionRootPage.getUser().orElse(null),
+        revisionRootPage.getRevision(), Instant.ofEpochMilli(revisionRootPage.getRevisionTimestamp()),
+        revisionRootPage.getCommitCredentials().getMessage()));
+
+    force(() -> {
+      mPageWriter.force();
+      mPageRtx.mResourceManager.forceRevisionInfoLog();
+    });
+
     mLog.truncate();
 
     // Delete commit file which denotes that a commit must write the log in the data file.
@@ -359,6 +391,7 @@ final class PageTrxImpl extends AbstractForwardingPageReadOnlyTrx
 
     final UberPage commitedUberPage = (UberPage) mPageWriter.read(mPageWriter.readUberPageReference(), mPageRtx);
     mPageRtx.mResourceManager.getCommitLock().unlock();
+    SirixMetrics.getInstance().commit(System.nanoTime() - start);
     return commitedUberPage;
   }
 
@@ -367,6 +400,36 @@ final class PageTrxImpl extends AbstractForwardingPageReadOnlyTrx
     return commit((String) null);
   }
 
+  /**
+   * Force files to the storage device according to the durability mode.
+   *
+   * @param force forces the files
+   */
+  private void force(final Runnable force) {
+    switch (mPageRtx.mResourceConfig.durabilityMode) {
+      case COMMIT:
+        force.run();
+        break;
+      case GROUP_COMMIT:
+        try {
+          GroupCommitter.getInstance().force(force, mPageRtx.mResourceConfig.groupCommitWindow).join();
+        } catch (final CompletionException e) {
+          throw new SirixIOException("Pages couldn't be forced to the storage device!", e.getCause());
+        }
+        break;
+      default:
+        break;
+    }
+  }
+
+  private static void forceFile(final Path file) {
+    try (final FileChannel channel = FileChannel.open(file, StandardOpenOption.WRITE)) {
+      channel.force(false);
+    } catch (final IOException e) {
+      throw new SirixIOException(e);
+    }
+  }
+
   @Override
   public UberPage rollback() {
     mPageRtx.assertNotClosed();
@@ -413,13 +476,14 @@ final class PageTrxImpl extends AbstractForwardingPageReadOnlyTrx
     final PageReference reference = mTreeModifier.prepareLeafOfTree(mPageRtx, mLog,
         getUberPage().getPageCountExp(pageKind), pageReference, recordPageKey, indexNumber, pageKind, mNewRoot);
 
-    PageContainer pageContainer = mLog.get(reference, mPageRtx);
+    PageContainer pageContainer = mLog.get(reference, this);
 
     if (pageContainer.equals(PageContainer.emptyInstance())) {
       if (reference.getKey() == Constants.NULL_ID_LONG) {
         final UnorderedKeyValuePage completePage =
             new UnorderedKeyValuePage(recordPageKey, pageKind, Constants.NULL_ID_LONG, mPageRtx);
-        final UnorderedKeyValuePage modifyPage = mPageRtx.clone(completePage);
+        final UnorderedKeyValuePage modifyPage =
+            new UnorderedKeyValuePage(recordPageKey, pageKind, Constants.NULL_ID_LONG, mPageRtx);
         pageContainer = PageContainer.getInstance(completePage, modifyPage);
       } else {
         pageContainer = dereferenceRecordPageForModification(reference);
@@ -483,12 +547,15 @@ final class PageTrxImpl extends AbstractForwardingPageReadOnlyTrx
   @Override
   public PageContainer getLogRecord(final PageReference reference) {
     checkNotNull(reference);
-    return mLog.get(reference, mPageRtx);
+    return mLog.get(reference, this);
   }
 
   @Override
   public PageTrx<Long, Record, UnorderedKeyValuePage> truncateTo(final int revision) {
-    mPageWriter.truncateTo(revision);
+    mPageRtx.mResourceManager.truncateTo(mPageWriter, revision);
+
+    // Offsets and revision numbers of the truncated revisions are reused.
+    mPageRtx.getBufferManager().clearAllCaches();
     return this;
   }
 
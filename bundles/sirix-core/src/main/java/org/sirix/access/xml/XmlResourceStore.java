@@ -59,7 +59,7 @@ public final class XmlResourceStore extends AbstractResourceStore<XmlResourceMan
 
       // Create the resource manager instance.
       final XmlResourceManager resourceManager = new XmlResourceManagerImpl(database, this, resourceConfig,
-          bufferManager, StorageType.getStorage(resourceConfig), uberPage, readSem, writeLock, mUser);
+          bufferManager, storage, uberPage, readSem, writeLock, mUser);
 
       // Put it in the databases cache.
       DatabasesInternals.putResourceManager(resourceFile, resourceManager);
@@ -1,6 +1,5 @@
 package org.sirix.api;
 
-import java.math.BigInteger;
 import java.time.Instant;
 import java.util.Optional;
 import org.brackit.xquery.atomic.QNm;
@@ -8,6 +7,7 @@ import org.sirix.access.User;
 import org.sirix.access.trx.node.CommitCredentials;
 import org.sirix.api.xml.XmlNodeReadOnlyTrx;
 import org.sirix.exception.SirixException;
+import org.sirix.node.NodeHash;
 import org.sirix.node.NodeKind;
 
 
@@ -165,7 +165,7 @@ public interface NodeReadOnlyTrx extends AutoCloseable {
    *
    * @return the hash code
    */
-  BigInteger getHash();
+  NodeHash getHash();
 
   /**
    * Get the value of the current node or {@code null}.
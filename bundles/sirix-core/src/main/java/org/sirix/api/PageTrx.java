@@ -11,6 +11,7 @@ import org.sirix.node.NodeKind;
 import org.sirix.node.interfaces.Record;
 import org.sirix.page.PageKind;
 import org.sirix.page.PageReference;
+import org.sirix.page.RevisionRootPage;
 import org.sirix.page.UberPage;
 import org.sirix.page.interfaces.KeyValuePage;
 
@@ -54,6 +55,17 @@ public interface PageTrx<K extends Comparable<? super K>, V extends Record, S ex
    */
   V createEntry(K key, @Nonnull V value, @Nonnull PageKind pageKind, int index);
 
+  /**
+   * Add a record to the record pages and prepare it for modifications (CoW), whose key has already
+   * been allocated with {@link RevisionRootPage#reserveNodeKeys(long)}.
+   *
+   * @param value the record to add, whose key is used
+   * @return the record for convenience
+   * @throws SirixIOException if an I/O error occurs
+   * @throws IllegalArgumentException if the key of the record hasn't been allocated
+   */
+  V createReservedEntry(@Nonnull V value);
+
   /**
    * Prepare an entry for modification. This is getting the entry from the (persistence) layer,
    * storing the page in the cache and setting up the entry for upcoming modification. The key of the
@@ -5,6 +5,7 @@ import static com.google.common.base.Preconditions.checkNotNull;
 import java.time.Instant;
 import java.util.Objects;
 import java.util.Optional;
+import javax.annotation.Nullable;
 import org.sirix.access.User;
 import com.google.common.base.MoreObjects;
 
@@ -19,9 +20,9 @@ public final class RevisionInfo {
 
   private int hash;
 
-  public RevisionInfo(final User user, final int revision, final Instant revisionTimestamp,
+  public RevisionInfo(final @Nullable User user, final int revision, final Instant revisionTimestamp,
       final String commitMessage) {
-    this.user = checkNotNull(user);
+    this.user = user;
 
     checkArgument(revision >= 0);
 
@@ -30,7 +31,7 @@ public final class RevisionInfo {
     this.commitMessage = commitMessage;
   }
 
-  public User getUser() {
+  public @Nullable User getUser() {
     return user;
   }
 
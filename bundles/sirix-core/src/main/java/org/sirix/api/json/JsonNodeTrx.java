@@ -2,6 +2,7 @@ package org.sirix.api.json;
 
 import org.sirix.access.trx.node.json.objectvalue.ObjectRecordValue;
 import org.sirix.api.NodeTrx;
+import org.sirix.service.json.shredder.JsonArrayChunker;
 import com.google.gson.stream.JsonReader;
 
 public interface JsonNodeTrx extends JsonNodeReadOnlyTrx, NodeTrx {
@@ -46,4 +47,8 @@ public interface JsonNodeTrx extends JsonNodeReadOnlyTrx, NodeTrx {
   JsonNodeTrx insertSubtreeAsFirstChild(JsonReader reader);
 
   JsonNodeTrx insertSubtreeAsRightSibling(JsonReader reader);
+
+  JsonNodeTrx insertSubtreeAsFirstChild(JsonArrayChunker chunker);
+
+  JsonNodeTrx insertSubtreeAsRightSibling(JsonArrayChunker chunker);
 }
@@ -0,0 +1,109 @@
+package org.sirix.axis;
+
+import static com.google.common.base.Preconditions.checkNotNull;
+import org.sirix.api.NodeCursor;
+
+/**
+ * Traverses the subtree of the node a cursor is located at in pre-order and post-order at the same
+ * time. Each node is visited with a {@link Event#START} event, before its descendants are visited,
+ * and with an {@link Event#END} event, after its descendants have been visited.
+ *
+ * <p>
+ * In contrast to the {@link DescendantAxis}, no stack of right siblings is kept and exactly one
+ * move of the cursor to the first child, the right sibling or the parent is needed per event. The
+ * cursor is located at the node of the current event. As neighbouring nodes are mostly stored in the
+ * same record page, which is pinned by read-only transactions, the traversal doesn't allocate and
+ * mostly doesn't look up any page.
+ * </p>
+ *
+ * <p>
+ * The cursor may be moved by the caller in between, but has to be moved back to the node of the
+ * current event before calling {@link #next()}.
+ * </p>
+ */
+public final class PrePostOrderTraversal {
+
+  /**
+   * The events of the traversal.
+   */
+  public enum Event {
+    /** The node is visited before its descendants. */
+    START,
+
+    /** The node is visited after its descendants. */
+    END
+  }
+
+  /** The cursor to traverse with. */
+  private final NodeCursor mCursor;
+
+  /** The node key of the root of the subtree. */
+  private final long mStartKey;
+
+  /** The current event or {@code null}, if the traversal hasn't been started yet. */
+  private Event mEvent;
+
+  /** Determines if the traversal is done. */
+  private boolean mDone;
+
+  /**
+   * Constructor.
+   *
+   * @param cursor the cursor to traverse with, located at the root of the subtree
+   */
+  public PrePostOrderTraversal(final NodeCursor cursor) {
+    mCursor = checkNotNull(cursor);
+    mStartKey = cursor.getNodeKey();
+  }
+
+  /**
+   * Move the cursor to the node of the next event.
+   *
+   * @return the next event or {@code null}, if the traversal is done
+   */
+  public Event next() {
+    if (mDone) {
+      return null;
+    }
+
+    if (mEvent == null) {
+      mEvent = Event.START;
+    } else if (mEvent == Event.START) {
+      if (mCursor.hasFirstChild()) {
+        mCursor.moveToFirstChild();
+      } else {
+        mEvent = Event.END;
+      }
+    } else if (mCursor.getNodeKey() == mStartKey) {
+      mDone = true;
+      return null;
+    } else if (mCursor.hasRightSibling()) {
+      mCursor.moveToRightSibling();
+      mEvent = Event.START;
+    } else {
+      mCursor.moveToParent();
+    }
+
+    return mEvent;
+  }
+
+  /**
+   * Get the current event.
+   *
+   * @return the current event or {@code null}, if the traversal hasn't been started yet or is done
+   */
+  public Event getEvent() {
+    return mDone
+        ? null
+        : mEvent;
+  }
+
+  /**
+   * Get the node key of the root of the subtree.
+   *
+   * @return the node key of the root of the subtree
+   */
+  public long getStartKey() {
+    return mStartKey;
+  }
+}
@@ -1,13 +1,14 @@
 package org.sirix.cache;
 
-import org.sirix.page.PageReference;
 import org.sirix.page.RevisionRootPage;
 import org.sirix.page.interfaces.Page;
 
 public interface BufferManager {
-  Cache<PageReference, PageContainer> getRecordPageCache();
+  Cache<Long, PageContainer> getRecordPageCache();
 
-  Cache<PageReference, Page> getPageCache();
+  Cache<Long, Page> getPageCache();
 
   Cache<Integer, RevisionRootPage> getRevisionRootPageCache();
+
+  void clearAllCaches();
 }
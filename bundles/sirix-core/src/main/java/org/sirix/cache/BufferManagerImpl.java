@@ -1,6 +1,5 @@
 package org.sirix.cache;
 
-import org.sirix.page.PageReference;
 import org.sirix.page.RevisionRootPage;
 import org.sirix.page.interfaces.Page;
 
@@ -11,19 +10,24 @@ public final class BufferManagerImpl implements BufferManager {
 
   private final RevisionRootPageCache mRevisionRootPageCache;
 
-  public BufferManagerImpl() {
-    mPageCache = new PageCache();
-    mRecordPageCache = new RecordPageCache();
-    mRevisionRootPageCache = new RevisionRootPageCache();
+  /**
+   * Constructor.
+   *
+   * @param pool the pool storing the cached pages, might be shared with other buffer managers
+   */
+  public BufferManagerImpl(final BufferPool pool) {
+    mPageCache = new PageCache(pool);
+    mRecordPageCache = new RecordPageCache(pool);
+    mRevisionRootPageCache = new RevisionRootPageCache(pool);
   }
 
   @Override
-  public Cache<PageReference, Page> getPageCache() {
+  public Cache<Long, Page> getPageCache() {
     return mPageCache;
   }
 
   @Override
-  public Cache<PageReference, PageContainer> getRecordPageCache() {
+  public Cache<Long, PageContainer> getRecordPageCache() {
     return mRecordPageCache;
   }
 
@@ -31,4 +35,11 @@ public final class BufferManagerImpl implements BufferManager {
   public Cache<Integer, RevisionRootPage> getRevisionRootPageCache() {
     return mRevisionRootPageCache;
   }
+
+  @Override
+  public void clearAllCaches() {
+    mPageCache.clear();
+    mRecordPageCache.clear();
+    mRevisionRootPageCache.clear();
+  }
 }
@@ -0,0 +1,87 @@
+package org.sirix.cache;
+
+import static com.google.common.base.Preconditions.checkArgument;
+import java.util.concurrent.TimeUnit;
+import javax.annotation.Nonnegative;
+import org.sirix.metrics.SirixMetrics;
+import com.github.benmanes.caffeine.cache.Cache;
+import com.github.benmanes.caffeine.cache.Caffeine;
+import com.github.benmanes.caffeine.cache.RemovalCause;
+import com.github.benmanes.caffeine.cache.RemovalListener;
+
+/**
+ * Memory budget, which is shared by the caches of several {@link BufferManager}s, usually by the
+ * buffer managers of all resources of a database. The entries are weighted by their estimated size
+ * in bytes, which is based on their length in the persistent storage (see {@link PageWeigher}),
+ * and are evicted once the estimated size of all entries exceeds the budget.
+ */
+public final class BufferPool {
+
+  /** The buffer pool, which is shared amongst databases, {@code null} if not created yet. */
+  private static BufferPool globalPool;
+
+  /** The cache holding the entries of all caches using this pool. */
+  final Cache<PooledCache.Key, Object> mCache;
+
+  /** The maximum estimated size of all entries in bytes. */
+  private final long mMaxSize;
+
+  /**
+   * Constructor.
+   *
+   * @param maxSize the maximum estimated size of all entries in bytes
+   * @throws IllegalArgumentException if {@code maxSize} is not positive
+   */
+  public BufferPool(final @Nonnegative long maxSize) {
+    checkArgument(maxSize > 0, "maxSize must be > 0!");
+    mMaxSize = maxSize;
+
+    final RemovalListener<PooledCache.Key, Object> removalListener = (PooledCache.Key key, Object value,
+        RemovalCause cause) -> {
+      if (key != null && cause.wasEvicted()) {
+        SirixMetrics.getInstance().cacheEviction(key.mOwner.mKind);
+      }
+    };
+
+    mCache = Caffeine.newBuilder()
+                     .maximumWeight(maxSize)
+                     .weigher((PooledCache.Key key, Object value) -> PageWeigher.weigh(value, key.mLength))
+                     .expireAfterWrite(5000, TimeUnit.SECONDS)
+                     .expireAfterAccess(5000, TimeUnit.SECONDS)
+                     .removalListener(removalListener)
+                     .build();
+  }
+
+  /**
+   * Get the buffer pool, which is shared amongst all databases, which are configured to use it. The
+   * pool is created with the given size on first access, later calls return the same pool.
+   *
+   * @param maxSize the maximum estimated size of all entries in bytes, if the pool is created
+   * @return the global buffer pool
+   */
+  public static synchronized BufferPool global(final @Nonnegative long maxSize) {
+    if (globalPool == null) {
+      globalPool = new BufferPool(maxSize);
+    }
+    return globalPool;
+  }
+
+  /**
+   * Get the maximum estimated size of all entries in bytes.
+   *
+   * @return the maximum size in bytes
+   */
+  public long getMaxSize() {
+    return mMaxSize;
+  }
+
+  /**
+   * Get the current estimated size of all entries in bytes.
+   *
+   * @return the estimated size in bytes
+   */
+  public long getEstimatedSize() {
+    mCache.cleanUp();
+    return mCache.policy().eviction().map(eviction -> eviction.weightedSize().orElse(0L)).orElse(0L);
+  }
+}
@@ -22,6 +22,7 @@
 package org.sirix.cache;
 
 import java.util.Map;
+import javax.annotation.Nonnegative;
 import javax.annotation.Nonnull;
 
 /**
@@ -57,6 +58,16 @@ public interface Cache<K, V> {
    */
   void put(K key, @Nonnull V value);
 
+  /**
+   * Putting a key/value into the cache together with the length of the value in the persistent
+   * storage, by which caches with a memory budget weigh the value.
+   *
+   * @param key for putting the page in the cache
+   * @param value should be putted in the cache as well
+   * @param length the length of the value in the persistent storage in bytes, {@code 0} if unknown
+   */
+  void put(K key, @Nonnull V value, @Nonnegative int length);
+
   /**
    * Put all entries from a map into the cache.
    *
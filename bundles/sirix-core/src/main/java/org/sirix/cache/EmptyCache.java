@@ -18,6 +18,9 @@ public class EmptyCache<K, V> implements Cache<K, V> {
   @Override
   public void put(K key, @Nonnull V value) {}
 
+  @Override
+  public void put(K key, @Nonnull V value, int length) {}
+
   @Override
   public ImmutableMap<K, V> getAll(Iterable<? extends K> keys) {
     return null;
@@ -123,6 +123,11 @@ public final class LRUCache<K, V> implements Cache<K, V> {
     mMap.put(key, value);
   }
 
+  @Override
+  public void put(final K key, final V value, final int length) {
+    put(key, value);
+  }
+
   /**
    * Clears the cache.
    */
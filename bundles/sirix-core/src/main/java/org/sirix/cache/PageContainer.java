@@ -80,6 +80,18 @@ public final class PageContainer {
     return new PageContainer(complete, modifying);
   }
 
+  /**
+   * Get a new instance for read-only access, which holds the same page as the complete and the
+   * modified page. The page must therefore never be modified.
+   *
+   * @param complete the complete page
+   */
+  public static final PageContainer getReadOnlyInstance(final Page complete) {
+    // Assertion as it's not part of the public API.
+    assert complete != null;
+    return new PageContainer(complete, complete);
+  }
+
   /**
    * Private constructor with both, complete and modifying page.
    *
@@ -0,0 +1,53 @@
+package org.sirix.cache;
+
+import org.sirix.page.OverflowPage;
+import org.sirix.page.interfaces.KeyValuePage;
+import org.sirix.page.interfaces.Page;
+
+/**
+ * Estimates the size of cached pages in bytes. A page is weighed by its length in the persistent
+ * storage, as far as it's known, plus its deserialized records or references. The records of a
+ * {@link KeyValuePage} are deserialized lazily, after the page has been weighed, thus all of them
+ * are accounted for up front.
+ */
+final class PageWeigher {
+
+  /** Estimated size of a page without its content. */
+  static final int PAGE_SIZE = 128;
+
+  /** Estimated size of a deserialized record in a {@link KeyValuePage}. */
+  static final int RECORD_SIZE = 128;
+
+  /** Estimated size of a page reference. */
+  static final int REFERENCE_SIZE = 64;
+
+  /** Private constructor. */
+  private PageWeigher() {
+    throw new AssertionError("May never be instantiated!");
+  }
+
+  /**
+   * Estimate the size of a cached value.
+   *
+   * @param value the cached value, usually a {@link Page} or a {@link PageContainer}
+   * @param length the length of the value in the persistent storage in bytes, {@code 0} if unknown
+   * @return the estimated size in bytes
+   */
+  static int weigh(final Object value, final int length) {
+    if (value instanceof PageContainer) {
+      final PageContainer container = (PageContainer) value;
+      final Page complete = container.getComplete();
+      final Page modified = container.getModified();
+      return complete == modified
+          ? weigh(complete, length)
+          : weigh(complete, length) + weigh(modified, 0);
+    }
+    if (value instanceof KeyValuePage) {
+      return PAGE_SIZE + length + ((KeyValuePage<?, ?>) value).size() * RECORD_SIZE;
+    }
+    if (value instanceof Page && !(value instanceof OverflowPage)) {
+      return PAGE_SIZE + length + ((Page) value).getReferences().size() * REFERENCE_SIZE;
+    }
+    return PAGE_SIZE + length;
+  }
+}
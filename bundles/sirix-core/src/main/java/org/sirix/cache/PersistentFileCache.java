@@ -1,65 +1,125 @@
 package org.sirix.cache;
 
 import static com.google.common.base.Preconditions.checkNotNull;
-import org.sirix.api.PageReadOnlyTrx;
-import org.sirix.io.Writer;
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.channels.FileChannel;
+import org.sirix.exception.SirixIOException;
+import org.sirix.io.bytepipe.ByteHandler;
 import org.sirix.page.PageReference;
-import org.sirix.page.interfaces.KeyValuePage;
-import org.sirix.page.interfaces.Page;
 
+/**
+ * The file, to which the transaction intent log spills the page containers, which don't fit into its
+ * memory budget. The containers are stored in the serialized form, which the log already holds, once
+ * a container is evicted, thus the pages are not serialized again.
+ */
 public final class PersistentFileCache implements AutoCloseable {
-  /** Write to a persistent file. */
-  private final Writer mWriter;
 
-  public PersistentFileCache(final Writer writer) {
-    mWriter = checkNotNull(writer);
-  }
+  /** Length of the prefix, which stores the length of a serialized container. */
+  private static final int LENGTH_PREFIX = Integer.BYTES;
+
+  /** The file channel. */
+  private final FileChannel mFile;
+
+  /** The byte handler, for instance to compress or encrypt the containers. */
+  private final ByteHandler mByteHandler;
 
-  public PageContainer get(PageReference reference, final PageReadOnlyTrx pageReadTrx) {
-    checkNotNull(pageReadTrx);
+  /** Offset where the next container is appended. */
+  private long mTail;
+
+  /**
+   * Constructor.
+   *
+   * @param file the file channel
+   * @param byteHandler the byte handler, for instance to compress or encrypt the containers
+   */
+  public PersistentFileCache(final FileChannel file, final ByteHandler byteHandler) {
+    mFile = checkNotNull(file);
+    mByteHandler = checkNotNull(byteHandler);
+  }
 
+  /**
+   * Get a serialized page container.
+   *
+   * @param reference the reference of the page, which stores the offset of the container in the
+   *        file as its persistent log key
+   * @return the serialized container, or {@code null} if it hasn't been spilled
+   */
+  public ByteBuffer get(final PageReference reference) {
     if (reference.getPersistentLogKey() < 0)
-      return PageContainer.emptyInstance();
-
-    final Page modifiedPage = mWriter.read(reference, pageReadTrx);
-    final Page completePage;
-
-    if (modifiedPage instanceof KeyValuePage) {
-      final long peristKey = reference.getPersistentLogKey();
-      reference.setPersistentLogKey(peristKey + reference.getLength());
-      completePage = mWriter.read(reference, pageReadTrx);
-      reference.setPersistentLogKey(peristKey);
-    } else {
-      completePage = modifiedPage;
-    }
+      return null;
 
-    return PageContainer.getInstance(completePage, modifiedPage);
+    try {
+      final ByteBuffer length = ByteBuffer.allocate(LENGTH_PREFIX);
+      readFully(length, reference.getPersistentLogKey());
+      final ByteBuffer container = ByteBuffer.allocate(length.getInt(0));
+      readFully(container, reference.getPersistentLogKey() + LENGTH_PREFIX);
+      return mByteHandler.deserialize(container.flip()).slice();
+    } catch (final IOException e) {
+      throw new SirixIOException(e);
+    }
   }
 
-  public PersistentFileCache put(PageReference reference, PageContainer container) {
-    reference.setPage(container.getModified());
-    mWriter.write(reference);
-
-    if (container.getModified() instanceof KeyValuePage) {
-      final long offset = reference.getPersistentLogKey();
-      int length = reference.getLength();
-      reference.setPage(container.getComplete());
-      mWriter.write(reference);
-      length += reference.getLength();
-      reference.setPersistentLogKey(offset);
-      reference.setLength(length);
+  /**
+   * Append a serialized page container to the file and store its offset as the persistent log key
+   * of the reference.
+   *
+   * @param reference the reference of the page
+   * @param container the serialized container between its position and its limit
+   * @return this file cache
+   */
+  public PersistentFileCache put(final PageReference reference, final ByteBuffer container) {
+    final ByteBuffer serializedContainer = mByteHandler.serialize(container);
+    final int length = serializedContainer.remaining();
+
+    try {
+      writeFully(ByteBuffer.allocate(LENGTH_PREFIX).putInt(0, length), mTail);
+      writeFully(serializedContainer, mTail + LENGTH_PREFIX);
+    } catch (final IOException e) {
+      throw new SirixIOException(e);
     }
 
+    reference.setPersistentLogKey(mTail);
+    reference.setLength(LENGTH_PREFIX + length);
+    mTail += LENGTH_PREFIX + length;
+
+    // The pages are reloaded from the file, such that they must not be kept in memory.
+    reference.setPage(null);
+
     return this;
   }
 
+  private void writeFully(final ByteBuffer buffer, final long position) throws IOException {
+    final int start = buffer.position();
+    while (buffer.hasRemaining()) {
+      mFile.write(buffer, position + buffer.position() - start);
+    }
+  }
+
+  private void readFully(final ByteBuffer buffer, final long position) throws IOException {
+    while (buffer.hasRemaining()) {
+      if (mFile.read(buffer, position + buffer.position()) == -1) {
+        throw new IOException("Unexpected end of file at position " + (position + buffer.position()) + ".");
+      }
+    }
+  }
+
   public PersistentFileCache truncate() {
-    mWriter.truncate();
+    try {
+      mFile.truncate(0);
+      mTail = 0;
+    } catch (final IOException e) {
+      throw new SirixIOException(e);
+    }
     return this;
   }
 
   @Override
   public void close() {
-    mWriter.close();
+    try {
+      mFile.close();
+    } catch (final IOException e) {
+      throw new SirixIOException(e);
+    }
   }
 }
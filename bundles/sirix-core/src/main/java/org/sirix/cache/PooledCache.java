@@ -0,0 +1,133 @@
+package org.sirix.cache;
+
+import static com.google.common.base.Preconditions.checkNotNull;
+import java.util.HashMap;
+import java.util.Map;
+import java.util.Objects;
+import javax.annotation.Nullable;
+import org.sirix.metrics.CacheKind;
+import org.sirix.metrics.SirixMetrics;
+
+/**
+ * A cache, whose entries are stored in a {@link BufferPool}, which might be shared with other
+ * caches. The entries of different caches are distinguished by the owning cache. Hits, misses and
+ * evictions are recorded in {@link SirixMetrics}.
+ *
+ * @param <K> the key type
+ * @param <V> the value type
+ */
+class PooledCache<K, V> implements Cache<K, V> {
+
+  /** The pool storing the entries. */
+  private final BufferPool mPool;
+
+  /** The kind of cache, under which hits, misses and evictions are recorded. */
+  final CacheKind mKind;
+
+  /**
+   * Constructor.
+   *
+   * @param pool the pool storing the entries
+   * @param kind the kind of cache, under which hits, misses and evictions are recorded
+   */
+  PooledCache(final BufferPool pool, final CacheKind kind) {
+    mPool = checkNotNull(pool);
+    mKind = checkNotNull(kind);
+  }
+
+  @Override
+  public void clear() {
+    mPool.mCache.asMap().keySet().removeIf(key -> key.mOwner == this);
+  }
+
+  @SuppressWarnings("unchecked")
+  @Override
+  public V get(final K key) {
+    final V value = (V) mPool.mCache.getIfPresent(new Key(this, key));
+    if (value == null) {
+      SirixMetrics.getInstance().cacheMiss(mKind);
+    } else {
+      SirixMetrics.getInstance().cacheHit(mKind);
+    }
+    return value;
+  }
+
+  @Override
+  public void put(final K key, final V value) {
+    mPool.mCache.put(new Key(this, key), value);
+  }
+
+  @Override
+  public void put(final K key, final V value, final int length) {
+    mPool.mCache.put(new Key(this, key, length), value);
+  }
+
+  @Override
+  public void putAll(final Map<? extends K, ? extends V> map) {
+    map.forEach(this::put);
+  }
+
+  @Override
+  public void toSecondCache() {}
+
+  @Override
+  public Map<K, V> getAll(final Iterable<? extends K> keys) {
+    final Map<K, V> values = new HashMap<>();
+    for (final K key : keys) {
+      final V value = get(key);
+      if (value != null) {
+        values.put(key, value);
+      }
+    }
+    return values;
+  }
+
+  @Override
+  public void remove(final K key) {
+    mPool.mCache.invalidate(new Key(this, key));
+  }
+
+  @Override
+  public void close() {}
+
+  /**
+   * Key of an entry in the pool, that is the key of the entry in the owning cache.
+   */
+  static final class Key {
+    /** The owning cache. */
+    final PooledCache<?, ?> mOwner;
+
+    /** The key in the owning cache. */
+    final Object mKey;
+
+    /**
+     * The length of the value in the persistent storage in bytes, {@code 0} if unknown. It's not part
+     * of the identity of the key, but weighs the value.
+     */
+    final int mLength;
+
+    Key(final PooledCache<?, ?> owner, final Object key) {
+      this(owner, key, 0);
+    }
+
+    Key(final PooledCache<?, ?> owner, final Object key, final int length) {
+      mOwner = owner;
+      mKey = checkNotNull(key);
+      mLength = length;
+    }
+
+    @Override
+    public int hashCode() {
+      return 31 * System.identityHashCode(mOwner) + mKey.hashCode();
+    }
+
+    @Override
+    public boolean equals(final @Nullable Object obj) {
+      if (!(obj instanceof Key))
+        return false;
+
+      final Key other = (Key) obj;
+      return mOwner == other.mOwner && Objects.equals(mKey, other.mKey);
+    }
+  }
+}
@@ -1,65 +1,19 @@
 package org.sirix.cache;
 
-import java.util.Map;
-import java.util.concurrent.TimeUnit;
-import org.sirix.page.PageReference;
-import com.github.benmanes.caffeine.cache.Caffeine;
-import com.github.benmanes.caffeine.cache.RemovalCause;
-import com.github.benmanes.caffeine.cache.RemovalListener;
-
-public final class RecordPageCache implements Cache<PageReference, PageContainer> {
-
-  private final com.github.benmanes.caffeine.cache.Cache<PageReference, PageContainer> mPageCache;
-
-  public RecordPageCache() {
-    final RemovalListener<PageReference, PageContainer> removalListener;
-
-    removalListener =
-        (PageReference key, PageContainer value, RemovalCause cause) -> key.setPage(null);
-
-    mPageCache = Caffeine.newBuilder()
-                         .maximumSize(1000)
-                         .expireAfterWrite(5000, TimeUnit.SECONDS)
-                         .expireAfterAccess(5000, TimeUnit.SECONDS)
-                         .removalListener(removalListener)
-                         .build();
-  }
-
-  @Override
-  public void clear() {
-    mPageCache.invalidateAll();
-  }
-
-  @Override
-  public PageContainer get(PageReference key) {
-    return mPageCache.getIfPresent(key);
-  }
-
-  @Override
-  public void put(PageReference key, PageContainer value) {
-    mPageCache.put(key, value);
-  }
-
-  @Override
-  public void putAll(Map<? extends PageReference, ? extends PageContainer> map) {
-    mPageCache.putAll(map);
-  }
-
-  @Override
-  public void toSecondCache() {
-    throw new UnsupportedOperationException();
+import org.sirix.metrics.CacheKind;
+
+/**
+ * Cache for record pages, backed by a {@link BufferPool}. The pages are keyed by the offset of their
+ * most recent fragment in the storage, which never changes, as pages are never overwritten.
+ */
+public final class RecordPageCache extends PooledCache<Long, PageContainer> {
+
+  /**
+   * Constructor.
+   *
+   * @param pool the pool storing the entries
+   */
+  public RecordPageCache(final BufferPool pool) {
+    super(pool, CacheKind.RECORD_PAGE);
   }
-
-  @Override
-  public Map<PageReference, PageContainer> getAll(Iterable<? extends PageReference> keys) {
-    return mPageCache.getAllPresent(keys);
-  }
-
-  @Override
-  public void remove(PageReference key) {
-    mPageCache.invalidate(key);
-  }
-
-  @Override
-  public void close() {}
 }
@@ -27,61 +27,23 @@
  */
 package org.sirix.cache;
 
-import java.util.Map;
-import java.util.concurrent.TimeUnit;
+import org.sirix.metrics.CacheKind;
 import org.sirix.page.RevisionRootPage;
-import com.github.benmanes.caffeine.cache.Caffeine;
 
 /**
+ * Cache for revision root pages, backed by a {@link BufferPool}.
+ *
  * @author Johannes Lichtenberger <lichtenberger.johannes@gmail.com>
  *
  */
-public final class RevisionRootPageCache implements Cache<Integer, RevisionRootPage> {
-  private final com.github.benmanes.caffeine.cache.Cache<Integer, RevisionRootPage> mPageCache;
-
-  public RevisionRootPageCache() {
-    mPageCache = Caffeine.newBuilder()
-                         .maximumSize(1000)
-                         .expireAfterWrite(5000, TimeUnit.SECONDS)
-                         .expireAfterAccess(5000, TimeUnit.SECONDS)
-                         .build();
-  }
-
-  @Override
-  public void clear() {
-    mPageCache.invalidateAll();
-  }
-
-  @Override
-  public RevisionRootPage get(Integer key) {
-    return mPageCache.getIfPresent(key);
-  }
-
-  @Override
-  public void put(Integer key, RevisionRootPage value) {
-    mPageCache.put(key, value);
-  }
-
-  @Override
-  public void putAll(Map<? extends Integer, ? extends RevisionRootPage> map) {
-    mPageCache.putAll(map);
-  }
-
-  @Override
-  public void toSecondCache() {
-    throw new UnsupportedOperationException();
-  }
-
-  @Override
-  public Map<Integer, RevisionRootPage> getAll(Iterable<? extends Integer> keys) {
-    return mPageCache.getAllPresent(keys);
-  }
+public final class RevisionRootPageCache extends PooledCache<Integer, RevisionRootPage> {
 
-  @Override
-  public void remove(Integer key) {
-    mPageCache.invalidate(key);
+  /**
+   * Constructor.
+   *
+   * @param pool the pool storing the entries
+   */
+  public RevisionRootPageCache(final BufferPool pool) {
+    super(pool, CacheKind.REVISION_ROOT_PAGE);
   }
-
-  @Override
-  public void close() {}
 }
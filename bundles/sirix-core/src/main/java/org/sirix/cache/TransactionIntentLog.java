@@ -1,13 +1,27 @@
 package org.sirix.cache;
 
+import java.io.DataInputStream;
+import java.io.DataOutputStream;
+import java.io.IOException;
+import java.nio.ByteBuffer;
 import java.util.ArrayList;
 import java.util.Collection;
 import java.util.Collections;
+import java.util.HashMap;
+import java.util.Iterator;
 import java.util.LinkedHashMap;
 import java.util.Map;
-import javax.annotation.Nullable;
+import javax.annotation.Nonnegative;
 import org.sirix.api.PageReadOnlyTrx;
+import org.sirix.exception.SirixIOException;
+import org.sirix.io.ByteBufferInputStream;
+import org.sirix.io.PageOutputStream;
+import org.sirix.metrics.SirixMetrics;
+import org.sirix.page.PagePersister;
 import org.sirix.page.PageReference;
+import org.sirix.page.SerializationType;
+import org.sirix.page.interfaces.KeyValuePage;
+import org.sirix.page.interfaces.Page;
 import org.sirix.settings.Constants;
 import com.google.common.base.MoreObjects;
 import com.google.common.collect.BiMap;
@@ -15,21 +29,34 @@ import com.google.common.collect.HashBiMap;
 
 /**
  * The transaction intent log, used for logging everything a write transaction changes.
+ * <p>
+ * All pages are kept on the heap, except for the least recently used record pages. Evicted record
+ * pages are stored in their serialized form off-heap in direct buffers, as long as the memory budget
+ * allows, and the same serialized form is spilled to a file otherwise. The other pages are never
+ * evicted, as they are few and are mutated through references held outside of the log (for instance
+ * the revision root page or the references returned for the leaves of the indirect page trees), but
+ * their estimated size counts against the memory budget.
+ * </p>
  *
  * @author Johannes Lichtenberger <lichtenberger.johannes@gmail.com>
  *
  */
 public final class TransactionIntentLog implements AutoCloseable {
   /**
-   * Capacity of the cache. Number of stored pages.
+   * Capacity of the cache. Number of record pages stored on the heap.
    */
   private static final int CACHE_CAPACITY = 16 << 1;
 
   /**
-   * The collection to hold the maps.
+   * The collection to hold the pages, which are not record pages.
    */
   private final Map<PageReference, PageContainer> mMap;
 
+  /**
+   * The record pages on the heap in access order.
+   */
+  private final Map<PageReference, PageContainer> mRecordPages;
+
   /**
    * Maps in-memory key to persistent key and vice versa.
    */
@@ -40,6 +67,52 @@ public final class TransactionIntentLog implements AutoCloseable {
    */
   private final PersistentFileCache mSecondCache;
 
+  /**
+   * Serialized pages evicted from the heap, stored off-heap and keyed by their log key.
+   */
+  private final Map<Integer, ByteBuffer> mOffHeapPages;
+
+  /**
+   * The memory budget in bytes for the pages, which are not record pages, and the evicted pages.
+   */
+  private final long mMemoryBudget;
+
+  /**
+   * The estimated size in bytes of each page, which is not a record page, at the time it has been
+   * put.
+   */
+  private final Map<PageReference, Integer> mPageWeights;
+
+  /**
+   * The estimated size in bytes of the pages, which are not record pages.
+   */
+  private long mPageBytes;
+
+  /**
+   * The off-heap memory in bytes used by the evicted pages.
+   */
+  private long mOffHeapBytes;
+
+  /**
+   * Transforms the evicted pages into byte-arrays and back.
+   */
+  private final PagePersister mPagePersister;
+
+  /**
+   * Buffer for serializing evicted pages.
+   */
+  private final PageOutputStream mOutput;
+
+  /**
+   * The number of pages spilled to the file.
+   */
+  private long mSpills;
+
+  /**
+   * The number of pages reloaded from the file.
+   */
+  private long mReloads;
+
   /**
    * The log key.
    */
@@ -49,35 +122,24 @@ public final class TransactionIntentLog implements AutoCloseable {
    * Creates a new LRU cache.
    *
    * @param secondCache the reference to the second {@link Cache} where the data is stored when it
-   *        gets removed from the first one.
+   *        gets removed from the first one and doesn't fit into the memory budget.
+   * @param memoryBudget the memory in bytes for the pages, which are not record pages, and the pages
+   *        evicted from the heap
    */
-  public TransactionIntentLog(final PersistentFileCache secondCache) {
+  public TransactionIntentLog(final PersistentFileCache secondCache, final @Nonnegative long memoryBudget) {
     // Assertion instead of checkNotNull(...).
     assert secondCache != null;
+    assert memoryBudget >= 0;
     mLogKey = 0;
     mSecondCache = secondCache;
+    mMemoryBudget = memoryBudget;
+    mOffHeapPages = new HashMap<>();
+    mPagePersister = new PagePersister();
+    mOutput = new PageOutputStream();
     mMapToPersistentLogKey = HashBiMap.create();
-    mMap = new LinkedHashMap<>(CACHE_CAPACITY) {
-      private static final long serialVersionUID = 1;
-
-      @Override
-      protected boolean removeEldestEntry(final @Nullable Map.Entry<PageReference, PageContainer> eldest) {
-        boolean returnVal = false;
-        if (size() > CACHE_CAPACITY) {
-          if (eldest != null) {
-            final PageReference key = eldest.getKey();
-            assert key.getLogKey() != Constants.NULL_ID_INT;
-            final PageContainer value = eldest.getValue();
-            if (key != null && value != null) {
-              mSecondCache.put(key, value);
-              mMapToPersistentLogKey.put(key.getLogKey(), key.getPersistentLogKey());
-            }
-          }
-          returnVal = true;
-        }
-        return returnVal;
-      }
-    };
+    mMap = new LinkedHashMap<>();
+    mPageWeights = new HashMap<>();
+    mRecordPages = new LinkedHashMap<>(CACHE_CAPACITY, 0.75f, true);
   }
 
   /**
@@ -89,17 +151,31 @@ public final class TransactionIntentLog implements AutoCloseable {
    *         cache
    */
   public PageContainer get(final PageReference key, final PageReadOnlyTrx pageRtx) {
-    PageContainer value = mMap.get(key);
+    PageContainer value = mRecordPages.get(key);
+    if (value == null) {
+      value = mMap.get(key);
+    }
     if (value == null) {
+      final ByteBuffer offHeapPage = removeOffHeap(key.getLogKey());
+      if (offHeapPage != null) {
+        value = deserialize(offHeapPage, pageRtx);
+        put(key, value);
+        return value;
+      }
       if (key.getLogKey() != Constants.NULL_ID_INT) {
         final Long persistentKey = mMapToPersistentLogKey.get(key.getLogKey());
         if (persistentKey != null)
           key.setPersistentLogKey(persistentKey);
       }
-      value = mSecondCache.get(key, pageRtx);
-      if (value != null && !PageContainer.emptyInstance().equals(value)) {
+      final ByteBuffer spilledPage = mSecondCache.get(key);
+      if (spilledPage != null) {
+        value = deserialize(spilledPage, pageRtx);
+        mReloads++;
+        SirixMetrics.getInstance().intentLogReload();
         key.setPersistentLogKey(Constants.NULL_ID_LONG);
         put(key, value);
+      } else {
+        value = PageContainer.emptyInstance();
       }
     }
     return value;
@@ -107,20 +183,115 @@ public final class TransactionIntentLog implements AutoCloseable {
 
   /**
    *
-   * Adds an entry to this cache. If the cache is full, the LRU (least recently used) entry is
-   * dropped.
+   * Adds an entry to this cache. If too many record pages are stored on the heap, the LRU (least
+   * recently used) record page is evicted.
    *
    * @param key the key with which the specified value is to be associated
    * @param value a value to be associated with the specified key
    */
   public void put(final PageReference key, final PageContainer value) {
-    if (mMap.containsKey(key)) {
-      mMap.remove(key);
-    }
+    removePage(key);
+    mRecordPages.remove(key);
+
+    // A page evicted under the old log key is superseded.
+    removeOffHeap(key.getLogKey());
 
     key.setKey(Constants.NULL_ID_LONG);
     key.setLogKey(mLogKey++);
-    mMap.put(key, value);
+
+    if (value.getModified() instanceof KeyValuePage) {
+      mRecordPages.put(key, value);
+      evictRecordPages();
+    } else {
+      final int weight = PageWeigher.weigh(value, 0);
+      mMap.put(key, value);
+      mPageWeights.put(key, weight);
+      mPageBytes += weight;
+    }
+  }
+
+  private void removePage(final PageReference key) {
+    if (mMap.remove(key) != null) {
+      mPageBytes -= mPageWeights.remove(key);
+    }
+  }
+
+  private void evictRecordPages() {
+    final Iterator<Map.Entry<PageReference, PageContainer>> iterator = mRecordPages.entrySet().iterator();
+    while (mRecordPages.size() > CACHE_CAPACITY) {
+      final Map.Entry<PageReference, PageContainer> eldest = iterator.next();
+      // Remove the entry before the reference is changed, as it's part of the hash code.
+      iterator.remove();
+      final PageReference key = eldest.getKey();
+      final PageContainer value = eldest.getValue();
+      assert key.getLogKey() != Constants.NULL_ID_INT;
+      final ByteBuffer serializedValue = serialize(value);
+      if (mOffHeapBytes + mPageBytes + serializedValue.remaining() <= mMemoryBudget) {
+        final ByteBuffer buffer = ByteBuffer.allocateDirect(serializedValue.remaining());
+        buffer.put(serializedValue).flip();
+        mOffHeapPages.put(key.getLogKey(), buffer);
+        mOffHeapBytes += buffer.capacity();
+      } else {
+        // The serialized page container is spilled as is, the pages are not serialized again.
+        mSecondCache.put(key, serializedValue);
+        mMapToPersistentLogKey.put(key.getLogKey(), key.getPersistentLogKey());
+        mSpills++;
+        SirixMetrics.getInstance().intentLogSpill();
+      }
+    }
+  }
+
+  /**
+   * Serialize an evicted page container, first the length of the serialized modified page, then the
+   * modified and the complete page.
+   *
+   * @param value the page container
+   * @return the serialized page container, which is only valid until the next container is serialized
+   */
+  private ByteBuffer serialize(final PageContainer value) {
+    try {
+      mOutput.reset();
+      final DataOutputStream output = new DataOutputStream(mOutput);
+      output.writeInt(0);
+      mPagePersister.serializePage(output, value.getModified(), SerializationType.TRANSACTION_INTENT_LOG);
+      output.flush();
+      final int modifiedLength = mOutput.size() - Integer.BYTES;
+      mPagePersister.serializePage(output, value.getComplete(), SerializationType.TRANSACTION_INTENT_LOG);
+      output.flush();
+      return mOutput.wrap().putInt(0, modifiedLength);
+    } catch (final IOException e) {
+      throw new SirixIOException(e);
+    }
+  }
+
+  private ByteBuffer removeOffHeap(final int logKey) {
+    if (logKey == Constants.NULL_ID_INT) {
+      return null;
+    }
+
+    final ByteBuffer buffer = mOffHeapPages.remove(logKey);
+    if (buffer != null) {
+      mOffHeapBytes -= buffer.capacity();
+    }
+    return buffer;
+  }
+
+  private PageContainer deserialize(final ByteBuffer buffer, final PageReadOnlyTrx pageRtx) {
+    try {
+      final int modifiedLength = buffer.getInt(0);
+      final Page modifiedPage = mPagePersister.deserializePage(
+          new DataInputStream(new ByteBufferInputStream(buffer.duplicate().position(Integer.BYTES)
+                                                              .limit(Integer.BYTES + modifiedLength))),
+          pageRtx, SerializationType.TRANSACTION_INTENT_LOG);
+
+      final Page completePage = mPagePersister.deserializePage(
+          new DataInputStream(new ByteBufferInputStream(buffer.duplicate().position(Integer.BYTES + modifiedLength))),
+          pageRtx, SerializationType.TRANSACTION_INTENT_LOG);
+
+      return PageContainer.getInstance(completePage, modifiedPage);
+    } catch (final IOException e) {
+      throw new SirixIOException(e);
+    }
   }
 
   /**
@@ -128,7 +299,57 @@ public final class TransactionIntentLog implements AutoCloseable {
    */
   public void clear() {
     mLogKey = 0;
+    clearPages();
+    mRecordPages.clear();
+    clearOffHeap();
+  }
+
+  private void clearPages() {
     mMap.clear();
+    mPageWeights.clear();
+    mPageBytes = 0;
+  }
+
+  private void clearOffHeap() {
+    mOffHeapPages.clear();
+    mOffHeapBytes = 0;
+  }
+
+  /**
+   * Get the number of pages, which have been spilled to the file, because they didn't fit into the
+   * memory budget.
+   *
+   * @return the number of spilled pages
+   */
+  public long getSpills() {
+    return mSpills;
+  }
+
+  /**
+   * Get the number of pages, which have been reloaded from the file.
+   *
+   * @return the number of reloaded pages
+   */
+  public long getReloads() {
+    return mReloads;
+  }
+
+  /**
+   * Get the off-heap memory used by evicted pages.
+   *
+   * @return the used off-heap memory in bytes
+   */
+  public long getOffHeapBytes() {
+    return mOffHeapBytes;
+  }
+
+  /**
+   * Get the estimated size of the pages, which are not record pages and are never evicted.
+   *
+   * @return the estimated size in bytes
+   */
+  public long getPageBytes() {
+    return mPageBytes;
   }
 
   /**
@@ -137,7 +358,7 @@ public final class TransactionIntentLog implements AutoCloseable {
    * @return the number of entries currently in the cache.
    */
   public int usedEntries() {
-    return mMap.size();
+    return mMap.size() + mRecordPages.size();
   }
 
   /**
@@ -146,21 +367,28 @@ public final class TransactionIntentLog implements AutoCloseable {
    * @return a {@code Collection} with a copy of the cache content
    */
   public Collection<Map.Entry<? super PageReference, ? super PageContainer>> getAll() {
-    return new ArrayList<Map.Entry<? super PageReference, ? super PageContainer>>(mMap.entrySet());
+    return new ArrayList<Map.Entry<? super PageReference, ? super PageContainer>>(getMap().entrySet());
   }
 
   @Override
   public String toString() {
-    return MoreObjects.toStringHelper(this).add("First Cache", mMap).add("Second Cache", mSecondCache).toString();
+    return MoreObjects.toStringHelper(this)
+                      .add("First Cache", mMap)
+                      .add("Record Pages", mRecordPages)
+                      .add("Off-heap Pages", mOffHeapPages.size())
+                      .add("Second Cache", mSecondCache)
+                      .toString();
   }
 
   /**
-   * Get a view of the underlying map.
+   * Get a copy of the entries on the heap.
    *
-   * @return an unmodifiable view of all entries in the cache
+   * @return an unmodifiable copy of all entries on the heap
    */
   public Map<PageReference, PageContainer> getMap() {
-    return Collections.unmodifiableMap(mMap);
+    final Map<PageReference, PageContainer> map = new LinkedHashMap<>(mMap);
+    map.putAll(mRecordPages);
+    return Collections.unmodifiableMap(map);
   }
 
   /**
@@ -171,13 +399,17 @@ public final class TransactionIntentLog implements AutoCloseable {
   public TransactionIntentLog truncate() {
     mSecondCache.close();
     mMapToPersistentLogKey.clear();
-    mMap.clear();
+    clearPages();
+    mRecordPages.clear();
+    clearOffHeap();
     return this;
   }
 
   @Override
   public void close() {
-    mMap.clear();
+    clearPages();
+    mRecordPages.clear();
+    clearOffHeap();
     mSecondCache.close();
   }
 }
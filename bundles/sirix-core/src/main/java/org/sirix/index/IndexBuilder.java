@@ -5,8 +5,8 @@ import org.sirix.api.json.JsonNodeReadOnlyTrx;
 import org.sirix.api.visitor.JsonNodeVisitor;
 import org.sirix.api.visitor.XmlNodeVisitor;
 import org.sirix.api.xml.XmlNodeReadOnlyTrx;
-import org.sirix.axis.DescendantAxis;
-import org.sirix.axis.NonStructuralWrapperAxis;
+import org.sirix.axis.PrePostOrderTraversal;
+import org.sirix.axis.PrePostOrderTraversal.Event;
 
 /**
  * Build an index by traversing the current revision.
@@ -26,15 +26,43 @@ public final class IndexBuilder {
     final long nodeKey = rtx.getNodeKey();
     rtx.moveToDocumentRoot();
 
-    for (@SuppressWarnings("unused")
-    final long key : new NonStructuralWrapperAxis(new DescendantAxis(rtx))) {
-      for (final XmlNodeVisitor builder : builders) {
-        rtx.acceptVisitor(builder);
+    final PrePostOrderTraversal traversal = new PrePostOrderTraversal(rtx);
+
+    // Skip the document root.
+    traversal.next();
+
+    for (Event event = traversal.next(); event != null; event = traversal.next()) {
+      if (event == Event.START) {
+        final long key = rtx.getNodeKey();
+        accept(rtx, builders);
+
+        if (rtx.isElement()) {
+          for (int i = 0, nspCount = rtx.getNamespaceCount(); i < nspCount; i++) {
+            rtx.moveToNamespace(i);
+            accept(rtx, builders);
+            rtx.moveTo(key);
+          }
+          for (int i = 0, attCount = rtx.getAttributeCount(); i < attCount; i++) {
+            rtx.moveToAttribute(i);
+            accept(rtx, builders);
+            rtx.moveTo(key);
+          }
+        }
       }
     }
     rtx.moveTo(nodeKey);
   }
 
+  private static void accept(final XmlNodeReadOnlyTrx rtx, final Set<XmlNodeVisitor> builders) {
+    final long key = rtx.getNodeKey();
+    for (final XmlNodeVisitor builder : builders) {
+      rtx.acceptVisitor(builder);
+      if (rtx.getNodeKey() != key) {
+        rtx.moveTo(key);
+      }
+    }
+  }
+
   /**
    * Build the index.
    *
@@ -45,10 +73,20 @@ public final class IndexBuilder {
     final long nodeKey = rtx.getNodeKey();
     rtx.moveToDocumentRoot();
 
-    for (@SuppressWarnings("unused")
-    final long key : new DescendantAxis(rtx)) {
-      for (final JsonNodeVisitor builder : builders) {
-        rtx.acceptVisitor(builder);
+    final PrePostOrderTraversal traversal = new PrePostOrderTraversal(rtx);
+
+    // Skip the document root.
+    traversal.next();
+
+    for (Event event = traversal.next(); event != null; event = traversal.next()) {
+      if (event == Event.START) {
+        final long key = rtx.getNodeKey();
+        for (final JsonNodeVisitor builder : builders) {
+          rtx.acceptVisitor(builder);
+          if (rtx.getNodeKey() != key) {
+            rtx.moveTo(key);
+          }
+        }
       }
     }
     rtx.moveTo(nodeKey);
@@ -14,6 +14,7 @@ import org.sirix.index.IndexType;
 import org.sirix.index.SearchMode;
 import org.sirix.index.avltree.AVLTreeReader.MoveCursor;
 import org.sirix.index.avltree.interfaces.References;
+import org.sirix.node.NodeHash;
 import org.sirix.node.delegates.NodeDelegate;
 import org.sirix.node.interfaces.Node;
 import org.sirix.node.interfaces.Record;
@@ -125,7 +126,7 @@ public final class AVLTreeWriter<K extends Comparable<? super K>, V extends Refe
       final long nodeKey = getNewNodeKey(root);
       final AVLNode<K, V> treeRoot = (AVLNode<K, V>) mPageWriteTrx.createEntry(nodeKey,
           new AVLNode<>(key, value,
-              new NodeDelegate(nodeKey, Fixed.DOCUMENT_NODE_KEY.getStandardProperty(), null, null, 0, null)),
+              new NodeDelegate(nodeKey, Fixed.DOCUMENT_NODE_KEY.getStandardProperty(), null, NodeHash.ZERO, 0, null)),
           mAVLTreeReader.mPageKind, mAVLTreeReader.mIndex);
       final XmlDocumentRootNode document =
           (XmlDocumentRootNode) mPageWriteTrx.prepareEntryForModification(Fixed.DOCUMENT_NODE_KEY.getStandardProperty(),
@@ -162,8 +163,8 @@ public final class AVLTreeWriter<K extends Comparable<? super K>, V extends Refe
 
       final long nodeKey = getNewNodeKey(root);
       final AVLNode<K, V> child = (AVLNode<K, V>) mPageWriteTrx.createEntry(nodeKey,
-          new AVLNode<>(key, value, new NodeDelegate(nodeKey, node.getNodeKey(), null, null, 0, null)), mAVLTreeReader.mPageKind,
-          mAVLTreeReader.mIndex);
+          new AVLNode<>(key, value, new NodeDelegate(nodeKey, node.getNodeKey(), null, NodeHash.ZERO, 0, null)),
+          mAVLTreeReader.mPageKind, mAVLTreeReader.mIndex);
       node = (AVLNode<K, V>) mPageWriteTrx.prepareEntryForModification(node.getNodeKey(), mAVLTreeReader.mPageKind,
           mAVLTreeReader.mIndex);
       if (c < 0) {
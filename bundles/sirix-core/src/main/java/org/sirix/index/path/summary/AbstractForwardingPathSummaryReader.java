@@ -1,6 +1,5 @@
 package org.sirix.index.path.summary;
 
-import java.math.BigInteger;
 import java.time.Instant;
 import java.util.Optional;
 import org.brackit.xquery.atomic.QNm;
@@ -12,6 +11,7 @@ import org.sirix.api.NodeReadOnlyTrx;
 import org.sirix.api.NodeTrx;
 import org.sirix.api.PageReadOnlyTrx;
 import org.sirix.api.ResourceManager;
+import org.sirix.node.NodeHash;
 import org.sirix.node.NodeKind;
 import org.sirix.node.interfaces.immutable.ImmutableNode;
 import com.google.common.collect.ForwardingObject;
@@ -52,7 +52,7 @@ public abstract class AbstractForwardingPathSummaryReader extends ForwardingObje
   }
 
   @Override
-  public BigInteger getHash() {
+  public NodeHash getHash() {
     return delegate().getHash();
   }
 
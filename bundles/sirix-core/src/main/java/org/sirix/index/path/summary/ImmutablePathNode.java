@@ -1,8 +1,8 @@
 package org.sirix.index.path.summary;
 
-import java.math.BigInteger;
 import javax.annotation.Nullable;
 import org.brackit.xquery.atomic.QNm;
+import org.sirix.node.NodeHash;
 import org.sirix.node.NodeKind;
 import org.sirix.node.interfaces.Node;
 import org.sirix.node.interfaces.immutable.ImmutableNameNode;
@@ -50,12 +50,12 @@ public class ImmutablePathNode implements ImmutableNameNode, ImmutableStructNode
   }
 
   @Override
-  public BigInteger computeHash() {
+  public NodeHash computeHash() {
     return mNode.computeHash();
   }
 
   @Override
-  public BigInteger getHash() {
+  public NodeHash getHash() {
     return mNode.getHash();
   }
 
@@ -1,7 +1,6 @@
 package org.sirix.index.path.summary;
 
 import static com.google.common.base.Preconditions.checkNotNull;
-import java.math.BigInteger;
 import java.time.Instant;
 import java.util.BitSet;
 import java.util.Collection;
@@ -30,6 +29,7 @@ import org.sirix.axis.filter.FilterAxis;
 import org.sirix.axis.filter.PathNameFilter;
 import org.sirix.exception.SirixException;
 import org.sirix.exception.SirixIOException;
+import org.sirix.node.NodeHash;
 import org.sirix.node.NodeKind;
 import org.sirix.node.NullNode;
 import org.sirix.node.immutable.xdm.ImmutableDocumentNode;
@@ -827,7 +827,7 @@ public final class PathSummaryReader implements NodeReadOnlyTrx, NodeCursor {
   }
 
   @Override
-  public BigInteger getHash() {
+  public NodeHash getHash() {
     throw new UnsupportedOperationException();
   }
 
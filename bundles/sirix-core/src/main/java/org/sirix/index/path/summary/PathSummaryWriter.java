@@ -133,6 +133,37 @@ public final class PathSummaryWriter<R extends NodeCursor & NodeReadOnlyTrx>
       level = mPathSummaryReader.getLevel();
     }
 
+    return getChildPathNodeKey(name, pathKind, level);
+  }
+
+  /**
+   * Insert a new path node or increment the counter of an existing node and return the path node key,
+   * independent of the current node of the node transaction.
+   *
+   * @param parentPathNodeKey the path node key of the parent path
+   * @param name the name of the path node to search for
+   * @param pathKind the kind of the path node to search for
+   * @return a path node key of the found node, or the path node key of a new inserted node
+   * @throws SirixException if anything went wrong
+   */
+  public long getPathNodeKey(final @Nonnegative long parentPathNodeKey, final QNm name, final NodeKind pathKind) {
+    mPathSummaryReader.moveTo(parentPathNodeKey);
+    final int level = parentPathNodeKey == Fixed.DOCUMENT_NODE_KEY.getStandardProperty()
+        ? 0
+        : mPathSummaryReader.getLevel();
+
+    return getChildPathNodeKey(name, pathKind, level);
+  }
+
+  /**
+   * Get the path node key of a child of the current path node.
+   *
+   * @param name the name of the path node to search for
+   * @param pathKind the kind of the path node to search for
+   * @param level the level of the current path node
+   * @return a path node key of the found node, or the path node key of a new inserted node
+   */
+  private long getChildPathNodeKey(final QNm name, final NodeKind pathKind, final int level) {
     final long nodeKey = mPathSummaryReader.getNodeKey();
     final Axis axis = new FilterAxis<>(new ChildAxis(mPathSummaryReader),
         new PathNameFilter(mPathSummaryReader, pathKind == NodeKind.NAMESPACE
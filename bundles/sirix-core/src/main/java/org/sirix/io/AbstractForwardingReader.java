@@ -1,5 +1,6 @@
 package org.sirix.io;
 
+import java.util.concurrent.CompletableFuture;
 import javax.annotation.Nullable;
 import org.sirix.api.PageReadOnlyTrx;
 import org.sirix.exception.SirixIOException;
@@ -25,6 +26,11 @@ public abstract class AbstractForwardingReader extends ForwardingObject implemen
     return delegate().read(reference, pageReadTrx);
   }
 
+  @Override
+  public CompletableFuture<Page> readAsync(PageReference reference, @Nullable PageReadOnlyTrx pageReadTrx) {
+    return delegate().readAsync(reference, pageReadTrx);
+  }
+
   @Override
   public PageReference readUberPageReference() throws SirixIOException {
     return delegate().readUberPageReference();
@@ -35,6 +41,11 @@ public abstract class AbstractForwardingReader extends ForwardingObject implemen
     return delegate().readRevisionRootPage(revision, pageReadTrx);
   }
 
+  @Override
+  public long readRevisionTimestamp(int revision) {
+    return delegate().readRevisionTimestamp(revision);
+  }
+
   @Override
   protected abstract Reader delegate();
 }
@@ -0,0 +1,257 @@
+package org.sirix.io;
+
+import static com.google.common.base.Preconditions.checkNotNull;
+import java.io.DataOutputStream;
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.channels.FileChannel;
+import org.sirix.exception.SirixIOException;
+import org.sirix.io.bytepipe.ByteHandler;
+import org.sirix.io.file.FileReader;
+import org.sirix.page.PagePersister;
+import org.sirix.page.PageReference;
+import org.sirix.page.RevisionRootPage;
+import org.sirix.page.SerializationType;
+import org.sirix.page.UberPage;
+import org.sirix.page.interfaces.Page;
+
+/**
+ * Writer, which appends pages with positional {@link FileChannel} writes at in-memory tail pointers.
+ * Reads are delegated to a reader of the storage. Subclasses, whose readers hold views on the files,
+ * exclude the readers while the files are truncated.
+ */
+public abstract class AbstractPositionalWriter extends AbstractForwardingReader implements Writer {
+
+  /** The data file channel. */
+  private final FileChannel mDataFile;
+
+  /** The revisions offset file channel. */
+  private final FileChannel mRevisionsOffsetFile;
+
+  /** The reader, which reads the pages written by this writer. */
+  private final Reader mReader;
+
+  /** The byte handler. */
+  private final ByteHandler mByteHandler;
+
+  /** Transforms in-memory pages into byte-arrays and back. */
+  private final PagePersister mPagePersister;
+
+  /** The hash function used to hash pages. */
+  private final PageHashType mPageHashType;
+
+  /** Buffer for serializing pages. */
+  private final PageOutputStream mOutput = new PageOutputStream();
+
+  /** Offset where the next page is appended. */
+  private long mDataFileTail;
+
+  /** Offset where the next entry of the revisions file is appended. */
+  private long mRevisionsOffsetFileTail;
+
+  /**
+   * Constructor.
+   *
+   * @param dataFile the data file channel
+   * @param revisionsOffsetFile the revisions offset file channel
+   * @param reader the reader, which reads the pages written by this writer
+   * @param handler the byte handler
+   * @param pagePersister transforms in-memory pages into byte-arrays and back
+   * @param pageHashType the hash function used to hash pages
+   * @throws SirixIOException if an I/O error occurs
+   */
+  protected AbstractPositionalWriter(final FileChannel dataFile, final FileChannel revisionsOffsetFile,
+      final Reader reader, final ByteHandler handler, final PagePersister pagePersister,
+      final PageHashType pageHashType) {
+    mDataFile = checkNotNull(dataFile);
+    mRevisionsOffsetFile = checkNotNull(revisionsOffsetFile);
+    mReader = checkNotNull(reader);
+    mByteHandler = checkNotNull(handler);
+    mPagePersister = checkNotNull(pagePersister);
+    mPageHashType = checkNotNull(pageHashType);
+
+    try {
+      mDataFileTail = Math.max(mDataFile.size(), FileReader.FIRST_BEACON);
+      mRevisionsOffsetFileTail = mRevisionsOffsetFile.size();
+    } catch (final IOException e) {
+      throw new SirixIOException(e);
+    }
+  }
+
+  /**
+   * Truncate the data file and the revisions offset file. Subclasses, whose readers hold views on the
+   * files, override it to exclude the readers and invalidate the views.
+   *
+   * @param dataFileSize the new size of the data file
+   * @param revisionsOffsetFileSize the new size of the revisions offset file
+   * @throws IOException if an I/O error occurs
+   */
+  protected void truncate(final long dataFileSize, final long revisionsOffsetFileSize) throws IOException {
+    mDataFile.truncate(dataFileSize);
+    mRevisionsOffsetFile.truncate(revisionsOffsetFileSize);
+  }
+
+  /**
+   * {@inheritDoc}
+   *
+   * <p>
+   * The entries of the revisions offset file, whose revision root pages have been truncated from the
+   * data file, are truncated as well.
+   * </p>
+   */
+  @Override
+  public Writer truncateTo(final int revision) {
+    UberPage uberPage = (UberPage) mReader.readUberPageReference().getPage();
+
+    while (uberPage.getRevisionNumber() != revision) {
+      uberPage = (UberPage) mReader.read(new PageReference().setKey(uberPage.getPreviousUberPageKey()), null);
+      if (uberPage.getRevisionNumber() == revision) {
+        try {
+          final long dataFileSize = Math.min(uberPage.getPreviousUberPageKey(), mDataFile.size());
+
+          final ByteBuffer offset = ByteBuffer.allocate(Long.BYTES);
+          long revisionsOffsetFileTail = mRevisionsOffsetFileTail;
+          while (revisionsOffsetFileTail > 0) {
+            offset.clear();
+            readFully(mRevisionsOffsetFile, offset, revisionsOffsetFileTail - FileReader.REVISIONS_FILE_ENTRY_SIZE);
+            if (offset.getLong(0) < dataFileSize) {
+              break;
+            }
+            revisionsOffsetFileTail -= FileReader.REVISIONS_FILE_ENTRY_SIZE;
+          }
+
+          truncate(dataFileSize, revisionsOffsetFileTail);
+          mDataFileTail = Math.max(dataFileSize, FileReader.FIRST_BEACON);
+          mRevisionsOffsetFileTail = revisionsOffsetFileTail;
+        } catch (final IOException e) {
+          throw new SirixIOException(e);
+        }
+        break;
+      }
+    }
+
+    return this;
+  }
+
+  /**
+   * Write page contained in page reference to storage.
+   *
+   * @param pageReference page reference to write
+   * @throws SirixIOException if errors during writing occur
+   */
+  @Override
+  public Writer write(final PageReference pageReference) {
+    try {
+      // Serialize page.
+      final Page page = pageReference.getPage();
+      assert page != null;
+
+      mOutput.reset();
+      try (final DataOutputStream dataOutput = new DataOutputStream(mOutput)) {
+        mPagePersister.serializePage(dataOutput, page, SerializationType.DATA);
+        dataOutput.flush();
+      }
+
+      final ByteBuffer serializedPage = mByteHandler.serialize(mOutput.wrap());
+      final ByteBuffer buffer = ByteBuffer.allocate(FileReader.OTHER_BEACON + serializedPage.remaining());
+      buffer.putInt(serializedPage.remaining()).put(serializedPage).flip();
+
+      // Append to the end of the current file.
+      final long offset = mDataFileTail;
+      writeFully(mDataFile, buffer, offset);
+      mDataFileTail += buffer.capacity();
+
+      // Remember page coordinates.
+      pageReference.setKey(offset);
+      pageReference.setLength(buffer.capacity());
+      pageReference.setHash(mPageHashType.hash(
+          ByteBuffer.wrap(buffer.array(), FileReader.OTHER_BEACON, buffer.capacity() - FileReader.OTHER_BEACON)));
+
+      if (page instanceof RevisionRootPage) {
+        final ByteBuffer entry = ByteBuffer.allocate(FileReader.REVISIONS_FILE_ENTRY_SIZE)
+                                           .putLong(0, offset)
+                                           .putLong(Long.BYTES, ((RevisionRootPage) page).getRevisionTimestamp());
+        writeFully(mRevisionsOffsetFile, entry, mRevisionsOffsetFileTail);
+        mRevisionsOffsetFileTail += FileReader.REVISIONS_FILE_ENTRY_SIZE;
+      }
+
+      return this;
+    } catch (final IOException e) {
+      throw new SirixIOException(e);
+    }
+  }
+
+  private static void writeFully(final FileChannel channel, final ByteBuffer buffer, final long position)
+      throws IOException {
+    while (buffer.hasRemaining()) {
+      channel.write(buffer, position + buffer.position());
+    }
+  }
+
+  private static void readFully(final FileChannel channel, final ByteBuffer buffer, final long position)
+      throws IOException {
+    while (buffer.hasRemaining()) {
+      if (channel.read(buffer, position + buffer.position()) == -1) {
+        throw new IOException("Unexpected end of file at position " + (position + buffer.position()) + ".");
+      }
+    }
+  }
+
+  @Override
+  public Writer writeUberPageReference(final PageReference pageReference) {
+    write(pageReference);
+    return writeUberPageBeacon(pageReference);
+  }
+
+  @Override
+  public Writer writeUberPageBeacon(final PageReference pageReference) {
+    try {
+      writeFully(mDataFile, ByteBuffer.allocate(Long.BYTES).putLong(0, pageReference.getKey()), 0);
+
+      return this;
+    } catch (final IOException e) {
+      throw new SirixIOException(e);
+    }
+  }
+
+  @Override
+  public Writer force() {
+    try {
+      mDataFile.force(false);
+      mRevisionsOffsetFile.force(false);
+    } catch (final IOException e) {
+      throw new SirixIOException(e);
+    }
+
+    return this;
+  }
+
+  @Override
+  public Writer truncate() {
+    try {
+      truncate(0, 0);
+      mDataFileTail = FileReader.FIRST_BEACON;
+      mRevisionsOffsetFileTail = 0;
+    } catch (final IOException e) {
+      throw new SirixIOException(e);
+    }
+
+    return this;
+  }
+
+  @Override
+  public void close() {
+    try {
+      mDataFile.close();
+      mRevisionsOffsetFile.close();
+      mReader.close();
+    } catch (final IOException e) {
+      throw new SirixIOException(e);
+    }
+  }
+
+  @Override
+  protected Reader delegate() {
+    return mReader;
+  }
+}
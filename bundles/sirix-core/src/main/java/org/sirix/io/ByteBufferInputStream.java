@@ -0,0 +1,56 @@
+package org.sirix.io;
+
+import static com.google.common.base.Preconditions.checkNotNull;
+import java.io.InputStream;
+import java.nio.ByteBuffer;
+
+/**
+ * {@link InputStream} reading from a {@link ByteBuffer} without copying it upfront.
+ */
+public final class ByteBufferInputStream extends InputStream {
+
+  /** The buffer to read from. */
+  private final ByteBuffer mBuffer;
+
+  /**
+   * Constructor.
+   *
+   * @param buffer the buffer to read from (between its position and its limit)
+   */
+  public ByteBufferInputStream(final ByteBuffer buffer) {
+    mBuffer = checkNotNull(buffer);
+  }
+
+  @Override
+  public int read() {
+    if (!mBuffer.hasRemaining()) {
+      return -1;
+    }
+    return mBuffer.get() & 0xFF;
+  }
+
+  @Override
+  public int read(final byte[] bytes, final int offset, final int length) {
+    if (length == 0) {
+      return 0;
+    }
+    if (!mBuffer.hasRemaining()) {
+      return -1;
+    }
+    final int toRead = Math.min(length, mBuffer.remaining());
+    mBuffer.get(bytes, offset, toRead);
+    return toRead;
+  }
+
+  @Override
+  public long skip(final long n) {
+    final int toSkip = (int) Math.max(0, Math.min(n, mBuffer.remaining()));
+    mBuffer.position(mBuffer.position() + toSkip);
+    return toSkip;
+  }
+
+  @Override
+  public int available() {
+    return mBuffer.remaining();
+  }
+}
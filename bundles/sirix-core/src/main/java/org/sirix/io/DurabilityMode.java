@@ -0,0 +1,23 @@
+package org.sirix.io;
+
+/**
+ * Determines when the pages written by a commit are forced to the storage device, trading commit
+ * throughput for durability.
+ */
+public enum DurabilityMode {
+  /**
+   * The storage is never forced, the operating system decides when the pages are written, such that
+   * the last revisions might be lost once the machine crashes.
+   */
+  NONE,
+
+  /** Every commit forces the storage, before the commit returns. */
+  COMMIT,
+
+  /**
+   * The forces of concurrent commits of all resources are collected by the {@link GroupCommitter} and
+   * issued together, such that the file system commits them with one journal commit. A commit
+   * returns, once its group has been forced.
+   */
+  GROUP_COMMIT
+}
@@ -0,0 +1,123 @@
+package org.sirix.io;
+
+import static com.google.common.base.Preconditions.checkNotNull;
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.TimeUnit;
+import com.google.common.util.concurrent.ThreadFactoryBuilder;
+
+/**
+ * Forces the files of concurrent commits of all resources in groups. The forces of a group are
+ * issued at the same time, such that the file system commits them with one journal commit instead
+ * of one journal commit per fsync.
+ *
+ * <p>
+ * If no group is forced at the moment, the first force of a group is issued after the time window
+ * of its commit, within which further commits join the group. The commits, which are issued while a
+ * group is forced, join the next group, which is forced as soon as the current group has been
+ * forced.
+ * </p>
+ */
+public final class GroupCommitter {
+
+  /** The instance shared by all resources. */
+  private static final GroupCommitter INSTANCE = new GroupCommitter();
+
+  /** The thread, which opens the groups, once their time window has passed. */
+  private final ScheduledExecutorService mScheduler = Executors.newSingleThreadScheduledExecutor(
+      new ThreadFactoryBuilder().setNameFormat("sirix-group-commit").setDaemon(true).build());
+
+  /** The threads, which issue the forces of a group at the same time. */
+  private final ExecutorService mForcers = Executors.newCachedThreadPool(
+      new ThreadFactoryBuilder().setNameFormat("sirix-group-commit-force-%d").setDaemon(true).build());
+
+  /** The forces of the next group. */
+  private List<PendingForce> mNext = new ArrayList<>();
+
+  /** Determines if a group is forced or scheduled at the moment. */
+  private boolean mBusy;
+
+  /**
+   * Get the instance shared by all resources.
+   *
+   * @return the group committer
+   */
+  public static GroupCommitter getInstance() {
+    return INSTANCE;
+  }
+
+  /**
+   * Force the files of a commit together with the other commits of the next group.
+   *
+   * @param force forces the files of the commit, for instance by {@link Writer#force()}
+   * @param window the time window, within which further commits join the group, if no group is
+   *        forced at the moment
+   * @return a future, which completes once the files are forced
+   */
+  public CompletableFuture<Void> force(final Runnable force, final Duration window) {
+    final PendingForce pendingForce = new PendingForce(checkNotNull(force));
+
+    synchronized (this) {
+      mNext.add(pendingForce);
+      if (!mBusy) {
+        mBusy = true;
+        mScheduler.schedule(this::forceGroups, window.toNanos(), TimeUnit.NANOSECONDS);
+      }
+    }
+
+    return pendingForce.mForced;
+  }
+
+  private void forceGroups() {
+    while (true) {
+      final List<PendingForce> group;
+      synchronized (this) {
+        group = mNext;
+        if (group.isEmpty()) {
+          mBusy = false;
+          return;
+        }
+        mNext = new ArrayList<>();
+      }
+
+      // Issue all forces of the group at once, the last one on this thread.
+      final List<CompletableFuture<Void>> forces = new ArrayList<>(group.size());
+      for (int i = 0, size = group.size(); i < size - 1; i++) {
+        forces.add(CompletableFuture.runAsync(group.get(i).mForce, mForcers));
+      }
+      forces.add(CompletableFuture.runAsync(group.get(group.size() - 1).mForce, Runnable::run));
+
+      for (int i = 0, size = group.size(); i < size; i++) {
+        final CompletableFuture<Void> forced = group.get(i).mForced;
+        forces.get(i).whenComplete((result, e) -> {
+          if (e == null) {
+            forced.complete(null);
+          } else {
+            forced.completeExceptionally(e);
+          }
+        });
+      }
+      CompletableFuture.allOf(forces.toArray(new CompletableFuture<?>[0])).exceptionally(e -> null).join();
+    }
+  }
+
+  /**
+   * The force of a commit, which waits for its group.
+   */
+  private static final class PendingForce {
+    /** Forces the files of the commit. */
+    private final Runnable mForce;
+
+    /** Completes once the files are forced. */
+    private final CompletableFuture<Void> mForced = new CompletableFuture<>();
+
+    PendingForce(final Runnable force) {
+      mForce = force;
+    }
+  }
+}
@@ -0,0 +1,74 @@
+package org.sirix.io;
+
+import java.nio.ByteBuffer;
+import java.util.Arrays;
+import javax.annotation.Nullable;
+import com.google.common.hash.HashFunction;
+import com.google.common.hash.Hasher;
+import com.google.common.hash.Hashing;
+import com.google.common.primitives.Ints;
+
+/**
+ * The function used to hash the serialized pages, as stored in the page references of the parent
+ * pages. The hash covers the length prefix as well as the serialized (and compressed) page.
+ */
+public enum PageHashType {
+  /** SHA-256, cryptographically secure, but the most expensive choice. */
+  SHA256(Hashing.sha256()),
+
+  /** 128 bits Murmur3, a fast non-cryptographic hash. */
+  MURMUR3_128(Hashing.murmur3_128()),
+
+  /** CRC32C checksum, the cheapest choice to detect corrupted pages. */
+  CRC32C(Hashing.crc32c()),
+
+  /** Pages are not hashed at all. */
+  NONE(null);
+
+  /** The hash function, {@code null} if no hash is computed. */
+  private final HashFunction mHashFunction;
+
+  /**
+   * Constructor.
+   *
+   * @param hashFunction the hash function, {@code null} if no hash is computed
+   */
+  PageHashType(final @Nullable HashFunction hashFunction) {
+    mHashFunction = hashFunction;
+  }
+
+  /**
+   * Hash a serialized page.
+   *
+   * @param serializedPage the serialized page without the length prefix, its position and limit are
+   *        not changed
+   * @return the hash or {@code null}, if no hash is computed
+   */
+  public @Nullable byte[] hash(final ByteBuffer serializedPage) {
+    if (mHashFunction == null) {
+      return null;
+    }
+
+    final Hasher hasher = mHashFunction.newHasher();
+    hasher.putBytes(Ints.toByteArray(serializedPage.remaining()));
+    hasher.putBytes(serializedPage.duplicate());
+    return hasher.hash().asBytes();
+  }
+
+  /**
+   * Determines if a serialized page matches the expected hash.
+   *
+   * @param expectedHash the hash stored in the page reference, might be {@code null}
+   * @param serializedPage the serialized page without the length prefix, its position and limit are
+   *        not changed
+   * @return {@code true}, if no hash is expected or computed or if the hashes are equal,
+   *         {@code false} otherwise
+   */
+  public boolean matches(final @Nullable byte[] expectedHash, final ByteBuffer serializedPage) {
+    if (expectedHash == null || mHashFunction == null) {
+      return true;
+    }
+
+    return Arrays.equals(expectedHash, hash(serializedPage));
+  }
+}
@@ -0,0 +1,27 @@
+package org.sirix.io;
+
+import java.io.ByteArrayOutputStream;
+import java.nio.ByteBuffer;
+
+/**
+ * Output stream, which exposes its internal array, such that serialized pages don't have to be
+ * copied before they are handled by the byte handlers, buffered and hashed.
+ */
+public final class PageOutputStream extends ByteArrayOutputStream {
+
+  /**
+   * Constructor.
+   */
+  public PageOutputStream() {
+    super(4096);
+  }
+
+  /**
+   * Wrap the written bytes without copying them.
+   *
+   * @return a buffer wrapping the written bytes, which is only valid until the stream is reset
+   */
+  public ByteBuffer wrap() {
+    return ByteBuffer.wrap(buf, 0, count);
+  }
+}
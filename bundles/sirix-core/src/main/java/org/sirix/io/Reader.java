@@ -21,6 +21,7 @@
 
 package org.sirix.io;
 
+import java.util.concurrent.CompletableFuture;
 import javax.annotation.Nullable;
 import org.sirix.api.PageReadOnlyTrx;
 import org.sirix.exception.SirixIOException;
@@ -56,6 +57,23 @@ public interface Reader extends AutoCloseable {
    */
   Page read(PageReference key, @Nullable PageReadOnlyTrx pageReadTrx) throws SirixIOException;
 
+  /**
+   * Read a page asynchronously. Readers, which are not able to read pages concurrently, read the
+   * page in the calling thread, which is the default.
+   *
+   * @param key the reference for the page to be determined
+   * @param pageReadTrx {@link PageReadOnlyTrx} reference
+   * @return the future page, completed exceptionally with a {@link SirixIOException} if something
+   *         bad happens during read
+   */
+  default CompletableFuture<Page> readAsync(final PageReference key, final @Nullable PageReadOnlyTrx pageReadTrx) {
+    try {
+      return CompletableFuture.completedFuture(read(key, pageReadTrx));
+    } catch (final SirixIOException e) {
+      return CompletableFuture.failedFuture(e);
+    }
+  }
+
   /**
    * Closing the storage.
    *
@@ -72,4 +90,12 @@ public interface Reader extends AutoCloseable {
    * @return the revision root page
    */
   RevisionRootPage readRevisionRootPage(int revision, PageReadOnlyTrx pageReadTrx);
+
+  /**
+   * Read the timestamp of a revision without reading its revision root page.
+   *
+   * @param revision the revision
+   * @return the timestamp of the revision in milliseconds since the epoch
+   */
+  long readRevisionTimestamp(int revision);
 }
@@ -24,6 +24,8 @@ import java.io.RandomAccessFile;
 import org.sirix.access.ResourceConfiguration;
 import org.sirix.exception.SirixIOException;
 import org.sirix.io.file.FileStorage;
+import org.sirix.io.filechannel.FileChannelStorage;
+import org.sirix.io.memorymapped.MMStorage;
 import org.sirix.io.ram.RAMStorage;
 
 /**
@@ -48,6 +50,22 @@ public enum StorageType {
     public Storage getInstance(final ResourceConfiguration resourceConf) {
       return new FileStorage(resourceConf);
     }
+  },
+
+  /** Memory-mapped file backend. */
+  MEMORY_MAPPED {
+    @Override
+    public Storage getInstance(final ResourceConfiguration resourceConf) {
+      return new MMStorage(resourceConf);
+    }
+  },
+
+  /** {@link java.nio.channels.FileChannel} backend using positional reads on a shared channel. */
+  FILE_CHANNEL {
+    @Override
+    public Storage getInstance(final ResourceConfiguration resourceConf) {
+      return new FileChannelStorage(resourceConf);
+    }
   };
 
   /**
@@ -41,7 +41,7 @@ public interface Writer extends Reader {
   Writer write(PageReference pageReference) throws SirixIOException;
 
   /**
-   * Write beacon for the first reference.
+   * Write the uber page and the beacon for the first reference.
    *
    * @param pageReference that points to the beacon
    * @throws SirixIOException if an I/O error occured
@@ -49,6 +49,25 @@ public interface Writer extends Reader {
    */
   Writer writeUberPageReference(PageReference pageReference) throws SirixIOException;
 
+  /**
+   * Write the beacon for the first reference, which points to an uber page already written with
+   * {@link #write(PageReference)}. A commit forces the written pages before it writes the beacon,
+   * such that the beacon never points to a revision, which hasn't reached the storage device.
+   *
+   * @param pageReference the reference of the written uber page
+   * @throws SirixIOException if an I/O error occured
+   * @return this writer instance
+   */
+  Writer writeUberPageBeacon(PageReference pageReference) throws SirixIOException;
+
+  /**
+   * Force all written pages to the storage device.
+   *
+   * @throws SirixIOException if an I/O error occured
+   * @return this writer instance
+   */
+  Writer force();
+
   /**
    * Truncate to a specific revision.
    *
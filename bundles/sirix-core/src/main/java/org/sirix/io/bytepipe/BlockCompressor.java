@@ -0,0 +1,156 @@
+package org.sirix.io.bytepipe;
+
+import java.io.ByteArrayInputStream;
+import java.io.ByteArrayOutputStream;
+import java.io.FilterOutputStream;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.OutputStream;
+import java.io.UncheckedIOException;
+import java.nio.ByteBuffer;
+
+/**
+ * Compressor, which compresses whole blocks of bytes, that is whole pages, instead of streams. The
+ * results are stored in buffers, which are pooled per thread, such that compressing and
+ * decompressing a page doesn't allocate any streams or buffers once the pooled buffers are large
+ * enough.
+ *
+ * <p>
+ * The streams of {@link #serialize(OutputStream)} and {@link #deserialize(InputStream)} buffer the
+ * whole block and produce the same format as the block based methods.
+ * </p>
+ */
+public abstract class BlockCompressor implements ByteHandler {
+
+  /** Pooled buffers for compressed blocks. */
+  private final ThreadLocal<byte[]> mCompressionBuffers = ThreadLocal.withInitial(() -> new byte[0]);
+
+  /** Pooled buffers for decompressed blocks. */
+  private final ThreadLocal<byte[]> mDecompressionBuffers = ThreadLocal.withInitial(() -> new byte[0]);
+
+  /**
+   * Get the maximum length of a compressed block.
+   *
+   * @param length the length of the uncompressed block
+   * @return the maximum length of the compressed block
+   */
+  protected abstract int maxCompressedLength(int length);
+
+  /**
+   * Compress a block.
+   *
+   * @param source the uncompressed bytes
+   * @param offset the offset of the block in {@code source}
+   * @param length the length of the block
+   * @param target the buffer for the compressed block, at least {@link #maxCompressedLength(int)}
+   *        bytes long
+   * @return the length of the compressed block
+   * @throws IOException if the block can't be compressed
+   */
+  protected abstract int compress(byte[] source, int offset, int length, byte[] target) throws IOException;
+
+  /**
+   * Get the length of a decompressed block.
+   *
+   * @param source the compressed bytes
+   * @param offset the offset of the block in {@code source}
+   * @param length the length of the block
+   * @return the length of the decompressed block
+   * @throws IOException if the block is corrupted
+   */
+  protected abstract int decompressedLength(byte[] source, int offset, int length) throws IOException;
+
+  /**
+   * Decompress a block.
+   *
+   * @param source the compressed bytes
+   * @param offset the offset of the block in {@code source}
+   * @param length the length of the block
+   * @param target the buffer for the decompressed block, at least
+   *        {@link #decompressedLength(byte[], int, int)} bytes long
+   * @throws IOException if the block is corrupted
+   */
+  protected abstract void decompress(byte[] source, int offset, int length, byte[] target) throws IOException;
+
+  private static byte[] buffer(final ThreadLocal<byte[]> buffers, final int length) {
+    byte[] buffer = buffers.get();
+    if (buffer.length < length) {
+      buffer = new byte[Math.max(length, buffer.length + (buffer.length >> 1))];
+      buffers.set(buffer);
+    }
+    return buffer;
+  }
+
+  @Override
+  public ByteBuffer serialize(final ByteBuffer toSerialize) {
+    final ByteBuffer source = heapBuffer(toSerialize);
+    final byte[] target = buffer(mCompressionBuffers, maxCompressedLength(source.remaining()));
+    try {
+      final int offset = source.arrayOffset() + source.position();
+      final int length = compress(source.array(), offset, source.remaining(), target);
+      return ByteBuffer.wrap(target, 0, length);
+    } catch (final IOException e) {
+      throw new UncheckedIOException(e);
+    }
+  }
+
+  @Override
+  public ByteBuffer deserialize(final ByteBuffer toDeserialize) {
+    final ByteBuffer source = heapBuffer(toDeserialize);
+    final int offset = source.arrayOffset() + source.position();
+    try {
+      final int length = decompressedLength(source.array(), offset, source.remaining());
+      final byte[] target = buffer(mDecompressionBuffers, length);
+      decompress(source.array(), offset, source.remaining(), target);
+      return ByteBuffer.wrap(target, 0, length);
+    } catch (final IOException e) {
+      throw new UncheckedIOException(e);
+    }
+  }
+
+  private static ByteBuffer heapBuffer(final ByteBuffer buffer) {
+    if (buffer.hasArray()) {
+      return buffer;
+    }
+    final byte[] bytes = new byte[buffer.remaining()];
+    buffer.duplicate().get(bytes);
+    return ByteBuffer.wrap(bytes);
+  }
+
+  @Override
+  public OutputStream serialize(final OutputStream toSerialize) {
+    return new FilterOutputStream(new ByteArrayOutputStream()) {
+      private boolean mClosed;
+
+      @Override
+      public void write(final byte[] bytes, final int offset, final int length) throws IOException {
+        out.write(bytes, offset, length);
+      }
+
+      @Override
+      public void close() throws IOException {
+        if (mClosed) {
+          return;
+        }
+        mClosed = true;
+        final byte[] block = ((ByteArrayOutputStream) out).toByteArray();
+        final ByteBuffer compressed = BlockCompressor.this.serialize(ByteBuffer.wrap(block));
+        toSerialize.write(compressed.array(), compressed.position(), compressed.remaining());
+        toSerialize.close();
+      }
+    };
+  }
+
+  @Override
+  public InputStream deserialize(final InputStream toDeserialize) {
+    try {
+      final ByteBuffer decompressed = deserialize(ByteBuffer.wrap(toDeserialize.readAllBytes()));
+      // Copy the pooled buffer, as the stream might be read after the next invocation.
+      final byte[] block = new byte[decompressed.remaining()];
+      decompressed.get(block);
+      return new ByteArrayInputStream(block);
+    } catch (final IOException e) {
+      throw new UncheckedIOException(e);
+    }
+  }
+}
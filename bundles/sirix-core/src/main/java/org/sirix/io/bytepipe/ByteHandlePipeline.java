@@ -5,6 +5,7 @@ package org.sirix.io.bytepipe;
 
 import java.io.InputStream;
 import java.io.OutputStream;
+import java.nio.ByteBuffer;
 import java.util.ArrayList;
 import java.util.Collections;
 import java.util.List;
@@ -66,6 +67,25 @@ public final class ByteHandlePipeline implements ByteHandler {
     return pipeData;
   }
 
+  @Override
+  public ByteBuffer serialize(final ByteBuffer toSerialize) {
+    // The streams are wrapped, such that the last handler serializes the bytes first.
+    ByteBuffer pipeData = toSerialize;
+    for (int i = mParts.size() - 1; i >= 0; i--) {
+      pipeData = mParts.get(i).serialize(pipeData);
+    }
+    return pipeData;
+  }
+
+  @Override
+  public ByteBuffer deserialize(final ByteBuffer toDeserialize) {
+    ByteBuffer pipeData = toDeserialize;
+    for (final ByteHandler part : mParts) {
+      pipeData = part.deserialize(pipeData);
+    }
+    return pipeData;
+  }
+
   /**
    * Get byte handler components.
    *
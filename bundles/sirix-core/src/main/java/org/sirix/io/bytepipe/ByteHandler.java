@@ -1,8 +1,12 @@
 package org.sirix.io.bytepipe;
 
+import java.io.ByteArrayOutputStream;
 import java.io.IOException;
 import java.io.InputStream;
 import java.io.OutputStream;
+import java.io.UncheckedIOException;
+import java.nio.ByteBuffer;
+import org.sirix.io.ByteBufferInputStream;
 
 /**
  * Interface for the decorator, representing any byte representation to be serialized or to
@@ -30,6 +34,49 @@ public interface ByteHandler {
    */
   InputStream deserialize(InputStream toDeserialize);
 
+  /**
+   * Serialize a block of bytes, for instance a whole page. The default implementation writes the
+   * block to the stream returned by {@link #serialize(OutputStream)}, block based implementations
+   * avoid the streams and might return a pooled buffer, which is only valid until the next
+   * invocation on the same thread.
+   *
+   * @param toSerialize the bytes between the position and the limit are serialized
+   * @return the serialized bytes between the position and the limit of the returned buffer
+   */
+  default ByteBuffer serialize(final ByteBuffer toSerialize) {
+    final ByteArrayOutputStream output = new ByteArrayOutputStream(toSerialize.remaining());
+    try (final OutputStream handledOutput = serialize(output)) {
+      if (toSerialize.hasArray()) {
+        handledOutput.write(toSerialize.array(), toSerialize.arrayOffset() + toSerialize.position(),
+            toSerialize.remaining());
+      } else {
+        final byte[] bytes = new byte[toSerialize.remaining()];
+        toSerialize.duplicate().get(bytes);
+        handledOutput.write(bytes);
+      }
+    } catch (final IOException e) {
+      throw new UncheckedIOException(e);
+    }
+    return ByteBuffer.wrap(output.toByteArray());
+  }
+
+  /**
+   * Deserialize a block of bytes, which has been serialized with {@link #serialize(ByteBuffer)}. The
+   * default implementation reads the block from the stream returned by
+   * {@link #deserialize(InputStream)}, block based implementations might return a pooled buffer,
+   * which is only valid until the next invocation on the same thread.
+   *
+   * @param toDeserialize the bytes between the position and the limit are deserialized
+   * @return the deserialized bytes between the position and the limit of the returned buffer
+   */
+  default ByteBuffer deserialize(final ByteBuffer toDeserialize) {
+    try (final InputStream handledInput = deserialize(new ByteBufferInputStream(toDeserialize.duplicate()))) {
+      return ByteBuffer.wrap(handledInput.readAllBytes());
+    } catch (final IOException e) {
+      throw new UncheckedIOException(e);
+    }
+  }
+
   /**
    * Method to retrieve a new instance.
    *
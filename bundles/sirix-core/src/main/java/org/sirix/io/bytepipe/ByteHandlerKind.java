@@ -35,7 +35,9 @@ import java.nio.file.Paths;
 import java.util.HashMap;
 import java.util.Map;
 import javax.annotation.Nonnull;
+import org.sirix.access.ResourceConfiguration;
 import com.google.gson.stream.JsonReader;
+import com.google.gson.stream.JsonToken;
 import com.google.gson.stream.JsonWriter;
 
 /**
@@ -44,7 +46,7 @@ import com.google.gson.stream.JsonWriter;
 public enum ByteHandlerKind {
   DEFLATE_COMPRESSOR(DeflateCompressor.class) {
     @Override
-    public ByteHandler deserialize(JsonReader reader) {
+    public ByteHandler deserialize(JsonReader reader, Path resourcePath) {
       return callDefaultConstructor(reader, DeflateCompressor.class.getName());
     }
 
@@ -56,7 +58,7 @@ public enum ByteHandlerKind {
 
   SNAPPY_COMPRESSOR(SnappyCompressor.class) {
     @Override
-    public ByteHandler deserialize(JsonReader reader) {
+    public ByteHandler deserialize(JsonReader reader, Path resourcePath) {
       return callDefaultConstructor(reader, SnappyCompressor.class.getName());
     }
 
@@ -66,9 +68,57 @@ public enum ByteHandlerKind {
     }
   },
 
+  SNAPPY_BLOCK_COMPRESSOR(SnappyBlockCompressor.class) {
+    @Override
+    public ByteHandler deserialize(JsonReader reader, Path resourcePath) {
+      return callDefaultConstructor(reader, SnappyBlockCompressor.class.getName());
+    }
+
+    @Override
+    public void serialize(ByteHandler byteHandler, JsonWriter writer) throws IOException {
+      serializeDefaultConstructor(byteHandler, writer);
+    }
+  },
+
+  ZSTD_COMPRESSOR(ZstdCompressor.class) {
+    @Override
+    public ByteHandler deserialize(JsonReader reader, Path resourcePath) throws IOException {
+      // Only the level is stored, if no dictionary is used.
+      if (reader.peek() == JsonToken.NUMBER) {
+        return new ZstdCompressor(reader.nextInt());
+      }
+      // The dictionary is stored by its ID in the data folder of the resource, such that the resource
+      // is moved together with its dictionaries.
+      reader.beginObject();
+      reader.nextName();
+      final int level = reader.nextInt();
+      reader.nextName();
+      final long dictionaryId = reader.nextLong();
+      reader.endObject();
+      return new ZstdCompressor(level, ZstdCompressor.dictionaryFile(
+          resourcePath.resolve(ResourceConfiguration.ResourcePaths.DATA.getPath()), dictionaryId));
+    }
+
+    @Override
+    public void serialize(ByteHandler byteHandler, JsonWriter writer) throws IOException {
+      final ZstdCompressor compressor = (ZstdCompressor) byteHandler;
+      writer.beginObject();
+      writer.name(byteHandler.getClass().getName());
+      if (compressor.getDictionary() == null) {
+        writer.value(compressor.getLevel());
+      } else {
+        writer.beginObject();
+        writer.name("level").value(compressor.getLevel());
+        writer.name("dictionary").value(compressor.getDictionaryId());
+        writer.endObject();
+      }
+      writer.endObject();
+    }
+  },
+
   ENCRYPTOR(Encryptor.class) {
     @Override
-    public ByteHandler deserialize(JsonReader reader) {
+    public ByteHandler deserialize(JsonReader reader, Path resourcePath) {
       try {
         final Class<?> handlerClazz = Encryptor.class;
         final Constructor<?> handlerCons = handlerClazz.getConstructor(Path.class);
@@ -93,7 +143,16 @@ public enum ByteHandlerKind {
     }
   };
 
-  public abstract ByteHandler deserialize(JsonReader reader) throws IOException;
+  /**
+   * Deserialize a byte handler from the resource configuration.
+   *
+   * @param reader the reader of the resource configuration
+   * @param resourcePath the path of the resource, against which files of the byte handler are
+   *        resolved
+   * @return the byte handler
+   * @throws IOException if the byte handler can't be read
+   */
+  public abstract ByteHandler deserialize(JsonReader reader, Path resourcePath) throws IOException;
 
   public abstract void serialize(ByteHandler byteHandler, JsonWriter writer) throws IOException;
 
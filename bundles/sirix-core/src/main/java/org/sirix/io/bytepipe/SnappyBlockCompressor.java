@@ -0,0 +1,39 @@
+package org.sirix.io.bytepipe;
+
+import java.io.IOException;
+import org.xerial.snappy.Snappy;
+
+/**
+ * Compresses pages as raw Snappy blocks. In contrast to the {@link SnappyCompressor} no stream
+ * framing is stored and no streams are allocated, which favors decompression speed over compression
+ * ratio.
+ */
+public final class SnappyBlockCompressor extends BlockCompressor {
+
+  @Override
+  protected int maxCompressedLength(final int length) {
+    return Snappy.maxCompressedLength(length);
+  }
+
+  @Override
+  protected int compress(final byte[] source, final int offset, final int length, final byte[] target)
+      throws IOException {
+    return Snappy.compress(source, offset, length, target, 0);
+  }
+
+  @Override
+  protected int decompressedLength(final byte[] source, final int offset, final int length) throws IOException {
+    return Snappy.uncompressedLength(source, offset, length);
+  }
+
+  @Override
+  protected void decompress(final byte[] source, final int offset, final int length, final byte[] target)
+      throws IOException {
+    Snappy.uncompress(source, offset, length, target, 0);
+  }
+
+  @Override
+  public ByteHandler getInstance() {
+    return new SnappyBlockCompressor();
+  }
+}
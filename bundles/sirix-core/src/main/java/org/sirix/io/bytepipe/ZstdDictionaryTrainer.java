@@ -0,0 +1,179 @@
+package org.sirix.io.bytepipe;
+
+import static com.google.common.base.Preconditions.checkArgument;
+import static com.google.common.base.Preconditions.checkNotNull;
+import java.io.ByteArrayOutputStream;
+import java.io.DataOutputStream;
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import javax.annotation.Nonnegative;
+import org.sirix.access.ResourceConfiguration;
+import org.sirix.api.PageReadOnlyTrx;
+import org.sirix.api.ResourceManager;
+import org.sirix.cache.PageContainer;
+import org.sirix.exception.SirixIOException;
+import org.sirix.exception.SirixUsageException;
+import org.sirix.page.PageKind;
+import org.sirix.page.PagePersister;
+import org.sirix.page.PageReference;
+import org.sirix.page.SerializationType;
+import org.sirix.page.UnorderedKeyValuePage;
+import com.github.luben.zstd.Zstd;
+
+/**
+ * Trains a Zstandard dictionary from the record pages of the most recent revision of a resource.
+ * Record pages are dominated by repetitive names, keys and structure, such that small pages barely
+ * compress on their own, but compress well with a dictionary.
+ *
+ * <p>
+ * The dictionary is stored in the data folder of the resource and the {@link ZstdCompressor} in the
+ * byte handler pipeline of the resource configuration is replaced by one using the dictionary. The
+ * dictionary is used for all pages written after the resource manager is reopened. Pages written
+ * before are still decompressed, either without a dictionary or with the dictionary trained before.
+ * </p>
+ */
+public final class ZstdDictionaryTrainer {
+
+  /** Default size of the dictionary in bytes. */
+  public static final int DEFAULT_DICTIONARY_SIZE = 64 << 10;
+
+  /** Default maximum number of sampled record pages. */
+  public static final int DEFAULT_MAX_SAMPLES = 2_000;
+
+  /** The resource manager of the resource. */
+  private final ResourceManager<?, ?> mResourceManager;
+
+  /** Size of the dictionary in bytes. */
+  private int mDictionarySize = DEFAULT_DICTIONARY_SIZE;
+
+  /** Maximum number of sampled record pages. */
+  private int mMaxSamples = DEFAULT_MAX_SAMPLES;
+
+  /**
+   * Constructor.
+   *
+   * @param resourceManager the resource manager of the resource, whose byte handler pipeline has to
+   *        include a {@link ZstdCompressor}
+   */
+  public ZstdDictionaryTrainer(final ResourceManager<?, ?> resourceManager) {
+    mResourceManager = checkNotNull(resourceManager);
+  }
+
+  /**
+   * Set the size of the dictionary.
+   *
+   * @param dictionarySize the size of the dictionary in bytes
+   * @return this trainer
+   */
+  public ZstdDictionaryTrainer dictionarySize(final @Nonnegative int dictionarySize) {
+    checkArgument(dictionarySize > 0, "The dictionary size must be > 0!");
+    mDictionarySize = dictionarySize;
+    return this;
+  }
+
+  /**
+   * Set the maximum number of sampled record pages, which are evenly distributed over the record
+   * pages of the resource.
+   *
+   * @param maxSamples the maximum number of sampled record pages
+   * @return this trainer
+   */
+  public ZstdDictionaryTrainer maxSamples(final @Nonnegative int maxSamples) {
+    checkArgument(maxSamples > 0, "The maximum number of samples must be > 0!");
+    mMaxSamples = maxSamples;
+    return this;
+  }
+
+  /**
+   * Train the dictionary, store it and use it in the resource configuration.
+   *
+   * @return the dictionary file
+   * @throws SirixUsageException if the byte handler pipeline doesn't include a {@link ZstdCompressor}
+   * @throws SirixIOException if the dictionary can't be trained or stored
+   */
+  public Path train() {
+    final ResourceConfiguration config = mResourceManager.getResourceConfig();
+    if (config.byteHandlePipeline.getComponents().stream().noneMatch(ZstdCompressor.class::isInstance)) {
+      throw new SirixUsageException("The byte handler pipeline of resource", config.getResource().toString(),
+          "doesn't include a Zstandard compressor.");
+    }
+
+    final byte[][] samples = sample();
+    final byte[] buffer = new byte[mDictionarySize];
+    final long size = Zstd.trainFromBuffer(samples, buffer);
+    if (Zstd.isError(size)) {
+      throw new SirixIOException(
+          "Dictionary can't be trained from " + samples.length + " record pages: " + Zstd.getErrorName(size));
+    }
+    final byte[] dictionary = new byte[(int) size];
+    System.arraycopy(buffer, 0, dictionary, 0, dictionary.length);
+
+    final Path file = ZstdCompressor.dictionaryFile(
+        config.getResource().resolve(ResourceConfiguration.ResourcePaths.DATA.getPath()),
+        Zstd.getDictIdFromDict(dictionary));
+    try {
+      Files.write(file, dictionary);
+    } catch (final IOException e) {
+      throw new SirixIOException(e);
+    }
+
+    final List<ByteHandler> handlers = new ArrayList<>();
+    for (final ByteHandler handler : config.byteHandlePipeline.getComponents()) {
+      if (handler instanceof ZstdCompressor) {
+        handlers.add(new ZstdCompressor(((ZstdCompressor) handler).getLevel(), file));
+      } else {
+        handlers.add(handler);
+      }
+    }
+    ResourceConfiguration.serialize(
+        config.withByteHandlePipeline(new ByteHandlePipeline(handlers.toArray(new ByteHandler[handlers.size()]))));
+
+    return file;
+  }
+
+  private byte[][] sample() {
+    final List<byte[]> samples = new ArrayList<>();
+    final PagePersister pagePersister = new PagePersister();
+    final int revision = mResourceManager.getMostRecentRevisionNumber();
+    try (final PageReadOnlyTrx pageRtx = mResourceManager.beginPageReadOnlyTrx(revision)) {
+      final long pages = pageRtx.pageKey(pageRtx.getActualRevisionRootPage().getMaxNodeKey()) + 1;
+      final long step = Math.max(1, pages / mMaxSamples);
+      final ByteArrayOutputStream output = new ByteArrayOutputStream();
+      for (long pageKey = 0; pageKey < pages; pageKey += step) {
+        final PageContainer container = pageRtx.getRecordPageContainer(pageKey, -1, PageKind.RECORDPAGE);
+        final UnorderedKeyValuePage page = (UnorderedKeyValuePage) container.getComplete();
+        if (page == null) {
+          continue;
+        }
+        output.reset();
+        try (final DataOutputStream dataOutput = new DataOutputStream(output)) {
+          pagePersister.serializePage(dataOutput, copy(page, pageRtx), SerializationType.DATA);
+        }
+        samples.add(output.toByteArray());
+      }
+    } catch (final IOException e) {
+      throw new SirixIOException(e);
+    }
+    return samples.toArray(new byte[samples.size()][]);
+  }
+
+  /**
+   * Copy a record page, which might be shared with other transactions through the buffer manager, as
+   * serializing a page adds the serialized records to the page.
+   */
+  private static UnorderedKeyValuePage copy(final UnorderedKeyValuePage page, final PageReadOnlyTrx pageRtx) {
+    final UnorderedKeyValuePage copy =
+        page.newInstance(page.getPageKey(), PageKind.RECORDPAGE, page.getPreviousReferenceKey(), pageRtx);
+    for (final Long key : page.keySet()) {
+      copy.copyEntry(key, page);
+    }
+    for (final Map.Entry<Long, PageReference> entry : page.referenceEntrySet()) {
+      copy.setPageReference(entry.getKey(), entry.getValue());
+    }
+    return copy;
+  }
+}
@@ -22,24 +22,25 @@
 package org.sirix.io.file;
 
 import static com.google.common.base.Preconditions.checkNotNull;
-import java.io.ByteArrayInputStream;
 import java.io.DataInputStream;
 import java.io.IOException;
 import java.io.RandomAccessFile;
+import java.nio.ByteBuffer;
 import javax.annotation.Nonnull;
 import javax.annotation.Nullable;
 import org.sirix.api.PageReadOnlyTrx;
 import org.sirix.exception.SirixIOException;
+import org.sirix.io.ByteBufferInputStream;
+import org.sirix.io.PageHashType;
 import org.sirix.io.Reader;
 import org.sirix.io.bytepipe.ByteHandler;
+import org.sirix.metrics.SirixMetrics;
 import org.sirix.page.PagePersister;
 import org.sirix.page.PageReference;
 import org.sirix.page.RevisionRootPage;
 import org.sirix.page.SerializationType;
 import org.sirix.page.UberPage;
 import org.sirix.page.interfaces.Page;
-import com.google.common.hash.HashFunction;
-import com.google.common.hash.Hashing;
 
 /**
  * File Reader. Used for {@link PageReadOnlyTrx} to provide read only access on a RandomAccessFile.
@@ -52,16 +53,28 @@ import com.google.common.hash.Hashing;
 public final class FileReader implements Reader {
 
   /** Beacon of first references. */
-  final static int FIRST_BEACON = 12;
+  public final static int FIRST_BEACON = 12;
 
   /** Beacon of the other references. */
-  final static int OTHER_BEACON = 4;
+  public final static int OTHER_BEACON = 4;
+
+  /** Name of the revisions file. */
+  public final static String REVISIONS_FILENAME = "sirix.revisions";
+
+  /**
+   * Size of an entry of the revisions file, that is the offset of the revision root page followed by
+   * the timestamp of the revision.
+   */
+  public final static int REVISIONS_FILE_ENTRY_SIZE = 2 * Long.BYTES;
 
   /** Inflater to decompress. */
   final ByteHandler mByteHandler;
 
   /** The hash function used to hash pages/page fragments. */
-  final HashFunction mHashFunction;
+  final PageHashType mPageHashType;
+
+  /** Determines if the page hashes are verified. */
+  private final boolean mVerifyPageHashes;
 
   /** Data file. */
   private final RandomAccessFile mDataFile;
@@ -81,12 +94,19 @@ public final class FileReader implements Reader {
    * @param dataFile the data file
    * @param revisionsOffsetFile the file, which holds pointers to the revision root pages
    * @param handler {@link ByteHandler} instance
+   * @param type the serialization type (for the transaction log or the data file)
+   * @param pagePersistenter transforms in-memory pages into byte-arrays and back
+   * @param pageHashType the hash function used to hash pages
+   * @param verifyPageHashes determines if the hashes of the data pages are verified when they are
+   *        read
    * @throws SirixIOException if something bad happens
    */
   public FileReader(final RandomAccessFile dataFile, final RandomAccessFile revisionsOffsetFile,
       final ByteHandler handler, final SerializationType type,
-      final PagePersister pagePersistenter) {
-    mHashFunction = Hashing.sha256();
+      final PagePersister pagePersistenter, final PageHashType pageHashType,
+      final boolean verifyPageHashes) {
+    mPageHashType = checkNotNull(pageHashType);
+    mVerifyPageHashes = verifyPageHashes;
     mDataFile = checkNotNull(dataFile);
     mRevisionsOffsetFile = type == SerializationType.DATA
         ? checkNotNull(revisionsOffsetFile)
@@ -100,6 +120,8 @@ public final class FileReader implements Reader {
   public Page read(final @Nonnull PageReference reference,
       final @Nullable PageReadOnlyTrx pageReadTrx) {
     try {
+      final long start = System.nanoTime();
+
       // Read page from file.
       switch (mType) {
         case DATA:
@@ -115,14 +137,26 @@ public final class FileReader implements Reader {
       final int dataLength = mDataFile.readInt();
       reference.setLength(dataLength + FileReader.OTHER_BEACON);
       final byte[] page = new byte[dataLength];
-      mDataFile.read(page);
+      mDataFile.readFully(page);
+
+      if (mVerifyPageHashes && mType == SerializationType.DATA
+          && !mPageHashType.matches(reference.getHash(), ByteBuffer.wrap(page))) {
+        throw new SirixIOException(
+            "Hash of the page stored at offset " + reference.getKey() + " doesn't match.");
+      }
 
       // Perform byte operations.
       final DataInputStream input =
-          new DataInputStream(mByteHandler.deserialize(new ByteArrayInputStream(page)));
+          new DataInputStream(new ByteBufferInputStream(mByteHandler.deserialize(ByteBuffer.wrap(page))));
 
       // Return reader required to instantiate and deserialize page.
-      return mPagePersiter.deserializePage(input, pageReadTrx, mType);
+      final Page deserializedPage = mPagePersiter.deserializePage(input, pageReadTrx, mType);
+
+      if (mType == SerializationType.DATA) {
+        SirixMetrics.getInstance().pageRead(dataLength + FileReader.OTHER_BEACON, System.nanoTime() - start);
+      }
+
+      return deserializedPage;
     } catch (final IOException e) {
       throw new SirixIOException(e);
     }
@@ -147,7 +181,7 @@ public final class FileReader implements Reader {
   @Override
   public RevisionRootPage readRevisionRootPage(final int revision, final PageReadOnlyTrx pageReadTrx) {
     try {
-      mRevisionsOffsetFile.seek(revision * 8);
+      mRevisionsOffsetFile.seek((long) revision * REVISIONS_FILE_ENTRY_SIZE);
       mDataFile.seek(mRevisionsOffsetFile.readLong());
 
       final int dataLength = mDataFile.readInt();
@@ -156,7 +190,7 @@ public final class FileReader implements Reader {
 
       // Perform byte operations.
       final DataInputStream input =
-          new DataInputStream(mByteHandler.deserialize(new ByteArrayInputStream(page)));
+          new DataInputStream(new ByteBufferInputStream(mByteHandler.deserialize(ByteBuffer.wrap(page))));
 
       // Return reader required to instantiate and deserialize page.
       return (RevisionRootPage) mPagePersiter.deserializePage(input, pageReadTrx, mType);
@@ -165,6 +199,16 @@ public final class FileReader implements Reader {
     }
   }
 
+  @Override
+  public long readRevisionTimestamp(final int revision) {
+    try {
+      mRevisionsOffsetFile.seek((long) revision * REVISIONS_FILE_ENTRY_SIZE + Long.BYTES);
+      return mRevisionsOffsetFile.readLong();
+    } catch (final IOException e) {
+      throw new SirixIOException(e);
+    }
+  }
+
   @Override
   public void close() throws SirixIOException {
     try {
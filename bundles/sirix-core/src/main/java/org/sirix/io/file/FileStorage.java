@@ -27,6 +27,7 @@ import java.nio.file.Files;
 import java.nio.file.Path;
 import org.sirix.access.ResourceConfiguration;
 import org.sirix.exception.SirixIOException;
+import org.sirix.io.PageHashType;
 import org.sirix.io.Reader;
 import org.sirix.io.Storage;
 import org.sirix.io.Writer;
@@ -55,6 +56,12 @@ public final class FileStorage implements Storage {
   /** Byte handler pipeline. */
   private final ByteHandlePipeline mByteHandler;
 
+  /** The hash function used to hash the pages. */
+  private final PageHashType mPageHashType;
+
+  /** Determines if the page hashes are verified when pages are read. */
+  private final boolean mVerifyPageHashes;
+
   /**
    * Constructor.
    *
@@ -65,6 +72,8 @@ public final class FileStorage implements Storage {
     assert resourceConfig != null : "resourceConfig must not be null!";
     mFile = resourceConfig.resourcePath;
     mByteHandler = resourceConfig.byteHandlePipeline;
+    mPageHashType = resourceConfig.pageHashType;
+    mVerifyPageHashes = resourceConfig.verifyPageHashes;
   }
 
   @Override
@@ -75,7 +84,8 @@ public final class FileStorage implements Storage {
 
       return new FileReader(new RandomAccessFile(dataFilePath.toFile(), "r"),
           new RandomAccessFile(revisionsOffsetFilePath.toFile(), "r"),
-          new ByteHandlePipeline(mByteHandler), SerializationType.DATA, new PagePersister());
+          new ByteHandlePipeline(mByteHandler), SerializationType.DATA, new PagePersister(),
+          mPageHashType, mVerifyPageHashes);
     } catch (final IOException e) {
       throw new SirixIOException(e);
     }
@@ -100,7 +110,8 @@ public final class FileStorage implements Storage {
 
       return new FileWriter(new RandomAccessFile(dataFilePath.toFile(), "rw"),
           new RandomAccessFile(revisionsOffsetFilePath.toFile(), "rw"),
-          new ByteHandlePipeline(mByteHandler), SerializationType.DATA, new PagePersister());
+          new ByteHandlePipeline(mByteHandler), SerializationType.DATA, new PagePersister(),
+          mPageHashType, mVerifyPageHashes);
     } catch (final IOException e) {
       throw new SirixIOException(e);
     }
@@ -22,14 +22,18 @@
 package org.sirix.io.file;
 
 import static com.google.common.base.Preconditions.checkNotNull;
-import java.io.ByteArrayOutputStream;
 import java.io.DataOutputStream;
 import java.io.IOException;
 import java.io.RandomAccessFile;
 import java.io.UncheckedIOException;
 import java.nio.ByteBuffer;
+import java.nio.channels.FileChannel;
+import javax.annotation.Nullable;
+import org.sirix.api.PageReadOnlyTrx;
 import org.sirix.exception.SirixIOException;
 import org.sirix.io.AbstractForwardingReader;
+import org.sirix.io.PageHashType;
+import org.sirix.io.PageOutputStream;
 import org.sirix.io.Reader;
 import org.sirix.io.Writer;
 import org.sirix.io.bytepipe.ByteHandler;
@@ -43,12 +47,22 @@ import org.sirix.page.interfaces.Page;
 /**
  * File Writer for providing read/write access for file as a Sirix backend.
  *
+ * <p>
+ * Serialized pages are not written one by one. Instead they are appended to a reusable direct
+ * buffer and written in large sequential chunks, once the buffer is full, before reading from the
+ * file, and at the latest when the uber page reference is written during a commit. Offsets are
+ * assigned from an in-memory tail pointer.
+ * </p>
+ *
  * @author Marc Kramis, Seabix
  * @author Sebastian Graf, University of Konstanz
  *
  */
 public final class FileWriter extends AbstractForwardingReader implements Writer {
 
+  /** Size of the write buffer. */
+  private static final int BUFFER_SIZE = 1 << 19;
+
   /** Random access to work on. */
   private final RandomAccessFile mDataFile;
 
@@ -61,30 +75,57 @@ public final class FileWriter extends AbstractForwardingReader implements Writer
 
   private final PagePersister mPagePersister;
 
+  /** Reused to serialize the pages. */
+  private final PageOutputStream mOutput;
+
+  /** Buffer holding the pages, which are not yet written to the data file. */
+  private ByteBuffer mBuffer;
+
+  /** File offset of the first byte in {@link #mBuffer}. */
+  private long mBufferOffset;
+
+  /** Offset where the next page is appended. */
+  private long mDataFileTail;
+
   /**
    * Constructor.
    *
    * @param dataFile the data file
-   * @param revisionsOffsetFile the file, which holds pointers to the revision root pages
+   * @param revisionsOffsetFile the file, which holds pointers to the revision root pages and the
+   *        timestamps of the revisions
    * @param handler the byte handler
    * @param serializationType the serialization type (for the transaction log or the data file)
    * @param pagePersister transforms in-memory pages into byte-arrays and back
+   * @param pageHashType the hash function used to hash the data pages
+   * @param verifyPageHashes determines if the hashes of the data pages are verified when they are
+   *        read
    */
   public FileWriter(final RandomAccessFile dataFile, final RandomAccessFile revisionsOffsetFile,
       final ByteHandler handler, final SerializationType serializationType,
-      final PagePersister pagePersister) {
+      final PagePersister pagePersister, final PageHashType pageHashType,
+      final boolean verifyPageHashes) {
     mDataFile = checkNotNull(dataFile);
     mType = checkNotNull(serializationType);
     mRevisionsOffsetFile = mType == SerializationType.DATA
         ? checkNotNull(revisionsOffsetFile)
         : null;
     mPagePersister = checkNotNull(pagePersister);
-    mReader =
-        new FileReader(dataFile, revisionsOffsetFile, handler, serializationType, pagePersister);
+    mReader = new FileReader(dataFile, revisionsOffsetFile, handler, serializationType,
+        pagePersister, pageHashType, verifyPageHashes);
+    mOutput = new PageOutputStream();
+
+    try {
+      mDataFileTail = Math.max(mDataFile.length(), FileReader.FIRST_BEACON);
+      mBufferOffset = mDataFileTail;
+    } catch (final IOException e) {
+      throw new SirixIOException(e);
+    }
   }
 
   @Override
   public Writer truncateTo(final int revision) {
+    flush();
+
     UberPage uberPage = (UberPage) mReader.readUberPageReference().getPage();
 
     while (uberPage.getRevisionNumber() != revision) {
@@ -93,6 +134,18 @@ public final class FileWriter extends AbstractForwardingReader implements Writer
       if (uberPage.getRevisionNumber() == revision) {
         try {
           mDataFile.setLength(uberPage.getPreviousUberPageKey());
+          resetTail();
+
+          // Truncate the entries, which point behind the end of the truncated data file.
+          long revisionsOffsetFileLength = mRevisionsOffsetFile.length();
+          while (revisionsOffsetFileLength > 0) {
+            mRevisionsOffsetFile.seek(revisionsOffsetFileLength - FileReader.REVISIONS_FILE_ENTRY_SIZE);
+            if (mRevisionsOffsetFile.readLong() < mDataFile.length()) {
+              break;
+            }
+            revisionsOffsetFileLength -= FileReader.REVISIONS_FILE_ENTRY_SIZE;
+          }
+          mRevisionsOffsetFile.setLength(revisionsOffsetFileLength);
         } catch (final IOException e) {
           throw new UncheckedIOException(e);
         }
@@ -117,30 +170,23 @@ public final class FileWriter extends AbstractForwardingReader implements Writer
       final Page page = pageReference.getPage();
       assert page != null;
 
-      final byte[] serializedPage;
+      mOutput.reset();
 
-      try (final ByteArrayOutputStream output = new ByteArrayOutputStream();
-          final DataOutputStream dataOutput =
-              new DataOutputStream(mReader.mByteHandler.serialize(output))) {
+      try (final DataOutputStream dataOutput = new DataOutputStream(mOutput)) {
         mPagePersister.serializePage(dataOutput, page, mType);
         dataOutput.flush();
-        serializedPage = output.toByteArray();
       }
 
-      final byte[] writtenPage = new byte[serializedPage.length + FileReader.OTHER_BEACON];
-      final ByteBuffer buffer = ByteBuffer.allocate(writtenPage.length);
-      buffer.putInt(serializedPage.length);
-      buffer.put(serializedPage);
-      buffer.position(0);
-      buffer.get(writtenPage, 0, writtenPage.length);
-
-      // Getting actual offset and appending to the end of the current file.
-      final long fileSize = mDataFile.length();
-      final long offset = fileSize == 0
-          ? FileReader.FIRST_BEACON
-          : fileSize;
-      mDataFile.seek(offset);
-      mDataFile.write(writtenPage);
+      final ByteBuffer serializedPage = mReader.mByteHandler.serialize(mOutput.wrap());
+      final int serializedLength = serializedPage.remaining();
+      final int writtenLength = serializedLength + FileReader.OTHER_BEACON;
+      final ByteBuffer lengthPrefix = ByteBuffer.allocate(FileReader.OTHER_BEACON);
+      lengthPrefix.putInt(0, serializedLength);
+
+      // Append to the end of the current file.
+      final long offset = mDataFileTail;
+      append(lengthPrefix, serializedPage.duplicate());
+      mDataFileTail += writtenLength;
 
       // Remember page coordinates.
       switch (mType) {
@@ -154,12 +200,17 @@ public final class FileWriter extends AbstractForwardingReader implements Writer
           // Must not happen.
       }
 
-      pageReference.setLength(writtenPage.length);
-      pageReference.setHash(mReader.mHashFunction.hashBytes(writtenPage).asBytes());
+      pageReference.setLength(writtenLength);
+
+      // Pages in the transaction intent log are not hashed, the hash is only stored for data pages.
+      if (mType == SerializationType.DATA) {
+        pageReference.setHash(mReader.mPageHashType.hash(serializedPage.duplicate()));
+      }
 
       if (mType == SerializationType.DATA && page instanceof RevisionRootPage) {
         mRevisionsOffsetFile.seek(mRevisionsOffsetFile.length());
         mRevisionsOffsetFile.writeLong(offset);
+        mRevisionsOffsetFile.writeLong(((RevisionRootPage) page).getRevisionTimestamp());
       }
 
       return this;
@@ -168,9 +219,104 @@ public final class FileWriter extends AbstractForwardingReader implements Writer
     }
   }
 
+  /**
+   * Append a serialized page to the buffer. Pages, which do not fit into an empty buffer, are
+   * written directly together with the pending buffer content in one gathering write.
+   *
+   * @param lengthPrefix the length of the serialized page
+   * @param serializedPage the serialized page
+   * @throws IOException if an I/O error occurs
+   */
+  private void append(final ByteBuffer lengthPrefix, final ByteBuffer serializedPage)
+      throws IOException {
+    final int length = lengthPrefix.remaining() + serializedPage.remaining();
+
+    if (length > BUFFER_SIZE) {
+      final ByteBuffer[] buffers;
+      if (mBuffer == null || mBuffer.position() == 0) {
+        buffers = new ByteBuffer[] {lengthPrefix.duplicate(), serializedPage};
+      } else {
+        buffers = new ByteBuffer[] {mBuffer.flip(), lengthPrefix.duplicate(), serializedPage};
+      }
+      writeFully(buffers, mBufferOffset);
+      if (mBuffer != null) {
+        mBuffer.clear();
+      }
+      mBufferOffset = mDataFileTail + length;
+      return;
+    }
+
+    if (mBuffer == null) {
+      mBuffer = ByteBuffer.allocateDirect(BUFFER_SIZE);
+    } else if (mBuffer.remaining() < length) {
+      flush();
+    }
+
+    mBuffer.put(lengthPrefix.duplicate());
+    mBuffer.put(serializedPage);
+  }
+
+  /**
+   * Write all buffered pages to the data file.
+   */
+  private void flush() {
+    if (mBuffer == null || mBuffer.position() == 0) {
+      return;
+    }
+
+    try {
+      mBuffer.flip();
+      writeFully(new ByteBuffer[] {mBuffer}, mBufferOffset);
+      mBuffer.clear();
+      mBufferOffset = mDataFileTail;
+    } catch (final IOException e) {
+      throw new SirixIOException(e);
+    }
+  }
+
+  private void writeFully(final ByteBuffer[] buffers, final long position) throws IOException {
+    final FileChannel channel = mDataFile.getChannel();
+    channel.position(position);
+    long remaining = 0;
+    for (final ByteBuffer buffer : buffers) {
+      remaining += buffer.remaining();
+    }
+    while (remaining > 0) {
+      remaining -= channel.write(buffers);
+    }
+  }
+
+  private void resetTail() throws IOException {
+    if (mBuffer != null) {
+      mBuffer.clear();
+    }
+    mDataFileTail = Math.max(mDataFile.length(), FileReader.FIRST_BEACON);
+    mBufferOffset = mDataFileTail;
+  }
+
+  @Override
+  public Page read(final PageReference reference, final @Nullable PageReadOnlyTrx pageReadTrx) {
+    flush();
+    return super.read(reference, pageReadTrx);
+  }
+
+  @Override
+  public PageReference readUberPageReference() {
+    flush();
+    return super.readUberPageReference();
+  }
+
+  @Override
+  public RevisionRootPage readRevisionRootPage(final int revision,
+      final PageReadOnlyTrx pageReadTrx) {
+    flush();
+    return super.readRevisionRootPage(revision, pageReadTrx);
+  }
+
   @Override
   public void close() throws SirixIOException {
     try {
+      flush();
       if (mDataFile != null) {
         mDataFile.close();
       }
@@ -187,8 +333,14 @@ public final class FileWriter extends AbstractForwardingReader implements Writer
 
   @Override
   public Writer writeUberPageReference(final PageReference pageReference) throws SirixIOException {
+    write(pageReference);
+    return writeUberPageBeacon(pageReference);
+  }
+
+  @Override
+  public Writer writeUberPageBeacon(final PageReference pageReference) throws SirixIOException {
     try {
-      write(pageReference);
+      flush();
       mDataFile.seek(0);
       mDataFile.writeLong(pageReference.getKey());
 
@@ -203,11 +355,29 @@ public final class FileWriter extends AbstractForwardingReader implements Writer
     return mReader;
   }
 
+  @Override
+  public Writer force() {
+    try {
+      flush();
+      mDataFile.getChannel().force(false);
+      if (mRevisionsOffsetFile != null) {
+        mRevisionsOffsetFile.getChannel().force(false);
+      }
+    } catch (final IOException e) {
+      throw new SirixIOException(e);
+    }
+
+    return this;
+  }
+
   @Override
   public Writer truncate() {
     try {
       mDataFile.setLength(0);
-      mRevisionsOffsetFile.setLength(0);
+      if (mRevisionsOffsetFile != null) {
+        mRevisionsOffsetFile.setLength(0);
+      }
+      resetTail();
     } catch (final IOException e) {
       throw new SirixIOException(e);
     }
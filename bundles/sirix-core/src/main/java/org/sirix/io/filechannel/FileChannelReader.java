@@ -0,0 +1,182 @@
+package org.sirix.io.filechannel;
+
+import static com.google.common.base.Preconditions.checkNotNull;
+import java.io.DataInputStream;
+import java.io.EOFException;
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.channels.FileChannel;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import javax.annotation.Nonnull;
+import javax.annotation.Nullable;
+import org.sirix.api.PageReadOnlyTrx;
+import org.sirix.exception.SirixIOException;
+import org.sirix.io.ByteBufferInputStream;
+import org.sirix.io.PageHashType;
+import org.sirix.io.Reader;
+import org.sirix.io.bytepipe.ByteHandler;
+import org.sirix.io.file.FileReader;
+import org.sirix.metrics.SirixMetrics;
+import org.sirix.page.PagePersister;
+import org.sirix.page.PageReference;
+import org.sirix.page.RevisionRootPage;
+import org.sirix.page.SerializationType;
+import org.sirix.page.UberPage;
+import org.sirix.page.interfaces.Page;
+import com.google.common.util.concurrent.ThreadFactoryBuilder;
+
+/**
+ * Reader, which uses stateless positional reads ({@link FileChannel#read(ByteBuffer, long)}), such
+ * that any number of reading transactions can share the same channel without contention on a file
+ * pointer. The on-disk format is the same as the one of the {@link FileReader}. For the same reason
+ * pages are read asynchronously by a thread pool shared by all readers.
+ */
+public final class FileChannelReader implements Reader {
+
+  /** Reads pages asynchronously. */
+  private static final ExecutorService READ_POOL = Executors.newFixedThreadPool(
+      Runtime.getRuntime().availableProcessors(),
+      new ThreadFactoryBuilder().setNameFormat("sirix-page-reader-%d").setDaemon(true).build());
+
+  /** Inflater to decompress. */
+  final ByteHandler mByteHandler;
+
+  /** The data file channel. */
+  private final FileChannel mDataFile;
+
+  /** The revisions offset file channel. */
+  private final FileChannel mRevisionsOffsetFile;
+
+  /** Used to serialize/deserialze pages. */
+  private final PagePersister mPagePersiter;
+
+  /** The hash function used to hash pages. */
+  final PageHashType mPageHashType;
+
+  /** Determines if the page hashes are verified. */
+  private final boolean mVerifyPageHashes;
+
+  /**
+   * Constructor.
+   *
+   * @param dataFile the data file channel
+   * @param revisionsOffsetFile the channel of the file, which holds pointers to the revision root
+   *        pages
+   * @param handler {@link ByteHandler} instance
+   * @param pagePersistenter transforms in-memory pages into byte-arrays and back
+   * @param pageHashType the hash function used to hash pages
+   * @param verifyPageHashes determines if the page hashes are verified when pages are read
+   */
+  FileChannelReader(final FileChannel dataFile, final FileChannel revisionsOffsetFile, final ByteHandler handler,
+      final PagePersister pagePersistenter, final PageHashType pageHashType,
+      final boolean verifyPageHashes) {
+    mDataFile = checkNotNull(dataFile);
+    mRevisionsOffsetFile = checkNotNull(revisionsOffsetFile);
+    mByteHandler = checkNotNull(handler);
+    mPagePersiter = checkNotNull(pagePersistenter);
+    mPageHashType = checkNotNull(pageHashType);
+    mVerifyPageHashes = verifyPageHashes;
+  }
+
+  @Override
+  public Page read(final @Nonnull PageReference reference, final @Nullable PageReadOnlyTrx pageReadTrx) {
+    try {
+      final long start = System.nanoTime();
+      final long offset = reference.getKey();
+      final int dataLength = read(mDataFile, Integer.BYTES, offset).getInt();
+      reference.setLength(dataLength + FileReader.OTHER_BEACON);
+      final ByteBuffer page = read(mDataFile, dataLength, offset + FileReader.OTHER_BEACON);
+      verify(reference, page);
+      final Page deserializedPage = deserialize(page, pageReadTrx);
+      SirixMetrics.getInstance().pageRead(dataLength + FileReader.OTHER_BEACON, System.nanoTime() - start);
+      return deserializedPage;
+    } catch (final IOException e) {
+      throw new SirixIOException(e);
+    }
+  }
+
+  @Override
+  public CompletableFuture<Page> readAsync(final @Nonnull PageReference reference,
+      final @Nullable PageReadOnlyTrx pageReadTrx) {
+    return CompletableFuture.supplyAsync(() -> read(reference, pageReadTrx), READ_POOL);
+  }
+
+  @Override
+  public PageReference readUberPageReference() {
+    final PageReference uberPageReference = new PageReference();
+    try {
+      // Read primary beacon.
+      uberPageReference.setKey(read(mDataFile, Long.BYTES, 0).getLong());
+
+      final UberPage page = (UberPage) read(uberPageReference, null);
+      uberPageReference.setPage(page);
+      return uberPageReference;
+    } catch (final IOException e) {
+      throw new SirixIOException(e);
+    }
+  }
+
+  @Override
+  public RevisionRootPage readRevisionRootPage(final int revision, final PageReadOnlyTrx pageReadTrx) {
+    try {
+      final long offset =
+          read(mRevisionsOffsetFile, Long.BYTES, (long) revision * FileReader.REVISIONS_FILE_ENTRY_SIZE).getLong();
+      final int dataLength = read(mDataFile, Integer.BYTES, offset).getInt();
+      return (RevisionRootPage) deserialize(read(mDataFile, dataLength, offset + FileReader.OTHER_BEACON),
+          pageReadTrx);
+    } catch (final IOException e) {
+      throw new SirixIOException(e);
+    }
+  }
+
+  @Override
+  public long readRevisionTimestamp(final int revision) {
+    try {
+      return read(mRevisionsOffsetFile, Long.BYTES,
+          (long) revision * FileReader.REVISIONS_FILE_ENTRY_SIZE + Long.BYTES).getLong();
+    } catch (final IOException e) {
+      throw new SirixIOException(e);
+    }
+  }
+
+  /**
+   * Read {@code length} bytes from the channel starting at the given position.
+   *
+   * @param channel the channel to read from
+   * @param length the number of bytes to read
+   * @param position the absolute position in the file
+   * @return a heap buffer holding the bytes, flipped for reading
+   * @throws IOException if an I/O error occurs
+   */
+  static ByteBuffer read(final FileChannel channel, final int length, final long position) throws IOException {
+    final ByteBuffer buffer = ByteBuffer.allocate(length);
+    while (buffer.hasRemaining()) {
+      if (channel.read(buffer, position + buffer.position()) == -1) {
+        throw new EOFException();
+      }
+    }
+    return buffer.flip();
+  }
+
+  private void verify(final PageReference reference, final ByteBuffer page) {
+    if (mVerifyPageHashes && !mPageHashType.matches(reference.getHash(), page)) {
+      throw new SirixIOException("Hash of the page stored at offset " + reference.getKey() + " doesn't match.");
+    }
+  }
+
+  private Page deserialize(final ByteBuffer page, final @Nullable PageReadOnlyTrx pageReadTrx) throws IOException {
+    // Perform byte operations.
+    final DataInputStream input =
+        new DataInputStream(new ByteBufferInputStream(mByteHandler.deserialize(page.duplicate())));
+
+    // Return reader required to instantiate and deserialize page.
+    return mPagePersiter.deserializePage(input, pageReadTrx, SerializationType.DATA);
+  }
+
+  @Override
+  public void close() {
+    // The channels are shared and owned by the storage or the writer.
+  }
+}
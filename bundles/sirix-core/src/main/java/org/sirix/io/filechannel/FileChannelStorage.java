@@ -0,0 +1,156 @@
+package org.sirix.io.filechannel;
+
+import java.io.IOException;
+import java.nio.channels.FileChannel;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+import org.sirix.access.ResourceConfiguration;
+import org.sirix.exception.SirixIOException;
+import org.sirix.io.PageHashType;
+import org.sirix.io.Reader;
+import org.sirix.io.Storage;
+import org.sirix.io.Writer;
+import org.sirix.io.bytepipe.ByteHandlePipeline;
+import org.sirix.io.bytepipe.ByteHandler;
+import org.sirix.page.PagePersister;
+
+/**
+ * Storage, which opens the data file and the revisions offset file once and shares the read-only
+ * channels amongst all readers created by this storage. As the readers only use positional reads
+ * no file pointer has to be guarded. The channels are closed once the storage is closed.
+ */
+public final class FileChannelStorage implements Storage {
+
+  /** Data file name. */
+  private static final String FILENAME = "sirix.data";
+
+  /** Revisions file name. */
+  private static final String REVISIONS_FILENAME = "sirix.revisions";
+
+  /** Instance to storage. */
+  private final Path mFile;
+
+  /** Byte handler pipeline. */
+  private final ByteHandlePipeline mByteHandler;
+
+  /** The hash function used to hash the pages. */
+  private final PageHashType mPageHashType;
+
+  /** Determines if the page hashes are verified when pages are read. */
+  private final boolean mVerifyPageHashes;
+
+  /** The shared read-only data file channel, {@code null} if not opened yet. */
+  private FileChannel mDataFile;
+
+  /** The shared read-only revisions offset file channel, {@code null} if not opened yet. */
+  private FileChannel mRevisionsOffsetFile;
+
+  /**
+   * Constructor.
+   *
+   * @param resourceConfig the resource configuration
+   */
+  public FileChannelStorage(final ResourceConfiguration resourceConfig) {
+    assert resourceConfig != null : "resourceConfig must not be null!";
+    mFile = resourceConfig.resourcePath;
+    mByteHandler = resourceConfig.byteHandlePipeline;
+    mPageHashType = resourceConfig.pageHashType;
+    mVerifyPageHashes = resourceConfig.verifyPageHashes;
+  }
+
+  @Override
+  public Reader createReader() {
+    try {
+      openChannelsIfNeeded();
+
+      return new FileChannelReader(mDataFile, mRevisionsOffsetFile, new ByteHandlePipeline(mByteHandler),
+          new PagePersister(), mPageHashType, mVerifyPageHashes);
+    } catch (final IOException e) {
+      throw new SirixIOException(e);
+    }
+  }
+
+  @Override
+  public Writer createWriter() {
+    try {
+      final Path dataFilePath = createDirectoriesAndFile(getDataFilePath());
+      final Path revisionsOffsetFilePath = createDirectoriesAndFile(getRevisionFilePath());
+
+      return new FileChannelWriter(
+          FileChannel.open(dataFilePath, StandardOpenOption.READ, StandardOpenOption.WRITE),
+          FileChannel.open(revisionsOffsetFilePath, StandardOpenOption.READ, StandardOpenOption.WRITE),
+          new ByteHandlePipeline(mByteHandler), new PagePersister(), mPageHashType, mVerifyPageHashes);
+    } catch (final IOException e) {
+      throw new SirixIOException(e);
+    }
+  }
+
+  private synchronized void openChannelsIfNeeded() throws IOException {
+    if (mDataFile == null) {
+      final Path dataFilePath = createDirectoriesAndFile(getDataFilePath());
+      final Path revisionsOffsetFilePath = createDirectoriesAndFile(getRevisionFilePath());
+
+      mDataFile = FileChannel.open(dataFilePath, StandardOpenOption.READ);
+      mRevisionsOffsetFile = FileChannel.open(revisionsOffsetFilePath, StandardOpenOption.READ);
+    }
+  }
+
+  private static Path createDirectoriesAndFile(final Path file) throws IOException {
+    if (!Files.exists(file)) {
+      Files.createDirectories(file.getParent());
+      Files.createFile(file);
+    }
+
+    return file;
+  }
+
+  @Override
+  public synchronized void close() {
+    try {
+      if (mDataFile != null) {
+        mDataFile.close();
+        mDataFile = null;
+      }
+      if (mRevisionsOffsetFile != null) {
+        mRevisionsOffsetFile.close();
+        mRevisionsOffsetFile = null;
+      }
+    } catch (final IOException e) {
+      throw new SirixIOException(e);
+    }
+  }
+
+  /**
+   * Getting path for data file.
+   *
+   * @return the path for this data file
+   */
+  private Path getDataFilePath() {
+    return mFile.resolve(ResourceConfiguration.ResourcePaths.DATA.getPath()).resolve(FILENAME);
+  }
+
+  /**
+   * Getting concrete storage for this file.
+   *
+   * @return the concrete storage for this database
+   */
+  private Path getRevisionFilePath() {
+    return mFile.resolve(ResourceConfiguration.ResourcePaths.DATA.getPath()).resolve(REVISIONS_FILENAME);
+  }
+
+  @Override
+  public boolean exists() {
+    final Path storage = getDataFilePath();
+    try {
+      return Files.exists(storage) && Files.size(storage) > 0;
+    } catch (final IOException e) {
+      throw new SirixIOException(e);
+    }
+  }
+
+  @Override
+  public ByteHandler getByteHandler() {
+    return mByteHandler;
+  }
+}
@@ -0,0 +1,34 @@
+package org.sirix.io.filechannel;
+
+import java.nio.channels.FileChannel;
+import org.sirix.exception.SirixIOException;
+import org.sirix.io.AbstractPositionalWriter;
+import org.sirix.io.PageHashType;
+import org.sirix.io.bytepipe.ByteHandler;
+import org.sirix.page.PagePersister;
+
+/**
+ * Writer for the file channel storage. Pages are appended with positional {@link FileChannel}
+ * writes at an in-memory tail pointer, reads are delegated to a {@link FileChannelReader} on the
+ * writer's own channels.
+ */
+public final class FileChannelWriter extends AbstractPositionalWriter {
+
+  /**
+   * Constructor.
+   *
+   * @param dataFile the data file channel
+   * @param revisionsOffsetFile the revisions offset file channel
+   * @param handler the byte handler
+   * @param pagePersister transforms in-memory pages into byte-arrays and back
+   * @param pageHashType the hash function used to hash pages
+   * @param verifyPageHashes determines if the page hashes are verified when pages are read
+   * @throws SirixIOException if an I/O error occurs
+   */
+  FileChannelWriter(final FileChannel dataFile, final FileChannel revisionsOffsetFile, final ByteHandler handler,
+      final PagePersister pagePersister, final PageHashType pageHashType, final boolean verifyPageHashes) {
+    super(dataFile, revisionsOffsetFile,
+        new FileChannelReader(dataFile, revisionsOffsetFile, handler, pagePersister, pageHashType, verifyPageHashes),
+        handler, pagePersister, pageHashType);
+  }
+}
@@ -0,0 +1,5 @@
+/**
+ * File backend using positional {@link java.nio.channels.FileChannel} I/O. A single read-only
+ * channel is shared by all reading transactions of a resource.
+ */
+package org.sirix.io.filechannel;
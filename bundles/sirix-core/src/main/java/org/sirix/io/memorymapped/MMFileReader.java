@@ -0,0 +1,165 @@
+package org.sirix.io.memorymapped;
+
+import static com.google.common.base.Preconditions.checkNotNull;
+import java.io.DataInputStream;
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.util.concurrent.locks.Lock;
+import javax.annotation.Nonnull;
+import javax.annotation.Nullable;
+import org.sirix.api.PageReadOnlyTrx;
+import org.sirix.exception.SirixIOException;
+import org.sirix.io.ByteBufferInputStream;
+import org.sirix.io.PageHashType;
+import org.sirix.io.Reader;
+import org.sirix.io.bytepipe.ByteHandler;
+import org.sirix.io.file.FileReader;
+import org.sirix.metrics.SirixMetrics;
+import org.sirix.page.PagePersister;
+import org.sirix.page.PageReference;
+import org.sirix.page.RevisionRootPage;
+import org.sirix.page.SerializationType;
+import org.sirix.page.UberPage;
+import org.sirix.page.interfaces.Page;
+
+/**
+ * Reader, which reads pages from memory-mapped segments of the data file. The on-disk format is the
+ * same as the one of the {@link FileReader}. Pages are deserialized directly from slices of the
+ * mapping, no file pointer is involved and the mapped segments are shared amongst all readers of a
+ * resource. The readers hold the read locks of the mapped segments while they access the slices,
+ * such that the files aren't truncated meanwhile.
+ */
+public final class MMFileReader implements Reader {
+
+  /** Inflater to decompress. */
+  final ByteHandler mByteHandler;
+
+  /** The memory-mapped data file. */
+  private final MappedSegments mDataFile;
+
+  /** The memory-mapped revisions offset file. */
+  private final MappedSegments mRevisionsOffsetFile;
+
+  /** Used to serialize/deserialze pages. */
+  private final PagePersister mPagePersiter;
+
+  /** The hash function used to hash pages. */
+  final PageHashType mPageHashType;
+
+  /** Determines if the page hashes are verified. */
+  private final boolean mVerifyPageHashes;
+
+  /**
+   * Constructor.
+   *
+   * @param dataFile the memory-mapped data file
+   * @param revisionsOffsetFile the memory-mapped file, which holds pointers to the revision root
+   *        pages
+   * @param handler {@link ByteHandler} instance
+   * @param pagePersistenter transforms in-memory pages into byte-arrays and back
+   * @param pageHashType the hash function used to hash pages
+   * @param verifyPageHashes determines if the page hashes are verified when pages are read
+   */
+  MMFileReader(final MappedSegments dataFile, final MappedSegments revisionsOffsetFile, final ByteHandler handler,
+      final PagePersister pagePersistenter, final PageHashType pageHashType,
+      final boolean verifyPageHashes) {
+    mDataFile = checkNotNull(dataFile);
+    mRevisionsOffsetFile = checkNotNull(revisionsOffsetFile);
+    mByteHandler = checkNotNull(handler);
+    mPagePersiter = checkNotNull(pagePersistenter);
+    mPageHashType = checkNotNull(pageHashType);
+    mVerifyPageHashes = verifyPageHashes;
+  }
+
+  @Override
+  public Page read(final @Nonnull PageReference reference, final @Nullable PageReadOnlyTrx pageReadTrx) {
+    // The page is deserialized from a slice of the mapping, which must not be truncated meanwhile.
+    final Lock lock = mDataFile.readLock();
+    lock.lock();
+    try {
+      final long start = System.nanoTime();
+      final int dataLength = mDataFile.readInt(reference.getKey());
+      reference.setLength(dataLength + FileReader.OTHER_BEACON);
+      final ByteBuffer page = mDataFile.read(reference.getKey() + FileReader.OTHER_BEACON, dataLength);
+      verify(reference, page);
+      final Page deserializedPage = deserialize(page, pageReadTrx);
+      SirixMetrics.getInstance().pageRead(dataLength + FileReader.OTHER_BEACON, System.nanoTime() - start);
+      return deserializedPage;
+    } catch (final IOException e) {
+      throw new SirixIOException(e);
+    } finally {
+      lock.unlock();
+    }
+  }
+
+  @Override
+  public PageReference readUberPageReference() {
+    final PageReference uberPageReference = new PageReference();
+    final Lock lock = mDataFile.readLock();
+    lock.lock();
+    try {
+      // Read primary beacon.
+      uberPageReference.setKey(mDataFile.readLong(0));
+
+      final UberPage page = (UberPage) read(uberPageReference, null);
+      uberPageReference.setPage(page);
+      return uberPageReference;
+    } catch (final IOException e) {
+      throw new SirixIOException(e);
+    } finally {
+      lock.unlock();
+    }
+  }
+
+  @Override
+  public RevisionRootPage readRevisionRootPage(final int revision, final PageReadOnlyTrx pageReadTrx) {
+    final Lock dataFileLock = mDataFile.readLock();
+    final Lock revisionsOffsetFileLock = mRevisionsOffsetFile.readLock();
+    dataFileLock.lock();
+    revisionsOffsetFileLock.lock();
+    try {
+      final long offset = mRevisionsOffsetFile.readLong((long) revision * FileReader.REVISIONS_FILE_ENTRY_SIZE);
+      final int dataLength = mDataFile.readInt(offset);
+      return (RevisionRootPage) deserialize(mDataFile.read(offset + FileReader.OTHER_BEACON, dataLength),
+          pageReadTrx);
+    } catch (final IOException e) {
+      throw new SirixIOException(e);
+    } finally {
+      revisionsOffsetFileLock.unlock();
+      dataFileLock.unlock();
+    }
+  }
+
+  @Override
+  public long readRevisionTimestamp(final int revision) {
+    final Lock lock = mRevisionsOffsetFile.readLock();
+    lock.lock();
+    try {
+      return mRevisionsOffsetFile.readLong((long) revision * FileReader.REVISIONS_FILE_ENTRY_SIZE + Long.BYTES);
+    } catch (final IOException e) {
+      throw new SirixIOException(e);
+    } finally {
+      lock.unlock();
+    }
+  }
+
+  private void verify(final PageReference reference, final ByteBuffer page) {
+    if (mVerifyPageHashes && !mPageHashType.matches(reference.getHash(), page)) {
+      throw new SirixIOException("Hash of the page stored at offset " + reference.getKey() + " doesn't match.");
+    }
+  }
+
+  private Page deserialize(final ByteBuffer page, final @Nullable PageReadOnlyTrx pageReadTrx) throws IOException {
+    // Perform byte operations.
+    final DataInputStream input =
+        new DataInputStream(new ByteBufferInputStream(mByteHandler.deserialize(page)));
+
+    // Return reader required to instantiate and deserialize page.
+    return mPagePersiter.deserializePage(input, pageReadTrx, SerializationType.DATA);
+  }
+
+  @Override
+  public void close() {
+    // The mapped segments are shared and owned by the storage.
+  }
+}
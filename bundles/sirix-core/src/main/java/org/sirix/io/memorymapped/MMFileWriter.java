@@ -0,0 +1,67 @@
+package org.sirix.io.memorymapped;
+
+import static com.google.common.base.Preconditions.checkNotNull;
+import java.io.IOException;
+import java.nio.channels.FileChannel;
+import java.util.concurrent.locks.Lock;
+import org.sirix.exception.SirixIOException;
+import org.sirix.io.AbstractPositionalWriter;
+import org.sirix.io.PageHashType;
+import org.sirix.io.bytepipe.ByteHandler;
+import org.sirix.page.PagePersister;
+
+/**
+ * Writer for the memory-mapped storage. Pages are appended with positional {@link FileChannel}
+ * writes at an in-memory tail pointer, reads are delegated to a {@link MMFileReader} sharing the
+ * mapped segments of the storage. The files are only truncated, once no reader accesses the mapped
+ * segments.
+ */
+public final class MMFileWriter extends AbstractPositionalWriter {
+
+  /** The memory-mapped data file (shared with the readers). */
+  private final MappedSegments mMappedDataFile;
+
+  /** The memory-mapped revisions offset file (shared with the readers). */
+  private final MappedSegments mMappedRevisionsOffsetFile;
+
+  /**
+   * Constructor.
+   *
+   * @param dataFile the data file channel
+   * @param revisionsOffsetFile the revisions offset file channel
+   * @param mappedDataFile the memory-mapped data file
+   * @param mappedRevisionsOffsetFile the memory-mapped revisions offset file
+   * @param handler the byte handler
+   * @param pagePersister transforms in-memory pages into byte-arrays and back
+   * @param pageHashType the hash function used to hash pages
+   * @param verifyPageHashes determines if the page hashes are verified when pages are read
+   * @throws SirixIOException if an I/O error occurs
+   */
+  MMFileWriter(final FileChannel dataFile, final FileChannel revisionsOffsetFile, final MappedSegments mappedDataFile,
+      final MappedSegments mappedRevisionsOffsetFile, final ByteHandler handler, final PagePersister pagePersister,
+      final PageHashType pageHashType, final boolean verifyPageHashes) {
+    super(dataFile, revisionsOffsetFile,
+        new MMFileReader(checkNotNull(mappedDataFile), checkNotNull(mappedRevisionsOffsetFile), handler,
+            pagePersister, pageHashType, verifyPageHashes),
+        handler, pagePersister, pageHashType);
+    mMappedDataFile = mappedDataFile;
+    mMappedRevisionsOffsetFile = mappedRevisionsOffsetFile;
+  }
+
+  @Override
+  protected void truncate(final long dataFileSize, final long revisionsOffsetFileSize) throws IOException {
+    // Readers must not access the mappings behind the truncated end of the files, which fails hard.
+    final Lock dataFileLock = mMappedDataFile.writeLock();
+    final Lock revisionsOffsetFileLock = mMappedRevisionsOffsetFile.writeLock();
+    dataFileLock.lock();
+    revisionsOffsetFileLock.lock();
+    try {
+      super.truncate(dataFileSize, revisionsOffsetFileSize);
+      mMappedDataFile.reset();
+      mMappedRevisionsOffsetFile.reset();
+    } finally {
+      revisionsOffsetFileLock.unlock();
+      dataFileLock.unlock();
+    }
+  }
+}
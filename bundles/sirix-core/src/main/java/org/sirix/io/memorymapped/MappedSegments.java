@@ -0,0 +1,176 @@
+package org.sirix.io.memorymapped;
+
+import static com.google.common.base.Preconditions.checkNotNull;
+import java.io.EOFException;
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.MappedByteBuffer;
+import java.nio.channels.FileChannel;
+import java.util.Arrays;
+import java.util.concurrent.locks.Lock;
+import java.util.concurrent.locks.ReadWriteLock;
+import java.util.concurrent.locks.ReentrantReadWriteLock;
+
+/**
+ * Read-only view of a file, which is memory-mapped in fixed size segments. Segments are mapped
+ * lazily and remapped if the file has grown beyond the currently mapped region, such that pages
+ * appended by a writer become visible to all readers sharing this instance.
+ *
+ * <p>
+ * Reads are positional and never modify the state of the mapped buffers, thus an instance can be
+ * used concurrently by any number of reading transactions. Accessing a mapping behind the end of a
+ * truncated file fails hard, thus readers hold the {@link #readLock()} as long as they access the
+ * returned buffers and the file is only truncated with the {@link #writeLock()} held.
+ * </p>
+ */
+public final class MappedSegments implements AutoCloseable {
+
+  /** Exponent of the segment size. */
+  static final int SEGMENT_SIZE_EXPONENT = 26;
+
+  /** Size of a segment in bytes (64 MiB). */
+  static final long SEGMENT_SIZE = 1L << SEGMENT_SIZE_EXPONENT;
+
+  /** The underlying file channel. */
+  private final FileChannel mChannel;
+
+  /** The mapped segments, {@code null} entries aren't mapped yet. */
+  private volatile MappedByteBuffer[] mSegments;
+
+  /** Excludes the truncation of the file while readers access the mapped segments. */
+  private final ReadWriteLock mLock;
+
+  /**
+   * Constructor.
+   *
+   * @param channel the file channel to map
+   */
+  public MappedSegments(final FileChannel channel) {
+    mChannel = checkNotNull(channel);
+    mSegments = new MappedByteBuffer[0];
+    mLock = new ReentrantReadWriteLock();
+  }
+
+  /**
+   * Get the lock, which readers hold as long as they access the buffers returned by this instance.
+   *
+   * @return the read lock
+   */
+  public Lock readLock() {
+    return mLock.readLock();
+  }
+
+  /**
+   * Get the lock, which is held while the file is truncated and the mappings are reset.
+   *
+   * @return the write lock
+   */
+  public Lock writeLock() {
+    return mLock.writeLock();
+  }
+
+  /**
+   * Get a read-only buffer containing {@code length} bytes starting at {@code position}. If the
+   * region lies in one segment the returned buffer is a slice of the mapping, otherwise the bytes
+   * are read into a new heap buffer.
+   *
+   * @param position the absolute position in the file
+   * @param length the number of bytes
+   * @return the buffer, positioned at {@code 0} with a limit of {@code length}
+   * @throws IOException if an I/O error occurs or the region lies beyond the end of the file
+   */
+  public ByteBuffer read(final long position, final int length) throws IOException {
+    final int index = (int) (position >>> SEGMENT_SIZE_EXPONENT);
+    final int positionInSegment = (int) (position & (SEGMENT_SIZE - 1));
+
+    if (positionInSegment + (long) length > SEGMENT_SIZE) {
+      // Crossing a segment boundary.
+      final ByteBuffer buffer = ByteBuffer.allocate(length);
+      while (buffer.hasRemaining()) {
+        if (mChannel.read(buffer, position + buffer.position()) == -1) {
+          throw new EOFException();
+        }
+      }
+      return buffer.flip();
+    }
+
+    return segment(index, positionInSegment + length).slice(positionInSegment, length);
+  }
+
+  /**
+   * Read an int at the given position.
+   *
+   * @param position the absolute position in the file
+   * @return the int value
+   * @throws IOException if an I/O error occurs
+   */
+  public int readInt(final long position) throws IOException {
+    return read(position, Integer.BYTES).getInt(0);
+  }
+
+  /**
+   * Read a long at the given position.
+   *
+   * @param position the absolute position in the file
+   * @return the long value
+   * @throws IOException if an I/O error occurs
+   */
+  public long readLong(final long position) throws IOException {
+    return read(position, Long.BYTES).getLong(0);
+  }
+
+  private MappedByteBuffer segment(final int index, final int minLength) throws IOException {
+    final MappedByteBuffer[] segments = mSegments;
+
+    if (index < segments.length) {
+      final MappedByteBuffer segment = segments[index];
+      if (segment != null && segment.capacity() >= minLength) {
+        return segment;
+      }
+    }
+
+    return map(index, minLength);
+  }
+
+  private synchronized MappedByteBuffer map(final int index, final int minLength) throws IOException {
+    MappedByteBuffer[] segments = mSegments;
+
+    // Double check, another thread might already have mapped the segment.
+    if (index < segments.length && segments[index] != null && segments[index].capacity() >= minLength) {
+      return segments[index];
+    }
+
+    final long start = (long) index << SEGMENT_SIZE_EXPONENT;
+    final long size = Math.min(SEGMENT_SIZE, mChannel.size() - start);
+
+    if (size < minLength) {
+      throw new EOFException("Position " + (start + minLength) + " is beyond the end of the file.");
+    }
+
+    final MappedByteBuffer segment = mChannel.map(FileChannel.MapMode.READ_ONLY, start, size);
+
+    if (index >= segments.length) {
+      segments = Arrays.copyOf(segments, index + 1);
+    } else {
+      segments = segments.clone();
+    }
+
+    segments[index] = segment;
+    mSegments = segments;
+
+    return segment;
+  }
+
+  /**
+   * Drop all mappings, for instance after the file has been truncated.
+   */
+  public synchronized void reset() {
+    mSegments = new MappedByteBuffer[0];
+  }
+
+  @Override
+  public synchronized void close() throws IOException {
+    reset();
+    mChannel.close();
+  }
+}
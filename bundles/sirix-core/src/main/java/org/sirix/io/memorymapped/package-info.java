@@ -0,0 +1,5 @@
+/**
+ * Memory-mapped file backend. The data file and the revisions offset file are mapped in segments,
+ * which are shared by all reading transactions of a resource.
+ */
+package org.sirix.io.memorymapped;
@@ -145,6 +145,17 @@ public final class RAMStorage implements Storage {
       return this;
     }
 
+    @Override
+    public Writer writeUberPageBeacon(final PageReference pageReference) throws SirixIOException {
+      mUberPageKey.put(-1, pageReference.getKey());
+      return this;
+    }
+
+    @Override
+    public Writer force() {
+      return this;
+    }
+
     @Override
     public void close() throws SirixIOException {}
 
@@ -174,5 +185,10 @@ public final class RAMStorage implements Storage {
     public RevisionRootPage readRevisionRootPage(int revision, PageReadOnlyTrx pageReadTrx) {
       return mResourceRevisionRootsStorage.get(revision);
     }
+
+    @Override
+    public long readRevisionTimestamp(int revision) {
+      return mResourceRevisionRootsStorage.get(revision).getRevisionTimestamp();
+    }
   }
 }
@@ -0,0 +1,15 @@
+package org.sirix.metrics;
+
+/**
+ * The caches of a buffer manager, for which hits, misses and evictions are recorded.
+ */
+public enum CacheKind {
+  /** Caches indirect pages and the other non-record pages. */
+  PAGE,
+
+  /** Caches reconstructed record pages. */
+  RECORD_PAGE,
+
+  /** Caches revision root pages. */
+  REVISION_ROOT_PAGE
+}
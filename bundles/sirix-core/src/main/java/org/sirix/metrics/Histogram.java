@@ -0,0 +1,144 @@
+package org.sirix.metrics;
+
+import static com.google.common.base.Preconditions.checkArgument;
+import java.util.concurrent.atomic.AtomicLongArray;
+import java.util.concurrent.atomic.LongAccumulator;
+import java.util.concurrent.atomic.LongAdder;
+import javax.annotation.Nonnegative;
+
+/**
+ * Lock-free histogram of non-negative values with exponential buckets, that is bucket {@code i}
+ * counts the values {@code v} with {@code 2^(i-1) <= v < 2^i} (bucket {@code 0} counts zeros).
+ * Percentiles are thus approximated by the upper bound of the bucket they fall in.
+ */
+public final class Histogram {
+
+  /** Number of buckets, one for zero and one per bit of a positive long value. */
+  private static final int BUCKETS = Long.SIZE;
+
+  /** The bucket counts. */
+  private final AtomicLongArray mBuckets = new AtomicLongArray(BUCKETS);
+
+  /** The number of recorded values. */
+  private final LongAdder mCount = new LongAdder();
+
+  /** The sum of the recorded values. */
+  private final LongAdder mSum = new LongAdder();
+
+  /** The maximum recorded value. */
+  private final LongAccumulator mMax = new LongAccumulator(Math::max, 0);
+
+  /**
+   * Record a value.
+   *
+   * @param value the value, negative values are recorded as {@code 0}
+   */
+  public void record(final long value) {
+    final long nonNegative = Math.max(value, 0);
+    mBuckets.incrementAndGet(bucket(nonNegative));
+    mCount.increment();
+    mSum.add(nonNegative);
+    mMax.accumulate(nonNegative);
+  }
+
+  private static int bucket(final long value) {
+    return Math.min(Long.SIZE - Long.numberOfLeadingZeros(value), BUCKETS - 1);
+  }
+
+  /**
+   * Get the number of recorded values.
+   *
+   * @return the number of recorded values
+   */
+  public long getCount() {
+    return mCount.sum();
+  }
+
+  /**
+   * Get the sum of the recorded values.
+   *
+   * @return the sum of the recorded values
+   */
+  public long getSum() {
+    return mSum.sum();
+  }
+
+  /**
+   * Get the maximum recorded value.
+   *
+   * @return the maximum recorded value or {@code 0}, if no value has been recorded
+   */
+  public long getMax() {
+    return mMax.get();
+  }
+
+  /**
+   * Get the mean of the recorded values.
+   *
+   * @return the mean or {@code 0}, if no value has been recorded
+   */
+  public double getMean() {
+    final long count = getCount();
+    return count == 0
+        ? 0
+        : (double) getSum() / count;
+  }
+
+  /**
+   * Get an upper bound of the given percentile of the recorded values.
+   *
+   * @param percentile the percentile, between {@code 0} and {@code 100}
+   * @return the upper bound of the bucket, in which the percentile falls, but at most the maximum
+   *         recorded value, or {@code 0}, if no value has been recorded
+   */
+  public long getPercentile(final @Nonnegative double percentile) {
+    checkArgument(percentile >= 0 && percentile <= 100, "percentile must be between 0 and 100!");
+    final long[] buckets = getBuckets();
+    long count = 0;
+    for (final long bucketCount : buckets) {
+      count += bucketCount;
+    }
+    if (count == 0) {
+      return 0;
+    }
+    final long rank = Math.max(1, (long) Math.ceil(percentile / 100 * count));
+    long seen = 0;
+    for (int i = 0; i < buckets.length; i++) {
+      seen += buckets[i];
+      if (seen >= rank) {
+        final long upperBound = i == 0
+            ? 0
+            : i == BUCKETS - 1
+                ? Long.MAX_VALUE
+                : (1L << i) - 1;
+        return Math.min(upperBound, getMax());
+      }
+    }
+    return getMax();
+  }
+
+  /**
+   * Get a snapshot of the bucket counts.
+   *
+   * @return the bucket counts, the index is the bucket number
+   */
+  public long[] getBuckets() {
+    final long[] buckets = new long[BUCKETS];
+    for (int i = 0; i < BUCKETS; i++) {
+      buckets[i] = mBuckets.get(i);
+    }
+    return buckets;
+  }
+
+  /**
+   * Reset the histogram. Values recorded concurrently might be partially lost.
+   */
+  public void reset() {
+    for (int i = 0; i < BUCKETS; i++) {
+      mBuckets.set(i, 0);
+    }
+    mCount.reset();
+    mSum.reset();
+    mMax.reset();
+  }
+}
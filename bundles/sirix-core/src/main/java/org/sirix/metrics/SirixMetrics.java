@@ -0,0 +1,382 @@
+package org.sirix.metrics;
+
+import static com.google.common.base.Preconditions.checkNotNull;
+import java.lang.management.ManagementFactory;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.LongAdder;
+import java.util.function.Function;
+import javax.annotation.Nonnegative;
+import javax.management.JMException;
+import javax.management.ObjectName;
+import org.sirix.utils.LogWrapper;
+import org.slf4j.LoggerFactory;
+
+/**
+ * Registry of the runtime metrics of all databases opened in this JVM: hits, misses and evictions
+ * of the buffer caches, spills of the transaction intent logs, page reads from the storage, the
+ * number of page fragments read to reconstruct record pages and commit durations. The registry is
+ * exposed via JMX as {@value #OBJECT_NAME}, additionally {@link SirixMetricsListener}s can be
+ * registered to get notified about every recorded event.
+ */
+public final class SirixMetrics implements SirixMetricsMXBean {
+
+  /** {@link LogWrapper} reference. */
+  private static final LogWrapper LOGWRAPPER = new LogWrapper(LoggerFactory.getLogger(SirixMetrics.class));
+
+  /** The JMX object name. */
+  public static final String OBJECT_NAME = "org.sirix:type=Metrics";
+
+  /** The singleton instance. */
+  private static final SirixMetrics INSTANCE = new SirixMetrics();
+
+  static {
+    try {
+      ManagementFactory.getPlatformMBeanServer().registerMBean(INSTANCE, new ObjectName(OBJECT_NAME));
+    } catch (final JMException e) {
+      LOGWRAPPER.warn("Metrics couldn't be registered via JMX: {}", e.getMessage());
+    }
+  }
+
+  /** The cache hits, indexed by the ordinal of the {@link CacheKind}. */
+  private final LongAdder[] mCacheHits = newAdders(CacheKind.values().length);
+
+  /** The cache misses, indexed by the ordinal of the {@link CacheKind}. */
+  private final LongAdder[] mCacheMisses = newAdders(CacheKind.values().length);
+
+  /** The cache evictions, indexed by the ordinal of the {@link CacheKind}. */
+  private final LongAdder[] mCacheEvictions = newAdders(CacheKind.values().length);
+
+  /** The number of bytes read from the storage. */
+  private final LongAdder mPageReadBytes = new LongAdder();
+
+  /** The latencies of page reads in nanoseconds. */
+  private final Histogram mPageReadLatency = new Histogram();
+
+  /** The number of page fragments read per reconstructed record page. */
+  private final Histogram mSnapshotFragments = new Histogram();
+
+  /** The number of spilled pages of transaction intent logs. */
+  private final LongAdder mIntentLogSpills = new LongAdder();
+
+  /** The number of reloaded pages of transaction intent logs. */
+  private final LongAdder mIntentLogReloads = new LongAdder();
+
+  /** The commit durations in nanoseconds. */
+  private final Histogram mCommitDuration = new Histogram();
+
+  /** The registered listeners. */
+  private final List<SirixMetricsListener> mListeners = new CopyOnWriteArrayList<>();
+
+  private SirixMetrics() {}
+
+  private static LongAdder[] newAdders(final int size) {
+    final LongAdder[] adders = new LongAdder[size];
+    for (int i = 0; i < size; i++) {
+      adders[i] = new LongAdder();
+    }
+    return adders;
+  }
+
+  /**
+   * Get the metrics registry.
+   *
+   * @return the metrics registry
+   */
+  public static SirixMetrics getInstance() {
+    return INSTANCE;
+  }
+
+  /**
+   * Register a listener.
+   *
+   * @param listener the listener to notify about recorded events
+   * @return this instance
+   */
+  public SirixMetrics addListener(final SirixMetricsListener listener) {
+    mListeners.add(checkNotNull(listener));
+    return this;
+  }
+
+  /**
+   * Unregister a listener.
+   *
+   * @param listener the listener to remove
+   * @return this instance
+   */
+  public SirixMetrics removeListener(final SirixMetricsListener listener) {
+    mListeners.remove(checkNotNull(listener));
+    return this;
+  }
+
+  /**
+   * Record a cache hit.
+   *
+   * @param cacheKind the cache
+   */
+  public void cacheHit(final CacheKind cacheKind) {
+    mCacheHits[cacheKind.ordinal()].increment();
+    for (final SirixMetricsListener listener : mListeners) {
+      listener.onCacheHit(cacheKind);
+    }
+  }
+
+  /**
+   * Record a cache miss.
+   *
+   * @param cacheKind the cache
+   */
+  public void cacheMiss(final CacheKind cacheKind) {
+    mCacheMisses[cacheKind.ordinal()].increment();
+    for (final SirixMetricsListener listener : mListeners) {
+      listener.onCacheMiss(cacheKind);
+    }
+  }
+
+  /**
+   * Record a cache eviction.
+   *
+   * @param cacheKind the cache
+   */
+  public void cacheEviction(final CacheKind cacheKind) {
+    mCacheEvictions[cacheKind.ordinal()].increment();
+    for (final SirixMetricsListener listener : mListeners) {
+      listener.onCacheEviction(cacheKind);
+    }
+  }
+
+  /**
+   * Record a page read from the storage.
+   *
+   * @param bytes the number of bytes read
+   * @param nanos the duration of the read, including the deserialization of the page
+   */
+  public void pageRead(final @Nonnegative int bytes, final @Nonnegative long nanos) {
+    mPageReadBytes.add(bytes);
+    mPageReadLatency.record(nanos);
+    for (final SirixMetricsListener listener : mListeners) {
+      listener.onPageRead(bytes, nanos);
+    }
+  }
+
+  /**
+   * Record the reconstruction of a record page.
+   *
+   * @param fragments the number of page fragments read from the storage
+   */
+  public void snapshotPages(final @Nonnegative int fragments) {
+    mSnapshotFragments.record(fragments);
+    for (final SirixMetricsListener listener : mListeners) {
+      listener.onSnapshotPages(fragments);
+    }
+  }
+
+  /**
+   * Record a page of a transaction intent log spilled to its persistent file.
+   */
+  public void intentLogSpill() {
+    mIntentLogSpills.increment();
+    for (final SirixMetricsListener listener : mListeners) {
+      listener.onIntentLogSpill();
+    }
+  }
+
+  /**
+   * Record a page of a transaction intent log reloaded from its persistent file.
+   */
+  public void intentLogReload() {
+    mIntentLogReloads.increment();
+    for (final SirixMetricsListener listener : mListeners) {
+      listener.onIntentLogReload();
+    }
+  }
+
+  /**
+   * Record a commit.
+   *
+   * @param nanos the duration of the commit
+   */
+  public void commit(final @Nonnegative long nanos) {
+    mCommitDuration.record(nanos);
+    for (final SirixMetricsListener listener : mListeners) {
+      listener.onCommit(nanos);
+    }
+  }
+
+  /**
+   * Get the number of cache hits.
+   *
+   * @param cacheKind the cache
+   * @return the number of cache hits
+   */
+  public long getCacheHits(final CacheKind cacheKind) {
+    return mCacheHits[cacheKind.ordinal()].sum();
+  }
+
+  /**
+   * Get the number of cache misses.
+   *
+   * @param cacheKind the cache
+   * @return the number of cache misses
+   */
+  public long getCacheMisses(final CacheKind cacheKind) {
+    return mCacheMisses[cacheKind.ordinal()].sum();
+  }
+
+  /**
+   * Get the number of evicted entries.
+   *
+   * @param cacheKind the cache
+   * @return the number of evicted entries
+   */
+  public long getCacheEvictions(final CacheKind cacheKind) {
+    return mCacheEvictions[cacheKind.ordinal()].sum();
+  }
+
+  /**
+   * Get the hit ratio of a cache.
+   *
+   * @param cacheKind the cache
+   * @return the hit ratio between {@code 0} and {@code 1}, {@code 0} if the cache hasn't been used
+   */
+  public double getCacheHitRatio(final CacheKind cacheKind) {
+    final long hits = getCacheHits(cacheKind);
+    final long lookups = hits + getCacheMisses(cacheKind);
+    return lookups == 0
+        ? 0
+        : (double) hits / lookups;
+  }
+
+  /**
+   * Get the latencies of page reads.
+   *
+   * @return the latencies in nanoseconds
+   */
+  public Histogram getPageReadLatency() {
+    return mPageReadLatency;
+  }
+
+  /**
+   * Get the number of page fragments read per reconstructed record page.
+   *
+   * @return the number of page fragments
+   */
+  public Histogram getSnapshotFragments() {
+    return mSnapshotFragments;
+  }
+
+  /**
+   * Get the commit durations.
+   *
+   * @return the durations in nanoseconds
+   */
+  public Histogram getCommitDuration() {
+    return mCommitDuration;
+  }
+
+  private static <V> Map<String, V> perCache(final Function<CacheKind, V> metric) {
+    final Map<String, V> values = new LinkedHashMap<>();
+    for (final CacheKind cacheKind : CacheKind.values()) {
+      values.put(cacheKind.name(), metric.apply(cacheKind));
+    }
+    return values;
+  }
+
+  @Override
+  public Map<String, Long> getCacheHits() {
+    return perCache(this::getCacheHits);
+  }
+
+  @Override
+  public Map<String, Long> getCacheMisses() {
+    return perCache(this::getCacheMisses);
+  }
+
+  @Override
+  public Map<String, Long> getCacheEvictions() {
+    return perCache(this::getCacheEvictions);
+  }
+
+  @Override
+  public Map<String, Double> getCacheHitRatios() {
+    return perCache(this::getCacheHitRatio);
+  }
+
+  @Override
+  public long getPageReads() {
+    return mPageReadLatency.getCount();
+  }
+
+  @Override
+  public long getPageReadBytes() {
+    return mPageReadBytes.sum();
+  }
+
+  @Override
+  public double getPageReadMeanLatency() {
+    return mPageReadLatency.getMean() / TimeUnit.MICROSECONDS.toNanos(1);
+  }
+
+  @Override
+  public long getPageReadLatency99thPercentile() {
+    return TimeUnit.NANOSECONDS.toMicros(mPageReadLatency.getPercentile(99));
+  }
+
+  @Override
+  public long getSnapshotPagesReads() {
+    return mSnapshotFragments.getCount();
+  }
+
+  @Override
+  public double getMeanFragmentsPerSnapshot() {
+    return mSnapshotFragments.getMean();
+  }
+
+  @Override
+  public long getMaxFragmentsPerSnapshot() {
+    return mSnapshotFragments.getMax();
+  }
+
+  @Override
+  public long getIntentLogSpills() {
+    return mIntentLogSpills.sum();
+  }
+
+  @Override
+  public long getIntentLogReloads() {
+    return mIntentLogReloads.sum();
+  }
+
+  @Override
+  public long getCommits() {
+    return mCommitDuration.getCount();
+  }
+
+  @Override
+  public double getCommitMeanDuration() {
+    return mCommitDuration.getMean() / TimeUnit.MILLISECONDS.toNanos(1);
+  }
+
+  @Override
+  public double getCommitMaxDuration() {
+    return (double) mCommitDuration.getMax() / TimeUnit.MILLISECONDS.toNanos(1);
+  }
+
+  @Override
+  public void reset() {
+    for (final CacheKind cacheKind : CacheKind.values()) {
+      mCacheHits[cacheKind.ordinal()].reset();
+      mCacheMisses[cacheKind.ordinal()].reset();
+      mCacheEvictions[cacheKind.ordinal()].reset();
+    }
+    mPageReadBytes.reset();
+    mPageReadLatency.reset();
+    mSnapshotFragments.reset();
+    mIntentLogSpills.reset();
+    mIntentLogReloads.reset();
+    mCommitDuration.reset();
+  }
+}
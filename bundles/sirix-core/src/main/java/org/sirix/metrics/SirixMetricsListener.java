@@ -0,0 +1,63 @@
+package org.sirix.metrics;
+
+import javax.annotation.Nonnegative;
+
+/**
+ * Listener, which is notified about every event recorded by {@link SirixMetrics}, for instance to
+ * forward the events to an external metrics system. Callbacks are invoked synchronously on the
+ * thread, which caused the event, thus implementations must be thread safe and cheap.
+ */
+public interface SirixMetricsListener {
+  /**
+   * Called when a lookup in a cache found an entry.
+   *
+   * @param cacheKind the cache
+   */
+  default void onCacheHit(CacheKind cacheKind) {}
+
+  /**
+   * Called when a lookup in a cache didn't find an entry.
+   *
+   * @param cacheKind the cache
+   */
+  default void onCacheMiss(CacheKind cacheKind) {}
+
+  /**
+   * Called when an entry has been evicted from a cache due to the size limit or expiration.
+   *
+   * @param cacheKind the cache
+   */
+  default void onCacheEviction(CacheKind cacheKind) {}
+
+  /**
+   * Called when a page has been read from the storage.
+   *
+   * @param bytes the number of bytes read
+   * @param nanos the duration of the read, including the deserialization of the page
+   */
+  default void onPageRead(@Nonnegative int bytes, @Nonnegative long nanos) {}
+
+  /**
+   * Called when the page fragments of a record page have been read from the storage.
+   *
+   * @param fragments the number of page fragments read
+   */
+  default void onSnapshotPages(@Nonnegative int fragments) {}
+
+  /**
+   * Called when a page of the transaction intent log has been spilled to its persistent file.
+   */
+  default void onIntentLogSpill() {}
+
+  /**
+   * Called when a page of the transaction intent log has been reloaded from its persistent file.
+   */
+  default void onIntentLogReload() {}
+
+  /**
+   * Called when a revision has been committed.
+   *
+   * @param nanos the duration of the commit
+   */
+  default void onCommit(@Nonnegative long nanos) {}
+}
@@ -0,0 +1,127 @@
+package org.sirix.metrics;
+
+import java.util.Map;
+
+/**
+ * Management interface of {@link SirixMetrics}, registered as {@value SirixMetrics#OBJECT_NAME}.
+ * Maps are keyed by the name of the {@link CacheKind}, latencies are given in microseconds and
+ * durations in milliseconds.
+ */
+public interface SirixMetricsMXBean {
+  /**
+   * Get the number of cache hits per cache.
+   *
+   * @return the number of cache hits
+   */
+  Map<String, Long> getCacheHits();
+
+  /**
+   * Get the number of cache misses per cache.
+   *
+   * @return the number of cache misses
+   */
+  Map<String, Long> getCacheMisses();
+
+  /**
+   * Get the number of evicted entries per cache.
+   *
+   * @return the number of evicted entries
+   */
+  Map<String, Long> getCacheEvictions();
+
+  /**
+   * Get the hit ratio per cache.
+   *
+   * @return the hit ratio between {@code 0} and {@code 1}
+   */
+  Map<String, Double> getCacheHitRatios();
+
+  /**
+   * Get the number of pages read from the storage.
+   *
+   * @return the number of pages read
+   */
+  long getPageReads();
+
+  /**
+   * Get the number of bytes read from the storage.
+   *
+   * @return the number of bytes read
+   */
+  long getPageReadBytes();
+
+  /**
+   * Get the mean latency of page reads.
+   *
+   * @return the mean latency in microseconds
+   */
+  double getPageReadMeanLatency();
+
+  /**
+   * Get an upper bound of the 99th percentile of the latency of page reads.
+   *
+   * @return the 99th percentile in microseconds
+   */
+  long getPageReadLatency99thPercentile();
+
+  /**
+   * Get the number of record pages reconstructed from page fragments read from the storage.
+   *
+   * @return the number of reconstructed record pages
+   */
+  long getSnapshotPagesReads();
+
+  /**
+   * Get the mean number of page fragments read to reconstruct a record page.
+   *
+   * @return the mean number of page fragments
+   */
+  double getMeanFragmentsPerSnapshot();
+
+  /**
+   * Get the maximum number of page fragments read to reconstruct a record page.
+   *
+   * @return the maximum number of page fragments
+   */
+  long getMaxFragmentsPerSnapshot();
+
+  /**
+   * Get the number of pages of transaction intent logs spilled to their persistent files.
+   *
+   * @return the number of spilled pages
+   */
+  long getIntentLogSpills();
+
+  /**
+   * Get the number of pages of transaction intent logs reloaded from their persistent files.
+   *
+   * @return the number of reloaded pages
+   */
+  long getIntentLogReloads();
+
+  /**
+   * Get the number of commits.
+   *
+   * @return the number of commits
+   */
+  long getCommits();
+
+  /**
+   * Get the mean duration of commits.
+   *
+   * @return the mean duration in milliseconds
+   */
+  double getCommitMeanDuration();
+
+  /**
+   * Get the maximum duration of commits.
+   *
+   * @return the maximum duration in milliseconds
+   */
+  double getCommitMaxDuration();
+
+  /**
+   * Reset all metrics.
+   */
+  void reset();
+}
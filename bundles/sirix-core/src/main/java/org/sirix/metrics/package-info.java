@@ -0,0 +1,6 @@
+/**
+ * Runtime metrics of the buffer caches, the transaction intent log, the page readers and commits.
+ * The metrics are collected in the {@link org.sirix.metrics.SirixMetrics} registry, which is
+ * exposed via JMX and notifies registered {@link org.sirix.metrics.SirixMetricsListener}s.
+ */
+package org.sirix.metrics;
@@ -1,6 +1,5 @@
 package org.sirix.node;
 
-import java.math.BigInteger;
 import javax.annotation.Nonnull;
 import javax.annotation.Nullable;
 import org.sirix.node.delegates.NodeDelegate;
@@ -32,7 +31,7 @@ public abstract class AbstractForwardingNode extends ForwardingObject implements
   }
 
   @Override
-  public BigInteger computeHash() {
+  public NodeHash computeHash() {
     return delegate().computeHash();
   }
 
@@ -62,15 +61,40 @@ public abstract class AbstractForwardingNode extends ForwardingObject implements
   }
 
   @Override
-  public BigInteger getHash() {
+  public NodeHash getHash() {
     return delegate().getHash();
   }
 
   @Override
-  public void setHash(final BigInteger hash) {
+  public void setHash(final NodeHash hash) {
     delegate().setHash(hash);
   }
 
+  @Override
+  public long getHashHigh() {
+    return delegate().getHashHigh();
+  }
+
+  @Override
+  public long getHashLow() {
+    return delegate().getHashLow();
+  }
+
+  @Override
+  public void setHash(final long high, final long low) {
+    delegate().setHash(high, low);
+  }
+
+  @Override
+  public void addHash(final long high, final long low) {
+    delegate().addHash(high, low);
+  }
+
+  @Override
+  public void subtractHash(final long high, final long low) {
+    delegate().subtractHash(high, low);
+  }
+
   @Override
   public long getRevision() {
     return delegate().getRevision();
@@ -0,0 +1,360 @@
+package org.sirix.node;
+
+import static com.google.common.base.Preconditions.checkArgument;
+import static com.google.common.base.Preconditions.checkNotNull;
+import java.math.BigInteger;
+import com.google.common.hash.HashCode;
+import com.google.common.primitives.Longs;
+
+/**
+ * <h1>NodeHash</h1>
+ *
+ * <p>
+ * An immutable 128 bit node hash, stored as two longs. All arithmetic is unsigned and modulo
+ * 2^128 - 1, the modulus of the {@link BigInteger} hashes of storage format version 0, such that
+ * rolling hashes can be updated without allocating {@code BigInteger}s and yield the same hashes
+ * as before. As 2^128 is congruent to 1, the carries out of the upper 64 bits are added to the lower
+ * 64 bits (end-around carries).
+ * </p>
+ *
+ * <strong>This class is not part of the public API and might change.</strong>
+ */
+public final class NodeHash {
+
+  /** The hash of a node, for which no hash has been computed. */
+  public static final NodeHash ZERO = new NodeHash(0L, 0L);
+
+  /** The neutral element of the multiplication. */
+  public static final NodeHash ONE = new NodeHash(0L, 1L);
+
+  /** The upper 64 bits. */
+  private final long mHigh;
+
+  /** The lower 64 bits. */
+  private final long mLow;
+
+  /** The modulus of the {@link BigInteger} hashes of storage format version 0. */
+  private static final BigInteger MODULUS = BigInteger.ONE.shiftLeft(128).subtract(BigInteger.ONE);
+
+  /**
+   * Constructor.
+   *
+   * @param high the upper 64 bits
+   * @param low the lower 64 bits, if all 128 bits are set the hash is {@link #ZERO}, which is
+   *        congruent
+   */
+  public NodeHash(final long high, final long low) {
+    if (high == -1L && low == -1L) {
+      mHigh = 0L;
+      mLow = 0L;
+    } else {
+      mHigh = high;
+      mLow = low;
+    }
+  }
+
+  /**
+   * Get the node hash of a hash code, that is the unsigned big-endian number of its bytes modulo
+   * 2^128 - 1.
+   *
+   * @param hashCode the hash code, computed by the hash function of the resource
+   * @return the node hash
+   */
+  public static NodeHash fromHashCode(final HashCode hashCode) {
+    final byte[] bytes = hashCode.asBytes();
+
+    // 2^128 is congruent to 1, thus the 128 bit blocks, aligned to the end, are summed up.
+    NodeHash hash = ZERO;
+    for (int end = bytes.length; end > 0; end -= 2 * Long.BYTES) {
+      final int middle = Math.max(0, end - Long.BYTES);
+      hash = hash.add(new NodeHash(toLong(bytes, Math.max(0, middle - Long.BYTES), middle), toLong(bytes, middle, end)));
+    }
+    return hash;
+  }
+
+  /**
+   * Get the unsigned big-endian number of at most 8 bytes.
+   */
+  private static long toLong(final byte[] bytes, final int from, final int to) {
+    long value = 0L;
+    for (int index = from; index < to; index++) {
+      value = (value << Byte.SIZE) | (bytes[index] & 0xFF);
+    }
+    return value;
+  }
+
+  /**
+   * Get the node hash of a hash, which has been stored as a {@link BigInteger} in storage format
+   * version 0.
+   *
+   * @param hash the hash
+   * @return the node hash
+   */
+  public static NodeHash fromBigInteger(final BigInteger hash) {
+    final BigInteger value = hash.mod(MODULUS);
+    return new NodeHash(value.shiftRight(64).longValue(), value.longValue());
+  }
+
+  /**
+   * Get the hash as an unsigned {@link BigInteger}, as the hashes of storage format version 0.
+   *
+   * @return the hash
+   */
+  public BigInteger toBigInteger() {
+    return new BigInteger(1, Longs.toByteArray(mHigh)).shiftLeft(64).or(new BigInteger(1, Longs.toByteArray(mLow)));
+  }
+
+  /**
+   * Parse the hexadecimal representation returned by {@link #toString()}.
+   *
+   * @param hash the hexadecimal representation of at most 32 digits
+   * @return the node hash
+   * @throws IllegalArgumentException if the representation isn't a hexadecimal number of at most 32
+   *         digits
+   */
+  public static NodeHash fromString(final String hash) {
+    checkNotNull(hash);
+    checkArgument(!hash.isEmpty() && hash.length() <= 32, "Not a 128 bit hash: %s", hash);
+    final int split = Math.max(0, hash.length() - 16);
+    try {
+      return new NodeHash(split == 0
+          ? 0L
+          : Long.parseUnsignedLong(hash.substring(0, split), 16), Long.parseUnsignedLong(hash.substring(split), 16));
+    } catch (final NumberFormatException e) {
+      throw new IllegalArgumentException("Not a 128 bit hash: " + hash, e);
+    }
+  }
+
+  /**
+   * Get the upper 64 bits.
+   *
+   * @return the upper 64 bits
+   */
+  public long getHigh() {
+    return mHigh;
+  }
+
+  /**
+   * Get the lower 64 bits.
+   *
+   * @return the lower 64 bits
+   */
+  public long getLow() {
+    return mLow;
+  }
+
+  /**
+   * Add another hash.
+   *
+   * @param other the hash to add
+   * @return the sum modulo 2^128 - 1
+   */
+  public NodeHash add(final NodeHash other) {
+    return new NodeHash(addHigh(mHigh, mLow, other.mHigh, other.mLow), addLow(mHigh, mLow, other.mHigh, other.mLow));
+  }
+
+  /**
+   * Get the upper 64 bits of the sum of two hashes, which are given by their upper and lower 64 bits,
+   * such that hashes stored in place are added without allocating node hashes.
+   *
+   * @param firstHigh the upper 64 bits of the first hash
+   * @param firstLow the lower 64 bits of the first hash
+   * @param secondHigh the upper 64 bits of the second hash
+   * @param secondLow the lower 64 bits of the second hash
+   * @return the upper 64 bits of the sum modulo 2^128 - 1
+   */
+  public static long addHigh(final long firstHigh, final long firstLow, final long secondHigh, final long secondLow) {
+    return add(firstHigh, firstLow, secondHigh, secondLow, true);
+  }
+
+  /**
+   * Get the lower 64 bits of the sum of two hashes, which are given by their upper and lower 64 bits.
+   *
+   * @param firstHigh the upper 64 bits of the first hash
+   * @param firstLow the lower 64 bits of the first hash
+   * @param secondHigh the upper 64 bits of the second hash
+   * @param secondLow the lower 64 bits of the second hash
+   * @return the lower 64 bits of the sum modulo 2^128 - 1
+   */
+  public static long addLow(final long firstHigh, final long firstLow, final long secondHigh, final long secondLow) {
+    return add(firstHigh, firstLow, secondHigh, secondLow, false);
+  }
+
+  /**
+   * Add two 128 bit numbers modulo 2^128 - 1.
+   */
+  private static long add(final long firstHigh, final long firstLow, final long secondHigh, final long secondLow,
+      final boolean upper) {
+    long low = firstLow + secondLow;
+    final long lowCarry = Long.compareUnsigned(low, firstLow) < 0
+        ? 1L
+        : 0L;
+    long high = firstHigh + secondHigh + lowCarry;
+    final boolean highCarry = Long.compareUnsigned(high, firstHigh) < 0 || (lowCarry == 1L && high == firstHigh);
+    if (highCarry) {
+      // The end-around carry, which doesn't carry out again as the sum is less than 2 * 2^128 - 1.
+      low++;
+      if (low == 0L) {
+        high++;
+      }
+    }
+
+    // All 128 bits set is congruent to zero.
+    if (high == -1L && low == -1L) {
+      return 0L;
+    }
+    return upper
+        ? high
+        : low;
+  }
+
+  /**
+   * Subtract another hash, that is add the ones' complement of the other hash, which is congruent to
+   * its negation.
+   *
+   * @param other the hash to subtract
+   * @return the difference modulo 2^128 - 1
+   */
+  public NodeHash subtract(final NodeHash other) {
+    return new NodeHash(addHigh(mHigh, mLow, ~other.mHigh, ~other.mLow), addLow(mHigh, mLow, ~other.mHigh, ~other.mLow));
+  }
+
+  /**
+   * Multiply with an unsigned 64 bit factor.
+   *
+   * @param factor the factor
+   * @return the product modulo 2^128 - 1
+   */
+  public NodeHash multiply(final long factor) {
+    return new NodeHash(multiplyHigh(mHigh, mLow, factor), multiplyLow(mHigh, mLow, factor));
+  }
+
+  /**
+   * Get the upper 64 bits of the product of a hash, which is given by its upper and lower 64 bits, and
+   * an unsigned 64 bit factor, such that hashes stored in place are multiplied without allocating node
+   * hashes.
+   *
+   * @param high the upper 64 bits of the hash
+   * @param low the lower 64 bits of the hash
+   * @param factor the factor
+   * @return the upper 64 bits of the product modulo 2^128 - 1
+   */
+  public static long multiplyHigh(final long high, final long low, final long factor) {
+    return multiply(high, low, factor, true);
+  }
+
+  /**
+   * Get the lower 64 bits of the product of a hash, which is given by its upper and lower 64 bits, and
+   * an unsigned 64 bit factor.
+   *
+   * @param high the upper 64 bits of the hash
+   * @param low the lower 64 bits of the hash
+   * @param factor the factor
+   * @return the lower 64 bits of the product modulo 2^128 - 1
+   */
+  public static long multiplyLow(final long high, final long low, final long factor) {
+    return multiply(high, low, factor, false);
+  }
+
+  /**
+   * Multiply a 128 bit number with an unsigned 64 bit factor modulo 2^128 - 1.
+   */
+  private static long multiply(final long high, final long low, final long factor, final boolean upper) {
+    // The 192 bit product, whose upper 64 bits are multiplied by 2^128, which is congruent to 1.
+    final long productLow = low * factor;
+    final long middle = high * factor;
+    final long productHigh = middle + unsignedMultiplyHigh(low, factor);
+    final long top = unsignedMultiplyHigh(high, factor) + (Long.compareUnsigned(productHigh, middle) < 0
+        ? 1L
+        : 0L);
+    return add(productHigh, productLow, 0L, top, upper);
+  }
+
+  /**
+   * Multiply with another hash.
+   *
+   * @param other the factor
+   * @return the product modulo 2^128 - 1
+   */
+  public NodeHash multiply(final NodeHash other) {
+    // The 256 bit product of the partial products of the 64 bit halves. The upper 128 bits are
+    // multiplied by 2^128, which is congruent to 1.
+    final long lowLow = mLow * other.mLow;
+    final long lowLowHigh = unsignedMultiplyHigh(mLow, other.mLow);
+    final long lowHigh = mLow * other.mHigh;
+    final long lowHighHigh = unsignedMultiplyHigh(mLow, other.mHigh);
+    final long highLow = mHigh * other.mLow;
+    final long highLowHigh = unsignedMultiplyHigh(mHigh, other.mLow);
+    final long highHigh = mHigh * other.mHigh;
+    final long highHighHigh = unsignedMultiplyHigh(mHigh, other.mHigh);
+
+    // Bits 64 to 127.
+    final long second = lowLowHigh + lowHigh;
+    long carry = Long.compareUnsigned(second, lowLowHigh) < 0
+        ? 1L
+        : 0L;
+    final long secondSum = second + highLow;
+    carry += Long.compareUnsigned(secondSum, second) < 0
+        ? 1L
+        : 0L;
+
+    // Bits 128 to 191.
+    final long third = lowHighHigh + highLowHigh;
+    long thirdCarry = Long.compareUnsigned(third, lowHighHigh) < 0
+        ? 1L
+        : 0L;
+    final long thirdWithHigh = third + highHigh;
+    thirdCarry += Long.compareUnsigned(thirdWithHigh, third) < 0
+        ? 1L
+        : 0L;
+    final long thirdSum = thirdWithHigh + carry;
+    thirdCarry += Long.compareUnsigned(thirdSum, thirdWithHigh) < 0
+        ? 1L
+        : 0L;
+
+    // Bits 192 to 255, which don't overflow as the product is less than 2^256.
+    final long fourth = highHighHigh + thirdCarry;
+
+    return new NodeHash(addHigh(secondSum, lowLow, fourth, thirdSum), addLow(secondSum, lowLow, fourth, thirdSum));
+  }
+
+  /**
+   * Get the upper 64 bits of the unsigned 128 bit product of two unsigned longs.
+   */
+  private static long unsignedMultiplyHigh(final long first, final long second) {
+    return Math.multiplyHigh(first, second) + ((first >> 63) & second) + ((second >> 63) & first);
+  }
+
+  /**
+   * Combine this hash with the hash of a delegate or a name, the same way {@link Object#hashCode()}
+   * implementations combine the hashes of their fields.
+   *
+   * @param other the hash to combine
+   * @return {@code 31 * this + other} modulo 2^128 - 1
+   */
+  public NodeHash combine(final NodeHash other) {
+    return multiply(31).add(other);
+  }
+
+  @Override
+  public int hashCode() {
+    return Long.hashCode(mHigh) * 31 + Long.hashCode(mLow);
+  }
+
+  @Override
+  public boolean equals(final Object obj) {
+    if (!(obj instanceof NodeHash))
+      return false;
+
+    final NodeHash other = (NodeHash) obj;
+    return mHigh == other.mHigh && mLow == other.mLow;
+  }
+
+  /**
+   * Get the hexadecimal representation of 32 digits, which is for instance used as an ETag.
+   */
+  @Override
+  public String toString() {
+    return String.format("%016x%016x", mHigh, mLow);
+  }
+}
@@ -22,8 +22,10 @@ package org.sirix.node;
 
 import static org.sirix.node.Utils.getVarLong;
 import static org.sirix.node.Utils.putVarLong;
+import java.io.ByteArrayOutputStream;
 import java.io.DataInput;
 import java.io.DataOutput;
+import java.io.DataOutputStream;
 import java.io.IOException;
 import java.math.BigDecimal;
 import java.math.BigInteger;
@@ -31,6 +33,7 @@ import java.nio.ByteBuffer;
 import java.util.ArrayList;
 import java.util.Arrays;
 import java.util.Collections;
+import java.util.EnumSet;
 import java.util.HashMap;
 import java.util.HashSet;
 import java.util.List;
@@ -54,6 +57,7 @@ import org.sirix.node.delegates.NameNodeDelegate;
 import org.sirix.node.delegates.NodeDelegate;
 import org.sirix.node.delegates.StructNodeDelegate;
 import org.sirix.node.delegates.ValueNodeDelegate;
+import org.sirix.node.interfaces.Node;
 import org.sirix.node.interfaces.NodePersistenter;
 import org.sirix.node.interfaces.Record;
 import org.sirix.node.json.ArrayNode;
@@ -93,7 +97,7 @@ public enum NodeKind implements NodePersistenter {
     @Override
     public Record deserialize(final DataInput source, final @Nonnegative long recordID, final SirixDeweyID deweyID,
         final PageReadOnlyTrx pageReadTrx) throws IOException {
-      final BigInteger hashCode = getHash(source, pageReadTrx);
+      final NodeHash hashCode = getHash(source, pageReadTrx);
 
       // Node delegate.
       final NodeDelegate nodeDel = deserializeNodeDelegate(source, recordID, deweyID, pageReadTrx);
@@ -140,7 +144,7 @@ public enum NodeKind implements NodePersistenter {
         throws IOException {
       final ElementNode node = (ElementNode) record;
       if (pageReadTrx.getResourceManager().getResourceConfig().hashType != HashType.NONE)
-        writeHash(sink, node.getHash());
+        writeHash(sink, node);
       serializeDelegate(node.getNodeDelegate(), sink);
       serializeStructDelegate(node.getStructNodeDelegate(), sink);
       serializeNameDelegate(node.getNameNodeDelegate(), sink);
@@ -162,7 +166,7 @@ public enum NodeKind implements NodePersistenter {
     @Override
     public Record deserialize(final DataInput source, final @Nonnegative long recordID, final SirixDeweyID deweyID,
         final PageReadOnlyTrx pageReadTrx) throws IOException {
-      final BigInteger hashCode = getHash(source, pageReadTrx);
+      final NodeHash hashCode = getHash(source, pageReadTrx);
 
       // Node delegate.
       final NodeDelegate nodeDel = deserializeNodeDelegate(source, recordID, deweyID, pageReadTrx);
@@ -199,7 +203,7 @@ public enum NodeKind implements NodePersistenter {
         throws IOException {
       final AttributeNode node = (AttributeNode) record;
       if (pageReadTrx.getResourceManager().getResourceConfig().hashType != HashType.NONE)
-        writeHash(sink, node.getHash());
+        writeHash(sink, node);
       serializeDelegate(node.getNodeDelegate(), sink);
       serializeNameDelegate(node.getNameNodeDelegate(), sink);
       serializeValDelegate(node.getValNodeDelegate(), sink);
@@ -211,7 +215,7 @@ public enum NodeKind implements NodePersistenter {
     @Override
     public Record deserialize(final DataInput source, final @Nonnegative long recordID, final SirixDeweyID deweyID,
         final PageReadOnlyTrx pageReadTrx) throws IOException {
-      final BigInteger hashCode = getHash(source, pageReadTrx);
+      final NodeHash hashCode = getHash(source, pageReadTrx);
 
       // Node delegate.
       final NodeDelegate nodeDel = deserializeNodeDelegate(source, recordID, deweyID, pageReadTrx);
@@ -239,7 +243,7 @@ public enum NodeKind implements NodePersistenter {
         throws IOException {
       final NamespaceNode node = (NamespaceNode) record;
       if (pageReadTrx.getResourceManager().getResourceConfig().hashType != HashType.NONE)
-        writeHash(sink, node.getHash());
+        writeHash(sink, node);
       serializeDelegate(node.getNodeDelegate(), sink);
       serializeNameDelegate(node.getNameNodeDelegate(), sink);
     }
@@ -250,7 +254,7 @@ public enum NodeKind implements NodePersistenter {
     @Override
     public Record deserialize(final DataInput source, final @Nonnegative long recordID, final SirixDeweyID deweyID,
         final PageReadOnlyTrx pageReadTrx) throws IOException {
-      final BigInteger hashCode = getHash(source, pageReadTrx);
+      final NodeHash hashCode = getHash(source, pageReadTrx);
 
       // Node delegate.
       final NodeDelegate nodeDel = deserializeNodeDelegate(source, recordID, deweyID, pageReadTrx);
@@ -277,7 +281,7 @@ public enum NodeKind implements NodePersistenter {
         throws IOException {
       final TextNode node = (TextNode) record;
       if (pageReadTrx.getResourceManager().getResourceConfig().hashType != HashType.NONE)
-        writeHash(sink, node.getHash());
+        writeHash(sink, node);
       serializeDelegate(node.getNodeDelegate(), sink);
       serializeValDelegate(node.getValNodeDelegate(), sink);
       final StructNodeDelegate del = node.getStructNodeDelegate();
@@ -292,7 +296,7 @@ public enum NodeKind implements NodePersistenter {
     @Override
     public Record deserialize(final DataInput source, final @Nonnegative long recordID, final SirixDeweyID deweyID,
         final PageReadOnlyTrx pageReadTrx) throws IOException {
-      final BigInteger hashCode = getHash(source, pageReadTrx);
+      final NodeHash hashCode = getHash(source, pageReadTrx);
 
       // Node delegate.
       final NodeDelegate nodeDel = deserializeNodeDelegate(source, recordID, deweyID, pageReadTrx);
@@ -320,7 +324,7 @@ public enum NodeKind implements NodePersistenter {
         throws IOException {
       final PINode node = (PINode) record;
       if (pageReadTrx.getResourceManager().getResourceConfig().hashType != HashType.NONE)
-        writeHash(sink, node.getHash());
+        writeHash(sink, node);
       serializeDelegate(node.getNodeDelegate(), sink);
       serializeStructDelegate(node.getStructNodeDelegate(), sink);
       serializeNameDelegate(node.getNameNodeDelegate(), sink);
@@ -333,7 +337,7 @@ public enum NodeKind implements NodePersistenter {
     @Override
     public Record deserialize(final DataInput source, final @Nonnegative long recordID, final SirixDeweyID deweyID,
         final PageReadOnlyTrx pageReadTrx) throws IOException {
-      final BigInteger hashCode = getHash(source, pageReadTrx);
+      final NodeHash hashCode = getHash(source, pageReadTrx);
 
       // Node delegate.
       final NodeDelegate nodeDel = deserializeNodeDelegate(source, recordID, deweyID, pageReadTrx);
@@ -360,7 +364,7 @@ public enum NodeKind implements NodePersistenter {
         throws IOException {
       final CommentNode node = (CommentNode) record;
       if (pageReadTrx.getResourceManager().getResourceConfig().hashType != HashType.NONE)
-        writeHash(sink, node.getHash());
+        writeHash(sink, node);
       serializeDelegate(node.getNodeDelegate(), sink);
       serializeValDelegate(node.getValNodeDelegate(), sink);
       final StructNodeDelegate del = node.getStructNodeDelegate();
@@ -379,7 +383,8 @@ public enum NodeKind implements NodePersistenter {
       final HashFunction hashFunction = pageReadTrx.getResourceManager().getResourceConfig().nodeHashFunction;
 
       final NodeDelegate nodeDel = new NodeDelegate(Fixed.DOCUMENT_NODE_KEY.getStandardProperty(),
-          Fixed.NULL_NODE_KEY.getStandardProperty(), hashFunction, null, getVarLong(source), SirixDeweyID.newRootID());
+          Fixed.NULL_NODE_KEY.getStandardProperty(), hashFunction, NodeHash.ZERO, getVarLong(source),
+          SirixDeweyID.newRootID());
       final StructNodeDelegate structDel =
           new StructNodeDelegate(nodeDel, getVarLong(source), Fixed.NULL_NODE_KEY.getStandardProperty(),
               Fixed.NULL_NODE_KEY.getStandardProperty(), source.readByte() == ((byte) 0)
@@ -443,7 +448,7 @@ public enum NodeKind implements NodePersistenter {
     public Record deserialize(final DataInput source, final @Nonnegative long recordID, final SirixDeweyID deweyID,
         final PageReadOnlyTrx pageReadTrx) {
       final HashFunction hashFunction = pageReadTrx.getResourceManager().getResourceConfig().nodeHashFunction;
-      final NodeDelegate delegate = new NodeDelegate(recordID, 0, hashFunction, null, 0, null);
+      final NodeDelegate delegate = new NodeDelegate(recordID, 0, hashFunction, NodeHash.ZERO, 0, null);
       return new DeletedNode(delegate);
     }
 
@@ -832,7 +837,7 @@ public enum NodeKind implements NodePersistenter {
     @Override
     public Record deserialize(final DataInput source, final @Nonnegative long recordID, final SirixDeweyID deweyID,
         final PageReadOnlyTrx pageReadTrx) throws IOException {
-      final BigInteger hashCode = getHash(source, pageReadTrx);
+      final NodeHash hashCode = getHash(source, pageReadTrx);
 
       // Node delegate.
       final NodeDelegate nodeDel = deserializeNodeDelegate(source, recordID, deweyID, pageReadTrx);
@@ -849,7 +854,7 @@ public enum NodeKind implements NodePersistenter {
         throws IOException {
       final ObjectNode node = (ObjectNode) record;
       if (pageReadTrx.getResourceManager().getResourceConfig().hashType != HashType.NONE)
-        writeHash(sink, node.getHash());
+        writeHash(sink, node);
       serializeDelegate(node.getNodeDelegate(), sink);
       serializeStructDelegate(node.getStructNodeDelegate(), sink);
     }
@@ -872,7 +877,7 @@ public enum NodeKind implements NodePersistenter {
     @Override
     public Record deserialize(final DataInput source, final @Nonnegative long recordID, final SirixDeweyID deweyID,
         final PageReadOnlyTrx pageReadTrx) throws IOException {
-      final BigInteger hashCode = getHash(source, pageReadTrx);
+      final NodeHash hashCode = getHash(source, pageReadTrx);
 
       final long pathNodeKey = source.readLong();
 
@@ -891,7 +896,7 @@ public enum NodeKind implements NodePersistenter {
         throws IOException {
       final ArrayNode node = (ArrayNode) record;
       if (pageReadTrx.getResourceManager().getResourceConfig().hashType != HashType.NONE)
-        writeHash(sink, node.getHash());
+        writeHash(sink, node);
       sink.writeLong(node.getPathNodeKey());
       serializeDelegate(node.getNodeDelegate(), sink);
       serializeStructDelegate(node.getStructNodeDelegate(), sink);
@@ -915,7 +920,7 @@ public enum NodeKind implements NodePersistenter {
     @Override
     public Record deserialize(final DataInput source, final @Nonnegative long recordID, final SirixDeweyID deweyID,
         final PageReadOnlyTrx pageReadTrx) throws IOException {
-      final BigInteger hashCode = getHash(source, pageReadTrx);
+      final NodeHash hashCode = getHash(source, pageReadTrx);
 
       final int nameKey = source.readInt();
       final long pathNodeKey = getVarLong(source);
@@ -939,7 +944,7 @@ public enum NodeKind implements NodePersistenter {
         throws IOException {
       final ObjectKeyNode node = (ObjectKeyNode) record;
       if (pageReadTrx.getResourceManager().getResourceConfig().hashType != HashType.NONE)
-        writeHash(sink, node.getHash());
+        writeHash(sink, node);
       sink.writeInt(node.getNameKey());
       putVarLong(sink, node.getPathNodeKey());
       serializeDelegate(node.getNodeDelegate(), sink);
@@ -964,7 +969,7 @@ public enum NodeKind implements NodePersistenter {
     @Override
     public Record deserialize(final DataInput source, final @Nonnegative long recordID, final SirixDeweyID deweyID,
         final PageReadOnlyTrx pageReadTrx) throws IOException {
-      final BigInteger hashCode = getHash(source, pageReadTrx);
+      final NodeHash hashCode = getHash(source, pageReadTrx);
 
       // Node delegate.
       final NodeDelegate nodeDel = deserializeNodeDelegate(source, recordID, deweyID, pageReadTrx);
@@ -989,7 +994,7 @@ public enum NodeKind implements NodePersistenter {
         throws IOException {
       final StringNode node = (StringNode) record;
       if (pageReadTrx.getResourceManager().getResourceConfig().hashType != HashType.NONE)
-        writeHash(sink, node.getHash());
+        writeHash(sink, node);
       serializeDelegate(node.getNodeDelegate(), sink);
       serializeValDelegate(node.getValNodeDelegate(), sink);
       serializeStructDelegate(node.getStructNodeDelegate(), sink);
@@ -1013,7 +1018,7 @@ public enum NodeKind implements NodePersistenter {
     @Override
     public Record deserialize(final DataInput source, final @Nonnegative long recordID, final SirixDeweyID deweyID,
         final PageReadOnlyTrx pageReadTrx) throws IOException {
-      final BigInteger hashCode = getHash(source, pageReadTrx);
+      final NodeHash hashCode = getHash(source, pageReadTrx);
 
       final boolean boolValue = source.readBoolean();
       // Node delegate.
@@ -1031,7 +1036,7 @@ public enum NodeKind implements NodePersistenter {
         throws IOException {
       final BooleanNode node = (BooleanNode) record;
       if (pageReadTrx.getResourceManager().getResourceConfig().hashType != HashType.NONE)
-        writeHash(sink, node.getHash());
+        writeHash(sink, node);
       sink.writeBoolean(node.getValue());
       serializeDelegate(node.getNodeDelegate(), sink);
       serializeStructDelegate(node.getStructNodeDelegate(), sink);
@@ -1055,7 +1060,7 @@ public enum NodeKind implements NodePersistenter {
     @Override
     public Record deserialize(final DataInput source, final @Nonnegative long recordID, final SirixDeweyID deweyID,
         final PageReadOnlyTrx pageReadTrx) throws IOException {
-      final BigInteger hashCode = getHash(source, pageReadTrx);
+      final NodeHash hashCode = getHash(source, pageReadTrx);
       final byte valueType = source.readByte();
       final Number number;
 
@@ -1105,7 +1110,7 @@ public enum NodeKind implements NodePersistenter {
         throws IOException {
       final NumberNode node = (NumberNode) record;
       if (pageReadTrx.getResourceManager().getResourceConfig().hashType != HashType.NONE)
-        writeHash(sink, node.getHash());
+        writeHash(sink, node);
       final Number number = node.getValue();
 
       if (number instanceof Double) {
@@ -1161,7 +1166,7 @@ public enum NodeKind implements NodePersistenter {
     @Override
     public Record deserialize(final DataInput source, final @Nonnegative long recordID, final SirixDeweyID deweyID,
         final PageReadOnlyTrx pageReadTrx) throws IOException {
-      final BigInteger hashCode = getHash(source, pageReadTrx);
+      final NodeHash hashCode = getHash(source, pageReadTrx);
 
       // Node delegate.
       final NodeDelegate nodeDel = deserializeNodeDelegate(source, recordID, deweyID, pageReadTrx);
@@ -1178,7 +1183,7 @@ public enum NodeKind implements NodePersistenter {
         throws IOException {
       final NullNode node = (NullNode) record;
       if (pageReadTrx.getResourceManager().getResourceConfig().hashType != HashType.NONE)
-        writeHash(sink, node.getHash());
+        writeHash(sink, node);
       serializeDelegate(node.getNodeDelegate(), sink);
       serializeStructDelegate(node.getStructNodeDelegate(), sink);
     }
@@ -1205,7 +1210,7 @@ public enum NodeKind implements NodePersistenter {
       final HashFunction hashFunction = pageReadTrx.getResourceManager().getResourceConfig().nodeHashFunction;
 
       final NodeDelegate nodeDel = new NodeDelegate(Fixed.DOCUMENT_NODE_KEY.getStandardProperty(),
-          Fixed.NULL_NODE_KEY.getStandardProperty(), hashFunction, null, getVarLong(source), null);
+          Fixed.NULL_NODE_KEY.getStandardProperty(), hashFunction, NodeHash.ZERO, getVarLong(source), null);
       final StructNodeDelegate structDel =
           new StructNodeDelegate(nodeDel, getVarLong(source), Fixed.NULL_NODE_KEY.getStandardProperty(),
               Fixed.NULL_NODE_KEY.getStandardProperty(), source.readByte() == ((byte) 0)
@@ -1333,6 +1338,11 @@ public enum NodeKind implements NodePersistenter {
   /** Mapping of class -> nodes. */
   private static final Map<Class<? extends Record>, NodeKind> INSTANCEFORCLASS = new HashMap<>();
 
+  /** The kinds of nodes, which store their hash, unless the resource doesn't build hashes. */
+  private static final Set<NodeKind> HASHED_KINDS =
+      EnumSet.of(ELEMENT, ATTRIBUTE, NAMESPACE, TEXT, PROCESSING_INSTRUCTION, COMMENT, OBJECT, ARRAY, OBJECT_KEY,
+          STRING_VALUE, BOOLEAN_VALUE, NUMBER_VALUE, NULL_VALUE);
+
   static {
     for (final NodeKind node : values()) {
       INSTANCEFORID.put(node.mId, node);
@@ -1442,11 +1452,11 @@ public enum NodeKind implements NodePersistenter {
     }
   }
 
-  private static final BigInteger getHash(final DataInput source, final PageReadOnlyTrx pageReadTrx)
+  private static final NodeHash getHash(final DataInput source, final PageReadOnlyTrx pageReadTrx)
       throws IOException {
-    final BigInteger hashCode;
+    final NodeHash hashCode;
     if (pageReadTrx.getResourceManager().getResourceConfig().hashType == HashType.NONE)
-      hashCode = null;
+      hashCode = NodeHash.ZERO;
     else
       hashCode = readHash(source);
     return hashCode;
@@ -1465,7 +1475,7 @@ public enum NodeKind implements NodePersistenter {
     final long parentKey = nodeKey - getVarLong(source);
     final long revision = getVarLong(source);
     final HashFunction hashFunction = pageReadTrx.getResourceManager().getResourceConfig().nodeHashFunction;
-    return new NodeDelegate(nodeKey, parentKey, hashFunction, null, revision, null);
+    return new NodeDelegate(nodeKey, parentKey, hashFunction, NodeHash.ZERO, revision, null);
   }
 
   /**
@@ -1481,7 +1491,7 @@ public enum NodeKind implements NodePersistenter {
     final long parentKey = nodeKey - getVarLong(source);
     final long revision = getVarLong(source);
     final HashFunction hashFunction = pageReadTrx.getResourceManager().getResourceConfig().nodeHashFunction;
-    return new NodeDelegate(nodeKey, parentKey, hashFunction, null, revision, id);
+    return new NodeDelegate(nodeKey, parentKey, hashFunction, NodeHash.ZERO, revision, id);
   }
 
   /**
@@ -1593,28 +1603,45 @@ public enum NodeKind implements NodePersistenter {
     sink.write(value);
   }
 
-  private static BigInteger readHash(final DataInput source) throws IOException {
-    final byte[] hashBytes = new byte[source.readByte()];
-    source.readFully(hashBytes);
-    return new BigInteger(1, hashBytes);
+  private static NodeHash readHash(final DataInput source) throws IOException {
+    final long high = source.readLong();
+    return new NodeHash(high, source.readLong());
   }
 
-  private static void writeHash(final DataOutput sink, final BigInteger hashCode) throws IOException {
-    assert !BigInteger.ZERO.equals(hashCode);
-    final byte[] bigIntegerBytes = hashCode.toByteArray();
-    final List<Byte> bytes = new ArrayList<>();
-    final int maxLength = bigIntegerBytes.length < 17
-        ? bigIntegerBytes.length
-        : 17;
-
-    for (int i = 1; i < maxLength; i++) {
-      bytes.add(bigIntegerBytes[i]);
-    }
+  private static void writeHash(final DataOutput sink, final Node node) throws IOException {
+    sink.writeLong(node.getHashHigh());
+    sink.writeLong(node.getHashLow());
+  }
 
-    assert bytes.size() < 17;
+  private static void writeHash(final DataOutput sink, final NodeHash hashCode) throws IOException {
+    sink.writeLong(hashCode.getHigh());
+    sink.writeLong(hashCode.getLow());
+  }
 
-    sink.writeByte(bigIntegerBytes.length);
-    sink.write(bigIntegerBytes);
+  /**
+   * Convert a record serialized in storage format version 0, in which nodes stored their hash as the
+   * length and the bytes of a {@link BigInteger}, to the current storage format.
+   *
+   * @param record the serialized record, starting with the identifier of its kind
+   * @param hashType the kind of hashes built by the resource
+   * @return the record serialized in the current storage format
+   * @throws IOException if the record can't be read
+   */
+  public static byte[] convertVersion0Record(final byte[] record, final HashType hashType) throws IOException {
+    if (hashType == HashType.NONE || !HASHED_KINDS.contains(getKind(record[0]))) {
+      return record;
+    }
+    final byte[] hashBytes = new byte[record[1]];
+    System.arraycopy(record, 2, hashBytes, 0, hashBytes.length);
+    final int remainder = 2 + hashBytes.length;
+
+    final ByteArrayOutputStream output = new ByteArrayOutputStream(record.length + 2 * Long.BYTES);
+    final DataOutputStream sink = new DataOutputStream(output);
+    sink.writeByte(record[0]);
+    writeHash(sink, NodeHash.fromBigInteger(new BigInteger(1, hashBytes)));
+    sink.write(record, remainder, record.length - remainder);
+    sink.flush();
+    return output.toByteArray();
   }
 
   /**
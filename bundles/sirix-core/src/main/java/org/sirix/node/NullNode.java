@@ -22,7 +22,6 @@
 package org.sirix.node;
 
 import static com.google.common.base.Preconditions.checkNotNull;
-import java.math.BigInteger;
 import javax.annotation.Nullable;
 import org.sirix.node.interfaces.Node;
 import org.sirix.node.interfaces.StructNode;
@@ -52,7 +51,7 @@ public final class NullNode implements StructNode {
   }
 
   @Override
-  public BigInteger computeHash() {
+  public NodeHash computeHash() {
     throw new UnsupportedOperationException();
   }
 
@@ -77,12 +76,37 @@ public final class NullNode implements StructNode {
   }
 
   @Override
-  public void setHash(final BigInteger hash) {
+  public void setHash(final NodeHash hash) {
     throw new UnsupportedOperationException();
   }
 
   @Override
-  public BigInteger getHash() {
+  public NodeHash getHash() {
+    throw new UnsupportedOperationException();
+  }
+
+  @Override
+  public long getHashHigh() {
+    throw new UnsupportedOperationException();
+  }
+
+  @Override
+  public long getHashLow() {
+    throw new UnsupportedOperationException();
+  }
+
+  @Override
+  public void setHash(final long high, final long low) {
+    throw new UnsupportedOperationException();
+  }
+
+  @Override
+  public void addHash(final long high, final long low) {
+    throw new UnsupportedOperationException();
+  }
+
+  @Override
+  public void subtractHash(final long high, final long low) {
     throw new UnsupportedOperationException();
   }
 
@@ -23,11 +23,11 @@
  */
 package org.sirix.node.delegates;
 
-import java.math.BigInteger;
 import javax.annotation.Nonnegative;
 import javax.annotation.Nullable;
 import org.brackit.xquery.atomic.QNm;
 import org.sirix.node.AbstractForwardingNode;
+import org.sirix.node.NodeHash;
 import org.sirix.node.NodeKind;
 import org.sirix.node.interfaces.NameNode;
 import org.sirix.node.interfaces.Node;
@@ -101,7 +101,7 @@ public class NameNodeDelegate extends AbstractForwardingNode implements NameNode
   }
 
   @Override
-  public BigInteger computeHash() {
+  public NodeHash computeHash() {
     final Funnel<NameNode> nodeFunnel = (NameNode node, PrimitiveSink into) -> {
       into.putInt(node.getURIKey())
           .putInt(node.getPrefixKey())
@@ -109,17 +109,41 @@ public class NameNodeDelegate extends AbstractForwardingNode implements NameNode
           .putLong(node.getPathNodeKey());
     };
 
-    return Node.to128BitsAtMaximumBigInteger(
-        new BigInteger(1, mDelegate.getHashFunction().hashObject(this, nodeFunnel).asBytes()));
+    return NodeHash.fromHashCode(mDelegate.getHashFunction().hashObject(this, nodeFunnel));
   }
 
   @Override
-  public BigInteger getHash() {
+  public NodeHash getHash() {
     throw new UnsupportedOperationException();
   }
 
   @Override
-  public void setHash(final BigInteger hash) {
+  public void setHash(final NodeHash hash) {
+    throw new UnsupportedOperationException();
+  }
+
+  @Override
+  public long getHashHigh() {
+    throw new UnsupportedOperationException();
+  }
+
+  @Override
+  public long getHashLow() {
+    throw new UnsupportedOperationException();
+  }
+
+  @Override
+  public void setHash(final long high, final long low) {
+    throw new UnsupportedOperationException();
+  }
+
+  @Override
+  public void addHash(final long high, final long low) {
+    throw new UnsupportedOperationException();
+  }
+
+  @Override
+  public void subtractHash(final long high, final long low) {
     throw new UnsupportedOperationException();
   }
 
@@ -20,13 +20,13 @@
  */
 package org.sirix.node.delegates;
 
-import java.math.BigInteger;
 import java.util.Optional;
 import javax.annotation.Nonnegative;
 import javax.annotation.Nullable;
 import org.sirix.api.visitor.JsonNodeVisitor;
 import org.sirix.api.visitor.VisitResultType;
 import org.sirix.api.visitor.XmlNodeVisitor;
+import org.sirix.node.NodeHash;
 import org.sirix.node.NodeKind;
 import org.sirix.node.SirixDeweyID;
 import org.sirix.node.interfaces.Node;
@@ -58,8 +58,11 @@ public class NodeDelegate implements Node {
   /** Key of the parent node. */
   private long mParentKey;
 
-  /** Hash of the parent node. */
-  private BigInteger mHashCode;
+  /** Upper 64 bits of the hash of the node. */
+  private long mHashHigh;
+
+  /** Lower 64 bits of the hash of the node, such that the hash is updated in place. */
+  private long mHashLow;
 
   /**
    * TypeKey of the parent node. Can be referenced later on over special pages.
@@ -86,13 +89,14 @@ public class NodeDelegate implements Node {
    * @param deweyID optional DeweyID
    */
   public NodeDelegate(final @Nonnegative long nodeKey, final long parentKey, final HashFunction hashFunction,
-      final BigInteger hashCode, final @Nonnegative long revision, final SirixDeweyID deweyID) {
+      final NodeHash hashCode, final @Nonnegative long revision, final SirixDeweyID deweyID) {
     assert nodeKey >= 0 : "nodeKey must be >= 0!";
     assert parentKey >= Fixed.NULL_NODE_KEY.getStandardProperty();
     mNodeKey = nodeKey;
     mParentKey = parentKey;
     mHashFunction = hashFunction;
-    mHashCode = hashCode;
+    mHashHigh = hashCode.getHigh();
+    mHashLow = hashCode.getLow();
     mRevision = revision;
     mTypeKey = TYPE_KEY;
     mID = deweyID;
@@ -124,22 +128,58 @@ public class NodeDelegate implements Node {
   }
 
   @Override
-  public BigInteger computeHash() {
+  public NodeHash computeHash() {
     final Funnel<Node> nodeFunnel = (Node node, PrimitiveSink into) -> {
       into.putLong(node.getNodeKey()).putLong(node.getParentKey()).putByte(node.getKind().getId());
     };
 
-    return Node.to128BitsAtMaximumBigInteger(new BigInteger(1, mHashFunction.hashObject(this, nodeFunnel).asBytes()));
+    return NodeHash.fromHashCode(mHashFunction.hashObject(this, nodeFunnel));
+  }
+
+  @Override
+  public NodeHash getHash() {
+    return new NodeHash(mHashHigh, mHashLow);
+  }
+
+  @Override
+  public void setHash(final NodeHash hash) {
+    mHashHigh = hash.getHigh();
+    mHashLow = hash.getLow();
+  }
+
+  @Override
+  public long getHashHigh() {
+    return mHashHigh;
+  }
+
+  @Override
+  public long getHashLow() {
+    return mHashLow;
+  }
+
+  @Override
+  public void setHash(final long high, final long low) {
+    // All 128 bits set is congruent to zero.
+    if (high == -1L && low == -1L) {
+      mHashHigh = 0L;
+      mHashLow = 0L;
+    } else {
+      mHashHigh = high;
+      mHashLow = low;
+    }
   }
 
   @Override
-  public BigInteger getHash() {
-    throw new UnsupportedOperationException();
+  public void addHash(final long high, final long low) {
+    final long sumHigh = NodeHash.addHigh(mHashHigh, mHashLow, high, low);
+    mHashLow = NodeHash.addLow(mHashHigh, mHashLow, high, low);
+    mHashHigh = sumHigh;
   }
 
   @Override
-  public void setHash(final BigInteger hash) {
-    throw new UnsupportedOperationException();
+  public void subtractHash(final long high, final long low) {
+    // The ones' complement is congruent to the negation.
+    addHash(~high, ~low);
   }
 
   public VisitResultType acceptVisitor(final XmlNodeVisitor pVisitor) {
@@ -152,7 +192,7 @@ public class NodeDelegate implements Node {
 
   @Override
   public int hashCode() {
-    return Objects.hashCode(mNodeKey, mTypeKey, mHashCode, mParentKey);
+    return Objects.hashCode(mNodeKey, mTypeKey, mParentKey);
   }
 
   @Override
@@ -163,7 +203,7 @@ public class NodeDelegate implements Node {
     final NodeDelegate other = (NodeDelegate) otherObj;
 
     return Objects.equal(mNodeKey, other.mNodeKey) && Objects.equal(mTypeKey, other.mTypeKey)
-        && Objects.equal(mHashCode, other.mHashCode) && Objects.equal(mParentKey, other.mParentKey);
+        && Objects.equal(mParentKey, other.mParentKey);
   }
 
   @Override
@@ -172,7 +212,7 @@ public class NodeDelegate implements Node {
                       .add("node key", mNodeKey)
                       .add("parent key", mParentKey)
                       .add("type key", mTypeKey)
-                      .add("hash", mHashCode)
+                      .add("hash", getHash())
                       .add("deweyID", mID)
                       .toString();
   }
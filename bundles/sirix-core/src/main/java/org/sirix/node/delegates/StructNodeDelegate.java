@@ -20,10 +20,10 @@
  */
 package org.sirix.node.delegates;
 
-import java.math.BigInteger;
 import javax.annotation.Nonnegative;
 import javax.annotation.Nullable;
 import org.sirix.node.AbstractForwardingNode;
+import org.sirix.node.NodeHash;
 import org.sirix.node.NodeKind;
 import org.sirix.node.interfaces.Node;
 import org.sirix.node.interfaces.StructNode;
@@ -158,7 +158,7 @@ public class StructNodeDelegate extends AbstractForwardingNode implements Struct
   }
 
   @Override
-  public BigInteger computeHash() {
+  public NodeHash computeHash() {
     final Funnel<StructNode> nodeFunnel = (StructNode node, PrimitiveSink into) -> {
       into.putLong(node.getChildCount())
           .putLong(node.getDescendantCount())
@@ -167,18 +167,41 @@ public class StructNodeDelegate extends AbstractForwardingNode implements Struct
           .putLong(node.getFirstChildKey());
     };
 
-    final BigInteger hash = new BigInteger(1, mDelegate.getHashFunction().hashObject(this, nodeFunnel).asBytes());
+    return NodeHash.fromHashCode(mDelegate.getHashFunction().hashObject(this, nodeFunnel));
+  }
+
+  @Override
+  public NodeHash getHash() {
+    throw new UnsupportedOperationException();
+  }
 
-    return Node.to128BitsAtMaximumBigInteger(hash);
+  @Override
+  public void setHash(final NodeHash hash) {
+    throw new UnsupportedOperationException();
+  }
+
+  @Override
+  public long getHashHigh() {
+    throw new UnsupportedOperationException();
+  }
+
+  @Override
+  public long getHashLow() {
+    throw new UnsupportedOperationException();
+  }
+
+  @Override
+  public void setHash(final long high, final long low) {
+    throw new UnsupportedOperationException();
   }
 
   @Override
-  public BigInteger getHash() {
+  public void addHash(final long high, final long low) {
     throw new UnsupportedOperationException();
   }
 
   @Override
-  public void setHash(final BigInteger hash) {
+  public void subtractHash(final long high, final long low) {
     throw new UnsupportedOperationException();
   }
 
@@ -20,11 +20,11 @@
  */
 package org.sirix.node.delegates;
 
-import java.math.BigInteger;
 import java.util.Arrays;
 import java.util.zip.Deflater;
 import javax.annotation.Nullable;
 import org.sirix.node.AbstractForwardingNode;
+import org.sirix.node.NodeHash;
 import org.sirix.node.NodeKind;
 import org.sirix.node.interfaces.Node;
 import org.sirix.node.interfaces.ValueNode;
@@ -67,17 +67,42 @@ public class ValueNodeDelegate extends AbstractForwardingNode implements ValueNo
   }
 
   @Override
-  public BigInteger computeHash() {
-    return Node.to128BitsAtMaximumBigInteger(new BigInteger(1, mDelegate.getHashFunction().hashBytes(getRawValue()).asBytes()));
+  public NodeHash computeHash() {
+    return NodeHash.fromHashCode(mDelegate.getHashFunction().hashBytes(getRawValue()));
   }
 
   @Override
-  public BigInteger getHash() {
+  public NodeHash getHash() {
     throw new UnsupportedOperationException();
   }
 
   @Override
-  public void setHash(final BigInteger hash) {
+  public void setHash(final NodeHash hash) {
+    throw new UnsupportedOperationException();
+  }
+
+  @Override
+  public long getHashHigh() {
+    throw new UnsupportedOperationException();
+  }
+
+  @Override
+  public long getHashLow() {
+    throw new UnsupportedOperationException();
+  }
+
+  @Override
+  public void setHash(final long high, final long low) {
+    throw new UnsupportedOperationException();
+  }
+
+  @Override
+  public void addHash(final long high, final long low) {
+    throw new UnsupportedOperationException();
+  }
+
+  @Override
+  public void subtractHash(final long high, final long low) {
     throw new UnsupportedOperationException();
   }
 
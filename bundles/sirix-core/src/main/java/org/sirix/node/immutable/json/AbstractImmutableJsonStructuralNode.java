@@ -1,7 +1,7 @@
 package org.sirix.node.immutable.json;
 
-import java.math.BigInteger;
 import javax.annotation.Nullable;
+import org.sirix.node.NodeHash;
 import org.sirix.node.interfaces.Node;
 import org.sirix.node.interfaces.StructNode;
 import org.sirix.node.interfaces.immutable.ImmutableJsonNode;
@@ -57,7 +57,7 @@ public abstract class AbstractImmutableJsonStructuralNode implements ImmutableSt
   }
 
   @Override
-  public BigInteger getHash() {
+  public NodeHash getHash() {
     return structDelegate().getHash();
   }
 
@@ -1,9 +1,9 @@
 package org.sirix.node.immutable.json;
 
 import static com.google.common.base.Preconditions.checkNotNull;
-import java.math.BigInteger;
 import org.sirix.api.visitor.JsonNodeVisitor;
 import org.sirix.api.visitor.VisitResult;
+import org.sirix.node.NodeHash;
 import org.sirix.node.NodeKind;
 import org.sirix.node.interfaces.StructNode;
 import org.sirix.node.json.BooleanNode;
@@ -59,7 +59,7 @@ public final class ImmutableBooleanNode extends AbstractImmutableJsonStructuralN
   }
 
   @Override
-  public BigInteger computeHash() {
+  public NodeHash computeHash() {
     return mNode.computeHash();
   }
 }
@@ -1,12 +1,12 @@
 package org.sirix.node.immutable.xdm;
 
 import static com.google.common.base.Preconditions.checkNotNull;
-import java.math.BigInteger;
 import java.util.Optional;
 import javax.annotation.Nullable;
 import org.brackit.xquery.atomic.QNm;
 import org.sirix.api.visitor.VisitResult;
 import org.sirix.api.visitor.XmlNodeVisitor;
+import org.sirix.node.NodeHash;
 import org.sirix.node.NodeKind;
 import org.sirix.node.SirixDeweyID;
 import org.sirix.node.interfaces.Node;
@@ -63,7 +63,7 @@ public final class ImmutableAttributeNode implements ImmutableValueNode, Immutab
   }
 
   @Override
-  public BigInteger getHash() {
+  public NodeHash getHash() {
     return mNode.getHash();
   }
 
@@ -148,7 +148,7 @@ public final class ImmutableAttributeNode implements ImmutableValueNode, Immutab
   }
 
   @Override
-  public BigInteger computeHash() {
+  public NodeHash computeHash() {
     return mNode.computeHash();
   }
 }
@@ -1,11 +1,11 @@
 package org.sirix.node.immutable.xdm;
 
 import static com.google.common.base.Preconditions.checkNotNull;
-import java.math.BigInteger;
 import java.util.Optional;
 import javax.annotation.Nullable;
 import org.sirix.api.visitor.VisitResult;
 import org.sirix.api.visitor.XmlNodeVisitor;
+import org.sirix.node.NodeHash;
 import org.sirix.node.NodeKind;
 import org.sirix.node.SirixDeweyID;
 import org.sirix.node.interfaces.Node;
@@ -60,7 +60,7 @@ public final class ImmutableComment implements ImmutableValueNode, ImmutableStru
   }
 
   @Override
-  public BigInteger getHash() {
+  public NodeHash getHash() {
     return mNode.getHash();
   }
 
@@ -160,7 +160,7 @@ public final class ImmutableComment implements ImmutableValueNode, ImmutableStru
   }
 
   @Override
-  public BigInteger computeHash() {
+  public NodeHash computeHash() {
     return mNode.computeHash();
   }
 }
@@ -1,10 +1,10 @@
 package org.sirix.node.immutable.xdm;
 
 import static com.google.common.base.Preconditions.checkNotNull;
-import java.math.BigInteger;
 import java.util.Optional;
 import org.sirix.api.visitor.VisitResult;
 import org.sirix.api.visitor.XmlNodeVisitor;
+import org.sirix.node.NodeHash;
 import org.sirix.node.NodeKind;
 import org.sirix.node.SirixDeweyID;
 import org.sirix.node.interfaces.Node;
@@ -58,7 +58,7 @@ public class ImmutableDocumentNode implements ImmutableStructNode, ImmutableXmlN
   }
 
   @Override
-  public BigInteger getHash() {
+  public NodeHash getHash() {
     return mNode.getHash();
   }
 
@@ -148,7 +148,7 @@ public class ImmutableDocumentNode implements ImmutableStructNode, ImmutableXmlN
   }
 
   @Override
-  public BigInteger computeHash() {
+  public NodeHash computeHash() {
     return mNode.computeHash();
   }
 }
@@ -21,7 +21,7 @@
 
 package org.sirix.node.interfaces;
 
-import java.math.BigInteger;
+import org.sirix.node.NodeHash;
 import org.sirix.node.NodeKind;
 import org.sirix.node.SirixDeweyID;
 import org.sirix.node.interfaces.immutable.ImmutableNode;
@@ -34,9 +34,6 @@ import org.sirix.node.interfaces.immutable.ImmutableNode;
  * </p>
  */
 public interface Node extends ImmutableNode {
-  // 2^128-1.
-  static final BigInteger MAX_POSITIVE_VALUE_128_BIT = new BigInteger("340282366920938463463374607431768211455");
-
   @Override
   public NodeKind getKind();
 
@@ -60,7 +57,46 @@ public interface Node extends ImmutableNode {
    *
    * @param hash hash for this node
    */
-  void setHash(BigInteger hash);
+  void setHash(NodeHash hash);
+
+  /**
+   * Get the upper 64 bits of the hash of the node.
+   *
+   * @return the upper 64 bits of the hash
+   */
+  long getHashHigh();
+
+  /**
+   * Get the lower 64 bits of the hash of the node.
+   *
+   * @return the lower 64 bits of the hash
+   */
+  long getHashLow();
+
+  /**
+   * Set the hash given by its upper and lower 64 bits, such that hashes are maintained without
+   * allocating node hashes.
+   *
+   * @param high the upper 64 bits of the hash
+   * @param low the lower 64 bits of the hash
+   */
+  void setHash(long high, long low);
+
+  /**
+   * Add a hash given by its upper and lower 64 bits to the hash of the node in place.
+   *
+   * @param high the upper 64 bits of the hash to add
+   * @param low the lower 64 bits of the hash to add
+   */
+  void addHash(long high, long low);
+
+  /**
+   * Subtract a hash given by its upper and lower 64 bits from the hash of the node in place.
+   *
+   * @param high the upper 64 bits of the hash to subtract
+   * @param low the lower 64 bits of the hash to subtract
+   */
+  void subtractHash(long high, long low);
 
   /**
    * Set the parent key.
@@ -68,8 +104,4 @@ public interface Node extends ImmutableNode {
    * @param nodeKey the parent nodeKey
    */
   void setParentKey(long nodeKey);
-
-  static BigInteger to128BitsAtMaximumBigInteger(BigInteger hash) {
-    return hash.mod(MAX_POSITIVE_VALUE_128_BIT);
-  }
 }
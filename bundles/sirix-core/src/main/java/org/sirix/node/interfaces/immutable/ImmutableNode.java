@@ -1,7 +1,7 @@
 package org.sirix.node.interfaces.immutable;
 
-import java.math.BigInteger;
 import javax.annotation.Nullable;
+import org.sirix.node.NodeHash;
 import org.sirix.node.NodeKind;
 import org.sirix.node.interfaces.Node;
 import org.sirix.node.interfaces.Record;
@@ -29,13 +29,13 @@ public interface ImmutableNode extends Record {
    * Getting the stored hash.
    * @return the hash code
    */
-  BigInteger getHash();
+  NodeHash getHash();
 
   /**
    * Compute the hash code.
    * @return the computed hash code
    */
-  BigInteger computeHash();
+  NodeHash computeHash();
 
   /**
    * Gets key of the context item's parent.
@@ -27,9 +27,9 @@
  */
 package org.sirix.node.json;
 
-import java.math.BigInteger;
 import org.sirix.api.visitor.JsonNodeVisitor;
 import org.sirix.api.visitor.VisitResult;
+import org.sirix.node.NodeHash;
 import org.sirix.node.NodeKind;
 import org.sirix.node.delegates.NodeDelegate;
 import org.sirix.node.delegates.StructNodeDelegate;
@@ -49,9 +49,7 @@ public final class ArrayNode extends AbstractStructForwardingNode implements Imm
   private final StructNodeDelegate mStructNodeDel;
 
   /** The path node key. */
-  private final long mPathNodeKey;
-
-  private BigInteger mHash;
+  private long mPathNodeKey;
 
   /**
    * Constructor
@@ -71,11 +69,10 @@ public final class ArrayNode extends AbstractStructForwardingNode implements Imm
    * @param structDel {@link StructNodeDelegate} to be set
    * @param pathNodeKey the path node key
    */
-  public ArrayNode(final BigInteger hashCode, final StructNodeDelegate structDel, final long pathNodeKey) {
-    assert hashCode != null;
-    mHash = hashCode;
+  public ArrayNode(final NodeHash hashCode, final StructNodeDelegate structDel, final long pathNodeKey) {
     assert structDel != null;
     mStructNodeDel = structDel;
+    delegate().setHash(hashCode);
     mPathNodeKey = pathNodeKey;
   }
 
@@ -85,23 +82,13 @@ public final class ArrayNode extends AbstractStructForwardingNode implements Imm
   }
 
   @Override
-  public BigInteger computeHash() {
-    BigInteger result = BigInteger.ONE;
-
-    result = BigInteger.valueOf(31).multiply(result).add(mStructNodeDel.getNodeDelegate().computeHash());
-    result = BigInteger.valueOf(31).multiply(result).add(mStructNodeDel.computeHash());
+  public NodeHash computeHash() {
+    NodeHash result = NodeHash.ONE;
 
-    return Node.to128BitsAtMaximumBigInteger(result);
-  }
-
-  @Override
-  public void setHash(final BigInteger hash) {
-    mHash = Node.to128BitsAtMaximumBigInteger(hash);
-  }
+    result = result.combine(mStructNodeDel.getNodeDelegate().computeHash());
+    result = result.combine(mStructNodeDel.computeHash());
 
-  @Override
-  public BigInteger getHash() {
-    return mHash;
+    return result;
   }
 
   @Override
@@ -138,6 +125,11 @@ public final class ArrayNode extends AbstractStructForwardingNode implements Imm
     return visitor.visit(ImmutableArrayNode.of(this));
   }
 
+  public ArrayNode setPathNodeKey(final long pathNodeKey) {
+    mPathNodeKey = pathNodeKey;
+    return this;
+  }
+
   public long getPathNodeKey() {
     return mPathNodeKey;
   }
@@ -22,9 +22,9 @@
 package org.sirix.node.json;
 
 import static com.google.common.base.Preconditions.checkNotNull;
-import java.math.BigInteger;
 import org.sirix.api.visitor.JsonNodeVisitor;
 import org.sirix.api.visitor.VisitResult;
+import org.sirix.node.NodeHash;
 import org.sirix.node.NodeKind;
 import org.sirix.node.delegates.NodeDelegate;
 import org.sirix.node.delegates.StructNodeDelegate;
@@ -49,19 +49,16 @@ public final class BooleanNode extends AbstractStructForwardingNode implements I
 
   private boolean mBoolValue;
 
-  private BigInteger mHash;
-
   /**
    * Constructor.
    *
    * @param valDel delegate for {@link ValueNode} implementation
    * @param structDel delegate for {@link StructNode} implementation
    */
-  public BooleanNode(final BigInteger hashCode, final boolean boolValue, final StructNodeDelegate structDel) {
-    assert hashCode != null;
-    mHash = hashCode;
+  public BooleanNode(final NodeHash hashCode, final boolean boolValue, final StructNodeDelegate structDel) {
     assert structDel != null;
     mStructNodeDel = structDel;
+    delegate().setHash(hashCode);
     mBoolValue = boolValue;
   }
 
@@ -82,24 +79,14 @@ public final class BooleanNode extends AbstractStructForwardingNode implements I
   }
 
   @Override
-  public BigInteger computeHash() {
-    BigInteger result = BigInteger.ONE;
-
-    result = BigInteger.valueOf(31).multiply(result).add(mStructNodeDel.getNodeDelegate().computeHash());
-    result = BigInteger.valueOf(31).multiply(result).add(mStructNodeDel.computeHash());
-    result = BigInteger.valueOf(31).multiply(result).add(BigInteger.valueOf(Boolean.hashCode(mBoolValue)));
+  public NodeHash computeHash() {
+    NodeHash result = NodeHash.ONE;
 
-    return Node.to128BitsAtMaximumBigInteger(result);
-  }
+    result = result.combine(mStructNodeDel.getNodeDelegate().computeHash());
+    result = result.combine(mStructNodeDel.computeHash());
+    result = result.combine(new NodeHash(0L, Boolean.hashCode(mBoolValue)));
 
-  @Override
-  public void setHash(final BigInteger hash) {
-    mHash = Node.to128BitsAtMaximumBigInteger(hash);
-  }
-
-  @Override
-  public BigInteger getHash() {
-    return mHash;
+    return result;
   }
 
   public void setValue(final boolean value) {
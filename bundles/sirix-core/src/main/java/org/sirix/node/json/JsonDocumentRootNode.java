@@ -22,11 +22,11 @@
 package org.sirix.node.json;
 
 import static com.google.common.base.Preconditions.checkNotNull;
-import java.math.BigInteger;
 import javax.annotation.Nonnull;
 import javax.annotation.Nullable;
 import org.sirix.api.visitor.JsonNodeVisitor;
 import org.sirix.api.visitor.VisitResult;
+import org.sirix.node.NodeHash;
 import org.sirix.node.NodeKind;
 import org.sirix.node.delegates.NodeDelegate;
 import org.sirix.node.delegates.StructNodeDelegate;
@@ -53,8 +53,6 @@ public final class JsonDocumentRootNode extends AbstractStructForwardingNode imp
   /** {@link StructNodeDelegate} reference. */
   private final StructNodeDelegate mStructNodeDel;
 
-  private BigInteger mHash;
-
   /**
    * Constructor.
    *
@@ -72,25 +70,51 @@ public final class JsonDocumentRootNode extends AbstractStructForwardingNode imp
   }
 
   @Override
-  public BigInteger computeHash() {
-    BigInteger result = BigInteger.ONE;
+  public NodeHash computeHash() {
+    NodeHash result = NodeHash.ONE;
+
+    result = result.combine(mStructNodeDel.getNodeDelegate().computeHash());
+    result = result.combine(mStructNodeDel.computeHash());
+
+    return result;
+  }
+
+  /**
+   * Compute the hash of the document root, as long as it hasn't been set.
+   */
+  private void computeHashIfUnset() {
+    if (mNodeDel.getHashHigh() == 0L && mNodeDel.getHashLow() == 0L)
+      mNodeDel.setHash(computeHash());
+  }
+
+  @Override
+  public NodeHash getHash() {
+    computeHashIfUnset();
+    return mNodeDel.getHash();
+  }
 
-    result = BigInteger.valueOf(31).multiply(result).add(mStructNodeDel.getNodeDelegate().computeHash());
-    result = BigInteger.valueOf(31).multiply(result).add(mStructNodeDel.computeHash());
+  @Override
+  public long getHashHigh() {
+    computeHashIfUnset();
+    return mNodeDel.getHashHigh();
+  }
 
-    return Node.to128BitsAtMaximumBigInteger(result);
+  @Override
+  public long getHashLow() {
+    computeHashIfUnset();
+    return mNodeDel.getHashLow();
   }
 
   @Override
-  public void setHash(final BigInteger hash) {
-    mHash = Node.to128BitsAtMaximumBigInteger(hash);
+  public void addHash(final long high, final long low) {
+    computeHashIfUnset();
+    mNodeDel.addHash(high, low);
   }
 
   @Override
-  public BigInteger getHash() {
-    if (mHash == null)
-      mHash = Node.to128BitsAtMaximumBigInteger(computeHash());
-    return mHash;
+  public void subtractHash(final long high, final long low) {
+    computeHashIfUnset();
+    mNodeDel.subtractHash(high, low);
   }
 
   @Override
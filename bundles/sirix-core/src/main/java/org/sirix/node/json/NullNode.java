@@ -27,9 +27,9 @@
  */
 package org.sirix.node.json;
 
-import java.math.BigInteger;
 import org.sirix.api.visitor.JsonNodeVisitor;
 import org.sirix.api.visitor.VisitResult;
+import org.sirix.node.NodeHash;
 import org.sirix.node.NodeKind;
 import org.sirix.node.delegates.NodeDelegate;
 import org.sirix.node.delegates.StructNodeDelegate;
@@ -48,18 +48,15 @@ public final class NullNode extends AbstractStructForwardingNode implements Immu
   /** {@link StructNodeDelegate} reference. */
   private final StructNodeDelegate mStructNodeDel;
 
-  private BigInteger mHash;
-
   /**
    * Constructor.
    *
    * @param structDel {@link StructNodeDelegate} to be set
    */
-  public NullNode(final BigInteger hashCode, final StructNodeDelegate structDel) {
-    assert hashCode != null;
-    mHash = hashCode;
+  public NullNode(final NodeHash hashCode, final StructNodeDelegate structDel) {
     assert structDel != null;
     mStructNodeDel = structDel;
+    delegate().setHash(hashCode);
   }
 
   /**
@@ -78,23 +75,13 @@ public final class NullNode extends AbstractStructForwardingNode implements Immu
   }
 
   @Override
-  public BigInteger computeHash() {
-    BigInteger result = BigInteger.ONE;
-
-    result = BigInteger.valueOf(31).multiply(result).add(mStructNodeDel.getNodeDelegate().computeHash());
-    result = BigInteger.valueOf(31).multiply(result).add(mStructNodeDel.computeHash());
+  public NodeHash computeHash() {
+    NodeHash result = NodeHash.ONE;
 
-    return Node.to128BitsAtMaximumBigInteger(result);
-  }
+    result = result.combine(mStructNodeDel.getNodeDelegate().computeHash());
+    result = result.combine(mStructNodeDel.computeHash());
 
-  @Override
-  public void setHash(final BigInteger hash) {
-    mHash = Node.to128BitsAtMaximumBigInteger(hash);
-  }
-
-  @Override
-  public BigInteger getHash() {
-    return mHash;
+    return result;
   }
 
   @Override
@@ -21,9 +21,9 @@
 
 package org.sirix.node.json;
 
-import java.math.BigInteger;
 import org.sirix.api.visitor.JsonNodeVisitor;
 import org.sirix.api.visitor.VisitResult;
+import org.sirix.node.NodeHash;
 import org.sirix.node.NodeKind;
 import org.sirix.node.delegates.NodeDelegate;
 import org.sirix.node.delegates.StructNodeDelegate;
@@ -48,20 +48,17 @@ public final class NumberNode extends AbstractStructForwardingNode implements Im
 
   private Number mNumber;
 
-  private BigInteger mHash;
-
   /**
    * Constructor.
    *
    * @param boolValue the boolean value
    * @param structDel delegate for {@link StructNode} implementation
    */
-  public NumberNode(final BigInteger hashCode, final Number number, final StructNodeDelegate structDel) {
-    assert hashCode != null;
-    mHash = hashCode;
+  public NumberNode(final NodeHash hashCode, final Number number, final StructNodeDelegate structDel) {
     mNumber = number;
     assert structDel != null;
     mStructNodeDel = structDel;
+    delegate().setHash(hashCode);
   }
 
   /**
@@ -83,26 +80,16 @@ public final class NumberNode extends AbstractStructForwardingNode implements Im
   }
 
   @Override
-  public BigInteger computeHash() {
+  public NodeHash computeHash() {
     final HashCode valueHashCode = mStructNodeDel.getNodeDelegate().getHashFunction().hashInt(mNumber.hashCode());
 
-    BigInteger result = BigInteger.ONE;
-
-    result = BigInteger.valueOf(31).multiply(result).add(mStructNodeDel.getNodeDelegate().computeHash());
-    result = BigInteger.valueOf(31).multiply(result).add(mStructNodeDel.computeHash());
-    result = BigInteger.valueOf(31).multiply(result).add(new BigInteger(1, valueHashCode.asBytes()));
+    NodeHash result = NodeHash.ONE;
 
-    return Node.to128BitsAtMaximumBigInteger(result);
-  }
+    result = result.combine(mStructNodeDel.getNodeDelegate().computeHash());
+    result = result.combine(mStructNodeDel.computeHash());
+    result = result.combine(NodeHash.fromHashCode(valueHashCode));
 
-  @Override
-  public void setHash(final BigInteger hash) {
-    mHash = Node.to128BitsAtMaximumBigInteger(hash);
-  }
-
-  @Override
-  public BigInteger getHash() {
-    return mHash;
+    return result;
   }
 
   public void setValue(final Number number) {
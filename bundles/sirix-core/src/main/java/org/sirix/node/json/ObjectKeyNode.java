@@ -21,10 +21,10 @@
 
 package org.sirix.node.json;
 
-import java.math.BigInteger;
 import javax.annotation.Nonnegative;
 import org.sirix.api.visitor.JsonNodeVisitor;
 import org.sirix.api.visitor.VisitResult;
+import org.sirix.node.NodeHash;
 import org.sirix.node.NodeKind;
 import org.sirix.node.delegates.NodeDelegate;
 import org.sirix.node.delegates.StructNodeDelegate;
@@ -57,8 +57,6 @@ public final class ObjectKeyNode extends AbstractStructForwardingNode implements
 
   private long mPathNodeKey;
 
-  private BigInteger mHash;
-
   /**
    * Constructor
    *
@@ -80,12 +78,11 @@ public final class ObjectKeyNode extends AbstractStructForwardingNode implements
    * @param structDel {@link StructNodeDelegate} to be set
    * @param name the key name
    */
-  public ObjectKeyNode(final BigInteger hashCode, final StructNodeDelegate structDel, final int nameKey, final String name,
+  public ObjectKeyNode(final NodeHash hashCode, final StructNodeDelegate structDel, final int nameKey, final String name,
       final long pathNodeKey) {
-    assert hashCode != null;
-    mHash = hashCode;
     assert structDel != null;
     mStructNodeDel = structDel;
+    delegate().setHash(hashCode);
     mNameKey = nameKey;
     mName = name;
     mPathNodeKey = pathNodeKey;
@@ -97,26 +94,16 @@ public final class ObjectKeyNode extends AbstractStructForwardingNode implements
   }
 
   @Override
-  public BigInteger computeHash() {
+  public NodeHash computeHash() {
     final HashCode hashCode = mStructNodeDel.getNodeDelegate().getHashFunction().hashString(mName, Constants.DEFAULT_ENCODING);
 
-    BigInteger result = BigInteger.ONE;
-
-    result = BigInteger.valueOf(31).multiply(result).add(mStructNodeDel.getNodeDelegate().computeHash());
-    result = BigInteger.valueOf(31).multiply(result).add(mStructNodeDel.computeHash());
-    result = BigInteger.valueOf(31).multiply(result).add(new BigInteger(1, hashCode.asBytes()));
+    NodeHash result = NodeHash.ONE;
 
-    return Node.to128BitsAtMaximumBigInteger(result);
-  }
+    result = result.combine(mStructNodeDel.getNodeDelegate().computeHash());
+    result = result.combine(mStructNodeDel.computeHash());
+    result = result.combine(NodeHash.fromHashCode(hashCode));
 
-  @Override
-  public void setHash(final BigInteger hash) {
-    mHash = Node.to128BitsAtMaximumBigInteger(hash);
-  }
-
-  @Override
-  public BigInteger getHash() {
-    return mHash;
+    return result;
   }
 
   public int getNameKey() {
@@ -27,9 +27,9 @@
  */
 package org.sirix.node.json;
 
-import java.math.BigInteger;
 import org.sirix.api.visitor.JsonNodeVisitor;
 import org.sirix.api.visitor.VisitResult;
+import org.sirix.node.NodeHash;
 import org.sirix.node.NodeKind;
 import org.sirix.node.delegates.NodeDelegate;
 import org.sirix.node.delegates.StructNodeDelegate;
@@ -47,18 +47,15 @@ public final class ObjectNode extends AbstractStructForwardingNode implements Im
 
   /** {@link StructNodeDelegate} reference. */
   private final StructNodeDelegate mStructNodeDel;
-  private BigInteger mHash;
-
   /**
    * Constructor
    *
    * @param structDel {@link StructNodeDelegate} to be set
    */
-  public ObjectNode(final BigInteger hashCode, final StructNodeDelegate structDel) {
-    assert hashCode != null;
-    mHash = hashCode;
+  public ObjectNode(final NodeHash hashCode, final StructNodeDelegate structDel) {
     assert structDel != null;
     mStructNodeDel = structDel;
+    delegate().setHash(hashCode);
   }
 
   /**
@@ -77,25 +74,13 @@ public final class ObjectNode extends AbstractStructForwardingNode implements Im
   }
 
   @Override
-  public BigInteger computeHash() {
-    BigInteger result = BigInteger.ONE;
-
-    result = BigInteger.valueOf(31).multiply(result).add(mStructNodeDel.getNodeDelegate().computeHash());
-    result = BigInteger.valueOf(31).multiply(result).add(mStructNodeDel.computeHash());
-
-    return Node.to128BitsAtMaximumBigInteger(result);
-  }
-
-  @Override
-  public void setHash(final BigInteger hash) {
-    mHash = Node.to128BitsAtMaximumBigInteger(hash);
+  public NodeHash computeHash() {
+    NodeHash result = NodeHash.ONE;
 
-    assert mHash.toByteArray().length <= 17;
-  }
+    result = result.combine(mStructNodeDel.getNodeDelegate().computeHash());
+    result = result.combine(mStructNodeDel.computeHash());
 
-  @Override
-  public BigInteger getHash() {
-    return mHash;
+    return result;
   }
 
   @Override
@@ -22,9 +22,9 @@
 package org.sirix.node.json;
 
 import static com.google.common.base.Preconditions.checkNotNull;
-import java.math.BigInteger;
 import org.sirix.api.visitor.JsonNodeVisitor;
 import org.sirix.api.visitor.VisitResult;
+import org.sirix.node.NodeHash;
 import org.sirix.node.NodeKind;
 import org.sirix.node.delegates.NodeDelegate;
 import org.sirix.node.delegates.StructNodeDelegate;
@@ -52,19 +52,16 @@ public final class StringNode extends AbstractStructForwardingNode implements Va
   /** {@link StructNodeDelegate} reference. */
   private final StructNodeDelegate mStructNodeDel;
 
-  private BigInteger mHash;
-
   /**
    * Constructor.
    *
    * @param valDel delegate for {@link ValueNode} implementation
    * @param structDel delegate for {@link StructNode} implementation
    */
-  public StringNode(final BigInteger hashCode, final ValueNodeDelegate valDel, final StructNodeDelegate structDel) {
-    assert hashCode != null;
-    mHash = hashCode;
+  public StringNode(final NodeHash hashCode, final ValueNodeDelegate valDel, final StructNodeDelegate structDel) {
     assert structDel != null;
     mStructNodeDel = structDel;
+    delegate().setHash(hashCode);
     assert valDel != null;
     mValDel = valDel;
   }
@@ -86,24 +83,14 @@ public final class StringNode extends AbstractStructForwardingNode implements Va
   }
 
   @Override
-  public BigInteger computeHash() {
-    BigInteger result = BigInteger.ONE;
-
-    result = BigInteger.valueOf(31).multiply(result).add(mStructNodeDel.getNodeDelegate().computeHash());
-    result = BigInteger.valueOf(31).multiply(result).add(mStructNodeDel.computeHash());
-    result = BigInteger.valueOf(31).multiply(result).add(mValDel.computeHash());
+  public NodeHash computeHash() {
+    NodeHash result = NodeHash.ONE;
 
-    return Node.to128BitsAtMaximumBigInteger(result);
-  }
+    result = result.combine(mStructNodeDel.getNodeDelegate().computeHash());
+    result = result.combine(mStructNodeDel.computeHash());
+    result = result.combine(mValDel.computeHash());
 
-  @Override
-  public void setHash(final BigInteger hash) {
-    mHash = Node.to128BitsAtMaximumBigInteger(hash);
-  }
-
-  @Override
-  public BigInteger getHash() {
-    return mHash;
+    return result;
   }
 
   @Override
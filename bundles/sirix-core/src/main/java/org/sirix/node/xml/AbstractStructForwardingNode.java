@@ -1,6 +1,5 @@
 package org.sirix.node.xml;
 
-import java.math.BigInteger;
 import javax.annotation.Nonnegative;
 import org.sirix.node.AbstractForwardingNode;
 import org.sirix.node.delegates.NodeDelegate;
@@ -32,11 +31,6 @@ public abstract class AbstractStructForwardingNode extends AbstractForwardingNod
     return structDelegate();
   }
 
-  @Override
-  public BigInteger getHash() {
-    return structDelegate().getHash();
-  }
-
   @Override
   public boolean hasFirstChild() {
     return structDelegate().hasFirstChild();
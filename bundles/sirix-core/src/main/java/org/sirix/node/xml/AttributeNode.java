@@ -21,7 +21,6 @@
 
 package org.sirix.node.xml;
 
-import java.math.BigInteger;
 import java.util.Optional;
 import javax.annotation.Nonnegative;
 import javax.annotation.Nullable;
@@ -29,6 +28,7 @@ import org.brackit.xquery.atomic.QNm;
 import org.sirix.api.visitor.VisitResult;
 import org.sirix.api.visitor.XmlNodeVisitor;
 import org.sirix.node.AbstractForwardingNode;
+import org.sirix.node.NodeHash;
 import org.sirix.node.NodeKind;
 import org.sirix.node.SirixDeweyID;
 import org.sirix.node.delegates.NameNodeDelegate;
@@ -66,8 +66,6 @@ public final class AttributeNode extends AbstractForwardingNode implements Value
   /** The qualified name. */
   private final QNm mQNm;
 
-  private BigInteger mHash;
-
   /**
    * Creating an attribute.
    *
@@ -94,11 +92,11 @@ public final class AttributeNode extends AbstractForwardingNode implements Value
    * @param nodeDel {@link StructNodeDelegate} to be set
    * @param valDel {@link ValueNodeDelegate} to be set
    */
-  public AttributeNode(final BigInteger hashCode, final NodeDelegate nodeDel, final NameNodeDelegate nameDel,
+  public AttributeNode(final NodeHash hashCode, final NodeDelegate nodeDel, final NameNodeDelegate nameDel,
       final ValueNodeDelegate valDel, final QNm qNm) {
-    mHash = hashCode;
     assert nodeDel != null : "nodeDel must not be null!";
     mNodeDel = nodeDel;
+    delegate().setHash(hashCode);
     assert nameDel != null : "nameDel must not be null!";
     mNameDel = nameDel;
     assert valDel != null : "valDel must not be null!";
@@ -113,28 +111,18 @@ public final class AttributeNode extends AbstractForwardingNode implements Value
   }
 
   @Override
-  public BigInteger computeHash() {
+  public NodeHash computeHash() {
     final HashCode valueHashCode = mNodeDel.getHashFunction().hashBytes(getRawValue());
 
-    final BigInteger valueBigInteger = new BigInteger(1, valueHashCode.asBytes());
-
-    BigInteger result = BigInteger.ONE;
+    final NodeHash valueHash = NodeHash.fromHashCode(valueHashCode);
 
-    result = BigInteger.valueOf(31).multiply(result).add(mNodeDel.computeHash());
-    result = BigInteger.valueOf(31).multiply(result).add(mNameDel.computeHash());
-    result = BigInteger.valueOf(31).multiply(result).add(valueBigInteger);
+    NodeHash result = NodeHash.ONE;
 
-    return Node.to128BitsAtMaximumBigInteger(result);
-  }
+    result = result.combine(mNodeDel.computeHash());
+    result = result.combine(mNameDel.computeHash());
+    result = result.combine(valueHash);
 
-  @Override
-  public void setHash(BigInteger hash) {
-    mHash = Node.to128BitsAtMaximumBigInteger(hash);
-  }
-
-  @Override
-  public BigInteger getHash() {
-    return mHash;
+    return result;
   }
 
   @Override
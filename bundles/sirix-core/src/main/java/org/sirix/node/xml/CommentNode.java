@@ -1,10 +1,10 @@
 package org.sirix.node.xml;
 
-import java.math.BigInteger;
 import java.util.Optional;
 import javax.annotation.Nullable;
 import org.sirix.api.visitor.VisitResult;
 import org.sirix.api.visitor.XmlNodeVisitor;
+import org.sirix.node.NodeHash;
 import org.sirix.node.NodeKind;
 import org.sirix.node.SirixDeweyID;
 import org.sirix.node.delegates.NodeDelegate;
@@ -38,21 +38,18 @@ public final class CommentNode extends AbstractStructForwardingNode implements V
   /** Value of the node. */
   private byte[] mValue;
 
-  private BigInteger mHash;
-
   /**
    * Constructor for TextNode.
    *
    * @param valDel delegate for {@link ValueNode} implementation
    * @param structDel delegate for {@link StructNode} implementation
    */
-  public CommentNode(final BigInteger hashCode, final ValueNodeDelegate valDel, final StructNodeDelegate structDel) {
-    assert hashCode != null;
-    mHash = hashCode;
+  public CommentNode(final NodeHash hashCode, final ValueNodeDelegate valDel, final StructNodeDelegate structDel) {
     assert valDel != null;
     mValDel = valDel;
     assert structDel != null;
     mStructNodeDel = structDel;
+    delegate().setHash(hashCode);
   }
 
   /**
@@ -74,28 +71,18 @@ public final class CommentNode extends AbstractStructForwardingNode implements V
   }
 
   @Override
-  public BigInteger computeHash() {
+  public NodeHash computeHash() {
     final HashCode valueHashCode = mStructNodeDel.getNodeDelegate().getHashFunction().hashBytes(getRawValue());
 
-    final BigInteger valueBigInteger = new BigInteger(1, valueHashCode.asBytes());
-
-    BigInteger result = BigInteger.ONE;
+    final NodeHash valueHash = NodeHash.fromHashCode(valueHashCode);
 
-    result = BigInteger.valueOf(31).multiply(result).add(mStructNodeDel.getNodeDelegate().computeHash());
-    result = BigInteger.valueOf(31).multiply(result).add(mStructNodeDel.computeHash());
-    result = BigInteger.valueOf(31).multiply(result).add(valueBigInteger);
+    NodeHash result = NodeHash.ONE;
 
-    return Node.to128BitsAtMaximumBigInteger(result);
-  }
+    result = result.combine(mStructNodeDel.getNodeDelegate().computeHash());
+    result = result.combine(mStructNodeDel.computeHash());
+    result = result.combine(valueHash);
 
-  @Override
-  public void setHash(final BigInteger hash) {
-    mHash = Node.to128BitsAtMaximumBigInteger(hash);
-  }
-
-  @Override
-  public BigInteger getHash() {
-    return mHash;
+    return result;
   }
 
   @Override
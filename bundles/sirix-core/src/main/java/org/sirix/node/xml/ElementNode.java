@@ -21,7 +21,6 @@
 
 package org.sirix.node.xml;
 
-import java.math.BigInteger;
 import java.util.Collections;
 import java.util.List;
 import java.util.Optional;
@@ -30,6 +29,7 @@ import javax.annotation.Nonnull;
 import org.brackit.xquery.atomic.QNm;
 import org.sirix.api.visitor.VisitResult;
 import org.sirix.api.visitor.XmlNodeVisitor;
+import org.sirix.node.NodeHash;
 import org.sirix.node.NodeKind;
 import org.sirix.node.SirixDeweyID;
 import org.sirix.node.delegates.NameNodeDelegate;
@@ -74,8 +74,6 @@ public final class ElementNode extends AbstractStructForwardingNode implements N
   /** The qualified name. */
   private final QNm mQNm;
 
-  private BigInteger mHash;
-
   /**
    * Constructor
    *
@@ -86,11 +84,11 @@ public final class ElementNode extends AbstractStructForwardingNode implements N
    * @param namespaceKeys keys of namespaces to be set
    * @param
    */
-  public ElementNode(final BigInteger hashCode, final StructNodeDelegate structDel, final NameNodeDelegate nameDel, final List<Long> attributeKeys,
+  public ElementNode(final NodeHash hashCode, final StructNodeDelegate structDel, final NameNodeDelegate nameDel, final List<Long> attributeKeys,
       final BiMap<Long, Long> attributes, final List<Long> namespaceKeys, final QNm qNm) {
-    mHash = hashCode;
     assert structDel != null;
     mStructNodeDel = structDel;
+    delegate().setHash(hashCode);
     assert nameDel != null;
     mNameDel = nameDel;
     assert attributeKeys != null;
@@ -287,26 +285,14 @@ public final class ElementNode extends AbstractStructForwardingNode implements N
   }
 
   @Override
-  public BigInteger computeHash() {
-    BigInteger result = BigInteger.ONE;
-
-    result = BigInteger.valueOf(31).multiply(result).add(mStructNodeDel.getNodeDelegate().computeHash());
-    result = BigInteger.valueOf(31).multiply(result).add(mStructNodeDel.computeHash());
-    result = BigInteger.valueOf(31).multiply(result).add(mNameDel.computeHash());
-
-    return Node.to128BitsAtMaximumBigInteger(result);
-  }
-
-  @Override
-  public void setHash(final BigInteger hash) {
-    mHash = Node.to128BitsAtMaximumBigInteger(hash);
+  public NodeHash computeHash() {
+    NodeHash result = NodeHash.ONE;
 
-    assert mHash.toByteArray().length <= 17;
-  }
+    result = result.combine(mStructNodeDel.getNodeDelegate().computeHash());
+    result = result.combine(mStructNodeDel.computeHash());
+    result = result.combine(mNameDel.computeHash());
 
-  @Override
-  public BigInteger getHash() {
-    return mHash;
+    return result;
   }
 
   @Override
@@ -21,7 +21,6 @@
 
 package org.sirix.node.xml;
 
-import java.math.BigInteger;
 import java.util.Optional;
 import javax.annotation.Nonnegative;
 import javax.annotation.Nullable;
@@ -29,6 +28,7 @@ import org.brackit.xquery.atomic.QNm;
 import org.sirix.api.visitor.VisitResult;
 import org.sirix.api.visitor.XmlNodeVisitor;
 import org.sirix.node.AbstractForwardingNode;
+import org.sirix.node.NodeHash;
 import org.sirix.node.NodeKind;
 import org.sirix.node.SirixDeweyID;
 import org.sirix.node.delegates.NameNodeDelegate;
@@ -58,8 +58,6 @@ public final class NamespaceNode extends AbstractForwardingNode implements NameN
   /** The qualified name. */
   private final QNm mQNm;
 
-  private BigInteger mHash;
-
   /**
    * Constructor.
    *
@@ -84,14 +82,13 @@ public final class NamespaceNode extends AbstractForwardingNode implements NameN
    * @param nameDel {@link NameNodeDelegate} reference
    * @param qNm The qualified name.
    */
-  public NamespaceNode(final BigInteger hashCode, final NodeDelegate nodeDel, final NameNodeDelegate nameDel,
+  public NamespaceNode(final NodeHash hashCode, final NodeDelegate nodeDel, final NameNodeDelegate nameDel,
       final QNm qNm) {
-    assert hashCode != null;
     assert nodeDel != null;
     assert nameDel != null;
     assert qNm != null;
-    mHash = hashCode;
     mNodeDel = nodeDel;
+    delegate().setHash(hashCode);
     mNameDel = nameDel;
     mQNm = qNm;
   }
@@ -102,23 +99,13 @@ public final class NamespaceNode extends AbstractForwardingNode implements NameN
   }
 
   @Override
-  public BigInteger computeHash() {
-    BigInteger result = BigInteger.ONE;
-
-    result = BigInteger.valueOf(31).multiply(result).add(mNodeDel.computeHash());
-    result = BigInteger.valueOf(31).multiply(result).add(mNameDel.computeHash());
+  public NodeHash computeHash() {
+    NodeHash result = NodeHash.ONE;
 
-    return Node.to128BitsAtMaximumBigInteger(result);
-  }
+    result = result.combine(mNodeDel.computeHash());
+    result = result.combine(mNameDel.computeHash());
 
-  @Override
-  public void setHash(final BigInteger hash) {
-    mHash = Node.to128BitsAtMaximumBigInteger(hash);
-  }
-
-  @Override
-  public BigInteger getHash() {
-    return mHash;
+    return result;
   }
 
   @Override
@@ -138,19 +125,19 @@ public final class NamespaceNode extends AbstractForwardingNode implements NameN
 
   @Override
   public void setPrefixKey(final int prefixKey) {
-    mHash = null;
+    setHash(NodeHash.ZERO);
     mNameDel.setPrefixKey(prefixKey);
   }
 
   @Override
   public void setLocalNameKey(final int localNameKey) {
-    mHash = null;
+    setHash(NodeHash.ZERO);
     mNameDel.setLocalNameKey(localNameKey);
   }
 
   @Override
   public void setURIKey(final int uriKey) {
-    mHash = null;
+    setHash(NodeHash.ZERO);
     mNameDel.setURIKey(uriKey);
   }
 
@@ -1,6 +1,5 @@
 package org.sirix.node.xml;
 
-import java.math.BigInteger;
 import java.util.Optional;
 import javax.annotation.Nonnegative;
 import javax.annotation.Nullable;
@@ -8,6 +7,7 @@ import org.brackit.xquery.atomic.QNm;
 import org.sirix.api.PageReadOnlyTrx;
 import org.sirix.api.visitor.VisitResult;
 import org.sirix.api.visitor.XmlNodeVisitor;
+import org.sirix.node.NodeHash;
 import org.sirix.node.NodeKind;
 import org.sirix.node.SirixDeweyID;
 import org.sirix.node.delegates.NameNodeDelegate;
@@ -44,8 +44,6 @@ public final class PINode extends AbstractStructForwardingNode implements ValueN
   /** {@link PageReadOnlyTrx} reference. */
   private final PageReadOnlyTrx mPageReadTrx;
 
-  private BigInteger mHash;
-
   /**
    * Creating a processing instruction.
    *
@@ -53,11 +51,11 @@ public final class PINode extends AbstractStructForwardingNode implements ValueN
    * @param nameDel {@link NameNodeDelegate} to be set
    * @param valDel {@link ValueNodeDelegate} to be set
    */
-  public PINode(final BigInteger hashCode, final StructNodeDelegate structDel, final NameNodeDelegate nameDel,
+  public PINode(final NodeHash hashCode, final StructNodeDelegate structDel, final NameNodeDelegate nameDel,
       final ValueNodeDelegate valDel, final PageReadOnlyTrx pageReadTrx) {
-    mHash = hashCode;
     assert structDel != null : "structDel must not be null!";
     mStructNodeDel = structDel;
+    delegate().setHash(hashCode);
     assert nameDel != null : "nameDel must not be null!";
     mNameDel = nameDel;
     assert valDel != null : "valDel must not be null!";
@@ -92,25 +90,15 @@ public final class PINode extends AbstractStructForwardingNode implements ValueN
   }
 
   @Override
-  public BigInteger computeHash() {
-    BigInteger result = BigInteger.ONE;
-
-    result = BigInteger.valueOf(31).multiply(result).add(mStructNodeDel.getNodeDelegate().computeHash());
-    result = BigInteger.valueOf(31).multiply(result).add(mStructNodeDel.computeHash());
-    result = BigInteger.valueOf(31).multiply(result).add(mNameDel.computeHash());
-    result = BigInteger.valueOf(31).multiply(result).add(mValDel.computeHash());
+  public NodeHash computeHash() {
+    NodeHash result = NodeHash.ONE;
 
-    return Node.to128BitsAtMaximumBigInteger(result);
-  }
+    result = result.combine(mStructNodeDel.getNodeDelegate().computeHash());
+    result = result.combine(mStructNodeDel.computeHash());
+    result = result.combine(mNameDel.computeHash());
+    result = result.combine(mValDel.computeHash());
 
-  @Override
-  public void setHash(final BigInteger hash) {
-    mHash = Node.to128BitsAtMaximumBigInteger(hash);
-  }
-
-  @Override
-  public BigInteger getHash() {
-    return mHash;
+    return result;
   }
 
   @Override
@@ -144,19 +132,19 @@ public final class PINode extends AbstractStructForwardingNode implements ValueN
 
   @Override
   public void setPrefixKey(final int prefixKey) {
-    mHash = null;
+    setHash(NodeHash.ZERO);
     mNameDel.setPrefixKey(prefixKey);
   }
 
   @Override
   public void setLocalNameKey(final int localNameKey) {
-    mHash = null;
+    setHash(NodeHash.ZERO);
     mNameDel.setLocalNameKey(localNameKey);
   }
 
   @Override
   public void setURIKey(final int uriKey) {
-    mHash = null;
+    setHash(NodeHash.ZERO);
     mNameDel.setURIKey(uriKey);
   }
 
@@ -167,7 +155,7 @@ public final class PINode extends AbstractStructForwardingNode implements ValueN
 
   @Override
   public void setValue(final byte[] value) {
-    mHash = null;
+    setHash(NodeHash.ZERO);
     mValDel.setValue(value);
   }
 
@@ -187,7 +175,7 @@ public final class PINode extends AbstractStructForwardingNode implements ValueN
 
   @Override
   public void setPathNodeKey(final @Nonnegative long pathNodeKey) {
-    mHash = null;
+    setHash(NodeHash.ZERO);
     mNameDel.setPathNodeKey(pathNodeKey);
   }
 
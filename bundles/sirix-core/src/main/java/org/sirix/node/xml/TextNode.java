@@ -21,11 +21,11 @@
 
 package org.sirix.node.xml;
 
-import java.math.BigInteger;
 import java.util.Optional;
 import javax.annotation.Nullable;
 import org.sirix.api.visitor.VisitResult;
 import org.sirix.api.visitor.XmlNodeVisitor;
+import org.sirix.node.NodeHash;
 import org.sirix.node.NodeKind;
 import org.sirix.node.SirixDeweyID;
 import org.sirix.node.delegates.NodeDelegate;
@@ -59,19 +59,16 @@ public final class TextNode extends AbstractStructForwardingNode implements Valu
   /** Value of the node. */
   private byte[] mValue;
 
-  private BigInteger mHash;
-
   /**
    * Constructor for TextNode.
    *
    * @param valDel delegate for {@link ValueNode} implementation
    * @param structDel delegate for {@link StructNode} implementation
    */
-  public TextNode(final BigInteger hashCode, final ValueNodeDelegate valDel, final StructNodeDelegate structDel) {
-    assert hashCode != null;
-    mHash = hashCode;
+  public TextNode(final NodeHash hashCode, final ValueNodeDelegate valDel, final StructNodeDelegate structDel) {
     assert structDel != null;
     mStructNodeDel = structDel;
+    delegate().setHash(hashCode);
     assert valDel != null;
     mValDel = valDel;
   }
@@ -90,24 +87,14 @@ public final class TextNode extends AbstractStructForwardingNode implements Valu
   }
 
   @Override
-  public BigInteger computeHash() {
-    BigInteger result = BigInteger.ONE;
-
-    result = BigInteger.valueOf(31).multiply(result).add(mStructNodeDel.getNodeDelegate().computeHash());
-    result = BigInteger.valueOf(31).multiply(result).add(mStructNodeDel.computeHash());
-    result = BigInteger.valueOf(31).multiply(result).add(mValDel.computeHash());
+  public NodeHash computeHash() {
+    NodeHash result = NodeHash.ONE;
 
-    return Node.to128BitsAtMaximumBigInteger(result);
-  }
+    result = result.combine(mStructNodeDel.getNodeDelegate().computeHash());
+    result = result.combine(mStructNodeDel.computeHash());
+    result = result.combine(mValDel.computeHash());
 
-  @Override
-  public void setHash(final BigInteger hash) {
-    mHash = Node.to128BitsAtMaximumBigInteger(hash);
-  }
-
-  @Override
-  public BigInteger getHash() {
-    return mHash;
+    return result;
   }
 
   @Override
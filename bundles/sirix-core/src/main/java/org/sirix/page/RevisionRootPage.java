@@ -211,6 +211,18 @@ public final class RevisionRootPage extends AbstractForwardingPage {
     return ++mMaxNodeKey;
   }
 
+  /**
+   * Allocate a range of node keys at once, for instance for nodes, which are built concurrently.
+   *
+   * @param count the number of keys to allocate
+   * @return the first allocated key, the others follow consecutively
+   */
+  public long reserveNodeKeys(final @Nonnegative long count) {
+    final long firstNodeKey = mMaxNodeKey + 1;
+    mMaxNodeKey += count;
+    return firstNodeKey;
+  }
+
   /**
    * Set the maximum node key in the revision.
    *
@@ -53,8 +53,18 @@ public enum SerializationType {
       try {
         serializeBitSet(out, bitmap);
 
+        // The storage key and the hash are needed for references to pages, which are not in the log.
         for (final PageReference pageReference : pageReferences) {
           out.writeInt(pageReference.getLogKey());
+          out.writeLong(pageReference.getKey());
+
+          if (pageReference.getHash() == null) {
+            out.writeInt(-1);
+          } else {
+            final byte[] hash = pageReference.getHash();
+            out.writeInt(hash.length);
+            out.write(hash);
+          }
         }
       } catch (final IOException e) {
         throw new SirixIOException(e);
@@ -73,9 +83,18 @@ public enum SerializationType {
         final List<PageReference> references = new GapList<>(length);
 
         for (int offset = 0; offset < length; offset++) {
-          final int key = in.readInt();
           final PageReference reference = new PageReference();
-          reference.setLogKey(key);
+          reference.setLogKey(in.readInt());
+          reference.setKey(in.readLong());
+
+          final int hashLength = in.readInt();
+          if (hashLength != -1) {
+            final byte[] hash = new byte[hashLength];
+            in.readFully(hash);
+
+            reference.setHash(hash);
+          }
+
           references.add(offset, reference);
         }
 
@@ -30,14 +30,17 @@ import java.io.DataOutput;
 import java.io.DataOutputStream;
 import java.io.IOException;
 import java.io.InputStream;
+import java.util.AbstractCollection;
+import java.util.AbstractMap;
+import java.util.AbstractSet;
 import java.util.ArrayList;
 import java.util.Collection;
 import java.util.Collections;
 import java.util.Iterator;
-import java.util.LinkedHashMap;
 import java.util.List;
 import java.util.Map;
 import java.util.Map.Entry;
+import java.util.NoSuchElementException;
 import java.util.Optional;
 import java.util.Set;
 import javax.annotation.Nonnegative;
@@ -53,11 +56,10 @@ import org.sirix.node.interfaces.Record;
 import org.sirix.node.interfaces.RecordPersister;
 import org.sirix.node.interfaces.immutable.ImmutableXmlNode;
 import org.sirix.page.interfaces.KeyValuePage;
+import org.sirix.page.interfaces.Page;
 import org.sirix.settings.Constants;
 import com.google.common.base.MoreObjects;
 import com.google.common.base.Objects;
-import com.google.common.collect.Iterators;
-import com.google.common.collect.PeekingIterator;
 
 /**
  * <h1>UnorderedKeyValuePage</h1>
@@ -66,27 +68,56 @@ import com.google.common.collect.PeekingIterator;
  * An UnorderedKeyValuePage stores a set of records, commonly nodes in an unordered datastructure.
  * </p>
  * <p>
- * The page currently is not thread safe (might have to be for concurrent write-transactions)!
+ * The record keys of a page are dense, that is the keys from {@code pageKey << }
+ * {@link Constants#NDP_NODE_COUNT_EXPONENT} to that key plus {@link Constants#NDP_NODE_COUNT} - 1.
+ * Thus, the records, their serialized forms and the references to overflow pages are stored in
+ * arrays indexed by the offset of the record key in the page instead of maps keyed by boxed record
+ * keys. The entry sets and collections are views over these arrays.
+ * </p>
+ * <p>
+ * Records of a page read from the storage are deserialized lazily on first access. Until then they
+ * are kept in their serialized form as slices of the page, the record entries are {@code null}.
+ * The normal records are stored in a slotted layout, that is a table of the record keys and lengths
+ * followed by the serialized records.
+ * </p>
+ * <p>
+ * The page is not thread safe for modifications, but concurrent readers might access a page served
+ * from the buffer manager, thus all methods touching the records are synchronized.
  * </p>
  */
 public final class UnorderedKeyValuePage implements KeyValuePage<Long, Record> {
 
   private boolean mAddedReferences;
 
-  /** References to overflow pages. */
-  private final Map<Long, PageReference> mReferences;
+  /** References to overflow pages, {@code null} as long as the page has no such reference. */
+  private PageReference[] mReferences;
+
+  /** Number of references to overflow pages. */
+  private int mReferenceCount;
 
   /** Key of record page. This is the base key of all contained nodes. */
   private final long mRecordPageKey;
 
-  /** Records (must be a {@link LinkedHashMap} to provide consistent iteration order). */
-  private final LinkedHashMap<Long, Record> mRecords;
+  /** Records, indexed by their offset, {@code null} if not present or not deserialized yet. */
+  private final Record[] mRecords;
+
+  /**
+   * Backing arrays of the serialized records, either not deserialized yet or to be serialized,
+   * indexed by their offset.
+   */
+  private final byte[][] mSlots;
+
+  /** Start of the serialized records in their backing arrays. */
+  private final int[] mSlotOffsets;
 
-  /** Slots which have to be serialized. */
-  private final Map<Long, byte[]> mSlots;
+  /** Lengths of the serialized records. */
+  private final int[] mSlotLengths;
 
-  /** Dewey IDs which have to be serialized. */
-  private final Map<SirixDeweyID, Long> mDeweyIDs;
+  /** Number of records, which are either deserialized or still serialized. */
+  private int mRecordCount;
+
+  /** Dewey IDs of the serialized records, {@code null} if no dewey IDs are stored. */
+  private final SirixDeweyID[] mDeweyIDs;
 
   /** Sirix {@link PageReadOnlyTrx}. */
   private final PageReadOnlyTrx mPageReadTrx;
@@ -97,8 +128,11 @@ public final class UnorderedKeyValuePage implements KeyValuePage<Long, Record> {
   /** Persistenter. */
   private final RecordPersister mRecordPersister;
 
-  /** Reference key to the previous page if any. */
-  private long mPreviousPageRefKey;
+  /**
+   * Reference keys to the previous versions of the page, the most recent one first, as far as they
+   * might be needed to reconstruct the page.
+   */
+  private final long[] mPreviousPageRefKeys;
 
   /** The resource configuration. */
   private final ResourceConfiguration mResourceConfig;
@@ -109,30 +143,49 @@ public final class UnorderedKeyValuePage implements KeyValuePage<Long, Record> {
    * @param recordPageKey base key assigned to this node page
    * @param pageKind the kind of subtree page (NODEPAGE, PATHSUMMARYPAGE, TEXTVALUEPAGE,
    *        ATTRIBUTEVALUEPAGE)
+   * @param previousPageRefKey reference key to the previous version of the page or
+   *        {@link Constants#NULL_ID_LONG}
    * @param pageReadTrx the page reading transaction
    */
   public UnorderedKeyValuePage(final @Nonnegative long recordPageKey, final PageKind pageKind,
       final long previousPageRefKey, final PageReadOnlyTrx pageReadTrx) {
+    this(recordPageKey, pageKind, previousPageRefKey == Constants.NULL_ID_LONG
+        ? new long[0]
+        : new long[] {previousPageRefKey}, pageReadTrx);
+  }
+
+  /**
+   * Constructor which initializes a new {@link UnorderedKeyValuePage}.
+   *
+   * @param recordPageKey base key assigned to this node page
+   * @param pageKind the kind of subtree page (NODEPAGE, PATHSUMMARYPAGE, TEXTVALUEPAGE,
+   *        ATTRIBUTEVALUEPAGE)
+   * @param previousPageRefKeys reference keys to the previous versions of the page, the most recent
+   *        one first
+   * @param pageReadTrx the page reading transaction
+   */
+  public UnorderedKeyValuePage(final @Nonnegative long recordPageKey, final PageKind pageKind,
+      final long[] previousPageRefKeys, final PageReadOnlyTrx pageReadTrx) {
     // Assertions instead of checkNotNull(...) checks as it's part of the
     // internal flow.
     assert recordPageKey >= 0 : "recordPageKey must not be negative!";
     assert pageReadTrx != null : "The page reading trx must not be null!";
 
-    mReferences = new LinkedHashMap<>();
     mRecordPageKey = recordPageKey;
-    mRecords = new LinkedHashMap<>();
-    mSlots = new LinkedHashMap<>();
+    mRecords = new Record[Constants.NDP_NODE_COUNT];
+    mSlots = new byte[Constants.NDP_NODE_COUNT][];
+    mSlotOffsets = new int[Constants.NDP_NODE_COUNT];
+    mSlotLengths = new int[Constants.NDP_NODE_COUNT];
     mPageReadTrx = pageReadTrx;
     mPageKind = pageKind;
     mResourceConfig = pageReadTrx.getResourceManager().getResourceConfig();
     mRecordPersister = mResourceConfig.recordPersister;
-    mPreviousPageRefKey = previousPageRefKey;
+    mPreviousPageRefKeys = previousPageRefKeys.clone();
 
-    if (mPageReadTrx.getResourceManager().getResourceConfig().areDeweyIDsStored
-        && mRecordPersister instanceof NodePersistenter) {
-      mDeweyIDs = new LinkedHashMap<>();
+    if (mResourceConfig.areDeweyIDsStored && mRecordPersister instanceof NodePersistenter) {
+      mDeweyIDs = new SirixDeweyID[Constants.NDP_NODE_COUNT];
     } else {
-      mDeweyIDs = Collections.emptyMap();
+      mDeweyIDs = null;
     }
   }
 
@@ -141,72 +194,137 @@ public final class UnorderedKeyValuePage implements KeyValuePage<Long, Record> {
    *
    * @param in input bytes to read page from
    * @param pageReadTrx {@link PageReadOnlyTrx} implementation
+   * @param type the serialization type
    */
-  protected UnorderedKeyValuePage(final DataInput in, final PageReadOnlyTrx pageReadTrx) throws IOException {
+  protected UnorderedKeyValuePage(final DataInput in, final PageReadOnlyTrx pageReadTrx,
+      final SerializationType type) throws IOException {
+    assert pageReadTrx != null : "pageReadTrx must not be null!";
     mRecordPageKey = getVarLong(in);
     mResourceConfig = pageReadTrx.getResourceManager().getResourceConfig();
     mRecordPersister = mResourceConfig.recordPersister;
     mPageReadTrx = pageReadTrx;
-    mSlots = new LinkedHashMap<>();
+    mRecords = new Record[Constants.NDP_NODE_COUNT];
+    mSlots = new byte[Constants.NDP_NODE_COUNT][];
+    mSlotOffsets = new int[Constants.NDP_NODE_COUNT];
+    mSlotLengths = new int[Constants.NDP_NODE_COUNT];
 
     if (mResourceConfig.areDeweyIDsStored && mRecordPersister instanceof NodePersistenter) {
-      mDeweyIDs = new LinkedHashMap<>();
+      mDeweyIDs = new SirixDeweyID[Constants.NDP_NODE_COUNT];
       final NodePersistenter persistenter = (NodePersistenter) mRecordPersister;
       final int deweyIDSize = in.readInt();
 
-      mRecords = new LinkedHashMap<>(deweyIDSize);
-      Optional<SirixDeweyID> id = Optional.empty();
+      SirixDeweyID id = null;
 
       for (int index = 0; index < deweyIDSize; index++) {
-        id = persistenter.deserializeDeweyID(in, id.orElse(null), mResourceConfig);
-
-        id.ifPresent(deweyId -> {
-          try {
-            final long key = getVarLong(in);
-            final int dataSize = in.readInt();
-            final byte[] data = new byte[dataSize];
-            in.readFully(data);
-            final Record record = mRecordPersister.deserialize(new DataInputStream(new ByteArrayInputStream(data)), key,
-                deweyId, mPageReadTrx);
-            mRecords.put(key, record);
-          } catch (final IOException e) {
-            throw new SirixIOException(e);
-          }
-        });
+        final Optional<SirixDeweyID> deweyID = persistenter.deserializeDeweyID(in, id, mResourceConfig);
+
+        id = deweyID.orElse(null);
+
+        if (id != null) {
+          final int offset = offset(getVarLong(in));
+          final byte[] data = new byte[in.readInt()];
+          in.readFully(data);
+          setSlot(offset, data, 0, data.length);
+          mDeweyIDs[offset] = id;
+        }
       }
     } else {
-      mDeweyIDs = Collections.emptyMap();
-      mRecords = new LinkedHashMap<>();
+      mDeweyIDs = null;
     }
 
+    // Slotted layout: the keys and lengths of the records followed by the records.
     final int normalEntrySize = in.readInt();
+    final int[] offsets = new int[normalEntrySize];
+    final int[] lengths = new int[normalEntrySize];
+    int dataSize = 0;
     for (int index = 0; index < normalEntrySize; index++) {
-      final long key = getVarLong(in);
-      final int dataSize = in.readInt();
-      final byte[] data = new byte[dataSize];
-      in.readFully(data);
-      final Record record =
-          mRecordPersister.deserialize(new DataInputStream(new ByteArrayInputStream(data)), key, null, mPageReadTrx);
-      mRecords.put(key, record);
+      offsets[index] = offset(getVarLong(in));
+      lengths[index] = in.readInt();
+      dataSize += lengths[index];
+    }
+    final byte[] data = new byte[dataSize];
+    in.readFully(data);
+    int dataOffset = 0;
+    for (int index = 0; index < normalEntrySize; index++) {
+      setSlot(offsets[index], data, dataOffset, lengths[index]);
+      dataOffset += lengths[index];
     }
     final int overlongEntrySize = in.readInt();
-    mReferences = new LinkedHashMap<>(overlongEntrySize);
     for (int index = 0; index < overlongEntrySize; index++) {
       final long key = in.readLong();
       final PageReference reference = new PageReference();
       reference.setKey(in.readLong());
-      mReferences.put(key, reference);
+      if (type == SerializationType.TRANSACTION_INTENT_LOG && in.readBoolean()) {
+        reference.setPage(new OverflowPage(in));
+      }
+      setOverflowReference(offset(key), reference);
     }
-    assert pageReadTrx != null : "pageReadTrx must not be null!";
-    final boolean hasPreviousReference = in.readBoolean();
-    if (hasPreviousReference) {
-      mPreviousPageRefKey = in.readLong();
-    } else {
-      mPreviousPageRefKey = Constants.NULL_ID_LONG;
+    mPreviousPageRefKeys = new long[in.readInt()];
+    for (int index = 0; index < mPreviousPageRefKeys.length; index++) {
+      mPreviousPageRefKeys[index] = in.readLong();
     }
     mPageKind = PageKind.getKind(in.readByte());
   }
 
+  /**
+   * Get the offset of a record in this page.
+   *
+   * @param key the record key
+   * @return the offset of the record
+   */
+  private int offset(final long key) {
+    assert key >> Constants.NDP_NODE_COUNT_EXPONENT == mRecordPageKey : "key " + key
+        + " is not stored in page " + mRecordPageKey;
+    return (int) (key & (Constants.NDP_NODE_COUNT - 1));
+  }
+
+  /**
+   * Get the record key of an offset in this page.
+   *
+   * @param offset the offset of the record
+   * @return the record key
+   */
+  private long key(final int offset) {
+    return (mRecordPageKey << Constants.NDP_NODE_COUNT_EXPONENT) + offset;
+  }
+
+  private boolean isOccupied(final int offset) {
+    return mRecords[offset] != null || mSlots[offset] != null;
+  }
+
+  private void setRecord(final int offset, final Record record) {
+    if (!isOccupied(offset)) {
+      mRecordCount++;
+    }
+    mRecords[offset] = record;
+  }
+
+  private void setSlot(final int offset, final byte[] data, final int dataOffset, final int length) {
+    if (!isOccupied(offset)) {
+      mRecordCount++;
+    }
+    mSlots[offset] = data;
+    mSlotOffsets[offset] = dataOffset;
+    mSlotLengths[offset] = length;
+  }
+
+  private void removeSlot(final int offset) {
+    mSlots[offset] = null;
+    if (mDeweyIDs != null) {
+      mDeweyIDs[offset] = null;
+    }
+  }
+
+  private void setOverflowReference(final int offset, final PageReference reference) {
+    if (mReferences == null) {
+      mReferences = new PageReference[Constants.NDP_NODE_COUNT];
+    }
+    if (mReferences[offset] == null) {
+      mReferenceCount++;
+    }
+    mReferences[offset] = reference;
+  }
+
   @Override
   public long getPageKey() {
     return mRecordPageKey;
@@ -214,14 +332,32 @@ public final class UnorderedKeyValuePage implements KeyValuePage<Long, Record> {
 
   @Override
   public Record getValue(final Long key) {
+    return getValue(key, mPageReadTrx);
+  }
+
+  /**
+   * Get the record with the specified key.
+   *
+   * @param key the key of the record
+   * @param pageReadTrx the transaction used to deserialize the record, if it's not deserialized yet,
+   *        as the page might be shared with transactions, which are already closed
+   * @return the record with the given key, or {@code null} if not present
+   */
+  public synchronized Record getValue(final Long key, final PageReadOnlyTrx pageReadTrx) {
     assert key != null : "key must not be null!";
-    Record record = mRecords.get(key);
+    final int offset = offset(key);
+    Record record = mRecords[offset];
     if (record == null) {
+      if (mSlots[offset] != null) {
+        return deserializeRecord(offset, pageReadTrx);
+      }
       byte[] data = null;
       try {
-        final PageReference reference = mReferences.get(key);
+        final PageReference reference = mReferences == null
+            ? null
+            : mReferences[offset];
         if (reference != null && reference.getKey() != Constants.NULL_ID_LONG) {
-          data = ((OverflowPage) mPageReadTrx.getReader().read(reference, mPageReadTrx)).getData();
+          data = ((OverflowPage) pageReadTrx.getReader().read(reference, pageReadTrx)).getData();
         } else {
           return null;
         }
@@ -234,110 +370,258 @@ public final class UnorderedKeyValuePage implements KeyValuePage<Long, Record> {
       } catch (final IOException e) {
         return null;
       }
-      mRecords.put(key, record);
+      setRecord(offset, record);
     }
     return record;
   }
 
+  private Record deserializeRecord(final int offset, final PageReadOnlyTrx pageReadTrx) {
+    final SirixDeweyID deweyID = mDeweyIDs == null
+        ? null
+        : mDeweyIDs[offset];
+    final byte[] slot = mSlots[offset];
+    assert slot != null : "slot of the record must be present!";
+    try {
+      final Record record = mRecordPersister.deserialize(
+          new DataInputStream(new ByteArrayInputStream(slot, mSlotOffsets[offset], mSlotLengths[offset])),
+          key(offset), deweyID, pageReadTrx);
+      mRecords[offset] = record;
+      // The record might be modified in-place, thus it has to be serialized again.
+      removeSlot(offset);
+      mAddedReferences = false;
+      return record;
+    } catch (final IOException e) {
+      throw new SirixIOException(e);
+    }
+  }
+
+  private void deserializeRecords() {
+    for (int offset = 0; offset < mRecords.length; offset++) {
+      if (mRecords[offset] == null && mSlots[offset] != null) {
+        deserializeRecord(offset, mPageReadTrx);
+      }
+    }
+  }
+
+  @Override
+  public synchronized boolean containsKey(final Long key) {
+    assert key != null : "key must not be null!";
+    final int offset = offset(key);
+    return isOccupied(offset) || (mReferences != null && mReferences[offset] != null);
+  }
+
+  @Override
+  public synchronized Set<Long> keySet() {
+    return new AbstractSet<>() {
+      @Override
+      public Iterator<Long> iterator() {
+        return new OffsetIterator<>() {
+          @Override
+          Long get(final int offset) {
+            return key(offset);
+          }
+        };
+      }
+
+      @Override
+      public boolean contains(final Object key) {
+        synchronized (UnorderedKeyValuePage.this) {
+          return key instanceof Long && ((Long) key) >> Constants.NDP_NODE_COUNT_EXPONENT == mRecordPageKey
+              && isOccupied(offset((Long) key));
+        }
+      }
+
+      @Override
+      public int size() {
+        synchronized (UnorderedKeyValuePage.this) {
+          return mRecordCount;
+        }
+      }
+    };
+  }
+
+  @Override
+  public void copyEntry(final Long key, final KeyValuePage<Long, Record> page) {
+    assert key != null : "key must not be null!";
+    final int offset = offset(key);
+    if (page instanceof UnorderedKeyValuePage) {
+      final UnorderedKeyValuePage other = (UnorderedKeyValuePage) page;
+      final byte[] slot;
+      final int slotOffset;
+      final int slotLength;
+      final SirixDeweyID deweyID;
+      synchronized (other) {
+        slot = other.mRecords[offset] == null
+            ? other.mSlots[offset]
+            : null;
+        slotOffset = other.mSlotOffsets[offset];
+        slotLength = other.mSlotLengths[offset];
+        deweyID = other.mDeweyIDs == null
+            ? null
+            : other.mDeweyIDs[offset];
+      }
+      if (slot != null) {
+        // Copy the record in its serialized form.
+        synchronized (this) {
+          removeSlot(offset);
+          setSlot(offset, slot, slotOffset, slotLength);
+          mRecords[offset] = null;
+          if (deweyID != null && mDeweyIDs != null) {
+            mDeweyIDs[offset] = deweyID;
+          }
+        }
+        return;
+      }
+    }
+    final Record record = page.getValue(key);
+    if (record != null) {
+      setEntry(key, record);
+    }
+  }
+
   @Override
-  public void setEntry(final Long key, final Record value) {
+  public synchronized void setEntry(final Long key, final Record value) {
     assert value != null : "record must not be null!";
     mAddedReferences = false;
-    mRecords.put(key, value);
+    final int offset = offset(key);
+    removeSlot(offset);
+    setRecord(offset, value);
   }
 
   @Override
-  public void serialize(final DataOutput out, final SerializationType type) throws IOException {
+  public synchronized void serialize(final DataOutput out, final SerializationType type) throws IOException {
     if (!mAddedReferences) {
       addReferences();
     }
     // Write page key.
     putVarLong(out, mRecordPageKey);
     // Write dewey IDs.
-    if (mResourceConfig.areDeweyIDsStored && mRecordPersister instanceof NodePersistenter) {
+    if (mDeweyIDs != null) {
       final NodePersistenter persistenter = (NodePersistenter) mRecordPersister;
-      out.writeInt(mDeweyIDs.size());
-      final List<SirixDeweyID> ids = new ArrayList<>(mDeweyIDs.keySet());
-      ids.sort((SirixDeweyID first, SirixDeweyID second) -> Integer.valueOf(first.toBytes().length)
-                                                                   .compareTo(second.toBytes().length));
-      final PeekingIterator<SirixDeweyID> iter = Iterators.peekingIterator(ids.iterator());
+      final List<Integer> offsets = new ArrayList<>();
+      for (int offset = 0; offset < mDeweyIDs.length; offset++) {
+        if (mDeweyIDs[offset] != null) {
+          offsets.add(offset);
+        }
+      }
+      offsets.sort((Integer first, Integer second) -> Integer.compare(mDeweyIDs[first].toBytes().length,
+          mDeweyIDs[second].toBytes().length));
+      out.writeInt(offsets.size());
       SirixDeweyID id = null;
-      if (iter.hasNext()) {
-        id = iter.next();
-        persistenter.serializeDeweyID(out, NodeKind.ELEMENT, id, null, mResourceConfig);
-        serializeDeweyRecord(id, out);
-      }
-      while (iter.hasNext()) {
-        final SirixDeweyID nextDeweyID = iter.next();
-        persistenter.serializeDeweyID(out, NodeKind.ELEMENT, id, nextDeweyID, mResourceConfig);
-        serializeDeweyRecord(nextDeweyID, out);
+      for (final int offset : offsets) {
+        final SirixDeweyID nextDeweyID = mDeweyIDs[offset];
+        if (id == null) {
+          persistenter.serializeDeweyID(out, NodeKind.ELEMENT, nextDeweyID, null, mResourceConfig);
+        } else {
+          persistenter.serializeDeweyID(out, NodeKind.ELEMENT, id, nextDeweyID, mResourceConfig);
+        }
+        putVarLong(out, key(offset));
+        out.writeInt(mSlotLengths[offset]);
+        writeSlot(out, offset);
         id = nextDeweyID;
       }
     }
-    // Write normal entries.
-    out.writeInt(mSlots.size());
-    for (final Entry<Long, byte[]> entry : mSlots.entrySet()) {
-      putVarLong(out, entry.getKey());
-      final byte[] data = entry.getValue();
-      final int length = data.length;
-      out.writeInt(length);
-      out.write(data);
+    // Write normal entries, first the keys and lengths, then the data.
+    int normalEntrySize = 0;
+    for (int offset = 0; offset < mSlots.length; offset++) {
+      if (isNormalSlot(offset)) {
+        normalEntrySize++;
+      }
+    }
+    out.writeInt(normalEntrySize);
+    for (int offset = 0; offset < mSlots.length; offset++) {
+      if (isNormalSlot(offset)) {
+        putVarLong(out, key(offset));
+        out.writeInt(mSlotLengths[offset]);
+      }
+    }
+    for (int offset = 0; offset < mSlots.length; offset++) {
+      if (isNormalSlot(offset)) {
+        writeSlot(out, offset);
+      }
     }
     // Write overlong entries.
-    out.writeInt(mReferences.size());
-    for (final Map.Entry<Long, PageReference> entry : mReferences.entrySet()) {
+    out.writeInt(mReferenceCount);
+    for (final Entry<Long, PageReference> entry : referenceEntrySet()) {
       // Write record ID.
       out.writeLong(entry.getKey());
       // Write key in persistent storage.
       out.writeLong(entry.getValue().getKey());
+      // Overflow pages, which are not written yet, are only in memory.
+      if (type == SerializationType.TRANSACTION_INTENT_LOG) {
+        final Page overflowPage = entry.getValue().getPage();
+        out.writeBoolean(overflowPage != null);
+        if (overflowPage != null) {
+          overflowPage.serialize(out, type);
+        }
+      }
     }
-    // Write previous reference if it has any reference.
-    final boolean hasPreviousReference = mPreviousPageRefKey != Constants.NULL_ID_LONG;
-    out.writeBoolean(hasPreviousReference);
-    if (hasPreviousReference) {
-      out.writeLong(mPreviousPageRefKey);
+    // Write the references to the previous versions.
+    out.writeInt(mPreviousPageRefKeys.length);
+    for (final long previousPageRefKey : mPreviousPageRefKeys) {
+      out.writeLong(previousPageRefKey);
     }
     out.writeByte(mPageKind.getID());
   }
 
-  private void serializeDeweyRecord(SirixDeweyID id, DataOutput out) throws IOException {
-    final long recordKey = mDeweyIDs.get(id);
-    putVarLong(out, recordKey);
-    final byte[] data = mSlots.get(recordKey);
-    final int length = data.length;
-    out.writeInt(length);
-    out.write(data);
-    mSlots.remove(recordKey);
+  private boolean isNormalSlot(final int offset) {
+    return mSlots[offset] != null && (mDeweyIDs == null || mDeweyIDs[offset] == null);
+  }
+
+  private void writeSlot(final DataOutput out, final int offset) throws IOException {
+    out.write(mSlots[offset], mSlotOffsets[offset], mSlotLengths[offset]);
   }
 
   @Override
-  public String toString() {
+  public synchronized String toString() {
     final MoreObjects.ToStringHelper helper = MoreObjects.toStringHelper(this).add("pagekey", mRecordPageKey);
-    for (final Record record : mRecords.values()) {
-      helper.add("record", record);
+    for (int offset = 0; offset < mRecords.length; offset++) {
+      if (mRecords[offset] != null) {
+        helper.add("record", mRecords[offset]);
+      } else if (mSlots[offset] != null) {
+        helper.add("serialized record", key(offset));
+      }
     }
-    for (final PageReference reference : mReferences.values()) {
-      helper.add("reference", reference);
+    for (final Entry<Long, PageReference> entry : referenceEntrySet()) {
+      helper.add("reference", entry.getValue());
     }
     return helper.toString();
   }
 
   @Override
-  public Set<Entry<Long, Record>> entrySet() {
-    return mRecords.entrySet();
+  public synchronized Set<Entry<Long, Record>> entrySet() {
+    deserializeRecords();
+    return new AbstractSet<>() {
+      @Override
+      public Iterator<Entry<Long, Record>> iterator() {
+        return new OffsetIterator<>() {
+          @Override
+          Entry<Long, Record> get(final int offset) {
+            return new RecordEntry(offset);
+          }
+        };
+      }
+
+      @Override
+      public int size() {
+        synchronized (UnorderedKeyValuePage.this) {
+          return mRecordCount;
+        }
+      }
+    };
   }
 
   @Override
-  public int hashCode() {
-    return Objects.hashCode(mRecordPageKey, mRecords, mReferences);
+  public synchronized int hashCode() {
+    return Objects.hashCode(mRecordPageKey, entrySet(), referenceEntrySet());
   }
 
   @Override
   public boolean equals(final @Nullable Object obj) {
     if (obj instanceof UnorderedKeyValuePage) {
       final UnorderedKeyValuePage other = (UnorderedKeyValuePage) obj;
-      return mRecordPageKey == other.mRecordPageKey && Objects.equal(mRecords, other.mRecords)
-          && Objects.equal(mReferences, other.mReferences);
+      return mRecordPageKey == other.mRecordPageKey && entrySet().equals(other.entrySet())
+          && referenceEntrySet().equals(other.referenceEntrySet());
     }
     return false;
   }
@@ -348,7 +632,7 @@ public final class UnorderedKeyValuePage implements KeyValuePage<Long, Record> {
   }
 
   @Override
-  public <K extends Comparable<? super K>, V extends Record, S extends KeyValuePage<K, V>> void commit(
+  public synchronized <K extends Comparable<? super K>, V extends Record, S extends KeyValuePage<K, V>> void commit(
       PageTrx<K, V, S> pageWriteTrx) {
     if (!mAddedReferences) {
       try {
@@ -358,7 +642,8 @@ public final class UnorderedKeyValuePage implements KeyValuePage<Long, Record> {
       }
     }
 
-    for (final PageReference reference : mReferences.values()) {
+    for (final Entry<Long, PageReference> entry : referenceEntrySet()) {
+      final PageReference reference = entry.getValue();
       if (!(reference.getPage() == null && reference.getKey() == Constants.NULL_ID_LONG
           && reference.getLogKey() == Constants.NULL_ID_LONG)) {
         pageWriteTrx.commit(reference);
@@ -368,15 +653,12 @@ public final class UnorderedKeyValuePage implements KeyValuePage<Long, Record> {
 
   // Add references to OverflowPages.
   private void addReferences() throws IOException {
-    final boolean storeDeweyIDs = mPageReadTrx.getResourceManager().getResourceConfig().areDeweyIDsStored;
-
-    final List<Entry<Long, Record>> entries = sort();
-    final Iterator<Entry<Long, Record>> it = entries.iterator();
-    while (it.hasNext()) {
-      final Entry<Long, Record> entry = it.next();
-      final Record record = entry.getValue();
-      final long recordID = record.getNodeKey();
-      if (mSlots.get(recordID) == null) {
+    final boolean storeDeweyIDs = mDeweyIDs != null;
+
+    for (int offset = 0; offset < mRecords.length; offset++) {
+      final Record record = mRecords[offset];
+      // Records, which are neither modified nor deserialized, are still stored in their slots.
+      if (record != null && mSlots[offset] == null) {
         // Must be either a normal record or one which requires an
         // Overflow page.
         final ByteArrayOutputStream output = new ByteArrayOutputStream();
@@ -386,12 +668,12 @@ public final class UnorderedKeyValuePage implements KeyValuePage<Long, Record> {
         if (data.length > PageConstants.MAX_RECORD_SIZE) {
           final PageReference reference = new PageReference();
           reference.setPage(new OverflowPage(data));
-          mReferences.put(recordID, reference);
+          setOverflowReference(offset, reference);
         } else {
-          if (storeDeweyIDs && mRecordPersister instanceof NodePersistenter && record instanceof ImmutableXmlNode
+          if (storeDeweyIDs && record instanceof ImmutableXmlNode
               && ((ImmutableXmlNode) record).getDeweyID().isPresent() && record.getNodeKey() != 0)
-            mDeweyIDs.put(((ImmutableXmlNode) record).getDeweyID().get(), record.getNodeKey());
-          mSlots.put(recordID, data);
+            mDeweyIDs[offset] = ((ImmutableXmlNode) record).getDeweyID().get();
+          setSlot(offset, data, 0, data.length);
         }
       }
     }
@@ -399,39 +681,27 @@ public final class UnorderedKeyValuePage implements KeyValuePage<Long, Record> {
     mAddedReferences = true;
   }
 
-  private List<Entry<Long, Record>> sort() {
-    // Sort entries which have deweyIDs according to their byte-length.
-    final List<Map.Entry<Long, Record>> entries = new ArrayList<>(mRecords.entrySet());
-    final boolean storeDeweyIDs = mPageReadTrx.getResourceManager().getResourceConfig().areDeweyIDsStored;
-    if (storeDeweyIDs && mRecordPersister instanceof NodePersistenter) {
-      entries.sort((a, b) -> {
-        if (a.getValue() instanceof ImmutableXmlNode && b.getValue() instanceof ImmutableXmlNode) {
-          final Optional<SirixDeweyID> first = ((ImmutableXmlNode) a.getValue()).getDeweyID();
-          final Optional<SirixDeweyID> second = ((ImmutableXmlNode) b.getValue()).getDeweyID();
-
-          // Document node has no DeweyID.
-          if (!first.isPresent() && second.isPresent())
-            return 1;
-
-          if (!second.isPresent() && first.isPresent())
-            return -1;
-
-          if (!first.isPresent() && !second.isPresent())
-            return 0;
+  @Override
+  public synchronized Collection<Record> values() {
+    deserializeRecords();
+    return new AbstractCollection<>() {
+      @Override
+      public Iterator<Record> iterator() {
+        return new OffsetIterator<>() {
+          @Override
+          Record get(final int offset) {
+            return mRecords[offset];
+          }
+        };
+      }
 
-          return first.get().compareTo(second.get());
+      @Override
+      public int size() {
+        synchronized (UnorderedKeyValuePage.this) {
+          return mRecordCount;
         }
-
-        return -1;
-      });
-    }
-
-    return entries;
-  }
-
-  @Override
-  public Collection<Record> values() {
-    return mRecords.values();
+      }
+    };
   }
 
   @Override
@@ -456,36 +726,185 @@ public final class UnorderedKeyValuePage implements KeyValuePage<Long, Record> {
     return (C) new UnorderedKeyValuePage(recordPageKey, pageKind, previousPageRefKey, pageReadTrx);
   }
 
+  @SuppressWarnings("unchecked")
+  @Override
+  public <C extends KeyValuePage<Long, Record>> C newInstance(final long recordPageKey, final PageKind pageKind,
+      final long[] previousPageRefKeys, final PageReadOnlyTrx pageReadTrx) {
+    return (C) new UnorderedKeyValuePage(recordPageKey, pageKind, previousPageRefKeys, pageReadTrx);
+  }
+
   @Override
   public PageKind getPageKind() {
     return mPageKind;
   }
 
   @Override
-  public int size() {
-    return mRecords.size() + mReferences.size();
+  public synchronized int size() {
+    return mRecordCount + mReferenceCount;
   }
 
   @Override
-  public void setPageReference(final Long key, final PageReference reference) {
+  public synchronized void setPageReference(final Long key, final PageReference reference) {
     assert key != null;
-    mReferences.put(key, reference);
+    setOverflowReference(offset(key), reference);
   }
 
   @Override
-  public Set<Entry<Long, PageReference>> referenceEntrySet() {
-    return mReferences.entrySet();
+  public synchronized Set<Entry<Long, PageReference>> referenceEntrySet() {
+    final PageReference[] references = mReferences;
+    if (references == null) {
+      return Collections.emptySet();
+    }
+    return new AbstractSet<>() {
+      @Override
+      public Iterator<Entry<Long, PageReference>> iterator() {
+        return new Iterator<>() {
+          private int mOffset = next(0);
+
+          private int next(int offset) {
+            synchronized (UnorderedKeyValuePage.this) {
+              while (offset < references.length && references[offset] == null) {
+                offset++;
+              }
+              return offset;
+            }
+          }
+
+          @Override
+          public boolean hasNext() {
+            return mOffset < references.length;
+          }
+
+          @Override
+          public Entry<Long, PageReference> next() {
+            if (!hasNext()) {
+              throw new NoSuchElementException();
+            }
+            synchronized (UnorderedKeyValuePage.this) {
+              final Entry<Long, PageReference> entry =
+                  new AbstractMap.SimpleImmutableEntry<>(key(mOffset), references[mOffset]);
+              mOffset = next(mOffset + 1);
+              return entry;
+            }
+          }
+        };
+      }
+
+      @Override
+      public int size() {
+        synchronized (UnorderedKeyValuePage.this) {
+          return mReferenceCount;
+        }
+      }
+    };
   }
 
   @Override
-  public PageReference getPageReference(final Long key) {
+  public synchronized PageReference getPageReference(final Long key) {
     assert key != null;
-    return mReferences.get(key);
+    return mReferences == null
+        ? null
+        : mReferences[offset(key)];
   }
 
   @Override
   public long getPreviousReferenceKey() {
-    return mPreviousPageRefKey;
+    return mPreviousPageRefKeys.length == 0
+        ? Constants.NULL_ID_LONG
+        : mPreviousPageRefKeys[0];
+  }
+
+  @Override
+  public long[] getPreviousReferenceKeys() {
+    return mPreviousPageRefKeys.clone();
+  }
+
+  /**
+   * Iterates over the offsets of the records, which are either deserialized or still serialized. The
+   * iterator synchronizes on the page, just like the methods of the page.
+   *
+   * @param <E> the type of the returned elements
+   */
+  private abstract class OffsetIterator<E> implements Iterator<E> {
+    private int mOffset = next(0);
+
+    private int next(int offset) {
+      synchronized (UnorderedKeyValuePage.this) {
+        while (offset < mRecords.length && !isOccupied(offset)) {
+          offset++;
+        }
+        return offset;
+      }
+    }
+
+    abstract E get(int offset);
+
+    @Override
+    public boolean hasNext() {
+      return mOffset < mRecords.length;
+    }
+
+    @Override
+    public E next() {
+      if (!hasNext()) {
+        throw new NoSuchElementException();
+      }
+      synchronized (UnorderedKeyValuePage.this) {
+        final E element = get(mOffset);
+        mOffset = next(mOffset + 1);
+        return element;
+      }
+    }
   }
 
+  /**
+   * A record entry, which writes through to the page.
+   */
+  private final class RecordEntry implements Map.Entry<Long, Record> {
+    private final int mOffset;
+
+    RecordEntry(final int offset) {
+      mOffset = offset;
+    }
+
+    @Override
+    public Long getKey() {
+      return key(mOffset);
+    }
+
+    @Override
+    public Record getValue() {
+      synchronized (UnorderedKeyValuePage.this) {
+        return mRecords[mOffset];
+      }
+    }
+
+    @Override
+    public Record setValue(final Record value) {
+      synchronized (UnorderedKeyValuePage.this) {
+        final Record oldValue = mRecords[mOffset];
+        setEntry(getKey(), value);
+        return oldValue;
+      }
+    }
+
+    @Override
+    public int hashCode() {
+      return getKey().hashCode() ^ java.util.Objects.hashCode(getValue());
+    }
+
+    @Override
+    public boolean equals(final @Nullable Object obj) {
+      if (obj instanceof Map.Entry) {
+        final Map.Entry<?, ?> other = (Map.Entry<?, ?>) obj;
+        return getKey().equals(other.getKey()) && java.util.Objects.equals(getValue(), other.getValue());
+      }
+      return false;
+    }
+
+    @Override
+    public String toString() {
+      return getKey() + "=" + getValue();
+    }
+  }
 }
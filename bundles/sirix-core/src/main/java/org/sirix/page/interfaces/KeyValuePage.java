@@ -1,6 +1,7 @@
 package org.sirix.page.interfaces;
 
 import java.util.Collection;
+import java.util.LinkedHashSet;
 import java.util.Map.Entry;
 import java.util.Set;
 import javax.annotation.Nonnegative;
@@ -9,6 +10,7 @@ import org.sirix.api.PageReadOnlyTrx;
 import org.sirix.node.interfaces.Record;
 import org.sirix.page.PageKind;
 import org.sirix.page.PageReference;
+import org.sirix.settings.Constants;
 
 /**
  * Key/Value page.
@@ -47,6 +49,44 @@ public interface KeyValuePage<K extends Comparable<? super K>, V extends Record>
    */
   V getValue(K key);
 
+  /**
+   * Determines if a record or a reference to an overlong record with the specified key is stored,
+   * without deserializing the record.
+   *
+   * @param key the key
+   * @return {@code true}, if a record or reference is stored, {@code false} otherwise
+   */
+  default boolean containsKey(K key) {
+    return getValue(key) != null;
+  }
+
+  /**
+   * Get the keys of all records in the page, without deserializing the records.
+   *
+   * @return the keys
+   */
+  default Set<K> keySet() {
+    final Set<K> keys = new LinkedHashSet<>();
+    for (final Entry<K, V> entry : entrySet()) {
+      keys.add(entry.getKey());
+    }
+    return keys;
+  }
+
+  /**
+   * Copy the record with the specified key from another page. Implementations might copy the
+   * record in its serialized form, if it isn't deserialized in the other page yet.
+   *
+   * @param key the key of the record
+   * @param page the page to copy the record from
+   */
+  default void copyEntry(K key, KeyValuePage<K, V> page) {
+    final V value = page.getValue(key);
+    if (value != null) {
+      setEntry(key, value);
+    }
+  }
+
   /**
    * Store or overwrite a single entry. The implementation must make sure if the key must be
    * permitted, the value or none.
@@ -82,6 +122,25 @@ public interface KeyValuePage<K extends Comparable<? super K>, V extends Record>
   <C extends KeyValuePage<K, V>> C newInstance(@Nonnegative long recordPageKey,
       @Nonnull PageKind pageKind, long previousPageRefKey, @Nonnull PageReadOnlyTrx pageReadTrx);
 
+  /**
+   * Create a new instance, which records the reference keys of all previous versions of the page,
+   * which might be needed to reconstruct the page.
+   *
+   * @param recordPageKey the record page key
+   * @param pageKind the kind of page (in which subtree it is (NODEPAGE, PATHSUMMARYPAGE,
+   *        TEXTVALUEPAGE, ATTRIBUTEVALUEPAGE))
+   * @param previousPageRefKeys the reference keys of the previous versions of the page, the most
+   *        recent one first
+   * @param pageReadTrx transaction to read pages
+   * @return a new {@link KeyValuePage} instance
+   */
+  default <C extends KeyValuePage<K, V>> C newInstance(@Nonnegative long recordPageKey,
+      @Nonnull PageKind pageKind, long[] previousPageRefKeys, @Nonnull PageReadOnlyTrx pageReadTrx) {
+    return newInstance(recordPageKey, pageKind, previousPageRefKeys.length == 0
+        ? Constants.NULL_ID_LONG
+        : previousPageRefKeys[0], pageReadTrx);
+  }
+
   /**
    * Get the {@link PageReadOnlyTrx}.
    *
@@ -109,4 +168,18 @@ public interface KeyValuePage<K extends Comparable<? super K>, V extends Record>
    * @return optional {@link PageReference} pointing to the previous version of the page
    */
   long getPreviousReferenceKey();
+
+  /**
+   * Get the reference keys of the previous versions of the page, the most recent one first. The
+   * versions are recorded as far as they might be needed to reconstruct the page, such that they can
+   * be read concurrently instead of following the previous reference of each version.
+   *
+   * @return the reference keys of the previous versions of the page
+   */
+  default long[] getPreviousReferenceKeys() {
+    final long previousReferenceKey = getPreviousReferenceKey();
+    return previousReferenceKey == Constants.NULL_ID_LONG
+        ? new long[0]
+        : new long[] {previousReferenceKey};
+  }
 }
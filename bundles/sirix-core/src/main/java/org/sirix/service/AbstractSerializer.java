@@ -21,21 +21,28 @@
 
 package org.sirix.service;
 
+import static com.google.common.base.Preconditions.checkArgument;
 import static com.google.common.base.Preconditions.checkNotNull;
 import java.util.ArrayDeque;
+import java.util.ArrayList;
 import java.util.Deque;
+import java.util.List;
 import java.util.concurrent.Callable;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
 import javax.annotation.Nonnegative;
-import org.sirix.api.Axis;
 import org.sirix.api.NodeCursor;
 import org.sirix.api.NodeReadOnlyTrx;
 import org.sirix.api.NodeTrx;
 import org.sirix.api.ResourceManager;
 import org.sirix.api.xml.XmlNodeReadOnlyTrx;
-import org.sirix.axis.DescendantAxis;
-import org.sirix.axis.IncludeSelf;
+import org.sirix.axis.PrePostOrderTraversal;
+import org.sirix.axis.PrePostOrderTraversal.Event;
 import org.sirix.exception.SirixException;
-import org.sirix.settings.Constants;
+import org.sirix.exception.SirixThreadedException;
+import com.google.common.util.concurrent.ThreadFactoryBuilder;
 
 /**
  * Class implements main serialization algorithm. Other classes can extend it.
@@ -58,6 +65,9 @@ public abstract class AbstractSerializer<R extends NodeReadOnlyTrx & NodeCursor,
   /** Root node key of subtree to shredder. */
   protected final long mNodeKey;
 
+  /** Factory of the serializers of concurrently serialized revisions or {@code null}. */
+  private RevisionSerializerFactory<R, W> mRevisionSerializerFactory;
+
   /**
    * Constructor.
    *
@@ -125,72 +135,182 @@ public abstract class AbstractSerializer<R extends NodeReadOnlyTrx & NodeCursor,
         ? (int) mResMgr.getMostRecentRevisionNumber()
         : nrOfRevisions;
 
-    for (int i = 1; i <= length; i++) {
-      try (final R rtx = mResMgr.beginNodeReadOnlyTrx((nrOfRevisions == 1 && mRevisions[0] < 0)
-          ? i
-          : mRevisions[i - 1])) {
-        emitRevisionStartNode(rtx);
+    final int threads = mRevisionSerializerFactory == null
+        ? 1
+        : Math.min(mRevisionSerializerFactory.mThreads, length);
 
-        rtx.moveTo(mNodeKey);
+    if (threads > 1) {
+      serializeRevisionsConcurrently(length, threads);
+    } else {
+      for (int i = 1; i <= length; i++) {
+        try (final R rtx = mResMgr.beginNodeReadOnlyTrx(getRevision(i))) {
+          serializeRevision(rtx);
+        }
+      }
+    }
 
-        final Axis descAxis = new DescendantAxis(rtx, IncludeSelf.YES);
+    emitEndDocument();
 
-        // Setup primitives.
-        boolean closeElements = false;
-        long key = rtx.getNodeKey();
+    return null;
+  }
 
-        // Iterate over all nodes of the subtree including s.
-        while (descAxis.hasNext()) {
-          key = descAxis.next();
+  private int getRevision(final @Nonnegative int i) {
+    return (mRevisions.length == 1 && mRevisions[0] < 0)
+        ? i
+        : mRevisions[i - 1];
+  }
 
-          // Emit all pending end elements.
-          if (closeElements) {
-            while (!mStack.isEmpty() && mStack.peek() != rtx.getLeftSiblingKey()) {
-              rtx.moveTo(mStack.pop());
-              emitEndNode(rtx);
-              rtx.moveTo(key);
-            }
-            if (!mStack.isEmpty()) {
-              rtx.moveTo(mStack.pop());
-              emitEndNode(rtx);
-            }
-            rtx.moveTo(key);
-            closeElements = false;
-          }
+  private void serializeRevision(final R rtx) {
+    emitRevisionStartNode(rtx);
 
-          // Emit node.
-          final long nodeKey = rtx.getNodeKey();
-          emitNode(rtx);
-          rtx.moveTo(nodeKey);
+    rtx.moveTo(mNodeKey);
 
-          // Push end element to stack if we are a start element with
-          // children.
-          if (!rtx.isDocumentRoot() && rtx.hasFirstChild()) {
-            mStack.push(rtx.getNodeKey());
-          }
-
-          // Remember to emit all pending end elements from stack if
-          // required.
-          if (!rtx.hasFirstChild() && !rtx.hasRightSibling()) {
-            closeElements = true;
-          }
-        }
+    serializeSubtree(rtx);
 
-        // Finally emit all pending end elements.
-        while (!mStack.isEmpty() && mStack.peek() != Constants.NULL_ID_LONG) {
-          rtx.moveTo(mStack.pop());
-          emitEndNode(rtx);
+    emitRevisionEndNode(rtx);
+  }
+
+  /**
+   * Serialize the revisions concurrently into buffers, which are emitted in revision order. At most
+   * twice as many revisions as threads are buffered at any time.
+   *
+   * @param length the number of revisions
+   * @param threads the number of threads
+   */
+  private void serializeRevisionsConcurrently(final @Nonnegative int length, final @Nonnegative int threads) {
+    // The revisions are serialized on the same level of the output.
+    final List<Long> stack = new ArrayList<>(mStack);
+
+    final ExecutorService executor = Executors.newFixedThreadPool(threads,
+        new ThreadFactoryBuilder().setNameFormat("revision-serializer-%d").setDaemon(true).build());
+    try {
+      final Deque<Future<RevisionOutput<R, W>>> revisions = new ArrayDeque<>();
+      int nextRevision = 1;
+
+      while (nextRevision <= length || !revisions.isEmpty()) {
+        while (nextRevision <= length && revisions.size() < 2 * threads) {
+          final int revision = getRevision(nextRevision++);
+          revisions.add(executor.submit(() -> {
+            final StringBuilder buffer = new StringBuilder();
+            final AbstractSerializer<R, W> serializer = mRevisionSerializerFactory.create(buffer);
+            serializer.mStack.addAll(stack);
+            try (final R rtx = mResMgr.beginNodeReadOnlyTrx(revision)) {
+              serializer.serializeRevision(rtx);
+            }
+            return new RevisionOutput<>(serializer, buffer);
+          }));
         }
 
-        emitRevisionEndNode(rtx);
+        final RevisionOutput<R, W> output = revisions.remove().get();
+        mRevisionSerializerFactory.emit(output.mSerializer, output.mBuffer);
+      }
+    } catch (final InterruptedException e) {
+      Thread.currentThread().interrupt();
+      throw new SirixThreadedException(e);
+    } catch (final ExecutionException e) {
+      if (e.getCause() instanceof RuntimeException) {
+        throw (RuntimeException) e.getCause();
       }
+      throw new SirixThreadedException(e);
+    } finally {
+      executor.shutdownNow();
     }
+  }
 
-    emitEndDocument();
+  /**
+   * Serialize the revisions concurrently. Subclasses, which support the concurrent serialization of
+   * revisions, supply the factory of the serializers of single revisions in their constructors. By
+   * default the revisions are serialized sequentially.
+   *
+   * @param factory the factory of the serializers of single revisions
+   */
+  protected final void setRevisionSerializerFactory(final RevisionSerializerFactory<R, W> factory) {
+    mRevisionSerializerFactory = checkNotNull(factory);
+  }
 
-    return null;
+  /**
+   * Factory of the serializers, which serialize single revisions concurrently into buffers, and sink
+   * of the buffers, which are emitted in revision order.
+   */
+  protected abstract static class RevisionSerializerFactory<R extends NodeReadOnlyTrx & NodeCursor, W extends NodeTrx & NodeCursor> {
+    /** The number of threads, which serialize the revisions concurrently. */
+    private final int mThreads;
+
+    /**
+     * Constructor.
+     *
+     * @param threads the number of threads, which serialize the revisions concurrently
+     */
+    protected RevisionSerializerFactory(final @Nonnegative int threads) {
+      checkArgument(threads > 0, "threads must be > 0!");
+      mThreads = threads;
+    }
+
+    /**
+     * Create a serializer with the configuration of the serializer, which emits the revisions.
+     *
+     * @param buffer the buffer to serialize the revision to
+     * @return the new serializer
+     */
+    protected abstract AbstractSerializer<R, W> create(StringBuilder buffer);
+
+    /**
+     * Emit a revision, which has been serialized concurrently.
+     *
+     * @param serializer the serializer, which has serialized the revision
+     * @param buffer the serialized revision
+     */
+    protected abstract void emit(AbstractSerializer<R, W> serializer, CharSequence buffer);
+  }
+
+  /**
+   * A revision, which has been serialized concurrently.
+   */
+  private static final class RevisionOutput<R extends NodeReadOnlyTrx & NodeCursor, W extends NodeTrx & NodeCursor> {
+    /** The serializer, which has serialized the revision. */
+    private final AbstractSerializer<R, W> mSerializer;
+
+    /** The serialized revision. */
+    private final StringBuilder mBuffer;
+
+    private RevisionOutput(final AbstractSerializer<R, W> serializer, final StringBuilder buffer) {
+      mSerializer = serializer;
+      mBuffer = buffer;
+    }
+  }
+
+  /**
+   * Serialize the subtree of the node the transaction is located at.
+   *
+   * @param rtx Sirix {@link NodeReadOnlyTrx}, located at the root of the subtree
+   */
+  protected void serializeSubtree(final R rtx) {
+    final PrePostOrderTraversal traversal = new PrePostOrderTraversal(rtx);
+
+    for (Event event = traversal.next(); event != null; event = traversal.next()) {
+      final long nodeKey = rtx.getNodeKey();
+
+      if (event == Event.START) {
+        emitNode(rtx);
+        if (rtx.getNodeKey() != nodeKey) {
+          rtx.moveTo(nodeKey);
+        }
+
+        // Push end element to stack if we are a start element with children.
+        if (!rtx.isDocumentRoot() && rtx.hasFirstChild()) {
+          mStack.push(nodeKey);
+        }
+      } else if (!rtx.isDocumentRoot() && rtx.hasFirstChild()) {
+        mStack.pop();
+        emitEndNode(rtx);
+        if (rtx.getNodeKey() != nodeKey) {
+          rtx.moveTo(nodeKey);
+        }
+      }
+    }
   }
 
+
   /**
    * Emit start document.
    */
@@ -34,6 +34,12 @@ import java.nio.file.Path;
 import java.nio.file.Paths;
 import java.time.ZoneOffset;
 import java.time.format.DateTimeFormatter;
+import java.util.ArrayDeque;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.Deque;
+import java.util.LinkedHashMap;
+import java.util.Map;
 import java.util.concurrent.ConcurrentMap;
 import javax.annotation.Nonnegative;
 import javax.annotation.Nonnull;
@@ -45,6 +51,7 @@ import org.sirix.api.ResourceManager;
 import org.sirix.api.json.JsonNodeReadOnlyTrx;
 import org.sirix.api.json.JsonNodeTrx;
 import org.sirix.api.json.JsonResourceManager;
+import org.sirix.node.NodeKind;
 import org.sirix.service.AbstractSerializer;
 import org.sirix.service.xml.serialize.XmlSerializerProperties;
 import org.sirix.settings.Constants;
@@ -60,6 +67,14 @@ import org.slf4j.LoggerFactory;
  * Note that the OutputStream internally is wrapped by a BufferedOutputStream. There is no need to
  * buffer it again outside of this class.
  * </p>
+ *
+ * <p>
+ * The size of the output is optionally bounded by a maximum level, a maximum number of children per
+ * object or array and an offset into the children of the outermost object or array. For each
+ * object or array, whose children have been cut off, the offset of the first omitted child is
+ * recorded as a continuation, such that the next children are serialized with the node key of the
+ * object or array as the start node key and the continuation as the child offset.
+ * </p>
  */
 public final class JsonSerializer extends AbstractSerializer<JsonNodeReadOnlyTrx, JsonNodeTrx> {
 
@@ -82,6 +97,24 @@ public final class JsonSerializer extends AbstractSerializer<JsonNodeReadOnlyTrx
 
   private final boolean mSerializeTimestamp;
 
+  /** Maximum level of objects and arrays, which are serialized with their children. */
+  private final long mMaxLevel;
+
+  /** Maximum number of children of an object or array. */
+  private final long mMaxChildren;
+
+  /** Number of children of the outermost object or array, which are skipped. */
+  private final long mChildOffset;
+
+  /** The objects, arrays and object keys, whose children are serialized, if the output is bounded. */
+  private final Deque<Frame> mFrames;
+
+  /** The number of objects and arrays in {@link #mFrames}. */
+  private long mLevel;
+
+  /** The offsets of the first omitted children, mapped by the node keys of their parents. */
+  private final Map<Long, Long> mContinuations;
+
   /**
    * Initialize XMLStreamReader implementation with transaction. The cursor points to the node the
    * XMLStreamReader starts to read.
@@ -101,6 +134,212 @@ public final class JsonSerializer extends AbstractSerializer<JsonNodeReadOnlyTrx
     mWithInitialIndent = builder.mInitialIndent;
     mEmitXQueryResultSequence = builder.mEmitXQueryResultSequence;
     mSerializeTimestamp = builder.mSerializeTimestamp;
+    mMaxLevel = builder.mMaxLevel;
+    mMaxChildren = builder.mMaxChildren;
+    mChildOffset = builder.mChildOffset;
+    mFrames = new ArrayDeque<>();
+    mContinuations = new LinkedHashMap<>();
+    if (builder.mRevisionThreads > 1) {
+      setRevisionSerializerFactory(new JsonRevisionSerializerFactory(builder.mRevisionThreads));
+    }
+  }
+
+  /**
+   * Constructor for the concurrent serialization of a revision.
+   *
+   * @param serializer the serializer, whose configuration is used
+   * @param out the buffer to serialize the revision to
+   */
+  private JsonSerializer(final JsonSerializer serializer, final StringBuilder out) {
+    super(serializer.mResMgr, serializer.mNodeKey, serializer.mRevisions[0],
+        Arrays.copyOfRange(serializer.mRevisions, 1, serializer.mRevisions.length));
+    mOut = out;
+    mIndent = serializer.mIndent;
+    mIndentSpaces = serializer.mIndentSpaces;
+    mWithInitialIndent = serializer.mWithInitialIndent;
+    mEmitXQueryResultSequence = serializer.mEmitXQueryResultSequence;
+    mSerializeTimestamp = serializer.mSerializeTimestamp;
+    mMaxLevel = serializer.mMaxLevel;
+    mMaxChildren = serializer.mMaxChildren;
+    mChildOffset = serializer.mChildOffset;
+    mFrames = new ArrayDeque<>();
+    mContinuations = new LinkedHashMap<>();
+  }
+
+  /**
+   * Creates the serializers of concurrently serialized revisions and merges their output and
+   * continuations.
+   */
+  private final class JsonRevisionSerializerFactory
+      extends RevisionSerializerFactory<JsonNodeReadOnlyTrx, JsonNodeTrx> {
+    private JsonRevisionSerializerFactory(final @Nonnegative int threads) {
+      super(threads);
+    }
+
+    @Override
+    protected JsonSerializer create(final StringBuilder buffer) {
+      return new JsonSerializer(JsonSerializer.this, buffer);
+    }
+
+    @Override
+    protected void emit(final AbstractSerializer<JsonNodeReadOnlyTrx, JsonNodeTrx> serializer,
+        final CharSequence buffer) {
+      try {
+        mOut.append(buffer);
+        mContinuations.putAll(((JsonSerializer) serializer).mContinuations);
+      } catch (final IOException e) {
+        LOGWRAPPER.error(e.getMessage(), e);
+      }
+    }
+  }
+
+  /**
+   * Get the continuations of the objects and arrays, whose children have been cut off by the maximum
+   * number of children.
+   *
+   * @return the offsets of the first omitted children, mapped by the node keys of the objects and
+   *         arrays
+   */
+  public Map<Long, Long> getContinuations() {
+    return Collections.unmodifiableMap(mContinuations);
+  }
+
+  private boolean isBounded() {
+    return mMaxLevel != Long.MAX_VALUE || mMaxChildren != Long.MAX_VALUE || mChildOffset != 0;
+  }
+
+  @Override
+  protected void serializeSubtree(final JsonNodeReadOnlyTrx rtx) {
+    if (!isBounded()) {
+      super.serializeSubtree(rtx);
+      return;
+    }
+
+    final long startNodeKey = rtx.getNodeKey();
+
+    // Emitting nodes doesn't move the transaction.
+    while (true) {
+      emitNode(rtx);
+
+      if (hasChildrenToEmit(rtx)) {
+        moveToFirstChildToEmit(rtx);
+        continue;
+      }
+
+      while (rtx.getNodeKey() != startNodeKey && !moveToRightSiblingToEmit(rtx)) {
+        rtx.moveToParent();
+        leave(rtx);
+      }
+
+      if (rtx.getNodeKey() == startNodeKey) {
+        return;
+      }
+    }
+  }
+
+  /**
+   * Determines if the children of the current node are serialized.
+   */
+  private boolean hasChildrenToEmit(final JsonNodeReadOnlyTrx rtx) {
+    if (!rtx.hasFirstChild()) {
+      return false;
+    }
+    if (!isBounded() || !isObjectOrArray(rtx)) {
+      return true;
+    }
+    if (mLevel >= mMaxLevel) {
+      return false;
+    }
+    return mLevel > 0 || rtx.getChildCount() > mChildOffset;
+  }
+
+  /**
+   * Determines if the right sibling of the current node is serialized.
+   */
+  private boolean hasRightSiblingToEmit(final JsonNodeReadOnlyTrx rtx) {
+    if (!rtx.hasRightSibling()) {
+      return false;
+    }
+    if (!isBounded()) {
+      return true;
+    }
+    // The siblings of the start node aren't serialized.
+    final Frame parent = mFrames.peek();
+    return parent != null && (!parent.mIsObjectOrArray || parent.mEmittedChildren < mMaxChildren);
+  }
+
+  private void moveToFirstChildToEmit(final JsonNodeReadOnlyTrx rtx) {
+    final boolean isObjectOrArray = isObjectOrArray(rtx);
+    final long offset = isObjectOrArray && mLevel == 0
+        ? mChildOffset
+        : 0;
+
+    if (isObjectOrArray) {
+      mLevel++;
+    }
+    if (!rtx.isDocumentRoot()) {
+      mStack.push(rtx.getNodeKey());
+    }
+    mFrames.push(new Frame(rtx.getNodeKey(), isObjectOrArray, offset));
+
+    rtx.moveToFirstChild();
+    for (long i = 0; i < offset; i++) {
+      rtx.moveToRightSibling();
+    }
+  }
+
+  private boolean moveToRightSiblingToEmit(final JsonNodeReadOnlyTrx rtx) {
+    if (!rtx.hasRightSibling()) {
+      return false;
+    }
+
+    final Frame parent = mFrames.peek();
+    if (parent.mIsObjectOrArray && parent.mEmittedChildren >= mMaxChildren) {
+      mContinuations.put(parent.mNodeKey, parent.mOffset + parent.mEmittedChildren);
+      return false;
+    }
+
+    parent.mEmittedChildren++;
+    rtx.moveToRightSibling();
+    return true;
+  }
+
+  private void leave(final JsonNodeReadOnlyTrx rtx) {
+    final Frame frame = mFrames.pop();
+    if (frame.mIsObjectOrArray) {
+      mLevel--;
+    }
+    if (!rtx.isDocumentRoot()) {
+      mStack.pop();
+      emitEndNode(rtx);
+    }
+  }
+
+  private static boolean isObjectOrArray(final JsonNodeReadOnlyTrx rtx) {
+    return rtx.getKind() == NodeKind.OBJECT || rtx.getKind() == NodeKind.ARRAY;
+  }
+
+  /**
+   * An object, array or object key, whose children are serialized.
+   */
+  private static final class Frame {
+    /** The node key. */
+    private final long mNodeKey;
+
+    /** Determines if the node is an object or array. */
+    private final boolean mIsObjectOrArray;
+
+    /** The number of skipped children. */
+    private final long mOffset;
+
+    /** The number of children serialized so far, including the current one. */
+    private long mEmittedChildren = 1;
+
+    private Frame(final long nodeKey, final boolean isObjectOrArray, final long offset) {
+      mNodeKey = nodeKey;
+      mIsObjectOrArray = isObjectOrArray;
+      mOffset = offset;
+    }
   }
 
   /**
@@ -118,17 +357,17 @@ public final class JsonSerializer extends AbstractSerializer<JsonNodeReadOnlyTrx
           // Emit start element.
           indent();
           mOut.append("{");
-          if (!rtx.hasFirstChild()) {
+          if (!hasChildrenToEmit(rtx)) {
             mOut.append("}");
-            if (rtx.hasRightSibling())
+            if (hasRightSiblingToEmit(rtx))
               mOut.append(",");
           }
           break;
         case ARRAY:
           mOut.append("[");
-          if (!rtx.hasFirstChild()) {
+          if (!hasChildrenToEmit(rtx)) {
             mOut.append("]");
-            if (rtx.hasRightSibling())
+            if (hasRightSiblingToEmit(rtx))
               mOut.append(",");
           }
           break;
@@ -161,7 +400,7 @@ public final class JsonSerializer extends AbstractSerializer<JsonNodeReadOnlyTrx
   }
 
   private void printCommaIfNeeded(final JsonNodeReadOnlyTrx rtx) throws IOException {
-    final boolean hasRightSibling = rtx.hasRightSibling();
+    final boolean hasRightSibling = hasRightSiblingToEmit(rtx);
 
     if (hasRightSibling)
       mOut.append(",");
@@ -179,14 +418,16 @@ public final class JsonSerializer extends AbstractSerializer<JsonNodeReadOnlyTrx
       switch (rtx.getKind()) {
         case ARRAY:
           mOut.append("]");
+          if (hasRightSiblingToEmit(rtx))
+            mOut.append(",");
           break;
         case OBJECT:
           mOut.append("}");
-          if (rtx.hasRightSibling())
+          if (hasRightSiblingToEmit(rtx))
             mOut.append(",");
           break;
         case OBJECT_KEY:
-          if (rtx.hasRightSibling())
+          if (hasRightSiblingToEmit(rtx))
             mOut.append(",");
           break;
         // $CASES-OMITTED$
@@ -199,6 +440,8 @@ public final class JsonSerializer extends AbstractSerializer<JsonNodeReadOnlyTrx
 
   @Override
   protected void emitStartDocument() {
+    mContinuations.clear();
+
     try {
       final int length = (mRevisions.length == 1 && mRevisions[0] < 0)
           ? (int) mResMgr.getMostRecentRevisionNumber()
@@ -425,6 +668,18 @@ public final class JsonSerializer extends AbstractSerializer<JsonNodeReadOnlyTrx
     /** Determines if a timestamp should be serialized or not. */
     private boolean mSerializeTimestamp;
 
+    /** Maximum level of objects and arrays, which are serialized with their children. */
+    private long mMaxLevel = Long.MAX_VALUE;
+
+    /** Maximum number of children of an object or array. */
+    private long mMaxChildren = Long.MAX_VALUE;
+
+    /** Number of children of the outermost object or array, which are skipped. */
+    private long mChildOffset;
+
+    /** Number of threads, which serialize the revisions concurrently. */
+    private int mRevisionThreads = 1;
+
     /**
      * Constructor, setting the necessary stuff.
      *
@@ -517,6 +772,58 @@ public final class JsonSerializer extends AbstractSerializer<JsonNodeReadOnlyTrx
       return this;
     }
 
+    /**
+     * Sets the maximum level of objects and arrays, which are serialized with their children. Deeper
+     * objects and arrays are serialized empty. An object key and its value are on the same level.
+     *
+     * @param maxLevel the maximum level, for instance {@code 1} to serialize the outermost object or
+     *        array with empty objects and arrays as its children
+     * @return this {@link Builder} instance
+     */
+    public Builder maxLevel(final @Nonnegative long maxLevel) {
+      checkArgument(maxLevel >= 0, "maxLevel must be >= 0!");
+      mMaxLevel = maxLevel;
+      return this;
+    }
+
+    /**
+     * Sets the maximum number of children, which are serialized for each object or array.
+     *
+     * @param maxChildren the maximum number of children
+     * @return this {@link Builder} instance
+     * @see JsonSerializer#getContinuations()
+     */
+    public Builder maxChildren(final @Nonnegative long maxChildren) {
+      checkArgument(maxChildren > 0, "maxChildren must be > 0!");
+      mMaxChildren = maxChildren;
+      return this;
+    }
+
+    /**
+     * Sets the number of children of the outermost object or array, which are skipped.
+     *
+     * @param childOffset the number of skipped children
+     * @return this {@link Builder} instance
+     */
+    public Builder childOffset(final @Nonnegative long childOffset) {
+      checkArgument(childOffset >= 0, "childOffset must be >= 0!");
+      mChildOffset = childOffset;
+      return this;
+    }
+
+    /**
+     * Sets the number of threads, which serialize the revisions concurrently. Each revision is
+     * serialized into a buffer and the buffers are written to the output in revision order.
+     *
+     * @param revisionThreads the number of threads, {@code 1} to serialize the revisions sequentially
+     * @return this {@link Builder} instance
+     */
+    public Builder revisionThreads(final @Nonnegative int revisionThreads) {
+      checkArgument(revisionThreads > 0, "revisionThreads must be > 0!");
+      mRevisionThreads = revisionThreads;
+      return this;
+    }
+
     /**
      * Pretty prints the output.
      *
@@ -0,0 +1,112 @@
+package org.sirix.service.json.shredder;
+
+import java.util.Arrays;
+import javax.annotation.Nonnegative;
+import com.google.gson.stream.JsonToken;
+
+/**
+ * The tokens of a chunk of elements of a JSON array, which is tokenized by a {@link JsonArrayChunker}.
+ * Each token but the end of an array or an object is stored as a node, such that the number of nodes
+ * of the chunk is known before its nodes are created.
+ */
+public final class JsonArrayChunk {
+
+  /** The tokens. */
+  private JsonToken[] mTokens = new JsonToken[256];
+
+  /** The names, strings, number literals and booleans of the tokens. */
+  private Object[] mValues = new Object[256];
+
+  /** The number of tokens. */
+  private int mSize;
+
+  /** The number of nodes. */
+  private int mNodeCount;
+
+  /** The number of array elements. */
+  private int mElementCount;
+
+  /** The index of the node of the last array element, {@code -1} if there's none. */
+  private int mLastElementNode = -1;
+
+  /**
+   * Add a token.
+   *
+   * @param token the token
+   * @param value the value of the token, {@code null} if it has none
+   * @param isElement determines if the token begins an element of the array
+   */
+  void add(final JsonToken token, final Object value, final boolean isElement) {
+    if (mSize == mTokens.length) {
+      mTokens = Arrays.copyOf(mTokens, mSize << 1);
+      mValues = Arrays.copyOf(mValues, mSize << 1);
+    }
+    mTokens[mSize] = token;
+    mValues[mSize] = value;
+    mSize++;
+
+    if (isElement) {
+      mElementCount++;
+      mLastElementNode = mNodeCount;
+    }
+    if (token != JsonToken.END_ARRAY && token != JsonToken.END_OBJECT) {
+      mNodeCount++;
+    }
+  }
+
+  /**
+   * Get the number of tokens.
+   *
+   * @return the number of tokens
+   */
+  public int size() {
+    return mSize;
+  }
+
+  /**
+   * Get a token.
+   *
+   * @param index the index of the token
+   * @return the token
+   */
+  public JsonToken getToken(final @Nonnegative int index) {
+    return mTokens[index];
+  }
+
+  /**
+   * Get the value of a token, that is the name, the string, the number literal or the boolean.
+   *
+   * @param index the index of the token
+   * @return the value of the token, {@code null} if it has none
+   */
+  public Object getValue(final @Nonnegative int index) {
+    return mValues[index];
+  }
+
+  /**
+   * Get the number of nodes, that is the number of tokens without the ends of arrays and objects.
+   *
+   * @return the number of nodes
+   */
+  public int getNodeCount() {
+    return mNodeCount;
+  }
+
+  /**
+   * Get the number of array elements.
+   *
+   * @return the number of array elements
+   */
+  public int getElementCount() {
+    return mElementCount;
+  }
+
+  /**
+   * Get the index of the node of the last array element in document order.
+   *
+   * @return the index of the node, {@code -1} if the chunk has no elements
+   */
+  public int getLastElementNode() {
+    return mLastElementNode;
+  }
+}
@@ -0,0 +1,279 @@
+package org.sirix.service.json.shredder;
+
+import static com.google.common.base.Preconditions.checkArgument;
+import static com.google.common.base.Preconditions.checkNotNull;
+import java.io.ByteArrayInputStream;
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.InputStreamReader;
+import java.nio.charset.StandardCharsets;
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.BlockingQueue;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import javax.annotation.Nonnegative;
+import org.sirix.exception.SirixUsageException;
+import com.google.common.util.concurrent.ThreadFactoryBuilder;
+import com.google.gson.stream.JsonReader;
+import com.google.gson.stream.JsonToken;
+
+/**
+ * Splits a byte stream of a JSON array into chunks of array elements, which are decoded and
+ * tokenized by worker threads, and hands out the {@link JsonArrayChunk}s in document order.
+ *
+ * <p>
+ * The stream is only split between elements of the array, such that each chunk holds complete
+ * elements. A bounded queue of chunks keeps the memory use independent of the size of the array.
+ * </p>
+ */
+public final class JsonArrayChunker implements AutoCloseable {
+
+  /** Default minimum number of bytes of a chunk of array elements. */
+  public static final int DEFAULT_CHUNK_SIZE = 1 << 20;
+
+  /** Marks the end of the chunks. */
+  private static final Future<JsonArrayChunk> END = CompletableFuture.completedFuture(null);
+
+  /** Executes the splitting of the stream and the tokenizing of the chunks. */
+  private final ExecutorService mExecutor;
+
+  /** The chunks in document order, which are tokenized or being tokenized. */
+  private final BlockingQueue<Future<JsonArrayChunk>> mChunks;
+
+  /** The number of threads, which tokenize the chunks. */
+  private final int mThreads;
+
+  /** Minimum number of bytes of a chunk of array elements. */
+  private final int mChunkSize;
+
+  /** Determines if all chunks have been handed out. */
+  private boolean mDone;
+
+  /**
+   * Constructor, which splits the stream into chunks of at least {@link #DEFAULT_CHUNK_SIZE} bytes.
+   *
+   * @param inputStream the byte stream of a JSON array, which is closed after it has been read
+   * @param threads the number of threads, which tokenize the chunks
+   * @throws IOException if the stream can't be read
+   * @throws SirixUsageException if the stream doesn't start with an array
+   */
+  public JsonArrayChunker(final InputStream inputStream, final @Nonnegative int threads) throws IOException {
+    this(inputStream, threads, DEFAULT_CHUNK_SIZE);
+  }
+
+  /**
+   * Constructor.
+   *
+   * @param inputStream the byte stream of a JSON array, which is closed after it has been read
+   * @param threads the number of threads, which tokenize the chunks
+   * @param chunkSize minimum number of bytes of a chunk of array elements
+   * @throws IOException if the stream can't be read
+   * @throws SirixUsageException if the stream doesn't start with an array
+   */
+  public JsonArrayChunker(final InputStream inputStream, final @Nonnegative int threads,
+      final @Nonnegative int chunkSize) throws IOException {
+    checkNotNull(inputStream);
+    checkArgument(threads > 0, "The number of threads must be > 0!");
+    checkArgument(chunkSize > 0, "The chunk size must be > 0!");
+
+    int firstByte;
+    do {
+      firstByte = inputStream.read();
+    } while (firstByte == ' ' || firstByte == '\t' || firstByte == '\n' || firstByte == '\r');
+    if (firstByte != '[') {
+      inputStream.close();
+      throw new SirixUsageException("JSON to insert in parallel must be an array.");
+    }
+
+    mThreads = threads;
+    mChunkSize = chunkSize;
+    mChunks = new ArrayBlockingQueue<>(2 * threads);
+    mExecutor = Executors.newFixedThreadPool(threads + 1,
+        new ThreadFactoryBuilder().setNameFormat("json-chunker-%d").setDaemon(true).build());
+    mExecutor.execute(() -> split(inputStream));
+  }
+
+  /**
+   * Get the number of threads, which tokenize the chunks.
+   *
+   * @return the number of threads
+   */
+  public int getThreads() {
+    return mThreads;
+  }
+
+  /**
+   * Split the stream into chunks of array elements, which are tokenized by the worker threads.
+   *
+   * @param inputStream the byte stream, which is read after the opening bracket of the array
+   */
+  private void split(final InputStream inputStream) {
+    try (inputStream) {
+      final byte[] buffer = new byte[8192];
+      ByteArrayOutputStream chunk = newChunk();
+      int depth = 1;
+      boolean isString = false;
+      boolean isEscaped = false;
+
+      int length;
+      read: while ((length = inputStream.read(buffer)) != -1) {
+        int start = 0;
+        for (int i = 0; i < length; i++) {
+          final byte b = buffer[i];
+          if (isString) {
+            if (isEscaped) {
+              isEscaped = false;
+            } else if (b == '\\') {
+              isEscaped = true;
+            } else if (b == '"') {
+              isString = false;
+            }
+          } else if (b == '"') {
+            isString = true;
+          } else if (b == '[' || b == '{') {
+            depth++;
+          } else if (b == ']' || b == '}') {
+            depth--;
+            if (depth == 0) {
+              chunk.write(buffer, start, i - start);
+              break read;
+            }
+          } else if (b == ',' && depth == 1 && chunk.size() + i - start >= mChunkSize) {
+            // Only split between elements of the array, such that each chunk is valid.
+            chunk.write(buffer, start, i - start);
+            submit(chunk);
+            chunk = newChunk();
+            start = i + 1;
+          }
+        }
+        chunk.write(buffer, start, length - start);
+      }
+      submit(chunk);
+      mChunks.put(END);
+    } catch (final IOException e) {
+      try {
+        mChunks.put(CompletableFuture.failedFuture(e));
+      } catch (final InterruptedException ie) {
+        Thread.currentThread().interrupt();
+      }
+    } catch (final InterruptedException e) {
+      // The chunker has been closed.
+      Thread.currentThread().interrupt();
+    }
+  }
+
+  private static ByteArrayOutputStream newChunk() {
+    final ByteArrayOutputStream chunk = new ByteArrayOutputStream();
+    chunk.write('[');
+    return chunk;
+  }
+
+  private void submit(final ByteArrayOutputStream chunk) throws InterruptedException {
+    chunk.write(']');
+    final byte[] bytes = chunk.toByteArray();
+    mChunks.put(mExecutor.submit(() -> tokenize(bytes)));
+  }
+
+  /**
+   * Tokenize a chunk of array elements.
+   *
+   * @param chunk the array elements, enclosed in brackets
+   * @return the tokens of the array elements
+   * @throws IOException if the chunk isn't valid JSON
+   */
+  private static JsonArrayChunk tokenize(final byte[] chunk) throws IOException {
+    final JsonArrayChunk tokens = new JsonArrayChunk();
+    try (final JsonReader reader =
+        new JsonReader(new InputStreamReader(new ByteArrayInputStream(chunk), StandardCharsets.UTF_8))) {
+      reader.beginArray();
+      int depth = 0;
+      while (true) {
+        final JsonToken token = reader.peek();
+        final boolean isElement = depth == 0;
+        switch (token) {
+          case BEGIN_ARRAY:
+            reader.beginArray();
+            depth++;
+            tokens.add(token, null, isElement);
+            break;
+          case END_ARRAY:
+            if (depth == 0) {
+              return tokens;
+            }
+            reader.endArray();
+            depth--;
+            tokens.add(token, null, false);
+            break;
+          case BEGIN_OBJECT:
+            reader.beginObject();
+            depth++;
+            tokens.add(token, null, isElement);
+            break;
+          case END_OBJECT:
+            reader.endObject();
+            depth--;
+            tokens.add(token, null, false);
+            break;
+          case NAME:
+            tokens.add(token, reader.nextName(), false);
+            break;
+          case STRING:
+          case NUMBER:
+            tokens.add(token, reader.nextString(), isElement);
+            break;
+          case BOOLEAN:
+            tokens.add(token, reader.nextBoolean(), isElement);
+            break;
+          case NULL:
+            reader.nextNull();
+            tokens.add(token, null, isElement);
+            break;
+          case END_DOCUMENT:
+          default:
+            throw new IOException("Unexpected end of the JSON array.");
+        }
+      }
+    }
+  }
+
+  /**
+   * Get the next chunk in document order, waiting until it has been tokenized.
+   *
+   * @return the next chunk, or {@code null} if all chunks have been handed out
+   * @throws IOException if the stream can't be read or a chunk isn't valid JSON
+   */
+  public JsonArrayChunk next() throws IOException {
+    if (mDone) {
+      return null;
+    }
+    try {
+      final Future<JsonArrayChunk> chunk = mChunks.take();
+      if (chunk == END) {
+        mDone = true;
+        mExecutor.shutdown();
+        return null;
+      }
+      return chunk.get();
+    } catch (final InterruptedException e) {
+      Thread.currentThread().interrupt();
+      throw new IOException(e);
+    } catch (final ExecutionException e) {
+      close();
+      if (e.getCause() instanceof IOException) {
+        throw (IOException) e.getCause();
+      }
+      throw new IOException(e.getCause());
+    }
+  }
+
+  @Override
+  public void close() {
+    mDone = true;
+    mExecutor.shutdownNow();
+    mChunks.clear();
+  }
+}
@@ -22,18 +22,23 @@
 package org.sirix.service.json.shredder;
 
 import static com.google.common.base.Preconditions.checkNotNull;
-import java.io.FileNotFoundException;
-import java.io.FileReader;
 import java.io.IOException;
+import java.io.InputStream;
+import java.io.InputStreamReader;
 import java.io.StringReader;
 import java.io.UncheckedIOException;
 import java.math.BigDecimal;
 import java.math.BigInteger;
+import java.nio.channels.Channels;
+import java.nio.channels.ReadableByteChannel;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
 import java.nio.file.Path;
 import java.nio.file.Paths;
 import java.util.ArrayDeque;
 import java.util.Deque;
 import java.util.concurrent.Callable;
+import javax.annotation.Nonnegative;
 import javax.xml.stream.XMLStreamException;
 import javax.xml.stream.XMLStreamReader;
 import org.sirix.access.DatabaseConfiguration;
@@ -49,6 +54,7 @@ import org.sirix.access.trx.node.json.objectvalue.StringValue;
 import org.sirix.api.json.JsonNodeTrx;
 import org.sirix.exception.SirixException;
 import org.sirix.exception.SirixIOException;
+import org.sirix.exception.SirixUsageException;
 import org.sirix.node.NodeKind;
 import org.sirix.service.ShredderCommit;
 import org.sirix.service.xml.shredder.InsertPosition;
@@ -300,44 +306,50 @@ public final class JsonShredder implements Callable<Long> {
   }
 
   private Number readNumber() throws IOException {
-    final var stringVal = mReader.nextString();
-
-    Number number;
-
-    if (stringVal.contains(".")) {
-      if (stringVal.contains("E") || stringVal.contains("e")) {
-        try {
-          number = Float.valueOf(stringVal);
-        } catch (final NumberFormatException eeee) {
-          try {
-            number = Double.valueOf(stringVal);
-          } catch (final NumberFormatException eeeee) {
-            throw new IllegalStateException(eeeee);
-          }
-        }
-      } else {
-        try {
-          number = new BigDecimal(stringVal);
-        } catch (final NumberFormatException eeeeee) {
-          throw new IllegalStateException(eeeeee);
-        }
+    return parseNumber(mReader.nextString());
+  }
+
+  /**
+   * Parse a JSON number without trying and catching several number formats. Integers are parsed to
+   * the smallest of {@link Integer}, {@link Long} and {@link BigInteger}, decimals to a
+   * {@link BigDecimal} and numbers with an exponent to a {@link Double}.
+   *
+   * @param value the number, as validated by the {@link JsonReader}
+   * @return the parsed number
+   */
+  public static Number parseNumber(final String value) {
+    boolean isDecimal = false;
+    for (int i = 0, length = value.length(); i < length; i++) {
+      final char c = value.charAt(i);
+      if (c == 'e' || c == 'E') {
+        return Double.valueOf(value);
+      } else if (c == '.') {
+        isDecimal = true;
       }
-    } else {
-      try {
-        number = Integer.valueOf(stringVal);
-      } catch (final NumberFormatException e) {
-        try {
-          number = Long.valueOf(stringVal);
-        } catch (final NumberFormatException ee) {
-          try {
-            number = new BigInteger(stringVal);
-          } catch (final NumberFormatException eee) {
-            throw new IllegalStateException(eee);
-          }
-        }
+    }
+
+    if (isDecimal) {
+      return new BigDecimal(value);
+    }
+
+    final int digits = value.charAt(0) == '-'
+        ? value.length() - 1
+        : value.length();
+
+    // Up to 18 digits always fit into a long.
+    if (digits <= 18) {
+      final long longValue = Long.parseLong(value);
+      if (longValue == (int) longValue) {
+        return Integer.valueOf((int) longValue);
       }
+      return Long.valueOf(longValue);
+    }
+
+    final BigInteger bigIntegerValue = new BigInteger(value);
+    if (bigIntegerValue.bitLength() < Long.SIZE) {
+      return Long.valueOf(bigIntegerValue.longValue());
     }
-    return number;
+    return bigIntegerValue;
   }
 
   private long insertStringValue(final String stringValue, final boolean nextTokenIsParent) {
@@ -583,7 +595,7 @@ public final class JsonShredder implements Callable<Long> {
   }
 
   /**
-   * Create a new {@link JsonReader} instance on a file.
+   * Create a new {@link JsonReader} instance on a file, which is read in chunks and decoded as UTF-8.
    *
    * @param path the path to the file
    * @return an {@link JsonReader} instance
@@ -592,9 +604,54 @@ public final class JsonShredder implements Callable<Long> {
     checkNotNull(path);
 
     try {
-      final var fileReader = new FileReader(path.toFile());
-      return new JsonReader(fileReader);
-    } catch (final FileNotFoundException e) {
+      return createInputStreamReader(Files.newInputStream(path));
+    } catch (final IOException e) {
+      throw new UncheckedIOException(e);
+    }
+  }
+
+  /**
+   * Create a new {@link JsonReader} instance on a byte stream, which is read in chunks and decoded as
+   * UTF-8, such that the JSON never has to be stored in memory as a whole.
+   *
+   * @param inputStream the byte stream
+   * @return an {@link JsonReader} instance
+   */
+  public static JsonReader createInputStreamReader(final InputStream inputStream) {
+    checkNotNull(inputStream);
+
+    return new JsonReader(new InputStreamReader(inputStream, StandardCharsets.UTF_8));
+  }
+
+  /**
+   * Create a new {@link JsonReader} instance on a byte channel, which is read in chunks and decoded
+   * as UTF-8, such that the JSON never has to be stored in memory as a whole.
+   *
+   * @param channel the byte channel
+   * @return an {@link JsonReader} instance
+   */
+  public static JsonReader createChannelReader(final ReadableByteChannel channel) {
+    checkNotNull(channel);
+
+    return new JsonReader(Channels.newReader(channel, StandardCharsets.UTF_8));
+  }
+
+  /**
+   * Create a new {@link JsonReader} instance on a byte stream of a JSON array. The stream is split
+   * into chunks of array elements, which are decoded and tokenized in parallel, while the nodes are
+   * inserted in document order by the single write transaction. To build the nodes in parallel, too,
+   * insert a {@link JsonArrayChunker} with {@link JsonNodeTrx#insertSubtreeAsFirstChild(JsonArrayChunker)}
+   * instead.
+   *
+   * @param inputStream the byte stream of a JSON array, which is closed once it has been read
+   * @param threads the number of threads, which tokenize the chunks
+   * @return an {@link JsonReader} instance, which should be closed, if it isn't read to the end
+   * @throws SirixUsageException if the JSON isn't an array
+   */
+  public static JsonReader createParallelArrayReader(final InputStream inputStream, final @Nonnegative int threads) {
+    try {
+      return new ParallelJsonTokenizer(inputStream, threads, JsonArrayChunker.DEFAULT_CHUNK_SIZE);
+    } catch (final IOException e) {
       throw new UncheckedIOException(e);
     }
   }
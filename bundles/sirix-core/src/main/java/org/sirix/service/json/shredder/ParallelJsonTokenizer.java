@@ -0,0 +1,223 @@
+package org.sirix.service.json.shredder;
+
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.StringReader;
+import javax.annotation.Nonnegative;
+import org.sirix.exception.SirixUsageException;
+import com.google.gson.stream.JsonReader;
+import com.google.gson.stream.JsonToken;
+
+/**
+ * A {@link JsonReader} on a byte stream of a JSON array, whose elements are tokenized in parallel.
+ *
+ * <p>
+ * The stream is split into chunks of array elements by a {@link JsonArrayChunker}, whose worker
+ * threads decode and tokenize the chunks, while the tokens of the chunks are handed out in document
+ * order. Thus, the {@link JsonShredder} only has to insert the nodes in the single write transaction,
+ * while parsing the next chunks proceeds concurrently.
+ * </p>
+ */
+final class ParallelJsonTokenizer extends JsonReader {
+
+  /** Splits the stream into chunks and tokenizes them. */
+  private final JsonArrayChunker mChunker;
+
+  /** The tokens of the current chunk. */
+  private JsonArrayChunk mTokens;
+
+  /** Index of the next token in the current chunk. */
+  private int mIndex;
+
+  /** Determines if the array has been begun. */
+  private boolean mBegun;
+
+  /** Determines if all chunks have been read. */
+  private boolean mDone;
+
+  /** Determines if the array has been ended. */
+  private boolean mEnded;
+
+  /**
+   * Constructor.
+   *
+   * @param inputStream the byte stream of a JSON array, which is closed after it has been read
+   * @param threads the number of threads, which tokenize the chunks
+   * @param chunkSize minimum number of bytes of a chunk of array elements
+   * @throws IOException if the stream can't be read
+   * @throws SirixUsageException if the stream doesn't start with an array
+   */
+  ParallelJsonTokenizer(final InputStream inputStream, final @Nonnegative int threads,
+      final @Nonnegative int chunkSize) throws IOException {
+    super(new StringReader(""));
+    mChunker = new JsonArrayChunker(inputStream, threads, chunkSize);
+  }
+
+  /**
+   * Make sure that the current chunk has a next token.
+   *
+   * @return {@code true}, if there is a next token, {@code false} if all chunks have been read
+   * @throws IOException if a chunk can't be read or tokenized
+   */
+  private boolean fill() throws IOException {
+    while (mTokens == null || mIndex == mTokens.size()) {
+      if (mDone) {
+        return false;
+      }
+      try {
+        mTokens = mChunker.next();
+      } catch (final IOException e) {
+        close();
+        throw e;
+      }
+      mIndex = 0;
+      if (mTokens == null) {
+        mDone = true;
+        return false;
+      }
+    }
+    return true;
+  }
+
+  private Object next(final JsonToken expected) throws IOException {
+    final JsonToken token = peek();
+    if (token != expected) {
+      throw new IllegalStateException("Expected " + expected + " but was " + token + ".");
+    }
+    return mTokens.getValue(mIndex++);
+  }
+
+  @Override
+  public JsonToken peek() throws IOException {
+    if (!mBegun) {
+      return JsonToken.BEGIN_ARRAY;
+    }
+    if (mEnded) {
+      return JsonToken.END_DOCUMENT;
+    }
+    if (!fill()) {
+      return JsonToken.END_ARRAY;
+    }
+    return mTokens.getToken(mIndex);
+  }
+
+  @Override
+  public void beginArray() throws IOException {
+    if (mBegun) {
+      next(JsonToken.BEGIN_ARRAY);
+    } else {
+      mBegun = true;
+    }
+  }
+
+  @Override
+  public void endArray() throws IOException {
+    if (mBegun && !mEnded && !fill()) {
+      mEnded = true;
+    } else {
+      next(JsonToken.END_ARRAY);
+    }
+  }
+
+  @Override
+  public void beginObject() throws IOException {
+    next(JsonToken.BEGIN_OBJECT);
+  }
+
+  @Override
+  public void endObject() throws IOException {
+    next(JsonToken.END_OBJECT);
+  }
+
+  @Override
+  public boolean hasNext() throws IOException {
+    final JsonToken token = peek();
+    return token != JsonToken.END_ARRAY && token != JsonToken.END_OBJECT && token != JsonToken.END_DOCUMENT;
+  }
+
+  @Override
+  public String nextName() throws IOException {
+    return (String) next(JsonToken.NAME);
+  }
+
+  @Override
+  public String nextString() throws IOException {
+    return (String) next(peek() == JsonToken.NUMBER
+        ? JsonToken.NUMBER
+        : JsonToken.STRING);
+  }
+
+  @Override
+  public boolean nextBoolean() throws IOException {
+    return (Boolean) next(JsonToken.BOOLEAN);
+  }
+
+  @Override
+  public void nextNull() throws IOException {
+    next(JsonToken.NULL);
+  }
+
+  @Override
+  public double nextDouble() throws IOException {
+    return Double.parseDouble(nextString());
+  }
+
+  @Override
+  public long nextLong() throws IOException {
+    return Long.parseLong(nextString());
+  }
+
+  @Override
+  public int nextInt() throws IOException {
+    return Integer.parseInt(nextString());
+  }
+
+  @Override
+  public void skipValue() throws IOException {
+    int depth = 0;
+    do {
+      final JsonToken token = peek();
+      switch (token) {
+        case BEGIN_ARRAY:
+          beginArray();
+          depth++;
+          break;
+        case BEGIN_OBJECT:
+          beginObject();
+          depth++;
+          break;
+        case END_ARRAY:
+          endArray();
+          depth--;
+          break;
+        case END_OBJECT:
+          endObject();
+          depth--;
+          break;
+        case END_DOCUMENT:
+          return;
+        // $CASES-OMITTED$
+        default:
+          next(token);
+      }
+    } while (depth > 0);
+  }
+
+  @Override
+  public void close() {
+    mDone = true;
+    mEnded = true;
+    mTokens = null;
+    mChunker.close();
+  }
+
+  @Override
+  public String getPath() {
+    return "$";
+  }
+
+  @Override
+  public String toString() {
+    return getClass().getSimpleName();
+  }
+}
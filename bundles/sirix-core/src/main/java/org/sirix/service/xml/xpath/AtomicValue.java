@@ -22,12 +22,12 @@
 package org.sirix.service.xml.xpath;
 
 import static com.google.common.base.Preconditions.checkNotNull;
-import java.math.BigInteger;
 import java.util.Optional;
 import javax.annotation.Nonnull;
 import javax.annotation.Nullable;
 import org.sirix.api.visitor.VisitResult;
 import org.sirix.api.visitor.XmlNodeVisitor;
+import org.sirix.node.NodeHash;
 import org.sirix.node.NodeKind;
 import org.sirix.node.SirixDeweyID;
 import org.sirix.node.interfaces.Node;
@@ -228,17 +228,42 @@ public final class AtomicValue implements Node, ValueNode, ImmutableXmlNode {
   }
 
   @Override
-  public BigInteger computeHash() {
+  public NodeHash computeHash() {
     throw new UnsupportedOperationException();
   }
 
   @Override
-  public void setHash(final BigInteger hash) {
+  public void setHash(final NodeHash hash) {
     throw new UnsupportedOperationException();
   }
 
   @Override
-  public BigInteger getHash() {
+  public NodeHash getHash() {
+    throw new UnsupportedOperationException();
+  }
+
+  @Override
+  public long getHashHigh() {
+    throw new UnsupportedOperationException();
+  }
+
+  @Override
+  public long getHashLow() {
+    throw new UnsupportedOperationException();
+  }
+
+  @Override
+  public void setHash(final long high, final long low) {
+    throw new UnsupportedOperationException();
+  }
+
+  @Override
+  public void addHash(final long high, final long low) {
+    throw new UnsupportedOperationException();
+  }
+
+  @Override
+  public void subtractHash(final long high, final long low) {
     throw new UnsupportedOperationException();
   }
 
@@ -62,11 +62,11 @@ public enum VersioningType {
       final long recordPageKey = firstPage.getPageKey();
       final List<T> returnVal = new ArrayList<>(2);
       returnVal.add(
-          firstPage.<T>newInstance(
-              recordPageKey, firstPage.getPageKind(), reference.getKey(), pageReadTrx));
+          firstPage.<T>newInstance(recordPageKey, firstPage.getPageKind(),
+              previousReferenceKeys(reference, firstPage, revToRestore), pageReadTrx));
       returnVal.add(
-          firstPage.<T>newInstance(
-              recordPageKey, firstPage.getPageKind(), reference.getKey(), pageReadTrx));
+          firstPage.<T>newInstance(recordPageKey, firstPage.getPageKind(),
+              previousReferenceKeys(reference, firstPage, revToRestore), pageReadTrx));
 
       for (final Map.Entry<K, V> entry : pages.get(0).entrySet()) {
         returnVal.get(0).setEntry(entry.getKey(), entry.getValue());
@@ -95,7 +95,7 @@ public enum VersioningType {
       final T firstPage = pages.get(0);
       final long recordPageKey = firstPage.getPageKey();
       final T returnVal = firstPage.newInstance(
-          recordPageKey, firstPage.getPageKind(), firstPage.getPreviousReferenceKey(), pageReadTrx);
+          recordPageKey, firstPage.getPageKind(), firstPage.getPreviousReferenceKeys(), pageReadTrx);
 
       final T latest = pages.get(0);
       T fullDump = pages.size() == 1
@@ -105,8 +105,8 @@ public enum VersioningType {
       assert latest.getPageKey() == recordPageKey;
       assert fullDump.getPageKey() == recordPageKey;
 
-      for (final Map.Entry<K, V> entry : latest.entrySet()) {
-        returnVal.setEntry(entry.getKey(), entry.getValue());
+      for (final K recordKey : latest.keySet()) {
+        returnVal.copyEntry(recordKey, latest);
       }
       for (final Map.Entry<K, PageReference> entry : latest.referenceEntrySet()) {
         returnVal.setPageReference(entry.getKey(), entry.getValue());
@@ -114,9 +114,9 @@ public enum VersioningType {
 
       // Skip full dump if not needed (fulldump equals latest page).
       if (pages.size() == 2) {
-        for (final Entry<K, V> entry : fullDump.entrySet()) {
-          if (returnVal.getValue(entry.getKey()) == null) {
-            returnVal.setEntry(entry.getKey(), entry.getValue());
+        for (final K recordKey : fullDump.keySet()) {
+          if (!returnVal.containsKey(recordKey)) {
+            returnVal.copyEntry(recordKey, fullDump);
             if (returnVal.size() == Constants.NDP_NODE_COUNT) {
               break;
             }
@@ -144,11 +144,11 @@ public enum VersioningType {
       final int revision = pageReadTrx.getUberPage().getRevision();
       final List<T> returnVal = new ArrayList<>(2);
       returnVal.add(
-          firstPage.<T>newInstance(
-              recordPageKey, firstPage.getPageKind(), reference.getKey(), pageReadTrx));
+          firstPage.<T>newInstance(recordPageKey, firstPage.getPageKind(),
+              previousReferenceKeys(reference, firstPage, revToRestore), pageReadTrx));
       returnVal.add(
-          firstPage.<T>newInstance(
-              recordPageKey, firstPage.getPageKind(), reference.getKey(), pageReadTrx));
+          firstPage.<T>newInstance(recordPageKey, firstPage.getPageKind(),
+              previousReferenceKeys(reference, firstPage, revToRestore), pageReadTrx));
 
       final T latest = firstPage;
       T fullDump = pages.size() == 1
@@ -232,7 +232,7 @@ public enum VersioningType {
       final T firstPage = pages.get(0);
       final long recordPageKey = firstPage.getPageKey();
       final T returnVal = firstPage.newInstance(
-          firstPage.getPageKey(), firstPage.getPageKind(), firstPage.getPreviousReferenceKey(),
+          firstPage.getPageKey(), firstPage.getPageKind(), firstPage.getPreviousReferenceKeys(),
           firstPage.getPageReadTrx());
 
       boolean filledPage = false;
@@ -241,10 +241,9 @@ public enum VersioningType {
         if (filledPage) {
           break;
         }
-        for (final Entry<K, V> entry : page.entrySet()) {
-          final K recordKey = entry.getKey();
-          if (returnVal.getValue(recordKey) == null) {
-            returnVal.setEntry(recordKey, entry.getValue());
+        for (final K recordKey : page.keySet()) {
+          if (!returnVal.containsKey(recordKey)) {
+            returnVal.copyEntry(recordKey, page);
             if (returnVal.size() == Constants.NDP_NODE_COUNT) {
               filledPage = true;
               break;
@@ -276,11 +275,11 @@ public enum VersioningType {
       final long recordPageKey = firstPage.getPageKey();
       final List<T> returnVal = new ArrayList<>(2);
       returnVal.add(
-          firstPage.<T>newInstance(
-              recordPageKey, firstPage.getPageKind(), reference.getKey(), pageReadTrx));
+          firstPage.<T>newInstance(recordPageKey, firstPage.getPageKind(),
+              previousReferenceKeys(reference, firstPage, revToRestore), pageReadTrx));
       returnVal.add(
-          firstPage.<T>newInstance(
-              recordPageKey, firstPage.getPageKind(), reference.getKey(), pageReadTrx));
+          firstPage.<T>newInstance(recordPageKey, firstPage.getPageKind(),
+              previousReferenceKeys(reference, firstPage, revToRestore), pageReadTrx));
       final boolean isFullDump = pages.size() == revToRestore;
 
       boolean filledPage = false;
@@ -365,7 +364,7 @@ public enum VersioningType {
       final T firstPage = pages.get(0);
       final long recordPageKey = firstPage.getPageKey();
       final T returnVal = firstPage.newInstance(
-          firstPage.getPageKey(), firstPage.getPageKind(), firstPage.getPreviousReferenceKey(),
+          firstPage.getPageKey(), firstPage.getPageKind(), firstPage.getPreviousReferenceKeys(),
           firstPage.getPageReadTrx());
 
       boolean filledPage = false;
@@ -375,10 +374,9 @@ public enum VersioningType {
         if (filledPage) {
           break;
         }
-        for (final Entry<K, V> entry : page.entrySet()) {
-          final K recordKey = entry.getKey();
-          if (returnVal.getValue(recordKey) == null) {
-            returnVal.setEntry(recordKey, entry.getValue());
+        for (final K recordKey : page.keySet()) {
+          if (!returnVal.containsKey(recordKey)) {
+            returnVal.copyEntry(recordKey, page);
             if (returnVal.size() == Constants.NDP_NODE_COUNT) {
               filledPage = true;
               break;
@@ -410,14 +408,14 @@ public enum VersioningType {
       final long recordPageKey = firstPage.getPageKey();
       final List<T> returnVal = new ArrayList<>(2);
       returnVal.add(
-          firstPage.<T>newInstance(
-              recordPageKey, firstPage.getPageKind(), reference.getKey(), pageReadTrx));
+          firstPage.<T>newInstance(recordPageKey, firstPage.getPageKind(),
+              previousReferenceKeys(reference, firstPage, revToRestore), pageReadTrx));
       returnVal.add(
-          firstPage.<T>newInstance(
-              recordPageKey, firstPage.getPageKind(), reference.getKey(), pageReadTrx));
+          firstPage.<T>newInstance(recordPageKey, firstPage.getPageKind(),
+              previousReferenceKeys(reference, firstPage, revToRestore), pageReadTrx));
 
-      final T reconstructed = firstPage.<T>newInstance(
-          recordPageKey, firstPage.getPageKind(), reference.getKey(), pageReadTrx);
+      final T reconstructed = firstPage.<T>newInstance(recordPageKey, firstPage.getPageKind(),
+          previousReferenceKeys(reference, firstPage, revToRestore), pageReadTrx);
 
       boolean filledPage = false;
       for (int i = 0; i < pages.size() && !filledPage; i++) {
@@ -523,6 +521,26 @@ public enum VersioningType {
       final List<T> pages, final @Nonnegative int revsToRestore, final PageReadOnlyTrx pageReadTrx,
       final PageReference reference);
 
+  /**
+   * Get the reference keys of the previous versions of a new version of a record page, that is the
+   * key of the latest version followed by the keys of its previous versions, as far as they might be
+   * needed to reconstruct the page.
+   *
+   * @param reference the reference to the latest version of the page
+   * @param latest the latest version of the page
+   * @param revsToRestore the number of revisions needed to build the complete record page
+   * @return the reference keys of the previous versions, the most recent one first
+   */
+  private static long[] previousReferenceKeys(final PageReference reference, final KeyValuePage<?, ?> latest,
+      final @Nonnegative int revsToRestore) {
+    final long[] latestPreviousReferenceKeys = latest.getPreviousReferenceKeys();
+    final int length = Math.min(latestPreviousReferenceKeys.length + 1, Math.max(1, revsToRestore - 1));
+    final long[] previousReferenceKeys = new long[length];
+    previousReferenceKeys[0] = reference.getKey();
+    System.arraycopy(latestPreviousReferenceKeys, 0, previousReferenceKeys, 1, length - 1);
+    return previousReferenceKeys;
+  }
+
   /**
    * Get all revision root page numbers which are needed to restore a {@link KeyValuePage}.
    *
@@ -44,11 +44,11 @@ public final class Compression {
   /** Buffer size. */
   public static final int BUFFER_SIZE = 1024;
 
-  /** Compressor. */
-  private static final Deflater mCompressor = new Deflater();
+  /** Compressor of each thread, as nodes might be created by several threads concurrently. */
+  private static final ThreadLocal<Deflater> mCompressor = ThreadLocal.withInitial(Deflater::new);
 
-  /** Decompressor. */
-  private static final Inflater mDecompressor = new Inflater();
+  /** Decompressor of each thread. */
+  private static final ThreadLocal<Inflater> mDecompressor = ThreadLocal.withInitial(Inflater::new);
 
   /** Private constructor to prevent from instantiation. */
   private Compression() {
@@ -71,12 +71,13 @@ public final class Compression {
     byte[] compressed = new byte[] {};
 
     // Set compression level.
-    mCompressor.setLevel(level);
+    final Deflater compressor = mCompressor.get();
+    compressor.setLevel(level);
 
     // Give the compressor the data to compress.
-    mCompressor.reset();
-    mCompressor.setInput(toCompress);
-    mCompressor.finish();
+    compressor.reset();
+    compressor.setInput(toCompress);
+    compressor.finish();
 
     /*
      * Create an expandable byte array to hold the compressed data. You cannot use an array that's the
@@ -86,8 +87,8 @@ public final class Compression {
     try (final ByteArrayOutputStream bos = new ByteArrayOutputStream(toCompress.length)) {
       // Compress the data.
       final byte[] buf = new byte[BUFFER_SIZE];
-      while (!mCompressor.finished()) {
-        final int count = mCompressor.deflate(buf);
+      while (!compressor.finished()) {
+        final int count = compressor.deflate(buf);
         bos.write(buf, 0, count);
       }
 
@@ -111,8 +112,9 @@ public final class Compression {
     checkNotNull(compressed);
 
     // Reset the decompressor and give it the data to compress.
-    mDecompressor.reset();
-    mDecompressor.setInput(compressed);
+    final Inflater decompressor = mDecompressor.get();
+    decompressor.reset();
+    decompressor.setInput(compressed);
 
     byte[] decompressed = new byte[] {};
 
@@ -120,9 +122,9 @@ public final class Compression {
     final ByteArrayOutputStream bos = new ByteArrayOutputStream(compressed.length);
     // Decompress the data.
     final byte[] buf = new byte[BUFFER_SIZE];
-    while (!mDecompressor.finished()) {
+    while (!decompressor.finished()) {
       try {
-        final int count = mDecompressor.inflate(buf);
+        final int count = decompressor.inflate(buf);
         bos.write(buf, 0, count);
       } catch (final DataFormatException e) {
         LOGWRAPPER.error(e.getMessage(), e);
@@ -23,7 +23,7 @@ package org.sirix.access;
 
 import static org.junit.Assert.assertEquals;
 import static org.junit.Assert.assertFalse;
-import java.math.BigInteger;
+import static org.junit.Assert.assertNotEquals;
 import org.brackit.xquery.atomic.QNm;
 import org.junit.After;
 import org.junit.Before;
@@ -31,9 +31,15 @@ import org.junit.Ignore;
 import org.junit.Test;
 import org.sirix.XmlTestHelper;
 import org.sirix.access.trx.node.HashType;
+import org.sirix.api.Movement;
+import org.sirix.api.xml.XmlNodeReadOnlyTrx;
 import org.sirix.api.xml.XmlNodeTrx;
 import org.sirix.api.xml.XmlResourceManager;
+import org.sirix.axis.DescendantAxis;
+import org.sirix.axis.IncludeSelf;
 import org.sirix.exception.SirixException;
+import org.sirix.node.NodeHash;
+import org.sirix.service.xml.shredder.XmlShredder;
 
 public class HashTest {
 
@@ -104,25 +110,25 @@ public class HashTest {
     // inserting a element as root
     wtx.insertElementAsFirstChild(new QNm(NAME1));
     final long rootKey = wtx.getNodeKey();
-    final BigInteger firstRootHash = wtx.getHash();
+    final NodeHash firstRootHash = wtx.getHash();
 
     // inserting a text as second child of root
     wtx.moveTo(rootKey);
     wtx.insertTextAsFirstChild(NAME1);
     wtx.moveToParent();
-    final BigInteger secondRootHash = wtx.getHash();
+    final NodeHash secondRootHash = wtx.getHash();
 
     // inserting a second element on level 2 under the only element
     wtx.moveToFirstChild();
     wtx.insertElementAsRightSibling(new QNm(NAME2));
     wtx.insertAttribute(new QNm(NAME2), NAME1);
     wtx.moveTo(rootKey);
-    final BigInteger thirdRootHash = wtx.getHash();
+    final NodeHash thirdRootHash = wtx.getHash();
 
     // Checking that all hashes are different
-    assertFalse(firstRootHash.equals(secondRootHash));
-    assertFalse(firstRootHash.equals(thirdRootHash));
-    assertFalse(secondRootHash.equals(thirdRootHash));
+    assertNotEquals(firstRootHash, secondRootHash);
+    assertNotEquals(firstRootHash, thirdRootHash);
+    assertNotEquals(secondRootHash, thirdRootHash);
 
     // removing the second element
     wtx.moveToFirstChild();
@@ -152,7 +158,7 @@ public class HashTest {
   private void testDeepTree(final XmlNodeTrx wtx) throws SirixException {
 
     wtx.insertElementAsFirstChild(new QNm(NAME1));
-    final BigInteger oldHash = wtx.getHash();
+    final NodeHash oldHash = wtx.getHash();
 
     wtx.insertElementAsFirstChild(new QNm(NAME1));
     wtx.insertElementAsFirstChild(new QNm(NAME2));
@@ -179,38 +185,146 @@ public class HashTest {
     wtx.insertElementAsFirstChild(new QNm(NAME1));
     wtx.moveToDocumentRoot();
     wtx.moveToFirstChild();
-    final BigInteger hashRoot1 = wtx.getHash();
+    final NodeHash hashRoot1 = wtx.getHash();
     wtx.moveToFirstChild();
     wtx.moveToFirstChild();
-    final BigInteger hashLeaf1 = wtx.getHash();
+    final NodeHash hashLeaf1 = wtx.getHash();
     wtx.setName(new QNm(NAME2));
-    final BigInteger hashLeaf2 = wtx.getHash();
+    final NodeHash hashLeaf2 = wtx.getHash();
     wtx.moveToDocumentRoot();
     wtx.moveToFirstChild();
-    final BigInteger hashRoot2 = wtx.getHash();
-    assertFalse(hashRoot1.equals(hashRoot2));
-    assertFalse(hashLeaf1.equals(hashLeaf2));
+    final NodeHash hashRoot2 = wtx.getHash();
+    assertNotEquals(hashRoot1, hashRoot2);
+    assertNotEquals(hashLeaf1, hashLeaf2);
     wtx.moveToFirstChild();
     wtx.moveToFirstChild();
     wtx.setName(new QNm(NAME1));
-    final BigInteger hashLeaf3 = wtx.getHash();
+    final NodeHash hashLeaf3 = wtx.getHash();
     assertEquals(hashLeaf1, hashLeaf3);
     wtx.moveToDocumentRoot();
     wtx.moveToFirstChild();
-    final BigInteger hashRoot3 = wtx.getHash();
+    final NodeHash hashRoot3 = wtx.getHash();
     assertEquals(hashRoot1, hashRoot3);
 
     // Testing root inheritance
     wtx.moveToDocumentRoot();
     wtx.moveToFirstChild();
     wtx.setName(new QNm(NAME2));
-    final BigInteger hashRoot4 = wtx.getHash();
-    assertFalse(hashRoot4.equals(hashRoot2));
-    assertFalse(hashRoot4.equals(hashRoot1));
-    assertFalse(hashRoot4.equals(hashRoot3));
-    assertFalse(hashRoot4.equals(hashLeaf1));
-    assertFalse(hashRoot4.equals(hashLeaf2));
-    assertFalse(hashRoot4.equals(hashLeaf3));
+    final NodeHash hashRoot4 = wtx.getHash();
+    assertNotEquals(hashRoot4, hashRoot2);
+    assertNotEquals(hashRoot4, hashRoot1);
+    assertNotEquals(hashRoot4, hashRoot3);
+    assertNotEquals(hashRoot4, hashLeaf1);
+    assertNotEquals(hashRoot4, hashLeaf2);
+    assertNotEquals(hashRoot4, hashLeaf3);
+  }
+
+  @Test
+  public void testBulkInsert() throws SirixException {
+    final NodeHash hash = bulkInsert("first", "<a><b c=\"d\"><e>f</e></b><g/></a>");
+
+    assertEquals(hash, bulkInsert("second", "<a><b c=\"d\"><e>f</e></b><g/></a>"));
+    assertNotEquals(hash, bulkInsert("third", "<a><b c=\"d\"><e>h</e></b><g/></a>"));
+    assertNotEquals(hash, bulkInsert("fourth", "<a><b c=\"h\"><e>f</e></b><g/></a>"));
+  }
+
+  private NodeHash bulkInsert(final String resource, final String xml) {
+    final var database = XmlTestHelper.getDatabase(XmlTestHelper.PATHS.PATH1.getFile());
+    database.createResource(new ResourceConfiguration.Builder(resource).build());
+    try (final XmlResourceManager manager = database.openResourceManager(resource);
+        final XmlNodeTrx wtx = manager.beginNodeTrx()) {
+      wtx.insertSubtreeAsFirstChild(XmlShredder.createStringReader(xml));
+      wtx.moveToDocumentRoot();
+      assertEquals(5, wtx.getDescendantCount());
+      wtx.moveToFirstChild();
+      assertEquals(4, wtx.getDescendantCount());
+      wtx.moveToFirstChild();
+      assertEquals(2, wtx.getDescendantCount());
+      wtx.moveToRightSibling();
+      assertEquals(0, wtx.getDescendantCount());
+      wtx.moveToParent();
+      return wtx.getHash();
+    }
+  }
+
+  @Test
+  public void testRollingBulkInsertEqualsNodeByNodeInsert() {
+    testBulkInsertEqualsNodeByNodeInsert(HashType.ROLLING);
+  }
+
+  @Test
+  public void testPostorderBulkInsertEqualsNodeByNodeInsert() {
+    testBulkInsertEqualsNodeByNodeInsert(HashType.POSTORDER);
+  }
+
+  /**
+   * Build the same tree with one bulk insert and node by node, and compare the hashes of all nodes.
+   */
+  private void testBulkInsertEqualsNodeByNodeInsert(final HashType kind) {
+    final var database = XmlTestHelper.getDatabase(XmlTestHelper.PATHS.PATH1.getFile());
+    database.createResource(new ResourceConfiguration.Builder("bulk").hashKind(kind).build());
+    database.createResource(new ResourceConfiguration.Builder("nodeByNode").hashKind(kind).build());
+
+    try (final XmlResourceManager bulkManager = database.openResourceManager("bulk");
+        final XmlResourceManager manager = database.openResourceManager("nodeByNode");
+        final XmlNodeTrx bulkWtx = bulkManager.beginNodeTrx();
+        final XmlNodeTrx wtx = manager.beginNodeTrx()) {
+      bulkWtx.insertSubtreeAsFirstChild(XmlShredder.createStringReader(
+          "<a xmlns:p=\"ns\"><b c=\"d\"><e>f</e><g/></b><p:h i=\"j\" k=\"l\">m</p:h>n</a>"));
+
+      wtx.insertElementAsFirstChild(new QNm("a"));
+      wtx.insertNamespace(new QNm("ns", "p", ""), Movement.TOPARENT);
+      wtx.insertElementAsFirstChild(new QNm("b"));
+      wtx.insertAttribute(new QNm("c"), "d", Movement.TOPARENT);
+      wtx.insertElementAsFirstChild(new QNm("e"));
+      wtx.insertTextAsFirstChild("f");
+      wtx.moveToParent();
+      wtx.insertElementAsRightSibling(new QNm("g"));
+      wtx.moveToParent();
+      wtx.insertElementAsRightSibling(new QNm("ns", "p", "h"));
+      wtx.insertAttribute(new QNm("i"), "j", Movement.TOPARENT);
+      wtx.insertAttribute(new QNm("k"), "l", Movement.TOPARENT);
+      wtx.insertTextAsFirstChild("m");
+      wtx.moveToParent();
+      wtx.insertTextAsRightSibling("n");
+      wtx.commit();
+
+      bulkWtx.moveToDocumentRoot();
+      wtx.moveToDocumentRoot();
+      final var bulkAxis = new DescendantAxis(bulkWtx, IncludeSelf.YES);
+      final var axis = new DescendantAxis(wtx, IncludeSelf.YES);
+      while (bulkAxis.hasNext()) {
+        bulkAxis.next();
+        axis.next();
+        assertEqualHashes(bulkWtx, wtx);
+      }
+      assertFalse(axis.hasNext());
+    }
+  }
+
+  private static void assertEqualHashes(final XmlNodeReadOnlyTrx bulkRtx, final XmlNodeReadOnlyTrx rtx) {
+    assertEquals(bulkRtx.getKind(), rtx.getKind());
+    assertEquals(bulkRtx.getName(), rtx.getName());
+    assertEquals(bulkRtx.getDescendantCount(), rtx.getDescendantCount());
+    assertEquals(bulkRtx.getHash(), rtx.getHash());
+
+    assertEquals(bulkRtx.getAttributeCount(), rtx.getAttributeCount());
+    for (int i = 0; i < bulkRtx.getAttributeCount(); i++) {
+      bulkRtx.moveToAttribute(i);
+      rtx.moveToAttribute(i);
+      assertEquals(bulkRtx.getHash(), rtx.getHash());
+      bulkRtx.moveToParent();
+      rtx.moveToParent();
+    }
+
+    assertEquals(bulkRtx.getNamespaceCount(), rtx.getNamespaceCount());
+    for (int i = 0; i < bulkRtx.getNamespaceCount(); i++) {
+      bulkRtx.moveToNamespace(i);
+      rtx.moveToNamespace(i);
+      assertEquals(bulkRtx.getHash(), rtx.getHash());
+      bulkRtx.moveToParent();
+      rtx.moveToParent();
+    }
   }
 
   private XmlNodeTrx createWtx(final HashType kind) throws SirixException {
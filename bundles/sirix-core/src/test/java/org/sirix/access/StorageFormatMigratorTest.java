@@ -0,0 +1,204 @@
+package org.sirix.access;
+
+import static org.testng.AssertJUnit.assertEquals;
+import static org.testng.AssertJUnit.assertFalse;
+import static org.testng.AssertJUnit.assertTrue;
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.io.StringWriter;
+import java.math.BigInteger;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.util.List;
+import java.util.stream.Stream;
+import org.brackit.xquery.atomic.QNm;
+import org.sirix.XmlTestHelper;
+import org.sirix.api.Database;
+import org.sirix.api.NodeReadOnlyTrx;
+import org.sirix.api.json.JsonNodeReadOnlyTrx;
+import org.sirix.api.json.JsonNodeTrx;
+import org.sirix.api.json.JsonResourceManager;
+import org.sirix.api.xml.XmlNodeReadOnlyTrx;
+import org.sirix.api.xml.XmlNodeTrx;
+import org.sirix.api.xml.XmlResourceManager;
+import org.sirix.node.NodeHash;
+import org.sirix.service.json.serialize.JsonSerializer;
+import org.sirix.service.xml.serialize.XmlSerializer;
+import org.testng.annotations.AfterMethod;
+import org.testng.annotations.BeforeMethod;
+import org.testng.annotations.Test;
+
+/**
+ * Tests the migration of resources, which have been created before the storage format has been
+ * versioned. The databases and the expected serializations and node hashes have been created with
+ * the last sirix version, which stored resources in format version 0.
+ */
+public final class StorageFormatMigratorTest {
+
+  /** The databases in storage format version 0. */
+  private static final Path DATABASES = Paths.get("src", "test", "resources", "storageFormatVersion0");
+
+  /** The expected serializations and node hashes. */
+  private static final Path EXPECTED = DATABASES.resolve("expected");
+
+  @BeforeMethod
+  public void setUp() {
+    XmlTestHelper.deleteEverything();
+  }
+
+  @AfterMethod
+  public void tearDown() {
+    XmlTestHelper.deleteEverything();
+  }
+
+  @Test
+  public void testMigrateXmlResource() throws IOException {
+    final Path database = copyDatabase("xml", XmlTestHelper.PATHS.PATH1.getFile());
+
+    try (final Database<XmlResourceManager> xmlDatabase = Databases.openXmlDatabase(database);
+        final XmlResourceManager manager = xmlDatabase.openResourceManager("shredded")) {
+      assertEquals(5, manager.getMostRecentRevisionNumber());
+      assertSerializations(manager, "shredded");
+
+      try (final XmlNodeReadOnlyTrx rtx = manager.beginNodeReadOnlyTrx()) {
+        assertHashes(rtx, "shredded-hashes.txt");
+      }
+
+      // Modifications of the migrated resource yield the same hashes as in format version 0.
+      try (final XmlNodeTrx wtx = manager.beginNodeTrx()) {
+        wtx.moveToDocumentRoot();
+        wtx.moveToFirstChild();
+        wtx.moveToFirstChild();
+        wtx.insertElementAsRightSibling(new QNm("migrated"));
+        wtx.insertTextAsFirstChild("text");
+        wtx.commit();
+      }
+
+      try (final XmlNodeReadOnlyTrx rtx = manager.beginNodeReadOnlyTrx()) {
+        assertEquals(6, rtx.getRevisionNumber());
+        assertHashes(rtx, "shredded-updated-hashes.txt");
+      }
+      assertSerializations(manager, "shredded");
+    }
+
+    final Path resource = database.resolve(DatabaseConfiguration.DatabasePaths.DATA.getFile()).resolve("shredded");
+    assertTrue(Files.readString(resource.resolve(ResourceConfiguration.ResourcePaths.CONFIG_BINARY.getPath()))
+                    .contains("\"storageFormatVersion\":" + ResourceConfiguration.STORAGE_FORMAT_VERSION));
+    try (final Stream<Path> files = Files.list(resource.resolve(ResourceConfiguration.ResourcePaths.DATA.getPath()))) {
+      assertFalse(files.anyMatch(file -> file.getFileName().toString().endsWith(".v0")));
+    }
+
+    // The migrated resource is opened as any other resource.
+    try (final Database<XmlResourceManager> xmlDatabase = Databases.openXmlDatabase(database);
+        final XmlResourceManager manager = xmlDatabase.openResourceManager("shredded")) {
+      assertEquals(6, manager.getMostRecentRevisionNumber());
+      assertSerializations(manager, "shredded");
+    }
+  }
+
+  @Test
+  public void testMigrateXmlResourceWithDeweyIDs() throws IOException {
+    final Path database = copyDatabase("xml", XmlTestHelper.PATHS.PATH1.getFile());
+
+    try (final Database<XmlResourceManager> xmlDatabase = Databases.openXmlDatabase(database);
+        final XmlResourceManager manager = xmlDatabase.openResourceManager("dewey")) {
+      assertTrue(manager.getResourceConfig().areDeweyIDsStored);
+      assertEquals(3, manager.getMostRecentRevisionNumber());
+      assertSerializations(manager, "dewey");
+
+      try (final XmlNodeReadOnlyTrx rtx = manager.beginNodeReadOnlyTrx()) {
+        assertHashes(rtx, "dewey-hashes.txt");
+
+        rtx.moveToDocumentRoot();
+        rtx.moveToFirstChild();
+        rtx.moveToFirstChild();
+        assertTrue(rtx.getDeweyID().isPresent());
+        assertEquals(rtx.getNodeKey(), rtx.moveTo(rtx.getNodeKey()).trx().getNodeKey());
+      }
+    }
+  }
+
+  @Test
+  public void testMigrateJsonResource() throws IOException {
+    final Path database = copyDatabase("json", XmlTestHelper.PATHS.PATH2.getFile());
+
+    try (final Database<JsonResourceManager> jsonDatabase = Databases.openJsonDatabase(database);
+        final JsonResourceManager manager = jsonDatabase.openResourceManager("shredded")) {
+      assertEquals(3, manager.getMostRecentRevisionNumber());
+      for (int revision = 1; revision <= 3; revision++) {
+        final StringWriter writer = new StringWriter();
+        JsonSerializer.newBuilder(manager, writer, revision).build().call();
+        assertEquals(Files.readString(EXPECTED.resolve("json-" + revision + ".json")), writer.toString());
+      }
+
+      try (final JsonNodeReadOnlyTrx rtx = manager.beginNodeReadOnlyTrx()) {
+        assertHashes(rtx, "json-hashes.txt");
+      }
+
+      try (final JsonNodeTrx wtx = manager.beginNodeTrx()) {
+        wtx.moveToDocumentRoot();
+        wtx.moveToFirstChild();
+        wtx.insertStringValueAsFirstChild("migrated");
+        wtx.insertBooleanValueAsRightSibling(true);
+        wtx.insertObjectAsRightSibling();
+        wtx.commit();
+      }
+
+      try (final JsonNodeReadOnlyTrx rtx = manager.beginNodeReadOnlyTrx()) {
+        assertHashes(rtx, "json-updated-hashes.txt");
+      }
+    }
+  }
+
+  /**
+   * Copy a database in storage format version 0. The database configuration stores the location of
+   * the database, thus it's adapted to the copy.
+   */
+  private static Path copyDatabase(final String name, final Path target) throws IOException {
+    final Path source = DATABASES.resolve(name);
+    try (final Stream<Path> files = Files.walk(source)) {
+      for (final Path file : (Iterable<Path>) files::iterator) {
+        final Path copy = target.resolve(source.relativize(file).toString());
+        if (Files.isDirectory(file)) {
+          Files.createDirectories(copy);
+        } else {
+          Files.copy(file, copy);
+        }
+      }
+    }
+
+    final Path config = target.resolve(DatabaseConfiguration.DatabasePaths.CONFIGBINARY.getFile());
+    Files.writeString(config,
+        Files.readString(config).replaceFirst("\"file\":\"[^\"]*\"", "\"file\":\"" + target.toAbsolutePath() + "\""));
+    return target;
+  }
+
+  private static void assertSerializations(final XmlResourceManager manager, final String resource)
+      throws IOException {
+    for (int revision = 1; revision <= 5 && revision <= manager.getMostRecentRevisionNumber(); revision++) {
+      final Path expected = EXPECTED.resolve(resource + "-" + revision + ".xml");
+      if (!Files.exists(expected)) {
+        return;
+      }
+      final ByteArrayOutputStream out = new ByteArrayOutputStream();
+      XmlSerializer.newBuilder(manager, out, revision).emitXMLDeclaration().build().call();
+      assertEquals(Files.readString(expected), out.toString(StandardCharsets.UTF_8));
+    }
+  }
+
+  /**
+   * Assert the hashes of all nodes, which have been computed as {@code BigInteger}s in format version
+   * 0.
+   */
+  private static void assertHashes(final NodeReadOnlyTrx rtx, final String hashes) throws IOException {
+    final List<String> lines = Files.readAllLines(EXPECTED.resolve(hashes));
+    for (final String line : lines) {
+      final String[] nodeKeyAndHash = line.split(" ");
+      assertTrue(rtx.moveTo(Long.parseLong(nodeKeyAndHash[0])).hasMoved());
+      assertEquals(NodeHash.fromBigInteger(new BigInteger(nodeKeyAndHash[1])), rtx.getHash());
+    }
+    assertEquals(lines.size(), rtx.getMaxNodeKey() + 1);
+  }
+}
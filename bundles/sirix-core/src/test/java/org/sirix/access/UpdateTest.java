@@ -25,6 +25,10 @@ import static org.junit.Assert.assertEquals;
 import static org.junit.Assert.assertFalse;
 import static org.junit.Assert.assertNotNull;
 import static org.junit.Assert.assertTrue;
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
 import java.util.Iterator;
 import java.util.Optional;
 import java.util.UUID;
@@ -228,6 +232,46 @@ public class UpdateTest {
     }
   }
 
+  @Test
+  public void testGettingHistoryWithoutRevisionInfoLog() throws IOException {
+    final var user = setupCommitHistoryTest();
+
+    final String history;
+    final Path log;
+    try (final var database = Databases.openXmlDatabase(XmlTestHelper.PATHS.PATH1.getFile(), user);
+        final var manager = database.openResourceManager(XmlTestHelper.RESOURCE)) {
+      history = manager.getHistory().toString();
+      log = manager.getResourceConfig().resourcePath.resolve(ResourceConfiguration.ResourcePaths.DATA.getPath())
+                                                    .resolve("sirix.history");
+    }
+
+    // The revisions are read once and logged again.
+    Files.delete(log);
+
+    try (final var database = Databases.openXmlDatabase(XmlTestHelper.PATHS.PATH1.getFile(), user);
+        final var manager = database.openResourceManager(XmlTestHelper.RESOURCE)) {
+      assertEquals(history, manager.getHistory().toString());
+    }
+
+    // An incomplete entry at the end of the log is truncated.
+    Files.write(log, new byte[] {0, 0, 0, 4, 0}, StandardOpenOption.APPEND);
+
+    try (final var database = Databases.openXmlDatabase(XmlTestHelper.PATHS.PATH1.getFile(), user);
+        final var manager = database.openResourceManager(XmlTestHelper.RESOURCE)) {
+      assertEquals(history, manager.getHistory().toString());
+
+      try (final var wtx = manager.beginNodeTrx()) {
+        wtx.commit("Empty commit");
+      }
+
+      final var newHistory = manager.getHistory(4, 2);
+      assertEquals(3, newHistory.size());
+      assertEquals(4, newHistory.get(0).getRevision());
+      assertEquals("Empty commit", newHistory.get(0).getCommitMessage().get());
+      assertEquals(2, newHistory.get(2).getRevision());
+    }
+  }
+
   private User setupCommitHistoryTest() {
     final var user = new User("Johannes Lichtenberger", UUID.randomUUID());
     try (final var database = XmlTestHelper.getDatabase(XmlTestHelper.PATHS.PATH1.getFile(), user);
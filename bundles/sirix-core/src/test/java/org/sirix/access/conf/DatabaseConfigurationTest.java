@@ -44,4 +44,15 @@ public class DatabaseConfigurationTest {
         DatabaseConfiguration.deserialize(XmlTestHelper.PATHS.PATH1.getFile());
     assertEquals(conf.toString(), serializedConf.toString());
   }
+
+  @Test
+  public void testDeSerializeBufferSettings() throws SirixIOException {
+    DatabaseConfiguration conf =
+        new DatabaseConfiguration(XmlTestHelper.PATHS.PATH1.getFile()).setMaxBufferSize(1L << 20)
+                                                                      .setUseGlobalBuffer(true);
+    assertTrue(Databases.createXmlDatabase(conf));
+    DatabaseConfiguration serializedConf = DatabaseConfiguration.deserialize(XmlTestHelper.PATHS.PATH1.getFile());
+    assertEquals(1L << 20, serializedConf.getMaxBufferSize());
+    assertTrue(serializedConf.isUsingGlobalBuffer());
+  }
 }
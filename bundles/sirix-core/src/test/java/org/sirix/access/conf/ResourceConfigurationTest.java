@@ -1,5 +1,92 @@
 package org.sirix.access.conf;
 
+import static org.testng.AssertJUnit.assertEquals;
+import static org.testng.AssertJUnit.assertTrue;
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.time.Duration;
+import org.sirix.XmlTestHelper;
+import org.sirix.access.Databases;
+import org.sirix.access.ResourceConfiguration;
+import org.sirix.api.Database;
+import org.sirix.api.xml.XmlResourceManager;
+import org.sirix.exception.SirixException;
+import org.sirix.exception.SirixUsageException;
+import org.sirix.io.DurabilityMode;
+import org.sirix.io.PageHashType;
+import org.testng.annotations.AfterMethod;
+import org.testng.annotations.BeforeMethod;
+import org.testng.annotations.Test;
+
 public class ResourceConfigurationTest {
 
+  @BeforeMethod
+  public void setUp() throws SirixException {
+    XmlTestHelper.deleteEverything();
+  }
+
+  @AfterMethod
+  public void tearDown() throws SirixException {
+    XmlTestHelper.deleteEverything();
+  }
+
+  @Test
+  public void testDeSerializePageHashType() {
+    assertTrue(Databases.createXmlDatabase(XmlTestHelper.PATHS.PATH1.getConfig()));
+
+    try (final Database<XmlResourceManager> database = Databases.openXmlDatabase(XmlTestHelper.PATHS.PATH1.getFile())) {
+      database.createResource(new ResourceConfiguration.Builder(XmlTestHelper.RESOURCE).pageHashType(PageHashType.CRC32C)
+                                                                                       .verifyPageHashes(true)
+                                                                                       .build());
+
+      try (final XmlResourceManager manager = database.openResourceManager(XmlTestHelper.RESOURCE)) {
+        final ResourceConfiguration config = ResourceConfiguration.deserialize(manager.getResourceConfig().resourcePath);
+        assertEquals(PageHashType.CRC32C, config.pageHashType);
+        assertTrue(config.verifyPageHashes);
+      }
+    }
+  }
+
+  @Test
+  public void testDeSerializeDurabilityMode() {
+    assertTrue(Databases.createXmlDatabase(XmlTestHelper.PATHS.PATH1.getConfig()));
+
+    try (final Database<XmlResourceManager> database = Databases.openXmlDatabase(XmlTestHelper.PATHS.PATH1.getFile())) {
+      database.createResource(new ResourceConfiguration.Builder(XmlTestHelper.RESOURCE).durabilityMode(
+          DurabilityMode.GROUP_COMMIT).groupCommitWindow(Duration.ofMillis(5)).intentLogMemoryBudget(1024).build());
+
+      try (final XmlResourceManager manager = database.openResourceManager(XmlTestHelper.RESOURCE)) {
+        final ResourceConfiguration config = ResourceConfiguration.deserialize(manager.getResourceConfig().resourcePath);
+        assertEquals(DurabilityMode.GROUP_COMMIT, config.durabilityMode);
+        assertEquals(Duration.ofMillis(5), config.groupCommitWindow);
+        assertEquals(1024, config.intentLogMemoryBudget);
+      }
+    }
+  }
+
+  @Test(expectedExceptions = SirixUsageException.class)
+  public void testRejectUnversionedStorageFormat() throws IOException {
+    final Path resourcePath = createResource();
+
+    // Remove the version, as in configurations of resources created before the format has been versioned.
+    final Path configFile = resourcePath.resolve(ResourceConfiguration.ResourcePaths.CONFIG_BINARY.getPath());
+    final String config = Files.readString(configFile);
+    Files.writeString(configFile,
+        config.replaceFirst(",\\s*\"storageFormatVersion\"\\s*:\\s*" + ResourceConfiguration.STORAGE_FORMAT_VERSION, ""));
+
+    ResourceConfiguration.deserialize(resourcePath);
+  }
+
+  private static Path createResource() {
+    assertTrue(Databases.createXmlDatabase(XmlTestHelper.PATHS.PATH1.getConfig()));
+
+    try (final Database<XmlResourceManager> database = Databases.openXmlDatabase(XmlTestHelper.PATHS.PATH1.getFile())) {
+      database.createResource(new ResourceConfiguration.Builder(XmlTestHelper.RESOURCE).build());
+
+      try (final XmlResourceManager manager = database.openResourceManager(XmlTestHelper.RESOURCE)) {
+        return manager.getResourceConfig().resourcePath;
+      }
+    }
+  }
 }
@@ -1,14 +1,34 @@
 package org.sirix.access.node.json;
 
 import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertNotEquals;
 import static org.junit.Assert.assertTrue;
+import java.io.ByteArrayInputStream;
 import java.io.IOException;
 import java.io.StringWriter;
+import java.nio.charset.StandardCharsets;
 import org.junit.After;
 import org.junit.Before;
 import org.junit.Test;
 import org.sirix.JsonTestHelper;
 import org.sirix.JsonTestHelper.PATHS;
+import org.sirix.access.ResourceConfiguration;
+import org.sirix.access.trx.node.HashType;
+import org.sirix.access.trx.node.json.objectvalue.ArrayValue;
+import org.sirix.access.trx.node.json.objectvalue.ObjectValue;
+import org.sirix.access.trx.node.json.objectvalue.StringValue;
+import org.sirix.api.Database;
+import org.sirix.api.json.JsonNodeReadOnlyTrx;
+import org.sirix.api.json.JsonNodeTrx;
+import org.sirix.api.json.JsonResourceManager;
+import org.sirix.axis.DescendantAxis;
+import org.sirix.axis.IncludeSelf;
+import org.sirix.node.NodeHash;
+import org.sirix.node.json.ArrayNode;
+import org.sirix.node.json.ObjectKeyNode;
+import org.sirix.service.json.serialize.JsonSerializer;
+import org.sirix.service.json.shredder.JsonArrayChunker;
 import org.sirix.service.json.shredder.JsonShredder;
 
 public final class JsonNodeTrxTest {
@@ -115,4 +135,271 @@ public final class JsonNodeTrxTest {
       assertEquals("bar", wtx.getValue());
     }
   }
+
+  @Test
+  public void insertSubtreeWithSeveralKeysIntoObject() {
+    JsonTestHelper.createTestDocument();
+
+    try (final var database = JsonTestHelper.getDatabase(PATHS.PATH1.getFile());
+        final var manager = database.openResourceManager(JsonTestHelper.RESOURCE)) {
+      try (final var wtx = manager.beginNodeTrx()) {
+        wtx.moveTo(8);
+
+        wtx.insertSubtreeAsFirstChild(JsonShredder.createStringReader("{\"foo\": \"bar\", \"baz\": [1, 2]}"));
+
+        wtx.moveTo(8);
+
+        assertEquals(4, wtx.getChildCount());
+        assertEquals(10, wtx.getDescendantCount());
+      }
+
+      try (final var rtx = manager.beginNodeReadOnlyTrx()) {
+        assertDescendantCounts(rtx);
+      }
+    }
+  }
+
+  @Test
+  public void insertSubtreeHashesIncludeAllDescendants() {
+    final var database = JsonTestHelper.getDatabase(PATHS.PATH1.getFile());
+
+    final NodeHash hash = insertAndGetHash(database, "first", "{\"a\": {\"b\": {\"c\": [1, true]}}}");
+
+    assertEquals(hash, insertAndGetHash(database, "second", "{\"a\": {\"b\": {\"c\": [1, true]}}}"));
+    assertNotEquals(hash, insertAndGetHash(database, "third", "{\"a\": {\"b\": {\"c\": [1, false]}}}"));
+  }
+
+  @Test
+  public void insertSubtreeWithRollingHashesEqualsNodeByNodeInsert() {
+    insertSubtreeEqualsNodeByNodeInsert(HashType.ROLLING);
+  }
+
+  @Test
+  public void insertSubtreeWithPostorderHashesEqualsNodeByNodeInsert() {
+    insertSubtreeEqualsNodeByNodeInsert(HashType.POSTORDER);
+  }
+
+  /**
+   * Build the same tree with one bulk insert and node by node, and compare the hashes of all nodes.
+   */
+  private static void insertSubtreeEqualsNodeByNodeInsert(final HashType hashType) {
+    final var database = JsonTestHelper.getDatabase(PATHS.PATH1.getFile());
+    database.createResource(new ResourceConfiguration.Builder("bulk").hashKind(hashType).build());
+    database.createResource(new ResourceConfiguration.Builder("nodeByNode").hashKind(hashType).build());
+
+    try (final var bulkManager = database.openResourceManager("bulk");
+        final var manager = database.openResourceManager("nodeByNode");
+        final var bulkWtx = bulkManager.beginNodeTrx();
+        final var wtx = manager.beginNodeTrx()) {
+      bulkWtx.insertSubtreeAsFirstChild(JsonShredder.createStringReader(
+          "{\"a\": {\"b\": [1, \"c\", true, null], \"d\": {}}, \"e\": \"f\", \"g\": []}"));
+
+      wtx.insertObjectAsFirstChild();
+      wtx.insertObjectRecordAsFirstChild("a", new ObjectValue());
+      wtx.insertObjectRecordAsFirstChild("b", new ArrayValue());
+      wtx.insertNumberValueAsFirstChild(1);
+      wtx.insertStringValueAsRightSibling("c");
+      wtx.insertBooleanValueAsRightSibling(true);
+      wtx.insertNullValueAsRightSibling();
+      wtx.moveToParent();
+      wtx.moveToParent();
+      wtx.insertObjectRecordAsRightSibling("d", new ObjectValue());
+      wtx.moveToParent();
+      wtx.moveToParent();
+      wtx.moveToParent();
+      wtx.insertObjectRecordAsRightSibling("e", new StringValue("f"));
+      wtx.moveToParent();
+      wtx.insertObjectRecordAsRightSibling("g", new ArrayValue());
+      wtx.commit();
+
+      bulkWtx.moveToDocumentRoot();
+      wtx.moveToDocumentRoot();
+      final var bulkAxis = new DescendantAxis(bulkWtx, IncludeSelf.YES);
+      final var axis = new DescendantAxis(wtx, IncludeSelf.YES);
+      while (bulkAxis.hasNext()) {
+        bulkAxis.next();
+        axis.next();
+        assertEquals(bulkWtx.getKind(), wtx.getKind());
+        assertEquals(bulkWtx.getDescendantCount(), wtx.getDescendantCount());
+        assertEquals(bulkWtx.getHash(), wtx.getHash());
+      }
+      assertFalse(axis.hasNext());
+    }
+  }
+
+  @Test
+  public void insertArrayInParallelWithRollingHashesEqualsBulkInsert() throws IOException {
+    insertArrayInParallelEqualsBulkInsert(HashType.ROLLING, null, 0, false);
+  }
+
+  @Test
+  public void insertArrayInParallelWithPostorderHashesEqualsBulkInsert() throws IOException {
+    insertArrayInParallelEqualsBulkInsert(HashType.POSTORDER, null, 0, false);
+  }
+
+  @Test
+  public void insertArrayInParallelWithoutHashesEqualsBulkInsert() throws IOException {
+    insertArrayInParallelEqualsBulkInsert(HashType.NONE, null, 0, false);
+  }
+
+  @Test
+  public void insertArrayInParallelIntoArrayEqualsBulkInsert() throws IOException {
+    insertArrayInParallelEqualsBulkInsert(HashType.ROLLING, "[1, {\"id\": 0}]", 1, false);
+    insertArrayInParallelEqualsBulkInsert(HashType.POSTORDER, "[1, {\"id\": 0}]", 1, false);
+  }
+
+  @Test
+  public void insertArrayInParallelAsRightSiblingEqualsBulkInsert() throws IOException {
+    insertArrayInParallelEqualsBulkInsert(HashType.ROLLING, "[[1], {\"id\": 0}]", 2, true);
+    insertArrayInParallelEqualsBulkInsert(HashType.POSTORDER, "[[1], {\"id\": 0}]", 2, true);
+  }
+
+  @Test
+  public void insertEmptyArrayInParallelIntoArray() throws IOException {
+    insertArrayInParallelEqualsBulkInsert(HashType.ROLLING, "[1, 2]", 1, false, "[]");
+  }
+
+  private static void insertArrayInParallelEqualsBulkInsert(final HashType hashType, final String document,
+      final long nodeKey, final boolean asRightSibling) throws IOException {
+    final StringBuilder json = new StringBuilder("[");
+    for (int i = 0; i < 300; i++) {
+      json.append(i == 0 ? "" : ", ")
+          .append("{\"id\": ")
+          .append(i)
+          .append(", \"text\": \"a longer text, [b] {c}\", \"values\": [")
+          .append(i * 0.5)
+          .append(", true, null, {\"nested\": [], \"id\": ")
+          .append(-i)
+          .append("}]}");
+      if (i % 7 == 0) {
+        json.append(", [\"x\", [-1e3]], \"y\", 42, {}");
+      }
+    }
+    json.append("]");
+
+    insertArrayInParallelEqualsBulkInsert(hashType, document, nodeKey, asRightSibling, json.toString());
+  }
+
+  /**
+   * Insert the same array with a bulk insert and in parallel in small chunks, and compare all nodes
+   * and the path summaries.
+   */
+  private static void insertArrayInParallelEqualsBulkInsert(final HashType hashType, final String document,
+      final long nodeKey, final boolean asRightSibling, final String json) throws IOException {
+    JsonTestHelper.deleteEverything();
+    final var database = JsonTestHelper.getDatabase(PATHS.PATH1.getFile());
+    database.createResource(new ResourceConfiguration.Builder("bulk").hashKind(hashType).build());
+    database.createResource(new ResourceConfiguration.Builder("parallel").hashKind(hashType).build());
+
+    try (final var bulkManager = database.openResourceManager("bulk");
+        final var manager = database.openResourceManager("parallel");
+        final var bulkWtx = bulkManager.beginNodeTrx();
+        final var wtx = manager.beginNodeTrx()) {
+      if (document != null) {
+        bulkWtx.insertSubtreeAsFirstChild(JsonShredder.createStringReader(document));
+        wtx.insertSubtreeAsFirstChild(JsonShredder.createStringReader(document));
+      }
+      bulkWtx.moveTo(nodeKey);
+      wtx.moveTo(nodeKey);
+
+      final var chunker =
+          new JsonArrayChunker(new ByteArrayInputStream(json.getBytes(StandardCharsets.UTF_8)), 4, 64);
+      if (asRightSibling) {
+        bulkWtx.insertSubtreeAsRightSibling(JsonShredder.createStringReader(json));
+        wtx.insertSubtreeAsRightSibling(chunker);
+      } else {
+        bulkWtx.insertSubtreeAsFirstChild(JsonShredder.createStringReader(json));
+        wtx.insertSubtreeAsFirstChild(chunker);
+      }
+      assertEquals(bulkWtx.getNodeKey(), wtx.getNodeKey());
+
+      bulkWtx.moveToDocumentRoot();
+      wtx.moveToDocumentRoot();
+      final var bulkAxis = new DescendantAxis(bulkWtx, IncludeSelf.YES);
+      final var axis = new DescendantAxis(wtx, IncludeSelf.YES);
+      while (bulkAxis.hasNext()) {
+        bulkAxis.next();
+        axis.next();
+        assertNodeEquals(bulkWtx, wtx);
+      }
+      assertFalse(axis.hasNext());
+
+      final var bulkPathSummary = bulkManager.openPathSummary();
+      final var pathSummary = manager.openPathSummary();
+      final var bulkPathAxis = new DescendantAxis(bulkPathSummary);
+      final var pathAxis = new DescendantAxis(pathSummary);
+      while (bulkPathAxis.hasNext()) {
+        bulkPathAxis.next();
+        pathAxis.next();
+        assertEquals(bulkPathSummary.getNodeKey(), pathSummary.getNodeKey());
+        assertEquals(bulkPathSummary.getParentKey(), pathSummary.getParentKey());
+        assertEquals(bulkPathSummary.getName(), pathSummary.getName());
+        assertEquals(bulkPathSummary.getReferences(), pathSummary.getReferences());
+      }
+      assertFalse(pathAxis.hasNext());
+      bulkPathSummary.close();
+      pathSummary.close();
+
+      assertEquals(serialize(bulkManager), serialize(manager));
+    }
+  }
+
+  private static void assertNodeEquals(final JsonNodeTrx expected, final JsonNodeTrx actual) {
+    assertEquals(expected.getNodeKey(), actual.getNodeKey());
+    assertEquals(expected.getKind(), actual.getKind());
+    assertEquals(expected.getParentKey(), actual.getParentKey());
+    assertEquals(expected.getLeftSiblingKey(), actual.getLeftSiblingKey());
+    assertEquals(expected.getRightSiblingKey(), actual.getRightSiblingKey());
+    assertEquals(expected.getFirstChildKey(), actual.getFirstChildKey());
+    assertEquals(expected.getChildCount(), actual.getChildCount());
+    assertEquals(expected.getDescendantCount(), actual.getDescendantCount());
+    assertEquals(expected.getHash(), actual.getHash());
+    if (expected.isObjectKey()) {
+      assertEquals(expected.getName(), actual.getName());
+      assertEquals(expected.getNameKey(), actual.getNameKey());
+      assertEquals(((ObjectKeyNode) expected.getNode()).getPathNodeKey(),
+          ((ObjectKeyNode) actual.getNode()).getPathNodeKey());
+    } else if (expected.isArray()) {
+      assertEquals(((ArrayNode) expected.getNode()).getPathNodeKey(), ((ArrayNode) actual.getNode()).getPathNodeKey());
+    } else if (expected.isStringValue() || expected.isNumberValue() || expected.isBooleanValue()) {
+      assertEquals(expected.getValue(), actual.getValue());
+    }
+  }
+
+  private static String serialize(final JsonResourceManager manager) throws IOException {
+    try (final var writer = new StringWriter()) {
+      new JsonSerializer.Builder(manager, writer).build().call();
+      return writer.toString();
+    }
+  }
+
+  private static NodeHash insertAndGetHash(final Database<JsonResourceManager> database, final String resource,
+      final String json) {
+    database.createResource(new ResourceConfiguration.Builder(resource).build());
+
+    try (final var manager = database.openResourceManager(resource)) {
+      try (final var wtx = manager.beginNodeTrx()) {
+        wtx.insertSubtreeAsFirstChild(JsonShredder.createStringReader(json));
+      }
+
+      try (final var rtx = manager.beginNodeReadOnlyTrx()) {
+        assertDescendantCounts(rtx);
+        rtx.moveToFirstChild();
+        return rtx.getHash();
+      }
+    }
+  }
+
+  private static void assertDescendantCounts(final JsonNodeReadOnlyTrx rtx) {
+    rtx.moveToDocumentRoot();
+    for (final long nodeKey : new DescendantAxis(rtx, IncludeSelf.YES)) {
+      final long descendantCount = rtx.getDescendantCount();
+      long descendants = 0;
+      for (final var axis = new DescendantAxis(rtx); axis.hasNext(); axis.next()) {
+        descendants++;
+      }
+      assertEquals(descendants, descendantCount);
+      rtx.moveTo(nodeKey);
+    }
+  }
 }
@@ -0,0 +1,64 @@
+package org.sirix.access.trx.node;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertTrue;
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.time.Instant;
+import java.util.List;
+import java.util.UUID;
+import org.junit.After;
+import org.junit.Before;
+import org.junit.Test;
+import org.sirix.XmlTestHelper;
+import org.sirix.XmlTestHelper.PATHS;
+import org.sirix.access.User;
+import org.sirix.api.RevisionInfo;
+
+/**
+ * Test the {@link RevisionInfoLog}.
+ */
+public final class RevisionInfoLogTest {
+
+  private static final User USER = new User("Johannes Lichtenberger", UUID.randomUUID());
+
+  private Path mFile;
+
+  @Before
+  public void setUp() throws IOException {
+    XmlTestHelper.deleteEverything();
+    Files.createDirectories(PATHS.PATH1.getFile());
+    mFile = PATHS.PATH1.getFile().resolve(RevisionInfoLog.FILENAME);
+  }
+
+  @After
+  public void tearDown() {
+    XmlTestHelper.deleteEverything();
+  }
+
+  @Test
+  public void testTruncateTo() {
+    try (final RevisionInfoLog log = new RevisionInfoLog(mFile)) {
+      for (int revision = 1; revision <= 3; revision++) {
+        assertTrue(log.append(new RevisionInfo(USER, revision, Instant.ofEpochMilli(revision), "Commit " + revision)));
+      }
+
+      log.truncateTo(1);
+      assertEquals(1, log.getLastRevision());
+      assertFalse(log.append(new RevisionInfo(USER, 3, Instant.ofEpochMilli(3), "Commit 3")));
+      assertTrue(log.append(new RevisionInfo(USER, 2, Instant.ofEpochMilli(4), "Commit 2 after truncating")));
+    }
+
+    // Reopen to scan the truncated log.
+    try (final RevisionInfoLog log = new RevisionInfoLog(mFile)) {
+      assertEquals(2, log.getLastRevision());
+
+      final List<RevisionInfo> revisionInfos = log.read(1, 2);
+      assertEquals("Commit 1", revisionInfos.get(0).getCommitMessage().get());
+      assertEquals("Commit 2 after truncating", revisionInfos.get(1).getCommitMessage().get());
+      assertEquals(Instant.ofEpochMilli(4), revisionInfos.get(1).getRevisionTimestamp());
+    }
+  }
+}
@@ -0,0 +1,121 @@
+package org.sirix.access.trx.page;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertNotSame;
+import static org.junit.Assert.assertSame;
+import static org.junit.Assert.assertTrue;
+import org.brackit.xquery.atomic.QNm;
+import org.junit.After;
+import org.junit.Before;
+import org.junit.Test;
+import org.sirix.XmlTestHelper;
+import org.sirix.XmlTestHelper.PATHS;
+import org.sirix.access.Databases;
+import org.sirix.access.ResourceConfiguration;
+import org.sirix.api.Database;
+import org.sirix.api.PageReadOnlyTrx;
+import org.sirix.api.xml.XmlNodeReadOnlyTrx;
+import org.sirix.api.xml.XmlNodeTrx;
+import org.sirix.api.xml.XmlResourceManager;
+import org.sirix.cache.PageContainer;
+import org.sirix.page.PageKind;
+import org.sirix.utils.XmlDocumentCreator;
+
+/**
+ * Test the record page containers of {@link PageReadOnlyTrxImpl}.
+ */
+public final class PageReadOnlyTrxImplTest {
+
+  private Database<XmlResourceManager> mDatabase;
+
+  @Before
+  public void setUp() {
+    XmlTestHelper.deleteEverything();
+    Databases.createXmlDatabase(PATHS.PATH1.getConfig());
+    mDatabase = Databases.openXmlDatabase(PATHS.PATH1.getFile());
+    mDatabase.createResource(new ResourceConfiguration.Builder(XmlTestHelper.RESOURCE).build());
+
+    try (final XmlResourceManager manager = mDatabase.openResourceManager(XmlTestHelper.RESOURCE);
+        final XmlNodeTrx wtx = manager.beginNodeTrx()) {
+      XmlDocumentCreator.create(wtx);
+      wtx.commit();
+    }
+  }
+
+  @After
+  public void tearDown() {
+    mDatabase.close();
+    XmlTestHelper.deleteEverything();
+  }
+
+  @Test
+  public void testReadOnlyRecordPageContainer() {
+    try (final XmlResourceManager manager = mDatabase.openResourceManager(XmlTestHelper.RESOURCE);
+        final PageReadOnlyTrx pageRtx = manager.beginPageReadTrx()) {
+      final PageContainer container = pageRtx.getRecordPageContainer(0L, -1, PageKind.RECORDPAGE);
+
+      // No modifiable copy of the page.
+      assertSame(container.getComplete(), container.getModified());
+
+      // Served from the record page cache.
+      assertSame(container, pageRtx.getRecordPageContainer(0L, -1, PageKind.RECORDPAGE));
+    }
+  }
+
+  @Test
+  public void testRecordPageContainerIsSharedWithWriter() {
+    try (final XmlResourceManager manager = mDatabase.openResourceManager(XmlTestHelper.RESOURCE)) {
+      final PageContainer container;
+      try (final PageReadOnlyTrx pageRtx = manager.beginPageReadTrx()) {
+        container = pageRtx.getRecordPageContainer(0L, -1, PageKind.RECORDPAGE);
+      }
+
+      // The cache is keyed by the offset of the page, thus the write transaction doesn't read the page
+      // again.
+      try (final XmlNodeTrx wtx = manager.beginNodeTrx()) {
+        assertSame(container, wtx.getPageWtx().getRecordPageContainer(0L, -1, PageKind.RECORDPAGE));
+      }
+    }
+  }
+
+  @Test
+  public void testModificationsAreNotVisibleToReaders() {
+    try (final XmlResourceManager manager = mDatabase.openResourceManager(XmlTestHelper.RESOURCE)) {
+      final PageContainer container;
+      try (final PageReadOnlyTrx pageRtx = manager.beginPageReadTrx()) {
+        container = pageRtx.getRecordPageContainer(0L, -1, PageKind.RECORDPAGE);
+      }
+
+      final long descendants;
+      try (final XmlNodeReadOnlyTrx rtx = manager.beginNodeReadOnlyTrx()) {
+        descendants = rtx.getDescendantCount();
+      }
+
+      try (final XmlNodeTrx wtx = manager.beginNodeTrx()) {
+        wtx.moveToDocumentRoot();
+        wtx.moveToFirstChild();
+        wtx.insertElementAsFirstChild(new QNm("new"));
+        wtx.moveToDocumentRoot();
+        wtx.moveToFirstChild();
+        wtx.remove();
+
+        // The cached page of the last revision is still unchanged.
+        try (final PageReadOnlyTrx pageRtx = manager.beginPageReadOnlyTrx(1)) {
+          final PageContainer cachedContainer = pageRtx.getRecordPageContainer(0L, -1, PageKind.RECORDPAGE);
+          assertSame(container, cachedContainer);
+          assertTrue(pageRtx.getRecord(1L, PageKind.RECORDPAGE, -1).isPresent());
+        }
+
+        wtx.commit();
+      }
+
+      try (final XmlNodeReadOnlyTrx rtx = manager.beginNodeReadOnlyTrx(1)) {
+        assertEquals(descendants, rtx.getDescendantCount());
+      }
+
+      try (final PageReadOnlyTrx pageRtx = manager.beginPageReadTrx()) {
+        assertNotSame(container, pageRtx.getRecordPageContainer(0L, -1, PageKind.RECORDPAGE));
+      }
+    }
+  }
+}
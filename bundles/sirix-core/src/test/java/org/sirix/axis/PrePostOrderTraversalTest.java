@@ -0,0 +1,96 @@
+package org.sirix.axis;
+
+import static org.junit.Assert.assertArrayEquals;
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertNull;
+import java.util.ArrayList;
+import java.util.List;
+import org.junit.After;
+import org.junit.Before;
+import org.junit.Test;
+import org.sirix.Holder;
+import org.sirix.XmlTestHelper;
+import org.sirix.api.xml.XmlNodeReadOnlyTrx;
+import org.sirix.axis.PrePostOrderTraversal.Event;
+import org.sirix.exception.SirixException;
+
+/**
+ * Test {@link PrePostOrderTraversal}.
+ */
+public final class PrePostOrderTraversalTest {
+
+  /** {@link Holder} reference. */
+  private Holder holder;
+
+  @Before
+  public void setUp() throws SirixException {
+    XmlTestHelper.deleteEverything();
+    XmlTestHelper.createTestDocument();
+    holder = Holder.generateRtx();
+  }
+
+  @After
+  public void tearDown() throws SirixException {
+    holder.close();
+    XmlTestHelper.closeEverything();
+  }
+
+  @Test
+  public void testTraverseWhole() {
+    final XmlNodeReadOnlyTrx rtx = holder.getXdmNodeReadTrx();
+    rtx.moveToDocumentRoot();
+
+    final List<Long> startKeys = new ArrayList<>();
+    final List<Long> endKeys = new ArrayList<>();
+    traverse(new PrePostOrderTraversal(rtx), rtx, startKeys, endKeys);
+
+    assertArrayEquals(new long[] {0L, 1L, 4L, 5L, 6L, 7L, 8L, 9L, 11L, 12L, 13L}, toArray(startKeys));
+    assertArrayEquals(new long[] {4L, 6L, 7L, 5L, 8L, 11L, 12L, 9L, 13L, 1L, 0L}, toArray(endKeys));
+    assertEquals(0L, rtx.getNodeKey());
+  }
+
+  @Test
+  public void testTraverseSubtree() {
+    final XmlNodeReadOnlyTrx rtx = holder.getXdmNodeReadTrx();
+    rtx.moveTo(5L);
+
+    final List<Long> startKeys = new ArrayList<>();
+    final List<Long> endKeys = new ArrayList<>();
+    final PrePostOrderTraversal traversal = new PrePostOrderTraversal(rtx);
+    traverse(traversal, rtx, startKeys, endKeys);
+
+    assertArrayEquals(new long[] {5L, 6L, 7L}, toArray(startKeys));
+    assertArrayEquals(new long[] {6L, 7L, 5L}, toArray(endKeys));
+    assertEquals(5L, rtx.getNodeKey());
+    assertNull(traversal.getEvent());
+    assertNull(traversal.next());
+  }
+
+  @Test
+  public void testTraverseLeaf() {
+    final XmlNodeReadOnlyTrx rtx = holder.getXdmNodeReadTrx();
+    rtx.moveTo(4L);
+
+    final PrePostOrderTraversal traversal = new PrePostOrderTraversal(rtx);
+    assertEquals(Event.START, traversal.next());
+    assertEquals(Event.END, traversal.next());
+    assertEquals(4L, rtx.getNodeKey());
+    assertNull(traversal.next());
+  }
+
+  private static void traverse(final PrePostOrderTraversal traversal, final XmlNodeReadOnlyTrx rtx,
+      final List<Long> startKeys, final List<Long> endKeys) {
+    for (Event event = traversal.next(); event != null; event = traversal.next()) {
+      assertEquals(event, traversal.getEvent());
+      if (event == Event.START) {
+        startKeys.add(rtx.getNodeKey());
+      } else {
+        endKeys.add(rtx.getNodeKey());
+      }
+    }
+  }
+
+  private static long[] toArray(final List<Long> keys) {
+    return keys.stream().mapToLong(Long::longValue).toArray();
+  }
+}
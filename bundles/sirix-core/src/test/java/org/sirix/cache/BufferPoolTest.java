@@ -0,0 +1,64 @@
+package org.sirix.cache;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertNull;
+import static org.junit.Assert.assertSame;
+import static org.junit.Assert.assertTrue;
+import org.junit.Test;
+import org.sirix.page.IndirectPage;
+import org.sirix.page.interfaces.Page;
+
+/**
+ * Test the {@link BufferPool} shared by several {@link BufferManager}s.
+ */
+public final class BufferPoolTest {
+
+  @Test
+  public void testSharedPool() {
+    final BufferPool pool = new BufferPool(1L << 20);
+    final BufferManager first = new BufferManagerImpl(pool);
+    final BufferManager second = new BufferManagerImpl(pool);
+
+    final long offset = 42;
+    final Page firstPage = new IndirectPage();
+    final Page secondPage = new IndirectPage();
+
+    // Same key in the caches of both buffer managers.
+    first.getPageCache().put(offset, firstPage);
+    second.getPageCache().put(offset, secondPage);
+    assertSame(firstPage, first.getPageCache().get(offset));
+    assertSame(secondPage, second.getPageCache().get(offset));
+    assertNull(first.getRecordPageCache().get(offset));
+
+    first.clearAllCaches();
+    assertNull(first.getPageCache().get(offset));
+    assertSame(secondPage, second.getPageCache().get(offset));
+  }
+
+  @Test
+  public void testBudget() {
+    final int pageSize = PageWeigher.weigh(new IndirectPage(), 0);
+    final BufferPool pool = new BufferPool(10L * pageSize);
+    final BufferManager first = new BufferManagerImpl(pool);
+    final BufferManager second = new BufferManagerImpl(pool);
+
+    for (int i = 0; i < 100; i++) {
+      first.getPageCache().put((long) i, new IndirectPage());
+      second.getPageCache().put((long) i, new IndirectPage());
+    }
+
+    assertTrue(pool.getEstimatedSize() <= pool.getMaxSize());
+  }
+
+  @Test
+  public void testWeighByLength() {
+    final BufferPool pool = new BufferPool(1L << 20);
+    final BufferManager manager = new BufferManagerImpl(pool);
+    final int length = 1 << 16;
+
+    manager.getPageCache().put(42L, new IndirectPage());
+    final long size = pool.getEstimatedSize();
+    manager.getPageCache().put(43L, new IndirectPage(), length);
+    assertEquals(2 * size + length, pool.getEstimatedSize());
+  }
+}
@@ -0,0 +1,102 @@
+package org.sirix.cache;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertTrue;
+import org.brackit.xquery.atomic.QNm;
+import org.junit.After;
+import org.junit.Before;
+import org.junit.Test;
+import org.sirix.XmlTestHelper;
+import org.sirix.XmlTestHelper.PATHS;
+import org.sirix.access.Databases;
+import org.sirix.access.ResourceConfiguration;
+import org.sirix.api.Database;
+import org.sirix.api.xml.XmlNodeReadOnlyTrx;
+import org.sirix.api.xml.XmlNodeTrx;
+import org.sirix.api.xml.XmlResourceManager;
+
+/**
+ * Test the {@link TransactionIntentLog} with pages evicted off-heap and spilled to its file.
+ */
+public final class TransactionIntentLogTest {
+
+  /** Number of inserted elements, enough to evict pages from the heap. */
+  private static final int ELEMENTS = 20_000;
+
+  private Database<XmlResourceManager> mDatabase;
+
+  @Before
+  public void setUp() {
+    XmlTestHelper.deleteEverything();
+    Databases.createXmlDatabase(PATHS.PATH1.getConfig());
+    mDatabase = Databases.openXmlDatabase(PATHS.PATH1.getFile());
+  }
+
+  @After
+  public void tearDown() {
+    mDatabase.close();
+    XmlTestHelper.deleteEverything();
+  }
+
+  @Test
+  public void testOffHeap() {
+    final TransactionIntentLog log = insert(new ResourceConfiguration.Builder(XmlTestHelper.RESOURCE).build());
+    assertEquals(0, log.getSpills());
+    assertEquals(0, log.getReloads());
+    verify();
+  }
+
+  @Test
+  public void testSpill() {
+    final TransactionIntentLog log =
+        insert(new ResourceConfiguration.Builder(XmlTestHelper.RESOURCE).intentLogMemoryBudget(0).build());
+    assertEquals(0, log.getOffHeapBytes());
+    assertTrue(log.getSpills() > 0);
+    assertTrue(log.getReloads() > 0);
+    verify();
+  }
+
+  private TransactionIntentLog insert(final ResourceConfiguration resourceConfig) {
+    mDatabase.createResource(resourceConfig);
+
+    try (final XmlResourceManager manager = mDatabase.openResourceManager(XmlTestHelper.RESOURCE);
+        final XmlNodeTrx wtx = manager.beginNodeTrx()) {
+      final TransactionIntentLog log = wtx.getPageWtx().getLog();
+      wtx.insertElementAsFirstChild(new QNm("root"));
+      for (int i = 0; i < ELEMENTS; i++) {
+        wtx.insertElementAsFirstChild(new QNm("e"));
+        wtx.moveToParent();
+      }
+      final long offHeapBytes = log.getOffHeapBytes();
+      final long pageBytes = log.getPageBytes();
+      wtx.commit();
+
+      // The pages, which are not record pages, count against the memory budget.
+      assertTrue(pageBytes > 0);
+      if (resourceConfig.intentLogMemoryBudget > 0) {
+        assertTrue(offHeapBytes > 0);
+        assertTrue(offHeapBytes + pageBytes <= resourceConfig.intentLogMemoryBudget);
+      }
+      return log;
+    }
+  }
+
+  private void verify() {
+    try (final XmlResourceManager manager = mDatabase.openResourceManager(XmlTestHelper.RESOURCE);
+        final XmlNodeReadOnlyTrx rtx = manager.beginNodeReadOnlyTrx()) {
+      rtx.moveToDocumentRoot();
+      rtx.moveToFirstChild();
+      assertEquals(ELEMENTS, rtx.getDescendantCount());
+      assertEquals(ELEMENTS, rtx.getChildCount());
+
+      // Traverse the children to read all record pages.
+      rtx.moveToFirstChild();
+      int children = 1;
+      while (rtx.hasRightSibling()) {
+        rtx.moveToRightSibling();
+        children++;
+      }
+      assertEquals(ELEMENTS, children);
+    }
+  }
+}
@@ -0,0 +1,128 @@
+package org.sirix.io;
+
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Set;
+import java.util.concurrent.CompletableFuture;
+import org.brackit.xquery.atomic.QNm;
+import org.perfidix.AbstractConfig;
+import org.perfidix.Benchmark;
+import org.perfidix.annotation.AfterEachRun;
+import org.perfidix.annotation.BeforeEachRun;
+import org.perfidix.annotation.Bench;
+import org.perfidix.element.KindOfArrangement;
+import org.perfidix.meter.AbstractMeter;
+import org.perfidix.meter.Time;
+import org.perfidix.meter.TimeMeter;
+import org.perfidix.ouput.AbstractOutput;
+import org.perfidix.ouput.TabularSummaryOutput;
+import org.perfidix.result.BenchmarkResult;
+import org.sirix.XmlTestHelper;
+import org.sirix.XmlTestHelper.PATHS;
+import org.sirix.access.Databases;
+import org.sirix.access.ResourceConfiguration;
+import org.sirix.api.Database;
+import org.sirix.api.xml.XmlNodeTrx;
+import org.sirix.api.xml.XmlResourceManager;
+
+/**
+ * Benchmarks small commits of concurrent writers, each on its own resource, depending on the
+ * {@link DurabilityMode}. The commits per second are {@code RESOURCES * COMMITS} divided by the
+ * measured time.
+ */
+public final class DurabilityModeBench {
+
+  /** Number of resources, each modified by its own thread. */
+  private static final int RESOURCES = 4;
+
+  /** Number of commits per resource and run. */
+  private static final int COMMITS = 100;
+
+  /** The database, recreated before each run. */
+  private Database<XmlResourceManager> mDatabase;
+
+  @BeforeEachRun
+  public void createDatabase() {
+    XmlTestHelper.deleteEverything();
+    Databases.createXmlDatabase(PATHS.PATH1.getConfig());
+    mDatabase = Databases.openXmlDatabase(PATHS.PATH1.getFile());
+  }
+
+  @AfterEachRun
+  public void removeDatabase() {
+    mDatabase.close();
+    XmlTestHelper.deleteEverything();
+  }
+
+  private void commit(final DurabilityMode durabilityMode) {
+    commit(durabilityMode, Duration.ZERO);
+  }
+
+  private void commit(final DurabilityMode durabilityMode, final Duration groupCommitWindow) {
+    final List<CompletableFuture<Void>> writers = new ArrayList<>();
+    for (int resource = 0; resource < RESOURCES; resource++) {
+      final String name = "resource" + resource;
+      mDatabase.createResource(new ResourceConfiguration.Builder(name).storageType(StorageType.FILE_CHANNEL)
+                                                                      .durabilityMode(durabilityMode)
+                                                                      .groupCommitWindow(groupCommitWindow)
+                                                                      .build());
+
+      writers.add(CompletableFuture.runAsync(() -> {
+        try (final XmlResourceManager manager = mDatabase.openResourceManager(name);
+            final XmlNodeTrx wtx = manager.beginNodeTrx()) {
+          wtx.insertElementAsFirstChild(new QNm("root"));
+          for (int i = 0; i < COMMITS; i++) {
+            wtx.insertElementAsFirstChild(new QNm("e"));
+            wtx.commit();
+          }
+        }
+      }));
+    }
+    writers.forEach(CompletableFuture::join);
+  }
+
+  @Bench
+  public void none() {
+    commit(DurabilityMode.NONE);
+  }
+
+  @Bench
+  public void commit() {
+    commit(DurabilityMode.COMMIT);
+  }
+
+  @Bench
+  public void groupCommit() {
+    commit(DurabilityMode.GROUP_COMMIT);
+  }
+
+  @Bench
+  public void groupCommitWithWindow() {
+    commit(DurabilityMode.GROUP_COMMIT, Duration.ofMillis(1));
+  }
+
+  /**
+   * Perfidix settings.
+   */
+  private static final class Config extends AbstractConfig {
+    private static final Set<AbstractMeter> METERS = new HashSet<>();
+
+    static {
+      METERS.add(new TimeMeter(Time.MilliSeconds));
+    }
+
+    Config() {
+      super(5, METERS, new HashSet<AbstractOutput>(), KindOfArrangement.SequentialMethodArrangement, 1.0d);
+    }
+  }
+
+  public static void main(final String[] args) {
+    final Benchmark bench = new Benchmark(new Config());
+    bench.add(DurabilityModeBench.class);
+
+    final BenchmarkResult res = bench.run();
+    new TabularSummaryOutput().visitBenchmark(res);
+  }
+}
@@ -0,0 +1,139 @@
+package org.sirix.io;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertTrue;
+import java.io.ByteArrayOutputStream;
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.TimeUnit;
+import org.brackit.xquery.atomic.QNm;
+import org.junit.After;
+import org.junit.Before;
+import org.junit.Test;
+import org.sirix.XmlTestHelper;
+import org.sirix.XmlTestHelper.PATHS;
+import org.sirix.access.Databases;
+import org.sirix.access.ResourceConfiguration;
+import org.sirix.api.Database;
+import org.sirix.api.xml.XmlNodeReadOnlyTrx;
+import org.sirix.api.xml.XmlNodeTrx;
+import org.sirix.api.xml.XmlResourceManager;
+import org.sirix.service.xml.serialize.XmlSerializer.XmlSerializerBuilder;
+import org.sirix.settings.Constants;
+import org.sirix.utils.XmlDocumentCreator;
+
+/**
+ * Test the {@link DurabilityMode}s on all file based storages.
+ */
+public final class DurabilityModeTest {
+
+  private Database<XmlResourceManager> mDatabase;
+
+  @Before
+  public void setUp() {
+    XmlTestHelper.deleteEverything();
+    Databases.createXmlDatabase(PATHS.PATH1.getConfig());
+    mDatabase = Databases.openXmlDatabase(PATHS.PATH1.getFile());
+  }
+
+  @After
+  public void tearDown() {
+    mDatabase.close();
+    XmlTestHelper.deleteEverything();
+  }
+
+  @Test
+  public void testDurabilityModes() throws Exception {
+    for (final StorageType storageType : new StorageType[] {StorageType.FILE, StorageType.FILE_CHANNEL,
+        StorageType.MEMORY_MAPPED}) {
+      for (final DurabilityMode durabilityMode : DurabilityMode.values()) {
+        final String resource = storageType.name() + "-" + durabilityMode.name();
+        mDatabase.createResource(new ResourceConfiguration.Builder(resource).storageType(storageType)
+                                                                            .durabilityMode(durabilityMode)
+                                                                            .groupCommitWindow(Duration.ofMillis(1))
+                                                                            .build());
+
+        try (final XmlResourceManager manager = mDatabase.openResourceManager(resource);
+            final XmlNodeTrx wtx = manager.beginNodeTrx()) {
+          XmlDocumentCreator.createVersioned(wtx);
+        }
+
+        // Reopen, such that the pages are read from the storage.
+        mDatabase.close();
+        mDatabase = Databases.openXmlDatabase(PATHS.PATH1.getFile());
+
+        try (final XmlResourceManager manager = mDatabase.openResourceManager(resource);
+            final ByteArrayOutputStream out = new ByteArrayOutputStream()) {
+          new XmlSerializerBuilder(manager, out, -1).emitXMLDeclaration().serializeTimestamp(false).build().call();
+          assertEquals(XmlDocumentCreator.VERSIONEDXML, out.toString(Constants.DEFAULT_ENCODING.toString()));
+        }
+      }
+    }
+  }
+
+  @Test
+  public void testConcurrentCommits() {
+    concurrentCommits(DurabilityMode.COMMIT);
+  }
+
+  @Test
+  public void testConcurrentGroupCommits() {
+    concurrentCommits(DurabilityMode.GROUP_COMMIT);
+  }
+
+  @Test
+  public void testGroupCommitterForcesGroupAtOnce() {
+    // Each force waits for the other forces of its group, such that the group is only forced, if all
+    // forces are issued at the same time.
+    final int forces = 3;
+    final CountDownLatch issued = new CountDownLatch(forces);
+    final List<CompletableFuture<Void>> forced = new ArrayList<>();
+    for (int i = 0; i < forces; i++) {
+      forced.add(GroupCommitter.getInstance().force(() -> {
+        issued.countDown();
+        try {
+          assertTrue(issued.await(10, TimeUnit.SECONDS));
+        } catch (final InterruptedException e) {
+          throw new IllegalStateException(e);
+        }
+      }, Duration.ofMillis(500)));
+    }
+    forced.forEach(CompletableFuture::join);
+  }
+
+  private void concurrentCommits(final DurabilityMode durabilityMode) {
+    final List<String> resources = List.of("first", "second");
+    for (final String resource : resources) {
+      mDatabase.createResource(new ResourceConfiguration.Builder(resource).storageType(StorageType.FILE_CHANNEL)
+                                                                          .durabilityMode(durabilityMode)
+                                                                          .build());
+    }
+
+    final List<CompletableFuture<Void>> commits = new ArrayList<>();
+    for (final String resource : resources) {
+      commits.add(CompletableFuture.runAsync(() -> {
+        try (final XmlResourceManager manager = mDatabase.openResourceManager(resource);
+            final XmlNodeTrx wtx = manager.beginNodeTrx()) {
+          wtx.insertElementAsFirstChild(new QNm("root"));
+          for (int i = 0; i < 10; i++) {
+            wtx.insertElementAsFirstChild(new QNm("e"));
+            wtx.commit();
+          }
+        }
+      }));
+    }
+    commits.forEach(CompletableFuture::join);
+
+    for (final String resource : resources) {
+      try (final XmlResourceManager manager = mDatabase.openResourceManager(resource);
+          final XmlNodeReadOnlyTrx rtx = manager.beginNodeReadOnlyTrx()) {
+        assertEquals(10, rtx.getRevisionNumber());
+        rtx.moveToFirstChild();
+        assertEquals(10, rtx.getDescendantCount());
+      }
+    }
+  }
+}
@@ -22,10 +22,19 @@
 package org.sirix.io;
 
 import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertTrue;
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.time.Instant;
 import org.sirix.XmlTestHelper;
 import org.sirix.access.ResourceConfiguration;
+import org.sirix.api.PageReadOnlyTrx;
+import org.sirix.api.ResourceManager;
 import org.sirix.exception.SirixException;
 import org.sirix.exception.SirixUsageException;
+import org.sirix.io.file.FileReader;
 import org.sirix.page.PageReference;
 import org.sirix.page.UberPage;
 
@@ -89,4 +98,53 @@ public final class IOTestHelper {
     fac.close();
   }
 
+  /**
+   * Test that the timestamps stored in the revisions file match the revision root pages and are used
+   * to find the revision of a point in time.
+   *
+   * @param manager the resource manager
+   */
+  public static void testRevisionTimestamps(final ResourceManager<?, ?> manager) {
+    final Storage fac = StorageType.getStorage(manager.getResourceConfig());
+    try (final Reader reader = fac.createReader()) {
+      for (int revision = 0; revision <= manager.getMostRecentRevisionNumber(); revision++) {
+        final long timestamp;
+        try (final PageReadOnlyTrx pageRtx = manager.beginPageReadOnlyTrx(revision)) {
+          timestamp = pageRtx.getActualRevisionRootPage().getRevisionTimestamp();
+        }
+        assertEquals(timestamp, reader.readRevisionTimestamp(revision));
+
+        // Revisions might have been committed within the same millisecond.
+        final int found = manager.getRevisionNumber(Instant.ofEpochMilli(timestamp));
+        assertEquals(timestamp, reader.readRevisionTimestamp(found));
+      }
+    }
+  }
+
+  /**
+   * Test that truncating the storage to the revision before the most recent revision also truncates
+   * the entries of the revisions file, which point behind the end of the truncated data file.
+   *
+   * @param manager the resource manager
+   * @param dataFileName the name of the data file
+   * @param revisionsFileName the name of the revisions file
+   * @throws IOException if an I/O error occurs
+   */
+  public static void testTruncateTo(final ResourceManager<?, ?> manager, final String dataFileName,
+      final String revisionsFileName) throws IOException {
+    final Storage fac = StorageType.getStorage(manager.getResourceConfig());
+    try (final Writer writer = fac.createWriter()) {
+      writer.truncateTo(manager.getMostRecentRevisionNumber() - 1);
+    }
+
+    final Path dataPath = manager.getResourceConfig().resourcePath.resolve(
+        ResourceConfiguration.ResourcePaths.DATA.getPath());
+    final long dataFileSize = Files.size(dataPath.resolve(dataFileName));
+    final ByteBuffer revisions = ByteBuffer.wrap(Files.readAllBytes(dataPath.resolve(revisionsFileName)));
+    assertEquals(0, revisions.capacity() % FileReader.REVISIONS_FILE_ENTRY_SIZE);
+    assertTrue(revisions.capacity() > 0);
+    for (int i = 0; i < revisions.capacity(); i += FileReader.REVISIONS_FILE_ENTRY_SIZE) {
+      assertTrue(revisions.getLong(i) < dataFileSize);
+    }
+  }
 }
@@ -0,0 +1,116 @@
+package org.sirix.io;
+
+import java.util.HashSet;
+import java.util.Set;
+import org.brackit.xquery.atomic.QNm;
+import org.perfidix.AbstractConfig;
+import org.perfidix.Benchmark;
+import org.perfidix.annotation.AfterEachRun;
+import org.perfidix.annotation.BeforeEachRun;
+import org.perfidix.annotation.Bench;
+import org.perfidix.element.KindOfArrangement;
+import org.perfidix.meter.AbstractMeter;
+import org.perfidix.meter.Time;
+import org.perfidix.meter.TimeMeter;
+import org.perfidix.ouput.AbstractOutput;
+import org.perfidix.ouput.TabularSummaryOutput;
+import org.perfidix.result.BenchmarkResult;
+import org.sirix.XmlTestHelper;
+import org.sirix.XmlTestHelper.PATHS;
+import org.sirix.access.Databases;
+import org.sirix.access.ResourceConfiguration;
+import org.sirix.api.Database;
+import org.sirix.api.xml.XmlNodeTrx;
+import org.sirix.api.xml.XmlResourceManager;
+
+/**
+ * Benchmarks the commit throughput of a resource depending on the {@link PageHashType}.
+ */
+public final class PageHashTypeBench {
+
+  /** Number of elements inserted before each commit. */
+  private static final int ELEMENTS = 10_000;
+
+  /** Number of commits per run. */
+  private static final int COMMITS = 5;
+
+  /** The database, recreated before each run. */
+  private Database<XmlResourceManager> mDatabase;
+
+  @BeforeEachRun
+  public void createDatabase() {
+    XmlTestHelper.deleteEverything();
+    Databases.createXmlDatabase(PATHS.PATH1.getConfig());
+    mDatabase = Databases.openXmlDatabase(PATHS.PATH1.getFile());
+  }
+
+  @AfterEachRun
+  public void removeDatabase() {
+    mDatabase.close();
+    XmlTestHelper.deleteEverything();
+  }
+
+  private void commit(final PageHashType pageHashType) {
+    mDatabase.createResource(
+        new ResourceConfiguration.Builder(XmlTestHelper.RESOURCE).pageHashType(pageHashType).build());
+
+    try (final XmlResourceManager manager = mDatabase.openResourceManager(XmlTestHelper.RESOURCE);
+        final XmlNodeTrx wtx = manager.beginNodeTrx()) {
+      wtx.insertElementAsFirstChild(new QNm("root"));
+      for (int commit = 0; commit < COMMITS; commit++) {
+        wtx.moveToDocumentRoot();
+        wtx.moveToFirstChild();
+        wtx.insertElementAsFirstChild(new QNm("e"));
+        for (int i = 1; i < ELEMENTS; i++) {
+          wtx.insertElementAsRightSibling(new QNm("e"));
+          wtx.insertTextAsFirstChild(String.valueOf(i));
+          wtx.moveToParent();
+        }
+        wtx.commit();
+      }
+    }
+  }
+
+  @Bench
+  public void sha256() {
+    commit(PageHashType.SHA256);
+  }
+
+  @Bench
+  public void murmur3() {
+    commit(PageHashType.MURMUR3_128);
+  }
+
+  @Bench
+  public void crc32c() {
+    commit(PageHashType.CRC32C);
+  }
+
+  @Bench
+  public void none() {
+    commit(PageHashType.NONE);
+  }
+
+  /**
+   * Perfidix settings.
+   */
+  private static final class Config extends AbstractConfig {
+    private static final Set<AbstractMeter> METERS = new HashSet<>();
+
+    static {
+      METERS.add(new TimeMeter(Time.MilliSeconds));
+    }
+
+    Config() {
+      super(10, METERS, new HashSet<AbstractOutput>(), KindOfArrangement.SequentialMethodArrangement, 1.0d);
+    }
+  }
+
+  public static void main(final String[] args) {
+    final Benchmark bench = new Benchmark(new Config());
+    bench.add(PageHashTypeBench.class);
+
+    final BenchmarkResult res = bench.run();
+    new TabularSummaryOutput().visitBenchmark(res);
+  }
+}
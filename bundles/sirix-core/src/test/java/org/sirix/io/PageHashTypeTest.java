@@ -0,0 +1,83 @@
+package org.sirix.io;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertTrue;
+import java.io.ByteArrayOutputStream;
+import java.nio.ByteBuffer;
+import org.junit.After;
+import org.junit.Before;
+import org.junit.Test;
+import org.sirix.XmlTestHelper;
+import org.sirix.XmlTestHelper.PATHS;
+import org.sirix.access.Databases;
+import org.sirix.access.ResourceConfiguration;
+import org.sirix.api.Database;
+import org.sirix.api.xml.XmlNodeTrx;
+import org.sirix.api.xml.XmlResourceManager;
+import org.sirix.service.xml.serialize.XmlSerializer.XmlSerializerBuilder;
+import org.sirix.settings.Constants;
+import org.sirix.utils.XmlDocumentCreator;
+
+/**
+ * Test the {@link PageHashType}s with page hash verification enabled on all file based storages.
+ */
+public final class PageHashTypeTest {
+
+  private Database<XmlResourceManager> mDatabase;
+
+  @Before
+  public void setUp() {
+    XmlTestHelper.deleteEverything();
+    Databases.createXmlDatabase(PATHS.PATH1.getConfig());
+    mDatabase = Databases.openXmlDatabase(PATHS.PATH1.getFile());
+  }
+
+  @After
+  public void tearDown() {
+    mDatabase.close();
+    XmlTestHelper.deleteEverything();
+  }
+
+  @Test
+  public void testVerifiedPageHashes() throws Exception {
+    for (final StorageType storageType : new StorageType[] {StorageType.FILE, StorageType.FILE_CHANNEL,
+        StorageType.MEMORY_MAPPED}) {
+      for (final PageHashType pageHashType : PageHashType.values()) {
+        final String resource = storageType.name() + "-" + pageHashType.name();
+        mDatabase.createResource(new ResourceConfiguration.Builder(resource).storageType(storageType)
+                                                                            .pageHashType(pageHashType)
+                                                                            .verifyPageHashes(true)
+                                                                            .build());
+
+        try (final XmlResourceManager manager = mDatabase.openResourceManager(resource);
+            final XmlNodeTrx wtx = manager.beginNodeTrx()) {
+          XmlDocumentCreator.createVersioned(wtx);
+        }
+
+        // Reopen, such that the pages are read from the storage.
+        mDatabase.close();
+        mDatabase = Databases.openXmlDatabase(PATHS.PATH1.getFile());
+
+        try (final XmlResourceManager manager = mDatabase.openResourceManager(resource);
+            final ByteArrayOutputStream out = new ByteArrayOutputStream()) {
+          new XmlSerializerBuilder(manager, out, -1).emitXMLDeclaration().serializeTimestamp(false).build().call();
+          assertEquals(XmlDocumentCreator.VERSIONEDXML, out.toString(Constants.DEFAULT_ENCODING.toString()));
+        }
+      }
+    }
+  }
+
+  @Test
+  public void testHash() {
+    final ByteBuffer page = ByteBuffer.wrap(new byte[] {1, 2, 3, 4, 5});
+    for (final PageHashType pageHashType : PageHashType.values()) {
+      final byte[] hash = pageHashType.hash(page);
+      assertEquals(0, page.position());
+      assertTrue(pageHashType.matches(hash, page));
+      if (pageHashType != PageHashType.NONE) {
+        assertFalse(pageHashType.matches(hash, ByteBuffer.wrap(new byte[] {1, 2, 3, 4, 6})));
+      }
+    }
+  }
+}
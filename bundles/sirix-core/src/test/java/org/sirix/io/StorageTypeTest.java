@@ -0,0 +1,186 @@
+package org.sirix.io;
+
+import static org.testng.AssertJUnit.assertEquals;
+import java.io.ByteArrayOutputStream;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.atomic.AtomicBoolean;
+import org.sirix.XmlTestHelper;
+import org.sirix.XmlTestHelper.PATHS;
+import org.sirix.access.Databases;
+import org.sirix.access.ResourceConfiguration;
+import org.sirix.api.Database;
+import org.sirix.api.xml.XmlNodeTrx;
+import org.sirix.api.xml.XmlResourceManager;
+import org.sirix.service.xml.serialize.XmlSerializer.XmlSerializerBuilder;
+import org.sirix.settings.Constants;
+import org.sirix.utils.XmlDocumentCreator;
+import org.testng.annotations.AfterMethod;
+import org.testng.annotations.BeforeMethod;
+import org.testng.annotations.DataProvider;
+import org.testng.annotations.Test;
+
+/**
+ * Test the file based {@link StorageType}s.
+ */
+public final class StorageTypeTest {
+
+  private Database<XmlResourceManager> mDatabase;
+
+  @BeforeMethod
+  public void setUp() {
+    XmlTestHelper.deleteEverything();
+    Databases.createXmlDatabase(PATHS.PATH1.getConfig());
+    mDatabase = Databases.openXmlDatabase(PATHS.PATH1.getFile());
+  }
+
+  @AfterMethod
+  public void tearDown() {
+    mDatabase.close();
+    XmlTestHelper.deleteEverything();
+  }
+
+  @Test(dataProvider = "storageTypes")
+  public void testFirstRef(final StorageType storageType) {
+    createResource(storageType);
+
+    try (final XmlResourceManager manager = mDatabase.openResourceManager(XmlTestHelper.RESOURCE)) {
+      IOTestHelper.testReadWriteFirstRef(manager.getResourceConfig());
+    }
+  }
+
+  @Test(dataProvider = "storageTypes")
+  public void testVersionedDocument(final StorageType storageType) throws Exception {
+    createResource(storageType);
+
+    try (final XmlResourceManager manager = mDatabase.openResourceManager(XmlTestHelper.RESOURCE);
+        final XmlNodeTrx wtx = manager.beginNodeTrx();
+        final ByteArrayOutputStream out = new ByteArrayOutputStream()) {
+      XmlDocumentCreator.createVersioned(wtx);
+
+      new XmlSerializerBuilder(manager, out, -1).emitXMLDeclaration().serializeTimestamp(false).build().call();
+      assertEquals(XmlDocumentCreator.VERSIONEDXML, out.toString(Constants.DEFAULT_ENCODING.toString()));
+
+      // Revisions committed after the resource manager has been opened are looked up as well.
+      IOTestHelper.testRevisionTimestamps(manager);
+    }
+
+    // Reopen to read the pages through a new storage.
+    try (final XmlResourceManager manager = mDatabase.openResourceManager(XmlTestHelper.RESOURCE);
+        final ByteArrayOutputStream out = new ByteArrayOutputStream()) {
+      new XmlSerializerBuilder(manager, out, -1).emitXMLDeclaration().serializeTimestamp(false).build().call();
+      assertEquals(XmlDocumentCreator.VERSIONEDXML, out.toString(Constants.DEFAULT_ENCODING.toString()));
+      IOTestHelper.testRevisionTimestamps(manager);
+    }
+  }
+
+  @Test(dataProvider = "storageTypes")
+  public void testConcurrentReaders(final StorageType storageType) throws Exception {
+    createResource(storageType);
+
+    try (final XmlResourceManager manager = mDatabase.openResourceManager(XmlTestHelper.RESOURCE);
+        final XmlNodeTrx wtx = manager.beginNodeTrx()) {
+      XmlDocumentCreator.createVersioned(wtx);
+    }
+
+    final ExecutorService pool = Executors.newFixedThreadPool(4);
+    try (final XmlResourceManager manager = mDatabase.openResourceManager(XmlTestHelper.RESOURCE)) {
+      final List<Future<String>> results = new ArrayList<>();
+      for (int i = 0; i < 16; i++) {
+        results.add(pool.submit(() -> {
+          try (final ByteArrayOutputStream out = new ByteArrayOutputStream()) {
+            new XmlSerializerBuilder(manager, out, -1).emitXMLDeclaration().serializeTimestamp(false).build().call();
+            return out.toString(Constants.DEFAULT_ENCODING.toString());
+          }
+        }));
+      }
+      for (final Future<String> result : results) {
+        assertEquals(XmlDocumentCreator.VERSIONEDXML, result.get());
+      }
+    } finally {
+      pool.shutdownNow();
+    }
+  }
+
+  @Test(dataProvider = "storageTypes")
+  public void testTruncateTo(final StorageType storageType) throws Exception {
+    createResource(storageType);
+
+    try (final XmlResourceManager manager = mDatabase.openResourceManager(XmlTestHelper.RESOURCE);
+        final XmlNodeTrx wtx = manager.beginNodeTrx()) {
+      XmlDocumentCreator.createVersioned(wtx);
+    }
+
+    try (final XmlResourceManager manager = mDatabase.openResourceManager(XmlTestHelper.RESOURCE)) {
+      IOTestHelper.testTruncateTo(manager, "sirix.data", "sirix.revisions");
+    }
+  }
+
+  @Test(dataProvider = "storageTypes")
+  public void testTruncateToWhileReading(final StorageType storageType) throws Exception {
+    createResource(storageType);
+
+    try (final XmlResourceManager manager = mDatabase.openResourceManager(XmlTestHelper.RESOURCE);
+        final XmlNodeTrx wtx = manager.beginNodeTrx()) {
+      XmlDocumentCreator.createVersioned(wtx);
+    }
+
+    final ExecutorService pool = Executors.newFixedThreadPool(4);
+    try (final XmlResourceManager manager = mDatabase.openResourceManager(XmlTestHelper.RESOURCE)) {
+      final int revision = manager.getMostRecentRevisionNumber() - 1;
+      final Storage storage = StorageType.getStorage(manager.getResourceConfig());
+      final long[] timestamps = new long[revision];
+      try (final Reader reader = storage.createReader()) {
+        for (int i = 0; i < revision; i++) {
+          timestamps[i] = reader.readRevisionTimestamp(i);
+        }
+      }
+
+      // The revisions before the one truncated to are kept and read, while the files are truncated.
+      final AtomicBoolean truncated = new AtomicBoolean();
+      final List<Future<?>> results = new ArrayList<>();
+      for (int i = 0; i < 4; i++) {
+        results.add(pool.submit(() -> {
+          try (final Reader reader = storage.createReader()) {
+            do {
+              for (int j = 0; j < revision; j++) {
+                assertEquals(timestamps[j], reader.readRevisionTimestamp(j));
+              }
+            } while (!truncated.get());
+          }
+          return null;
+        }));
+      }
+
+      try (final Writer writer = storage.createWriter()) {
+        writer.truncateTo(revision);
+      } finally {
+        truncated.set(true);
+      }
+
+      for (final Future<?> result : results) {
+        result.get();
+      }
+      storage.close();
+    } finally {
+      pool.shutdownNow();
+    }
+  }
+
+  private void createResource(final StorageType storageType) {
+    mDatabase.createResource(new ResourceConfiguration.Builder(XmlTestHelper.RESOURCE).storageType(storageType).build());
+  }
+
+  /**
+   * Providing the storage types, which store the pages in files.
+   *
+   * @return the storage types
+   */
+  @DataProvider(name = "storageTypes")
+  public Object[][] storageTypes() {
+    return new Object[][] {{StorageType.FILE}, {StorageType.FILE_CHANNEL}, {StorageType.MEMORY_MAPPED}};
+  }
+}
@@ -0,0 +1,195 @@
+package org.sirix.io.bytepipe;
+
+import java.io.ByteArrayInputStream;
+import java.io.FileInputStream;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.UncheckedIOException;
+import java.nio.ByteBuffer;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.util.ArrayList;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Set;
+import org.perfidix.AbstractConfig;
+import org.perfidix.Benchmark;
+import org.perfidix.annotation.AfterBenchClass;
+import org.perfidix.annotation.BeforeBenchClass;
+import org.perfidix.annotation.Bench;
+import org.perfidix.element.KindOfArrangement;
+import org.perfidix.meter.AbstractMeter;
+import org.perfidix.meter.Time;
+import org.perfidix.meter.TimeMeter;
+import org.perfidix.ouput.AbstractOutput;
+import org.perfidix.ouput.TabularSummaryOutput;
+import org.perfidix.result.BenchmarkResult;
+import org.sirix.XmlTestHelper;
+import org.sirix.XmlTestHelper.PATHS;
+import org.sirix.access.Databases;
+import org.sirix.access.ResourceConfiguration;
+import org.sirix.api.Database;
+import org.sirix.api.xml.XmlNodeTrx;
+import org.sirix.api.xml.XmlResourceManager;
+import org.sirix.io.StorageType;
+import org.sirix.io.file.FileReader;
+import org.sirix.service.xml.shredder.InsertPosition;
+import org.sirix.service.xml.shredder.XmlShredder;
+import com.google.common.io.ByteStreams;
+
+/**
+ * Benchmarks the decompression of real pages, stored uncompressed from {@code auction.xml}, with
+ * the stream based and block based compressors. The compression ratios are printed once the pages
+ * are compressed.
+ */
+public final class ByteHandlerBench {
+
+  /** The shredded document. */
+  private static final Path XML = Paths.get("src", "test", "resources", "auction.xml");
+
+  /** Block compressor, reused such that its pooled buffers are reused. */
+  private final ByteHandler mSnappyBlockCompressor = new SnappyBlockCompressor();
+
+  /** Block compressor, reused such that its pooled buffers are reused. */
+  private final ByteHandler mZstdCompressor = new ZstdCompressor();
+
+  /** The uncompressed pages. */
+  private List<byte[]> mPages;
+
+  /** Pages compressed with the {@link SnappyCompressor}. */
+  private List<byte[]> mSnappyPages;
+
+  /** Pages compressed with the {@link SnappyBlockCompressor}. */
+  private List<byte[]> mSnappyBlockPages;
+
+  /** Pages compressed with the {@link DeflateCompressor}. */
+  private List<byte[]> mDeflatePages;
+
+  /** Pages compressed with the {@link ZstdCompressor}. */
+  private List<byte[]> mZstdPages;
+
+  @BeforeBenchClass
+  public void readPages() throws Exception {
+    XmlTestHelper.deleteEverything();
+    Databases.createXmlDatabase(PATHS.PATH1.getConfig());
+
+    final Path dataFile;
+    try (final Database<XmlResourceManager> database = Databases.openXmlDatabase(PATHS.PATH1.getFile())) {
+      database.createResource(new ResourceConfiguration.Builder(XmlTestHelper.RESOURCE).storageType(
+          StorageType.FILE_CHANNEL).byteHandlerPipeline(new ByteHandlePipeline()).build());
+
+      try (final XmlResourceManager manager = database.openResourceManager(XmlTestHelper.RESOURCE);
+          final XmlNodeTrx wtx = manager.beginNodeTrx();
+          final FileInputStream fis = new FileInputStream(XML.toFile())) {
+        new XmlShredder.Builder(wtx, XmlShredder.createFileReader(fis),
+            InsertPosition.AS_FIRST_CHILD).commitAfterwards().build().call();
+        dataFile = manager.getResourceConfig()
+                          .getResource()
+                          .resolve(ResourceConfiguration.ResourcePaths.DATA.getPath())
+                          .resolve("sirix.data");
+      }
+    }
+
+    final ByteBuffer data = ByteBuffer.wrap(Files.readAllBytes(dataFile));
+    data.position(FileReader.FIRST_BEACON);
+    mPages = new ArrayList<>();
+    while (data.remaining() >= FileReader.OTHER_BEACON) {
+      final byte[] page = new byte[data.getInt()];
+      data.get(page);
+      mPages.add(page);
+    }
+
+    mSnappyPages = compress(new SnappyCompressor());
+    mSnappyBlockPages = compress(mSnappyBlockCompressor);
+    mDeflatePages = compress(new DeflateCompressor());
+    mZstdPages = compress(mZstdCompressor);
+  }
+
+  private List<byte[]> compress(final ByteHandler byteHandler) {
+    final List<byte[]> compressedPages = new ArrayList<>(mPages.size());
+    long size = 0;
+    long compressedSize = 0;
+    for (final byte[] page : mPages) {
+      final ByteBuffer compressed = byteHandler.serialize(ByteBuffer.wrap(page));
+      final byte[] compressedPage = new byte[compressed.remaining()];
+      compressed.get(compressedPage);
+      compressedPages.add(compressedPage);
+      size += page.length;
+      compressedSize += compressedPage.length;
+    }
+    System.out.printf("%s: %d pages, %d bytes, ratio %.2f%n", byteHandler.getClass().getSimpleName(),
+        mPages.size(), size, (double) size / compressedSize);
+    return compressedPages;
+  }
+
+  @AfterBenchClass
+  public void tearDown() {
+    XmlTestHelper.deleteEverything();
+  }
+
+  private static long decompressStreams(final ByteHandler byteHandler, final List<byte[]> pages) {
+    long length = 0;
+    try {
+      for (final byte[] page : pages) {
+        try (final InputStream in = byteHandler.deserialize(new ByteArrayInputStream(page))) {
+          length += ByteStreams.toByteArray(in).length;
+        }
+      }
+    } catch (final IOException e) {
+      throw new UncheckedIOException(e);
+    }
+    return length;
+  }
+
+  private static long decompressBlocks(final ByteHandler byteHandler, final List<byte[]> pages) {
+    long length = 0;
+    for (final byte[] page : pages) {
+      length += byteHandler.deserialize(ByteBuffer.wrap(page)).remaining();
+    }
+    return length;
+  }
+
+  @Bench
+  public void snappyStream() {
+    decompressStreams(new SnappyCompressor(), mSnappyPages);
+  }
+
+  @Bench
+  public void deflateStream() {
+    decompressStreams(new DeflateCompressor(), mDeflatePages);
+  }
+
+  @Bench
+  public void snappyBlock() {
+    decompressBlocks(mSnappyBlockCompressor, mSnappyBlockPages);
+  }
+
+  @Bench
+  public void zstdBlock() {
+    decompressBlocks(mZstdCompressor, mZstdPages);
+  }
+
+  /**
+   * Perfidix settings.
+   */
+  private static final class Config extends AbstractConfig {
+    private static final Set<AbstractMeter> METERS = new HashSet<>();
+
+    static {
+      METERS.add(new TimeMeter(Time.MilliSeconds));
+    }
+
+    Config() {
+      super(20, METERS, new HashSet<AbstractOutput>(), KindOfArrangement.SequentialMethodArrangement, 1.0d);
+    }
+  }
+
+  public static void main(final String[] args) {
+    final Benchmark bench = new Benchmark(new Config());
+    bench.add(ByteHandlerBench.class);
+
+    final BenchmarkResult res = bench.run();
+    new TabularSummaryOutput().visitBenchmark(res);
+  }
+}
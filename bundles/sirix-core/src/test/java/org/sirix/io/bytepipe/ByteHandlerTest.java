@@ -7,6 +7,7 @@ import java.io.ByteArrayOutputStream;
 import java.io.IOException;
 import java.io.InputStream;
 import java.io.OutputStream;
+import java.nio.ByteBuffer;
 import java.nio.file.Path;
 import java.nio.file.Paths;
 import java.util.Arrays;
@@ -72,6 +73,45 @@ public final class ByteHandlerTest {
     }
   }
 
+  /**
+   * Test method for {@link ByteHandler#serialize(ByteBuffer)} and
+   * {@link ByteHandler#deserialize(ByteBuffer)}, also in combination with the stream based methods,
+   * which have to produce the same format.
+   */
+  @Test(dataProvider = "instantiateByteHandler")
+  public void testBlockSerializeAndDeserialize(Class<ByteHandler> clazz, ByteHandler[] handlers)
+      throws SirixIOException, IOException {
+    for (final ByteHandler handler : handlers) {
+      final byte[] bytes = XmlTestHelper.generateRandomBytes(10000);
+
+      final byte[] encoded = toArray(handler.serialize(ByteBuffer.wrap(bytes)));
+      assertFalse(Arrays.equals(bytes, encoded));
+      assertTrue(Arrays.equals(bytes, toArray(handler.deserialize(ByteBuffer.wrap(encoded)))));
+
+      // Block encoded, stream decoded.
+      final ByteArrayOutputStream output = new ByteArrayOutputStream();
+      try (final InputStream handledInput = handler.deserialize(new ByteArrayInputStream(encoded))) {
+        ByteStreams.copy(handledInput, output);
+      }
+      assertTrue(Arrays.equals(bytes, output.toByteArray()));
+
+      // Stream encoded, block decoded.
+      final ByteArrayOutputStream streamOutput = new ByteArrayOutputStream();
+      try (final OutputStream handledOutput = handler.serialize(streamOutput)) {
+        handledOutput.write(bytes);
+      }
+      final ByteBuffer direct = ByteBuffer.allocateDirect(streamOutput.size());
+      direct.put(streamOutput.toByteArray()).flip();
+      assertTrue(Arrays.equals(bytes, toArray(handler.deserialize(direct))));
+    }
+  }
+
+  private static byte[] toArray(final ByteBuffer buffer) {
+    final byte[] bytes = new byte[buffer.remaining()];
+    buffer.get(bytes);
+    return bytes;
+  }
+
   /**
    * Providing different implementations of the {@link ByteHandler} as Dataprovider to the test
    * class.
@@ -89,7 +129,11 @@ public final class ByteHandlerTest {
             new ByteHandlePipeline(new Encryptor(encryptionKeyPath), new DeflateCompressor()),
             new ByteHandlePipeline(new DeflateCompressor(), new Encryptor(encryptionKeyPath)),
             new ByteHandlePipeline(new Encryptor(encryptionKeyPath), new SnappyCompressor()),
-            new ByteHandlePipeline(new SnappyCompressor(), new Encryptor(encryptionKeyPath))}}};
+            new ByteHandlePipeline(new SnappyCompressor(), new Encryptor(encryptionKeyPath)),
+            new SnappyBlockCompressor(), new ZstdCompressor(), new ZstdCompressor(19),
+            new ByteHandlePipeline(new Encryptor(encryptionKeyPath), new ZstdCompressor()),
+            new ByteHandlePipeline(new ZstdCompressor(), new Encryptor(encryptionKeyPath)),
+            new ByteHandlePipeline(new Encryptor(encryptionKeyPath), new SnappyBlockCompressor())}}};
     return returnVal;
   }
 
@@ -0,0 +1,73 @@
+package org.sirix.io.bytepipe;
+
+import static org.junit.Assert.assertEquals;
+import java.io.ByteArrayOutputStream;
+import java.util.List;
+import java.util.function.Supplier;
+import org.junit.After;
+import org.junit.Before;
+import org.junit.Test;
+import org.sirix.XmlTestHelper;
+import org.sirix.XmlTestHelper.PATHS;
+import org.sirix.access.Databases;
+import org.sirix.access.ResourceConfiguration;
+import org.sirix.api.Database;
+import org.sirix.api.xml.XmlNodeTrx;
+import org.sirix.api.xml.XmlResourceManager;
+import org.sirix.io.StorageType;
+import org.sirix.service.xml.serialize.XmlSerializer.XmlSerializerBuilder;
+import org.sirix.settings.Constants;
+import org.sirix.utils.XmlDocumentCreator;
+
+/**
+ * Test the block based compressors on all file based storages.
+ */
+public final class PageCompressionTest {
+
+  private Database<XmlResourceManager> mDatabase;
+
+  @Before
+  public void setUp() {
+    XmlTestHelper.deleteEverything();
+    Databases.createXmlDatabase(PATHS.PATH1.getConfig());
+    mDatabase = Databases.openXmlDatabase(PATHS.PATH1.getFile());
+  }
+
+  @After
+  public void tearDown() {
+    mDatabase.close();
+    XmlTestHelper.deleteEverything();
+  }
+
+  @Test
+  public void testCompressors() throws Exception {
+    final List<Supplier<ByteHandlePipeline>> pipelines =
+        List.of(() -> new ByteHandlePipeline(new ZstdCompressor()),
+            () -> new ByteHandlePipeline(new SnappyBlockCompressor()), ByteHandlePipeline::new);
+
+    for (final StorageType storageType : new StorageType[] {StorageType.FILE, StorageType.FILE_CHANNEL,
+        StorageType.MEMORY_MAPPED}) {
+      for (int i = 0; i < pipelines.size(); i++) {
+        final String resource = storageType.name() + "-" + i;
+        mDatabase.createResource(new ResourceConfiguration.Builder(resource).storageType(storageType)
+                                                                            .byteHandlerPipeline(pipelines.get(i).get())
+                                                                            .build());
+
+        try (final XmlResourceManager manager = mDatabase.openResourceManager(resource);
+            final XmlNodeTrx wtx = manager.beginNodeTrx()) {
+          XmlDocumentCreator.createVersioned(wtx);
+        }
+
+        // Reopen, such that the pages are read from the storage.
+        mDatabase.close();
+        mDatabase = Databases.openXmlDatabase(PATHS.PATH1.getFile());
+
+        try (final XmlResourceManager manager = mDatabase.openResourceManager(resource);
+            final ByteArrayOutputStream out = new ByteArrayOutputStream()) {
+          new XmlSerializerBuilder(manager, out, -1).emitXMLDeclaration().serializeTimestamp(false).build().call();
+          assertEquals(XmlDocumentCreator.VERSIONEDXML, out.toString(Constants.DEFAULT_ENCODING.toString()));
+        }
+      }
+    }
+  }
+}
@@ -0,0 +1,120 @@
+package org.sirix.io.bytepipe;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertTrue;
+import java.io.IOException;
+import java.io.StringWriter;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import org.junit.After;
+import org.junit.Before;
+import org.junit.Test;
+import org.sirix.JsonTestHelper;
+import org.sirix.JsonTestHelper.PATHS;
+import org.sirix.access.Databases;
+import org.sirix.access.ResourceConfiguration;
+import org.sirix.api.Database;
+import org.sirix.api.json.JsonNodeTrx;
+import org.sirix.api.json.JsonResourceManager;
+import org.sirix.exception.SirixUsageException;
+import org.sirix.service.json.serialize.JsonSerializer;
+import org.sirix.service.json.shredder.JsonShredder;
+
+/**
+ * Test the {@link ZstdDictionaryTrainer}.
+ */
+public final class ZstdDictionaryTrainerTest {
+
+  /** Number of objects in the stored array. */
+  private static final int OBJECTS = 5_000;
+
+  private Database<JsonResourceManager> mDatabase;
+
+  @Before
+  public void setUp() {
+    JsonTestHelper.deleteEverything();
+    Databases.createJsonDatabase(PATHS.PATH1.getConfig());
+    mDatabase = Databases.openJsonDatabase(PATHS.PATH1.getFile());
+  }
+
+  @After
+  public void tearDown() {
+    mDatabase.close();
+    JsonTestHelper.deleteEverything();
+  }
+
+  @Test
+  public void testTrain() throws IOException {
+    mDatabase.createResource(new ResourceConfiguration.Builder(JsonTestHelper.RESOURCE).byteHandlerPipeline(
+        new ByteHandlePipeline(new ZstdCompressor())).build());
+
+    final StringBuilder json = new StringBuilder("[");
+    for (int i = 0; i < OBJECTS; i++) {
+      json.append(i == 0 ? "" : ",")
+          .append("{\"id\":")
+          .append(i)
+          .append(",\"name\":\"user")
+          .append(i)
+          .append("\",\"active\":true,\"tags\":[\"a\",\"b\"]}");
+    }
+    json.append("]");
+
+    final Path dictionary;
+    try (final JsonResourceManager manager = mDatabase.openResourceManager(JsonTestHelper.RESOURCE)) {
+      try (final JsonNodeTrx wtx = manager.beginNodeTrx()) {
+        wtx.insertSubtreeAsFirstChild(JsonShredder.createStringReader(json.toString()));
+      }
+      dictionary = new ZstdDictionaryTrainer(manager).dictionarySize(16 << 10).train();
+    }
+    assertTrue(Files.exists(dictionary));
+
+    // Reopen, such that the new revision is written with the dictionary.
+    mDatabase.close();
+    mDatabase = Databases.openJsonDatabase(PATHS.PATH1.getFile());
+
+    try (final JsonResourceManager manager = mDatabase.openResourceManager(JsonTestHelper.RESOURCE)) {
+      final ZstdCompressor compressor =
+          (ZstdCompressor) manager.getResourceConfig().byteHandlePipeline.getComponents().get(0);
+      assertEquals(dictionary, compressor.getDictionary());
+
+      // The dictionary is stored by its ID, such that the resource is moved with its dictionary.
+      final String config = Files.readString(
+          manager.getResourceConfig().resourcePath.resolve(ResourceConfiguration.ResourcePaths.CONFIG_BINARY.getPath()));
+      assertTrue(config.contains("\"dictionary\":" + compressor.getDictionaryId()));
+      assertFalse(config.contains(dictionary.toString()));
+
+      try (final JsonNodeTrx wtx = manager.beginNodeTrx()) {
+        wtx.moveToDocumentRoot();
+        wtx.moveToFirstChild();
+        wtx.insertSubtreeAsFirstChild(JsonShredder.createStringReader("{\"id\":-1}"));
+        wtx.commit();
+      }
+    }
+
+    // Reopen, such that the pages of both revisions are read from the storage.
+    mDatabase.close();
+    mDatabase = Databases.openJsonDatabase(PATHS.PATH1.getFile());
+
+    try (final JsonResourceManager manager = mDatabase.openResourceManager(JsonTestHelper.RESOURCE)) {
+      assertEquals(json.toString(), serialize(manager, 1));
+      assertEquals(json.toString().replaceFirst("\\[", "[{\"id\":-1},"), serialize(manager, 2));
+    }
+  }
+
+  @Test(expected = SirixUsageException.class)
+  public void testTrainWithoutZstd() {
+    mDatabase.createResource(new ResourceConfiguration.Builder(JsonTestHelper.RESOURCE).build());
+
+    try (final JsonResourceManager manager = mDatabase.openResourceManager(JsonTestHelper.RESOURCE)) {
+      new ZstdDictionaryTrainer(manager).train();
+    }
+  }
+
+  private static String serialize(final JsonResourceManager manager, final int revision) throws IOException {
+    try (final StringWriter writer = new StringWriter()) {
+      new JsonSerializer.Builder(manager, writer, revision).build().call();
+      return writer.toString().replaceAll("\\s", "");
+    }
+  }
+}
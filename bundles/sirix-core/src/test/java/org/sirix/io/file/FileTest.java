@@ -21,6 +21,9 @@
 
 package org.sirix.io.file;
 
+import static org.junit.Assert.assertEquals;
+import java.util.ArrayList;
+import java.util.List;
 import org.junit.After;
 import org.junit.Before;
 import org.junit.Test;
@@ -28,6 +31,12 @@ import org.sirix.Holder;
 import org.sirix.XmlTestHelper;
 import org.sirix.exception.SirixException;
 import org.sirix.io.IOTestHelper;
+import org.sirix.io.Reader;
+import org.sirix.io.Storage;
+import org.sirix.io.StorageType;
+import org.sirix.io.Writer;
+import org.sirix.page.PageReference;
+import org.sirix.page.UberPage;
 
 public class FileTest {
   private Holder mHolder;
@@ -43,6 +52,44 @@ public class FileTest {
     IOTestHelper.testReadWriteFirstRef(mHolder.getResourceManager().getResourceConfig());
   }
 
+  @Test
+  public void testBufferedWrites() throws SirixException {
+    final Storage storage = StorageType.getStorage(mHolder.getResourceManager().getResourceConfig());
+    final List<PageReference> references = new ArrayList<>();
+
+    // Enough pages to fill the write buffer several times.
+    final Writer writer = storage.createWriter();
+    for (int i = 0; i < 50_000; i++) {
+      final PageReference reference = new PageReference();
+      reference.setPage(new UberPage());
+      writer.write(reference);
+      if (i > 0) {
+        final PageReference previous = references.get(i - 1);
+        assertEquals(previous.getKey() + previous.getLength(), reference.getKey());
+      }
+      references.add(reference);
+    }
+
+    // Reading from the writer must see the buffered pages.
+    assertEquals(new UberPage().getRevisionCount(),
+        ((UberPage) writer.read(references.get(references.size() - 1), null)).getRevisionCount());
+
+    final PageReference uberPageReference = new PageReference();
+    uberPageReference.setPage(new UberPage());
+    writer.writeUberPageReference(uberPageReference);
+    writer.close();
+
+    final Reader reader = storage.createReader();
+    assertEquals(uberPageReference.getKey(), reader.readUberPageReference().getKey());
+    for (final PageReference reference : references) {
+      final PageReference copy = new PageReference().setKey(reference.getKey());
+      reader.read(copy, null);
+      assertEquals(reference.getLength(), copy.getLength());
+    }
+    reader.close();
+    storage.close();
+  }
+
   @After
   public void tearDown() throws SirixException {
     IOTestHelper.clean();
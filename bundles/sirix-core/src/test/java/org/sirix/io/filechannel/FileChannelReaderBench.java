@@ -0,0 +1,180 @@
+package org.sirix.io.filechannel;
+
+import java.util.ArrayList;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Set;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import org.brackit.xquery.atomic.QNm;
+import org.perfidix.AbstractConfig;
+import org.perfidix.Benchmark;
+import org.perfidix.annotation.AfterBenchClass;
+import org.perfidix.annotation.AfterEachRun;
+import org.perfidix.annotation.BeforeBenchClass;
+import org.perfidix.annotation.BeforeEachRun;
+import org.perfidix.annotation.Bench;
+import org.perfidix.element.KindOfArrangement;
+import org.perfidix.meter.AbstractMeter;
+import org.perfidix.meter.Time;
+import org.perfidix.meter.TimeMeter;
+import org.perfidix.ouput.AbstractOutput;
+import org.perfidix.ouput.TabularSummaryOutput;
+import org.perfidix.result.BenchmarkResult;
+import org.sirix.XmlTestHelper;
+import org.sirix.XmlTestHelper.PATHS;
+import org.sirix.access.Databases;
+import org.sirix.access.ResourceConfiguration;
+import org.sirix.api.Database;
+import org.sirix.api.xml.XmlNodeReadOnlyTrx;
+import org.sirix.api.xml.XmlNodeTrx;
+import org.sirix.api.xml.XmlResourceManager;
+import org.sirix.axis.DescendantAxis;
+import org.sirix.io.StorageType;
+
+/**
+ * Benchmarks full document scans of concurrent read-only transactions on one resource, scaling from
+ * one to {@link #MAX_READERS} reader threads. Each run reopens the database, such that the pages are
+ * read from the storage and not from the buffer manager. The {@link StorageType#FILE} backend is
+ * included for comparison.
+ */
+public final class FileChannelReaderBench {
+
+  /** Maximum number of concurrent readers. */
+  private static final int MAX_READERS = 8;
+
+  /** Number of elements in the benchmarked document. */
+  private static final int ELEMENTS = 50_000;
+
+  /** Resource stored with the {@link StorageType#FILE_CHANNEL} backend. */
+  private static final String FILE_CHANNEL_RESOURCE = "filechannel";
+
+  /** Resource stored with the {@link StorageType#FILE} backend. */
+  private static final String FILE_RESOURCE = "file";
+
+  /** The database, reopened before each run. */
+  private Database<XmlResourceManager> mDatabase;
+
+  /** Executes the readers. */
+  private ExecutorService mPool;
+
+  @BeforeBenchClass
+  public void createResources() {
+    XmlTestHelper.deleteEverything();
+    Databases.createXmlDatabase(PATHS.PATH1.getConfig());
+
+    try (final Database<XmlResourceManager> database = Databases.openXmlDatabase(PATHS.PATH1.getFile())) {
+      createResource(database, FILE_CHANNEL_RESOURCE, StorageType.FILE_CHANNEL);
+      createResource(database, FILE_RESOURCE, StorageType.FILE);
+    }
+
+    mPool = Executors.newFixedThreadPool(MAX_READERS);
+  }
+
+  private static void createResource(final Database<XmlResourceManager> database, final String resource,
+      final StorageType storageType) {
+    database.createResource(new ResourceConfiguration.Builder(resource).storageType(storageType).build());
+
+    try (final XmlResourceManager manager = database.openResourceManager(resource);
+        final XmlNodeTrx wtx = manager.beginNodeTrx()) {
+      wtx.insertElementAsFirstChild(new QNm("root"));
+      wtx.insertElementAsFirstChild(new QNm("e"));
+      for (int i = 1; i < ELEMENTS; i++) {
+        wtx.insertElementAsRightSibling(new QNm("e"));
+        wtx.insertTextAsFirstChild(String.valueOf(i));
+        wtx.moveToParent();
+      }
+      wtx.commit();
+    }
+  }
+
+  @BeforeEachRun
+  public void openDatabase() {
+    mDatabase = Databases.openXmlDatabase(PATHS.PATH1.getFile());
+  }
+
+  @AfterEachRun
+  public void closeDatabase() {
+    mDatabase.close();
+  }
+
+  @AfterBenchClass
+  public void tearDown() {
+    mPool.shutdownNow();
+    XmlTestHelper.deleteEverything();
+  }
+
+  private void scan(final String resource, final int readers) throws Exception {
+    try (final XmlResourceManager manager = mDatabase.openResourceManager(resource)) {
+      final List<Future<Long>> results = new ArrayList<>(readers);
+      for (int i = 0; i < readers; i++) {
+        results.add(mPool.submit(() -> {
+          try (final XmlNodeReadOnlyTrx rtx = manager.beginNodeReadOnlyTrx()) {
+            long nodes = 0;
+            for (final var axis = new DescendantAxis(rtx); axis.hasNext(); axis.next()) {
+              nodes++;
+            }
+            return nodes;
+          }
+        }));
+      }
+      for (final Future<Long> result : results) {
+        result.get();
+      }
+    }
+  }
+
+  @Bench
+  public void fileChannel1Reader() throws Exception {
+    scan(FILE_CHANNEL_RESOURCE, 1);
+  }
+
+  @Bench
+  public void fileChannel2Readers() throws Exception {
+    scan(FILE_CHANNEL_RESOURCE, 2);
+  }
+
+  @Bench
+  public void fileChannel4Readers() throws Exception {
+    scan(FILE_CHANNEL_RESOURCE, 4);
+  }
+
+  @Bench
+  public void fileChannel8Readers() throws Exception {
+    scan(FILE_CHANNEL_RESOURCE, MAX_READERS);
+  }
+
+  @Bench
+  public void file1Reader() throws Exception {
+    scan(FILE_RESOURCE, 1);
+  }
+
+  @Bench
+  public void file8Readers() throws Exception {
+    scan(FILE_RESOURCE, MAX_READERS);
+  }
+
+  /**
+   * Perfidix settings.
+   */
+  private static final class Config extends AbstractConfig {
+    private static final Set<AbstractMeter> METERS = new HashSet<>();
+
+    static {
+      METERS.add(new TimeMeter(Time.MilliSeconds));
+    }
+
+    Config() {
+      super(20, METERS, new HashSet<AbstractOutput>(), KindOfArrangement.SequentialMethodArrangement, 1.0d);
+    }
+  }
+
+  public static void main(final String[] args) {
+    final Benchmark bench = new Benchmark(new Config());
+    bench.add(FileChannelReaderBench.class);
+
+    final BenchmarkResult res = bench.run();
+    new TabularSummaryOutput().visitBenchmark(res);
+  }
+}
@@ -0,0 +1,166 @@
+package org.sirix.metrics;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertTrue;
+import java.lang.management.ManagementFactory;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicLong;
+import javax.management.ObjectName;
+import org.junit.After;
+import org.junit.Before;
+import org.junit.Test;
+import org.sirix.XmlTestHelper;
+import org.sirix.XmlTestHelper.PATHS;
+import org.sirix.access.Databases;
+import org.sirix.access.ResourceConfiguration;
+import org.sirix.api.Database;
+import org.sirix.api.xml.XmlNodeReadOnlyTrx;
+import org.sirix.api.xml.XmlNodeTrx;
+import org.sirix.api.xml.XmlResourceManager;
+import org.sirix.axis.DescendantAxis;
+import org.sirix.cache.BufferManager;
+import org.sirix.cache.BufferManagerImpl;
+import org.sirix.cache.BufferPool;
+import org.sirix.page.IndirectPage;
+import org.sirix.utils.XmlDocumentCreator;
+
+/**
+ * Test the {@link SirixMetrics} registry.
+ */
+public final class SirixMetricsTest {
+
+  /** Counts the events it's notified about. */
+  private static final class CountingListener implements SirixMetricsListener {
+    final AtomicInteger mCacheMisses = new AtomicInteger();
+
+    final AtomicInteger mCacheEvictions = new AtomicInteger();
+
+    final AtomicInteger mPageReads = new AtomicInteger();
+
+    final AtomicLong mPageReadBytes = new AtomicLong();
+
+    final AtomicInteger mSnapshots = new AtomicInteger();
+
+    final AtomicInteger mCommits = new AtomicInteger();
+
+    @Override
+    public void onCacheMiss(final CacheKind cacheKind) {
+      mCacheMisses.incrementAndGet();
+    }
+
+    @Override
+    public void onCacheEviction(final CacheKind cacheKind) {
+      if (cacheKind == CacheKind.PAGE)
+        mCacheEvictions.incrementAndGet();
+    }
+
+    @Override
+    public void onPageRead(final int bytes, final long nanos) {
+      mPageReads.incrementAndGet();
+      mPageReadBytes.addAndGet(bytes);
+    }
+
+    @Override
+    public void onSnapshotPages(final int fragments) {
+      assertTrue(fragments > 0);
+      mSnapshots.incrementAndGet();
+    }
+
+    @Override
+    public void onCommit(final long nanos) {
+      mCommits.incrementAndGet();
+    }
+  }
+
+  private final CountingListener mListener = new CountingListener();
+
+  @Before
+  public void setUp() {
+    XmlTestHelper.deleteEverything();
+    SirixMetrics.getInstance().addListener(mListener);
+  }
+
+  @After
+  public void tearDown() {
+    SirixMetrics.getInstance().removeListener(mListener);
+    XmlTestHelper.deleteEverything();
+  }
+
+  @Test
+  public void testHistogram() {
+    final Histogram histogram = new Histogram();
+    assertEquals(0, histogram.getPercentile(99));
+
+    for (final long value : new long[] {0, 1, 2, 3, 1000}) {
+      histogram.record(value);
+    }
+
+    assertEquals(5, histogram.getCount());
+    assertEquals(1006, histogram.getSum());
+    assertEquals(1000, histogram.getMax());
+    assertEquals(0, histogram.getPercentile(20));
+    assertEquals(3, histogram.getPercentile(80));
+    assertEquals(1000, histogram.getPercentile(100));
+
+    histogram.reset();
+    assertEquals(0, histogram.getCount());
+  }
+
+  @Test
+  public void testReadsAndCommits() throws Exception {
+    final long commitsBefore = SirixMetrics.getInstance().getCommits();
+    final long pageReadsBefore = SirixMetrics.getInstance().getPageReads();
+
+    Databases.createXmlDatabase(PATHS.PATH1.getConfig());
+    try (final Database<XmlResourceManager> database = Databases.openXmlDatabase(PATHS.PATH1.getFile())) {
+      database.createResource(new ResourceConfiguration.Builder(XmlTestHelper.RESOURCE).build());
+      try (final XmlResourceManager manager = database.openResourceManager(XmlTestHelper.RESOURCE);
+          final XmlNodeTrx wtx = manager.beginNodeTrx()) {
+        XmlDocumentCreator.createVersioned(wtx);
+      }
+    }
+
+    assertTrue(mListener.mCommits.get() >= 3);
+
+    // Reopen, such that the pages are read from the storage.
+    try (final Database<XmlResourceManager> database = Databases.openXmlDatabase(PATHS.PATH1.getFile());
+        final XmlResourceManager manager = database.openResourceManager(XmlTestHelper.RESOURCE);
+        final XmlNodeReadOnlyTrx rtx = manager.beginNodeReadOnlyTrx()) {
+      final var axis = new DescendantAxis(rtx);
+      while (axis.hasNext()) {
+        axis.next();
+      }
+    }
+
+    assertTrue(mListener.mPageReads.get() > 0);
+    assertTrue(mListener.mPageReadBytes.get() > 0);
+    assertTrue(mListener.mSnapshots.get() > 0);
+    assertTrue(mListener.mCacheMisses.get() > 0);
+
+    assertTrue(SirixMetrics.getInstance().getCommits() - commitsBefore >= mListener.mCommits.get());
+    assertTrue(SirixMetrics.getInstance().getPageReads() - pageReadsBefore >= mListener.mPageReads.get());
+
+    final Object commits = ManagementFactory.getPlatformMBeanServer()
+                                           .getAttribute(new ObjectName(SirixMetrics.OBJECT_NAME), "Commits");
+    assertTrue((Long) commits >= mListener.mCommits.get());
+  }
+
+  @Test
+  public void testEvictions() throws InterruptedException {
+    final BufferPool pool = new BufferPool(1L << 12);
+    final BufferManager bufferManager = new BufferManagerImpl(pool);
+
+    for (int i = 0; i < 1_000; i++) {
+      bufferManager.getPageCache().put((long) i, new IndirectPage());
+    }
+    pool.getEstimatedSize();
+
+    // Removal listeners are notified asynchronously.
+    for (int i = 0; i < 100 && mListener.mCacheEvictions.get() == 0; i++) {
+      Thread.sleep(50);
+    }
+
+    assertTrue(mListener.mCacheEvictions.get() > 0);
+    assertTrue(SirixMetrics.getInstance().getCacheEvictions(CacheKind.PAGE) >= mListener.mCacheEvictions.get());
+  }
+}
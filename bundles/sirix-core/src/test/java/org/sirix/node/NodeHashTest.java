@@ -0,0 +1,104 @@
+package org.sirix.node;
+
+import static org.junit.Assert.assertEquals;
+import java.math.BigInteger;
+import java.util.Random;
+import org.junit.Test;
+import com.google.common.hash.Hashing;
+
+/**
+ * Test the {@link NodeHash} arithmetic against {@link BigInteger}s modulo 2^128 - 1.
+ */
+public final class NodeHashTest {
+
+  private static final BigInteger MODULUS = BigInteger.ONE.shiftLeft(128).subtract(BigInteger.ONE);
+
+  @Test
+  public void testArithmetic() {
+    final Random random = new Random(42);
+    for (int i = 0; i < 1000; i++) {
+      final NodeHash first = new NodeHash(random.nextLong(), random.nextLong());
+      final NodeHash second = new NodeHash(random.nextLong(), random.nextLong());
+      final long factor = random.nextLong();
+
+      assertEquals(toBigInteger(first).add(toBigInteger(second)).mod(MODULUS), toBigInteger(first.add(second)));
+      assertEquals(toBigInteger(first).subtract(toBigInteger(second)).mod(MODULUS),
+          toBigInteger(first.subtract(second)));
+      assertEquals(toBigInteger(first).multiply(toBigInteger(second)).mod(MODULUS),
+          toBigInteger(first.multiply(second)));
+      assertEquals(toBigInteger(first).multiply(toBigInteger(new NodeHash(0L, factor))).mod(MODULUS),
+          toBigInteger(first.multiply(factor)));
+      assertEquals(first, first.add(second).subtract(second));
+    }
+  }
+
+  @Test
+  public void testArithmeticWithCarries() {
+    final NodeHash max = new NodeHash(-1L, -2L);
+    final BigInteger maxValue = MODULUS.subtract(BigInteger.ONE);
+
+    assertEquals(maxValue.add(maxValue).mod(MODULUS), max.add(max).toBigInteger());
+    assertEquals(maxValue.multiply(maxValue).mod(MODULUS), max.multiply(max).toBigInteger());
+    assertEquals(maxValue.multiply(BigInteger.valueOf(31)).mod(MODULUS), max.multiply(31).toBigInteger());
+    assertEquals(NodeHash.ZERO, max.add(NodeHash.ONE));
+    assertEquals(NodeHash.ZERO, new NodeHash(-1L, -1L));
+    assertEquals(max, NodeHash.ZERO.subtract(NodeHash.ONE));
+  }
+
+  @Test
+  public void testArithmeticInPlace() {
+    final Random random = new Random(42);
+    for (int i = 0; i < 1000; i++) {
+      final NodeHash first = new NodeHash(random.nextLong(), random.nextLong());
+      final NodeHash second = new NodeHash(random.nextLong(), random.nextLong());
+      final long factor = random.nextLong();
+
+      assertEquals(first.add(second),
+          new NodeHash(NodeHash.addHigh(first.getHigh(), first.getLow(), second.getHigh(), second.getLow()),
+              NodeHash.addLow(first.getHigh(), first.getLow(), second.getHigh(), second.getLow())));
+      assertEquals(first.multiply(factor), new NodeHash(NodeHash.multiplyHigh(first.getHigh(), first.getLow(), factor),
+          NodeHash.multiplyLow(first.getHigh(), first.getLow(), factor)));
+    }
+    assertEquals(0L, NodeHash.addHigh(-1L, -2L, 0L, 1L));
+    assertEquals(0L, NodeHash.addLow(-1L, -2L, 0L, 1L));
+  }
+
+  @Test
+  public void testFromHashCode() {
+    final byte[] bytes = Hashing.sha256().hashLong(42L).asBytes();
+    final NodeHash hash = NodeHash.fromHashCode(Hashing.sha256().hashLong(42L));
+
+    assertEquals(new BigInteger(1, bytes).mod(MODULUS), toBigInteger(hash));
+
+    final byte[] shortBytes = Hashing.farmHashFingerprint64().hashLong(42L).asBytes();
+    assertEquals(new BigInteger(1, shortBytes),
+        toBigInteger(NodeHash.fromHashCode(Hashing.farmHashFingerprint64().hashLong(42L))));
+  }
+
+  @Test
+  public void testFromAndToBigInteger() {
+    final BigInteger value = new BigInteger("280438337237477976198240641790855205125");
+
+    assertEquals(value, NodeHash.fromBigInteger(value).toBigInteger());
+    assertEquals(BigInteger.ONE, NodeHash.fromBigInteger(MODULUS.add(BigInteger.ONE)).toBigInteger());
+  }
+
+  @Test
+  public void testToAndFromString() {
+    final NodeHash hash = new NodeHash(-1L, 42L);
+
+    assertEquals("ffffffffffffffff000000000000002a", hash.toString());
+    assertEquals(hash, NodeHash.fromString(hash.toString()));
+    assertEquals(new NodeHash(0L, 42L), NodeHash.fromString("2a"));
+  }
+
+  @Test(expected = IllegalArgumentException.class)
+  public void testFromStringWithTooManyDigits() {
+    NodeHash.fromString("1ffffffffffffffff000000000000002a");
+  }
+
+  private static BigInteger toBigInteger(final NodeHash hash) {
+    return new BigInteger(Long.toUnsignedString(hash.getHigh())).shiftLeft(64)
+                                                                 .or(new BigInteger(Long.toUnsignedString(hash.getLow())));
+  }
+}
@@ -34,6 +34,7 @@ import org.sirix.Holder;
 import org.sirix.XmlTestHelper;
 import org.sirix.api.PageTrx;
 import org.sirix.exception.SirixException;
+import org.sirix.node.NodeHash;
 import org.sirix.node.NodeKind;
 import org.sirix.node.SirixDeweyID;
 import org.sirix.node.delegates.NodeDelegate;
@@ -70,7 +71,7 @@ public class JSONArrayNodeTest {
 
   @Test
   public void testNode() throws IOException {
-    final NodeDelegate del = new NodeDelegate(13, 14, Hashing.sha256(), null, 0, SirixDeweyID.newRootID());
+    final NodeDelegate del = new NodeDelegate(13, 14, Hashing.sha256(), NodeHash.ZERO, 0, SirixDeweyID.newRootID());
     final StructNodeDelegate strucDel =
         new StructNodeDelegate(del, Fixed.NULL_NODE_KEY.getStandardProperty(), 16l, 15l, 0l, 0l);
     final ArrayNode node = new ArrayNode(strucDel, 18);
@@ -34,6 +34,7 @@ import org.sirix.Holder;
 import org.sirix.XmlTestHelper;
 import org.sirix.api.PageTrx;
 import org.sirix.exception.SirixException;
+import org.sirix.node.NodeHash;
 import org.sirix.node.NodeKind;
 import org.sirix.node.SirixDeweyID;
 import org.sirix.node.delegates.NodeDelegate;
@@ -76,7 +77,7 @@ public class JSONObjectKeyNodeTest {
     final String name = "foobar";
 
     final long pathNodeKey = 12;
-    final NodeDelegate del = new NodeDelegate(14, 13, Hashing.sha256(), null, 0, SirixDeweyID.newRootID());
+    final NodeDelegate del = new NodeDelegate(14, 13, Hashing.sha256(), NodeHash.ZERO, 0, SirixDeweyID.newRootID());
     final StructNodeDelegate strucDel = new StructNodeDelegate(del, 17L, 16L, 15L, 0L, 0L);
     final ObjectKeyNode node = new ObjectKeyNode(strucDel, mNameKey, name, pathNodeKey);
     node.setHash(node.computeHash());
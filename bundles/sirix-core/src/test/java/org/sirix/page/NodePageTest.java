@@ -22,25 +22,33 @@
 package org.sirix.page;
 
 import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertNull;
+import static org.junit.Assert.assertTrue;
 import java.io.ByteArrayInputStream;
 import java.io.ByteArrayOutputStream;
 import java.io.DataInputStream;
 import java.io.DataOutputStream;
 import java.io.IOException;
 import java.util.ArrayList;
+import java.util.Map;
 import org.brackit.xquery.atomic.QNm;
 import org.junit.After;
 import org.junit.Before;
 import org.junit.Test;
 import org.sirix.Holder;
 import org.sirix.XmlTestHelper;
+import org.sirix.access.ResourceConfiguration;
 import org.sirix.api.PageReadOnlyTrx;
+import org.sirix.api.xml.XmlResourceManager;
 import org.sirix.exception.SirixException;
+import org.sirix.node.NodeHash;
 import org.sirix.node.SirixDeweyID;
 import org.sirix.node.delegates.NameNodeDelegate;
 import org.sirix.node.delegates.NodeDelegate;
 import org.sirix.node.delegates.StructNodeDelegate;
 import org.sirix.node.interfaces.NameNode;
+import org.sirix.node.interfaces.Record;
 import org.sirix.node.xml.ElementNode;
 import org.sirix.settings.Constants;
 import org.sirix.utils.NamePageHash;
@@ -81,7 +89,7 @@ public final class NodePageTest {
         new UnorderedKeyValuePage(0L, PageKind.RECORDPAGE, Constants.NULL_ID_LONG, mPageReadTrx);
     assertEquals(0L, page1.getPageKey());
 
-    final NodeDelegate del = new NodeDelegate(0, 1, Hashing.sha256(), null, 0, SirixDeweyID.newRootID());
+    final NodeDelegate del = new NodeDelegate(0, 1, Hashing.sha256(), NodeHash.ZERO, 0, SirixDeweyID.newRootID());
     final StructNodeDelegate strucDel = new StructNodeDelegate(del, 12l, 4l, 3l, 1l, 0l);
     final NameNodeDelegate nameDel = new NameNodeDelegate(del, 5, 6, 7, 1);
     final ElementNode node1 = new ElementNode(strucDel, nameDel, new ArrayList<>(), HashBiMap.create(),
@@ -120,4 +128,126 @@ public final class NodePageTest {
     assertEquals(7, ((NameNode) page2.getValue(0l)).getLocalNameKey());
     assertEquals(NamePageHash.generateHashForString("xs:untyped"), element.getTypeKey());
   }
+
+  @Test
+  public void testLazyDeserialization() throws IOException {
+    testLazyDeserialization(mPageReadTrx);
+
+    mHolder.getDatabase().createResource(new ResourceConfiguration.Builder("deweyIDs").useDeweyIDs(true).build());
+    try (final XmlResourceManager manager = mHolder.getDatabase().openResourceManager("deweyIDs");
+        final PageReadOnlyTrx pageReadTrx = manager.beginPageReadTrx()) {
+      assertTrue(pageReadTrx.getResourceManager().getResourceConfig().areDeweyIDsStored);
+      testLazyDeserialization(pageReadTrx);
+    }
+  }
+
+  private static void testLazyDeserialization(final PageReadOnlyTrx pageReadTrx) throws IOException {
+    final UnorderedKeyValuePage page1 =
+        new UnorderedKeyValuePage(0L, PageKind.RECORDPAGE, Constants.NULL_ID_LONG, pageReadTrx);
+    final SirixDeweyID rootID = SirixDeweyID.newRootID();
+    final SirixDeweyID firstChildID = rootID.getNewChildID();
+    page1.setEntry(0L, createElement(0L, rootID));
+    page1.setEntry(1L, createElement(1L, firstChildID));
+    page1.setEntry(2L, createElement(2L, SirixDeweyID.newBetween(firstChildID, null)));
+
+    final UnorderedKeyValuePage page2 = serializeDeserialize(page1, pageReadTrx);
+    assertEquals(3, page2.size());
+    assertTrue(page2.containsKey(2L));
+    assertFalse(page2.containsKey(3L));
+    assertTrue(page2.toString().contains("serialized record"));
+
+    // Serialize the page again without deserializing its records.
+    final UnorderedKeyValuePage page3 = serializeDeserialize(page2, pageReadTrx);
+    assertEquals(1L, page3.getValue(1L).getNodeKey());
+    if (pageReadTrx.getResourceManager().getResourceConfig().areDeweyIDsStored) {
+      assertEquals(firstChildID, ((ElementNode) page3.getValue(1L)).getDeweyID().get());
+    }
+    assertEquals(12L, ((ElementNode) page3.getValue(2L)).getFirstChildKey());
+    assertNull(page3.getValue(3L));
+
+    // Copy a record, which is not deserialized.
+    final UnorderedKeyValuePage page4 =
+        new UnorderedKeyValuePage(0L, PageKind.RECORDPAGE, Constants.NULL_ID_LONG, pageReadTrx);
+    page4.copyEntry(2L, page2);
+    page4.copyEntry(1L, page3);
+    assertEquals(2, page4.size());
+    assertEquals(page3.getValue(2L).getNodeKey(), page4.getValue(2L).getNodeKey());
+    assertEquals(((ElementNode) page3.getValue(2L)).getDeweyID(), ((ElementNode) page4.getValue(2L)).getDeweyID());
+
+    // All records are deserialized once the entries are requested.
+    assertEquals(3, page2.entrySet().size());
+    for (final Map.Entry<Long, Record> entry : page2.entrySet()) {
+      assertEquals(entry.getKey().longValue(), entry.getValue().getNodeKey());
+    }
+    assertFalse(page2.toString().contains("serialized record"));
+  }
+
+  @Test
+  public void testRecordOffsets() throws IOException {
+    final long recordPageKey = 3;
+    final long firstKey = recordPageKey << Constants.NDP_NODE_COUNT_EXPONENT;
+    final long lastKey = firstKey + Constants.NDP_NODE_COUNT - 1;
+    final UnorderedKeyValuePage page1 =
+        new UnorderedKeyValuePage(recordPageKey, PageKind.RECORDPAGE, Constants.NULL_ID_LONG, mPageReadTrx);
+    page1.setEntry(lastKey, createElement(lastKey, null));
+    page1.setEntry(firstKey, createElement(firstKey, null));
+    page1.setEntry(firstKey, createElement(firstKey, null));
+    final PageReference reference = new PageReference();
+    reference.setKey(42);
+    page1.setPageReference(firstKey + 1, reference);
+    assertEquals(3, page1.size());
+    assertEquals(2, page1.keySet().size());
+    assertTrue(page1.keySet().contains(lastKey));
+    assertFalse(page1.keySet().contains(firstKey + 1));
+    assertTrue(page1.containsKey(firstKey + 1));
+    assertNull(page1.getValue(firstKey + 2));
+    assertNull(page1.getPageReference(firstKey));
+
+    final UnorderedKeyValuePage page2 = serializeDeserialize(page1, mPageReadTrx);
+    assertEquals(recordPageKey, page2.getPageKey());
+    assertEquals(3, page2.size());
+    assertEquals(42, page2.getPageReference(firstKey + 1).getKey());
+    assertEquals(lastKey, page2.getValue(lastKey).getNodeKey());
+    assertEquals(page1.entrySet().size(), page2.entrySet().size());
+    for (final Map.Entry<Long, Record> entry : page2.entrySet()) {
+      assertEquals(entry.getKey().longValue(), entry.getValue().getNodeKey());
+      assertEquals(page1.getValue(entry.getKey()).getNodeKey(), entry.getValue().getNodeKey());
+    }
+    assertEquals(1, page2.referenceEntrySet().size());
+    assertEquals(firstKey + 1, page2.referenceEntrySet().iterator().next().getKey().longValue());
+  }
+
+  @Test
+  public void testSerializeRecordModifiedAfterSerialization() throws IOException {
+    final UnorderedKeyValuePage page1 =
+        new UnorderedKeyValuePage(0L, PageKind.RECORDPAGE, Constants.NULL_ID_LONG, mPageReadTrx);
+    page1.setEntry(1L, createElement(1L, null));
+    final UnorderedKeyValuePage page2 = serializeDeserialize(page1, mPageReadTrx);
+    serializeDeserialize(page2, mPageReadTrx);
+
+    // The record is deserialized and modified in-place once the page has been serialized.
+    ((ElementNode) page2.getValue(1L)).setFirstChildKey(42L);
+
+    final UnorderedKeyValuePage page3 = serializeDeserialize(page2, mPageReadTrx);
+    assertEquals(42L, ((ElementNode) page3.getValue(1L)).getFirstChildKey());
+  }
+
+  private static UnorderedKeyValuePage serializeDeserialize(final UnorderedKeyValuePage page,
+      final PageReadOnlyTrx pageReadTrx) throws IOException {
+    final ByteArrayOutputStream out = new ByteArrayOutputStream();
+    final PagePersister pagePersister = new PagePersister();
+    pagePersister.serializePage(new DataOutputStream(out), page, SerializationType.DATA);
+    return (UnorderedKeyValuePage) pagePersister.deserializePage(
+        new DataInputStream(new ByteArrayInputStream(out.toByteArray())), pageReadTrx, SerializationType.DATA);
+  }
+
+  private static ElementNode createElement(final long nodeKey, final SirixDeweyID deweyID) {
+    final NodeDelegate del = new NodeDelegate(nodeKey, 1, Hashing.sha256(), NodeHash.ZERO, 0, deweyID);
+    final StructNodeDelegate strucDel = new StructNodeDelegate(del, 12l, 4l, 3l, 1l, 0l);
+    final NameNodeDelegate nameDel = new NameNodeDelegate(del, 5, 6, 7, 1);
+    final ElementNode node = new ElementNode(strucDel, nameDel, new ArrayList<>(), HashBiMap.create(),
+        new ArrayList<>(), new QNm("a", "b", "c"));
+    node.setHash(node.computeHash());
+    return node;
+  }
 }
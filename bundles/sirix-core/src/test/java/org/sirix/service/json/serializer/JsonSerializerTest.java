@@ -4,12 +4,16 @@ import static org.junit.Assert.assertEquals;
 import java.io.IOException;
 import java.io.StringWriter;
 import java.io.Writer;
+import java.util.HashMap;
+import java.util.Map;
+import java.util.function.UnaryOperator;
 import org.junit.After;
 import org.junit.Before;
 import org.junit.Test;
 import org.sirix.JsonTestHelper;
 import org.sirix.JsonTestHelper.PATHS;
 import org.sirix.access.trx.node.json.objectvalue.StringValue;
+import org.sirix.api.json.JsonResourceManager;
 import org.sirix.exception.SirixException;
 import org.sirix.service.json.serialize.JsonSerializer;
 import org.sirix.utils.JsonDocumentCreator;
@@ -60,4 +64,108 @@ public final class JsonSerializerTest {
       assertEquals(mJson, writer.toString());
     }
   }
+
+  @Test
+  public void testMaxLevel() throws IOException {
+    JsonTestHelper.createTestDocument();
+
+    final var database = JsonTestHelper.getDatabase(PATHS.PATH1.getFile());
+    try (final var manager = database.openResourceManager(JsonTestHelper.RESOURCE)) {
+      assertEquals("{}", serialize(manager, builder -> builder.maxLevel(0)));
+      assertEquals("{\"foo\":[],\"bar\":{},\"baz\":\"hello\",\"tada\":[]}",
+          serialize(manager, builder -> builder.maxLevel(1)));
+      assertEquals("{\"foo\":[\"bar\",null,2.33],\"bar\":{\"hello\":\"world\",\"helloo\":true},\"baz\":\"hello\","
+          + "\"tada\":[{},{},\"boo\",{},[]]}", serialize(manager, builder -> builder.maxLevel(2)));
+    }
+  }
+
+  @Test
+  public void testMaxChildrenAndChildOffset() throws IOException {
+    JsonTestHelper.createTestDocument();
+
+    final var database = JsonTestHelper.getDatabase(PATHS.PATH1.getFile());
+    try (final var manager = database.openResourceManager(JsonTestHelper.RESOURCE)) {
+      final Map<Long, Long> continuations = new HashMap<>();
+      assertEquals("{\"foo\":[\"bar\",null],\"bar\":{\"hello\":\"world\",\"helloo\":true}}",
+          serialize(manager, builder -> builder.maxChildren(2), continuations));
+
+      final long objectKey;
+      final long fooArrayKey;
+      try (final var rtx = manager.beginNodeReadOnlyTrx()) {
+        objectKey = rtx.moveToFirstChild().trx().getNodeKey();
+        fooArrayKey = rtx.moveToFirstChild().trx().moveToFirstChild().trx().getNodeKey();
+      }
+      assertEquals(Map.of(objectKey, 2L, fooArrayKey, 2L), continuations);
+
+      // Resume with the next children of the object.
+      continuations.clear();
+      assertEquals("{\"baz\":\"hello\",\"tada\":[{\"foo\":\"bar\"},{\"baz\":false}]}",
+          serialize(manager, builder -> builder.startNodeKey(objectKey).childOffset(2).maxChildren(2), continuations));
+      assertEquals(1, continuations.size());
+
+      final Map.Entry<Long, Long> tadaArrayContinuation = continuations.entrySet().iterator().next();
+      assertEquals(2L, (long) tadaArrayContinuation.getValue());
+      assertEquals("[\"boo\",{},[]]", serialize(manager,
+          builder -> builder.startNodeKey(tadaArrayContinuation.getKey()).childOffset(tadaArrayContinuation.getValue())));
+
+      assertEquals("[null,2.33]", serialize(manager, builder -> builder.startNodeKey(fooArrayKey).childOffset(1)));
+      assertEquals("{}", serialize(manager, builder -> builder.childOffset(4)));
+    }
+  }
+
+  @Test
+  public void testUnboundedLimits() throws IOException {
+    JsonTestHelper.createTestDocument();
+
+    final var database = JsonTestHelper.getDatabase(PATHS.PATH1.getFile());
+    try (final var manager = database.openResourceManager(JsonTestHelper.RESOURCE)) {
+      final Map<Long, Long> continuations = new HashMap<>();
+      assertEquals(JsonDocumentCreator.JSON,
+          serialize(manager, builder -> builder.maxLevel(100).maxChildren(100), continuations));
+      assertEquals(Map.of(), continuations);
+    }
+  }
+
+  @Test
+  public void testRevisionsConcurrently() throws IOException {
+    JsonTestHelper.createTestDocument();
+
+    final var database = JsonTestHelper.getDatabase(PATHS.PATH1.getFile());
+    try (final var manager = database.openResourceManager(JsonTestHelper.RESOURCE)) {
+      try (final var wtx = manager.beginNodeTrx()) {
+        for (int i = 0; i < 6; i++) {
+          wtx.moveToDocumentRoot().trx().moveToFirstChild();
+          wtx.insertObjectRecordAsFirstChild("tadaaa" + i, new StringValue("todooo"));
+          wtx.commit();
+        }
+      }
+
+      assertEquals(serialize(manager, builder -> builder.revisions(new int[] {1, 3, 4, 7})),
+          serialize(manager, builder -> builder.revisions(new int[] {1, 3, 4, 7}).revisionThreads(3)));
+      assertEquals(serialize(manager, builder -> builder.revisions(new int[] {-1}).prettyPrint()),
+          serialize(manager, builder -> builder.revisions(new int[] {-1}).prettyPrint().revisionThreads(2)));
+
+      final Map<Long, Long> continuations = new HashMap<>();
+      final Map<Long, Long> concurrentContinuations = new HashMap<>();
+      assertEquals(serialize(manager, builder -> builder.revisions(new int[] {2, 5}).maxChildren(1), continuations),
+          serialize(manager, builder -> builder.revisions(new int[] {2, 5}).maxChildren(1).revisionThreads(2),
+              concurrentContinuations));
+      assertEquals(continuations, concurrentContinuations);
+      assertEquals(Map.of(1L, 1L), concurrentContinuations);
+    }
+  }
+
+  private static String serialize(final JsonResourceManager manager,
+      final UnaryOperator<JsonSerializer.Builder> options) {
+    return serialize(manager, options, new HashMap<>());
+  }
+
+  private static String serialize(final JsonResourceManager manager,
+      final UnaryOperator<JsonSerializer.Builder> options, final Map<Long, Long> continuations) {
+    final var writer = new StringWriter();
+    final JsonSerializer serializer = options.apply(JsonSerializer.newBuilder(manager, writer)).build();
+    serializer.call();
+    continuations.putAll(serializer.getContinuations());
+    return writer.toString();
+  }
 }
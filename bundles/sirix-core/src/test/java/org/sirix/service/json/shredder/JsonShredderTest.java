@@ -1,11 +1,16 @@
 package org.sirix.service.json.shredder;
 
 import static org.junit.Assert.assertEquals;
+import java.io.ByteArrayInputStream;
 import java.io.IOException;
 import java.io.StringWriter;
 import java.io.Writer;
+import java.math.BigDecimal;
+import java.math.BigInteger;
+import java.nio.charset.StandardCharsets;
 import java.nio.file.Path;
 import java.nio.file.Paths;
+import java.util.List;
 import org.junit.After;
 import org.junit.Before;
 import org.junit.Test;
@@ -82,6 +87,28 @@ public final class JsonShredderTest {
     }
   }
 
+  @Test
+  public void testNumbersFromInputStream() throws IOException {
+    final var json = "[1, -2147483649, 9223372036854775807, 9223372036854775808, 1.50, 1e5, -2.5E-3]";
+    final var database = JsonTestHelper.getDatabase(PATHS.PATH1.getFile());
+    try (final var manager = database.openResourceManager(JsonTestHelper.RESOURCE);
+        final var trx = manager.beginNodeTrx();
+        final var inputStream = new ByteArrayInputStream(json.getBytes(StandardCharsets.UTF_8))) {
+      new JsonShredder.Builder(trx, JsonShredder.createInputStreamReader(inputStream),
+          InsertPosition.AS_FIRST_CHILD).commitAfterwards().build().call();
+
+      final var expected = List.of(1, -2147483649L, Long.MAX_VALUE, new BigInteger("9223372036854775808"),
+          new BigDecimal("1.50"), 1e5, -2.5E-3);
+      trx.moveToDocumentRoot();
+      trx.moveToFirstChild();
+      trx.moveToFirstChild();
+      for (final Number number : expected) {
+        assertEquals(number, trx.getNumberValue());
+        trx.moveToRightSibling();
+      }
+    }
+  }
+
   // @Test
   // public void testTwitter() throws IOException {
   // final var database = JsonTestHelper.getDatabase(PATHS.PATH1.getFile());
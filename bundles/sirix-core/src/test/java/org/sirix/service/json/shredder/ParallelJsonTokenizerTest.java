@@ -0,0 +1,102 @@
+package org.sirix.service.json.shredder;
+
+import static org.junit.Assert.assertEquals;
+import java.io.ByteArrayInputStream;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.StringWriter;
+import java.nio.charset.StandardCharsets;
+import org.junit.After;
+import org.junit.Before;
+import org.junit.Test;
+import org.sirix.JsonTestHelper;
+import org.sirix.JsonTestHelper.PATHS;
+import org.sirix.access.ResourceConfiguration;
+import org.sirix.api.Database;
+import org.sirix.api.json.JsonResourceManager;
+import org.sirix.exception.SirixIOException;
+import org.sirix.exception.SirixUsageException;
+import org.sirix.service.json.serialize.JsonSerializer;
+import org.sirix.service.xml.shredder.InsertPosition;
+import com.google.gson.stream.JsonReader;
+
+/**
+ * Test the {@link ParallelJsonTokenizer}.
+ */
+public final class ParallelJsonTokenizerTest {
+
+  private Database<JsonResourceManager> mDatabase;
+
+  @Before
+  public void setUp() {
+    JsonTestHelper.deleteEverything();
+    mDatabase = JsonTestHelper.getDatabase(PATHS.PATH1.getFile());
+  }
+
+  @After
+  public void tearDown() {
+    JsonTestHelper.closeEverything();
+  }
+
+  @Test
+  public void testShredInChunks() throws IOException {
+    final StringBuilder json = new StringBuilder(" [");
+    for (int i = 0; i < 500; i++) {
+      json.append(i == 0 ? "" : ", ")
+          .append("{\"id\": ")
+          .append(i)
+          .append(", \"text\": \"a, [b] {c} \\\"d\\\" \\\\ é\", \"values\": [")
+          .append(i * 0.5)
+          .append(", true, null, {\"nested\": []}]}");
+      if (i % 7 == 0) {
+        json.append(", [\"x\", -1e3], \"y\", 42");
+      }
+    }
+    json.append("]\n");
+
+    final String expected = shred("sequential", JsonShredder.createStringReader(json.toString()));
+
+    assertEquals(expected, shred("parallel", new ParallelJsonTokenizer(toStream(json.toString()), 4, 64)));
+    assertEquals(expected, shred("single-chunk", new ParallelJsonTokenizer(toStream(json.toString()), 2, 1 << 20)));
+  }
+
+  @Test
+  public void testEmptyArray() throws IOException {
+    assertEquals("[]", shred("empty", new ParallelJsonTokenizer(toStream("[ ]"), 2, 64)));
+  }
+
+  @Test(expected = SirixUsageException.class)
+  public void testNoArray() throws IOException {
+    new ParallelJsonTokenizer(toStream("{\"foo\": []}"), 2, 64);
+  }
+
+  @Test(expected = SirixIOException.class)
+  public void testInvalidElement() throws IOException {
+    mDatabase.createResource(new ResourceConfiguration.Builder("invalid").build());
+    try (final var manager = mDatabase.openResourceManager("invalid");
+        final var wtx = manager.beginNodeTrx();
+        final var reader = new ParallelJsonTokenizer(toStream("[1, 2, {\"foo\" 3}, 4]"), 2, 1)) {
+      try {
+        new JsonShredder.Builder(wtx, reader, InsertPosition.AS_FIRST_CHILD).build().call();
+      } finally {
+        wtx.rollback();
+      }
+    }
+  }
+
+  private String shred(final String resource, final JsonReader reader) throws IOException {
+    mDatabase.createResource(new ResourceConfiguration.Builder(resource).build());
+    try (final var manager = mDatabase.openResourceManager(resource);
+        final var wtx = manager.beginNodeTrx();
+        final var writer = new StringWriter()) {
+      new JsonShredder.Builder(wtx, reader, InsertPosition.AS_FIRST_CHILD).commitAfterwards().build().call();
+      reader.close();
+      new JsonSerializer.Builder(manager, writer).build().call();
+      return writer.toString();
+    }
+  }
+
+  private static InputStream toStream(final String json) {
+    return new ByteArrayInputStream(json.getBytes(StandardCharsets.UTF_8));
+  }
+}
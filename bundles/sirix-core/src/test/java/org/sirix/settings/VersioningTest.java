@@ -33,10 +33,14 @@ import org.sirix.access.Databases;
 import org.sirix.access.ResourceConfiguration;
 import org.sirix.access.trx.node.HashType;
 import org.sirix.api.Database;
+import org.sirix.api.PageReadOnlyTrx;
 import org.sirix.api.xml.XmlResourceManager;
 import org.sirix.api.xml.XmlNodeReadOnlyTrx;
 import org.sirix.api.xml.XmlNodeTrx;
 import org.sirix.exception.SirixException;
+import org.sirix.io.StorageType;
+import org.sirix.page.PageKind;
+import org.sirix.page.interfaces.KeyValuePage;
 
 /** Test revisioning. */
 public class VersioningTest {
@@ -166,6 +170,24 @@ public class VersioningTest {
     test2();
   }
 
+  @Test
+  public void testSlidingSnapshotPreviousReferenceKeys() throws SirixException {
+    mDatabase.createResource(
+        new ResourceConfiguration.Builder(XmlTestHelper.RESOURCE).versioningApproach(VersioningType.SLIDING_SNAPSHOT)
+                                                                 .hashKind(HashType.NONE)
+                                                                 .revisionsToRestore(4)
+                                                                 .storageType(StorageType.FILE_CHANNEL)
+                                                                 .build());
+    test2();
+    try (final XmlResourceManager manager = mDatabase.openResourceManager(XmlTestHelper.RESOURCE);
+        final PageReadOnlyTrx pageRtx = manager.beginPageReadTrx()) {
+      final KeyValuePage<?, ?> page =
+          (KeyValuePage<?, ?>) pageRtx.getRecordPageContainer(0L, -1, PageKind.RECORDPAGE).getComplete();
+      // The fragments of the three previous revisions are recorded.
+      assertEquals(3, page.getPreviousReferenceKeys().length);
+    }
+  }
+
   /**
    * Test revisioning.
    *
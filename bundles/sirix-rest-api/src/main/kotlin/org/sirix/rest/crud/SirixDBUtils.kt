@@ -77,7 +77,7 @@ class SirixDBUtils {
                                 buffer.append("\",")
 
                                 buffer.append("\"user\":\"")
-                                buffer.append(revisionTuple.user.name)
+                                buffer.append(revisionTuple.user?.name ?: "")
                                 buffer.append("\",")
 
                                 buffer.append("\"commitMessage\":")
@@ -103,7 +103,7 @@ class SirixDBUtils {
                                 buffer.append("\" ")
 
                                 buffer.append("user=\"")
-                                buffer.append(revisionTuple.user.name)
+                                buffer.append(revisionTuple.user?.name ?: "")
                                 buffer.append("\" ")
 
                                 buffer.append("commitMessage=\"")
@@ -1,13 +1,15 @@
 package org.sirix.rest.crud.json
 
+import com.google.gson.stream.JsonReader
+import io.netty.buffer.ByteBufInputStream
 import io.netty.handler.codec.http.HttpResponseStatus
+import io.vertx.core.buffer.Buffer
 import io.vertx.core.Context
 import io.vertx.core.Future
 import io.vertx.core.http.HttpHeaders
 import io.vertx.ext.web.Route
 import io.vertx.ext.web.RoutingContext
 import io.vertx.kotlin.core.executeBlockingAwait
-import io.vertx.kotlin.core.file.readFileAwait
 import io.vertx.kotlin.coroutines.dispatcher
 import kotlinx.coroutines.CoroutineDispatcher
 import kotlinx.coroutines.withContext
@@ -20,9 +22,9 @@ import org.sirix.rest.crud.SirixDBUtils
 import org.sirix.service.json.serialize.JsonSerializer
 import org.sirix.service.json.shredder.JsonShredder
 import java.io.StringWriter
-import java.nio.charset.StandardCharsets
 import java.nio.file.Files
 import java.nio.file.Path
+import java.nio.file.Paths
 
 class JsonCreate(private val location: Path, private val createMultipleResources: Boolean = false) {
     suspend fun handle(ctx: RoutingContext): Route {
@@ -44,9 +46,9 @@ class JsonCreate(private val location: Path, private val createMultipleResources
             return ctx.currentRoute()
         }
 
-        val resToStore = ctx.bodyAsString
+        val resToStore = ctx.body
 
-        if (databaseName == null || resToStore == null || resToStore.isBlank()) {
+        if (databaseName == null || resToStore == null || resToStore.length() == 0) {
             ctx.fail(IllegalArgumentException("Database name and resource data to store not given."))
         }
 
@@ -75,15 +77,15 @@ class JsonCreate(private val location: Path, private val createMultipleResources
                 val manager = database.openResourceManager(fileName)
 
                 manager.use {
-                    val buffer = ctx.vertx().fileSystem().readFileAwait(fileUpload.uploadedFileName())
-                    insertJsonSubtreeAsFirstChild(manager, buffer.toString(StandardCharsets.UTF_8), context)
+                    val jsonReader = JsonShredder.createFileReader(Paths.get(fileUpload.uploadedFileName()))
+                    insertJsonSubtreeAsFirstChild(manager, jsonReader, context)
                 }
             }
         }
     }
 
     private suspend fun shredder(
-        dbPathName: String, resPathName: String = dbPathName, resFileToStore: String,
+        dbPathName: String, resPathName: String = dbPathName, resFileToStore: Buffer,
         ctx: RoutingContext
     ) {
         val dbFile = location.resolve(dbPathName)
@@ -97,7 +99,7 @@ class JsonCreate(private val location: Path, private val createMultipleResources
     private suspend fun insertResource(
         dbFile: Path?, resPathName: String,
         dispatcher: CoroutineDispatcher,
-        resFileToStore: String,
+        resFileToStore: Buffer,
         context: Context,
         ctx: RoutingContext
     ) {
@@ -111,7 +113,8 @@ class JsonCreate(private val location: Path, private val createMultipleResources
             val manager = database.openResourceManager(resPathName)
 
             manager.use {
-                insertJsonSubtreeAsFirstChild(manager, resFileToStore, context)
+                val jsonReader = JsonShredder.createInputStreamReader(ByteBufInputStream(resFileToStore.byteBuf))
+                insertJsonSubtreeAsFirstChild(manager, jsonReader, context)
                 serializeJson(manager, context, ctx)
             }
         }
@@ -165,13 +168,15 @@ class JsonCreate(private val location: Path, private val createMultipleResources
 
     private suspend fun insertJsonSubtreeAsFirstChild(
         manager: JsonResourceManager,
-        resFileToStore: String,
+        jsonReader: JsonReader,
         context: Context
     ) {
         context.executeBlockingAwait { future: Future<Unit> ->
             val wtx = manager.beginNodeTrx()
             wtx.use {
-                wtx.insertSubtreeAsFirstChild(JsonShredder.createStringReader(resFileToStore))
+                jsonReader.use {
+                    wtx.insertSubtreeAsFirstChild(jsonReader)
+                }
             }
 
             future.complete(null)
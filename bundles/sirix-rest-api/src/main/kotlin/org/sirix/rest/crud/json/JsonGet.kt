@@ -113,6 +113,10 @@ class JsonGet(private val location: Path) {
 
         val nodeId: String? = ctx.queryParam("nodeId").getOrNull(0)
 
+        val maxLevel: String? = ctx.queryParam("max-level").getOrNull(0)
+        val maxChildren: String? = ctx.queryParam("max-children").getOrNull(0)
+        val childOffset: String? = ctx.queryParam("child-offset").getOrNull(0)
+
         val database: Database<JsonResourceManager>
         try {
             database = Databases.openJsonDatabase(location.resolve(dbName))
@@ -151,7 +155,10 @@ class JsonGet(private val location: Path) {
                                     startRevision, endRevision, startRevisionTimestamp,
                                     endRevisionTimestamp, manager, revision, revisionTimestamp
                                 )
-                            serializeResource(manager, revisions, nodeId?.toLongOrNull(), ctx)
+                            serializeResource(
+                                manager, revisions, nodeId?.toLongOrNull(), maxLevel?.toLongOrNull(),
+                                maxChildren?.toLongOrNull(), childOffset?.toLongOrNull(), ctx
+                            )
                         }
                     }
                 }
@@ -284,14 +291,17 @@ class JsonGet(private val location: Path) {
     }
 
     private fun serializeResource(
-        manager: JsonResourceManager, revisions: Array<Int>, nodeId: Long?,
-        ctx: RoutingContext
+        manager: JsonResourceManager, revisions: Array<Int>, nodeId: Long?, maxLevel: Long?,
+        maxChildren: Long?, childOffset: Long?, ctx: RoutingContext
     ) {
         val out = StringWriter()
 
         val serializerBuilder = JsonSerializer.newBuilder(manager, out).revisions(revisions.toIntArray())
 
         nodeId?.let { serializerBuilder.startNodeKey(nodeId) }
+        maxLevel?.let { serializerBuilder.maxLevel(maxLevel) }
+        maxChildren?.let { serializerBuilder.maxChildren(maxChildren) }
+        childOffset?.let { serializerBuilder.childOffset(childOffset) }
 
         val serializer = serializerBuilder.build()
 
@@ -1,6 +1,8 @@
 package org.sirix.rest.crud.json
 
 import com.google.gson.stream.JsonReader
+import io.netty.buffer.ByteBufInputStream
+import io.vertx.core.buffer.Buffer
 import io.vertx.core.Future
 import io.vertx.core.http.HttpHeaders
 import io.vertx.ext.web.Route
@@ -9,11 +11,11 @@ import io.vertx.kotlin.core.executeBlockingAwait
 import org.sirix.access.Databases
 import org.sirix.access.trx.node.HashType
 import org.sirix.api.json.JsonNodeTrx
+import org.sirix.node.NodeHash
 import org.sirix.rest.crud.SirixDBUtils
 import org.sirix.service.json.serialize.JsonSerializer
 import org.sirix.service.json.shredder.JsonShredder
 import java.io.StringWriter
-import java.math.BigInteger
 import java.nio.file.Path
 
 enum class JsonInsertionMode {
@@ -47,7 +49,7 @@ class JsonUpdate(private val location: Path) {
             ctx.fail(IllegalArgumentException("Database name and resource name not given."))
         }
 
-        val body = ctx.bodyAsString
+        val body = ctx.body
 
         update(dbName, resName, nodeId?.toLongOrNull(), insertionMode, body, ctx)
 
@@ -56,7 +58,7 @@ class JsonUpdate(private val location: Path) {
 
     private suspend fun update(
         dbPathName: String, resPathName: String, nodeId: Long?, insertionMode: String?,
-        resFileToStore: String, ctx: RoutingContext
+        resFileToStore: Buffer, ctx: RoutingContext
     ) {
         val vertxContext = ctx.vertx().orCreateContext
 
@@ -83,12 +85,12 @@ class JsonUpdate(private val location: Path) {
                             ctx.fail(IllegalStateException("Hash code is missing in ETag HTTP-Header."))
                         }
 
-                        if (wtx.hash != BigInteger(hashCode)) {
+                        if (wtx.hash != NodeHash.fromString(hashCode)) {
                             ctx.fail(IllegalArgumentException("Someone might have changed the resource in the meantime."))
                         }
                     }
 
-                    val jsonReader = JsonShredder.createStringReader(resFileToStore)
+                    val jsonReader = JsonShredder.createInputStreamReader(ByteBufInputStream(resFileToStore.byteBuf))
 
                     if (insertionMode != null)
                         JsonInsertionMode.getInsertionModeByName(insertionMode).insert(wtx, jsonReader)
@@ -17,9 +17,9 @@ import org.sirix.access.trx.node.HashType
 import org.sirix.api.Database
 import org.sirix.api.xml.XmlNodeTrx
 import org.sirix.api.xml.XmlResourceManager
+import org.sirix.node.NodeHash
 import org.sirix.rest.crud.SirixDBUtils
 import org.sirix.xquery.node.BasicXmlDBStore
-import java.math.BigInteger
 import java.nio.file.Files
 import java.nio.file.Path
 
@@ -120,7 +120,7 @@ class XmlDelete(private val location: Path) {
                             routingContext.fail(IllegalStateException("Hash code is missing in ETag HTTP-Header."))
                         }
 
-                        if (wtx.hash != BigInteger(hashCode)) {
+                        if (wtx.hash != NodeHash.fromString(hashCode)) {
                             routingContext.fail(IllegalArgumentException("Someone might have changed the resource in the meantime."))
                         }
                     }
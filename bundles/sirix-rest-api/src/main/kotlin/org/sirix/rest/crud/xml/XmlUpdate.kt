@@ -8,11 +8,11 @@ import io.vertx.kotlin.core.executeBlockingAwait
 import org.sirix.access.Databases
 import org.sirix.access.trx.node.HashType
 import org.sirix.api.xml.XmlNodeTrx
+import org.sirix.node.NodeHash
 import org.sirix.rest.crud.SirixDBUtils
 import org.sirix.service.xml.serialize.XmlSerializer
 import org.sirix.service.xml.shredder.XmlShredder
 import java.io.ByteArrayOutputStream
-import java.math.BigInteger
 import java.nio.file.Path
 import javax.xml.stream.XMLEventReader
 
@@ -94,7 +94,7 @@ class XmlUpdate(private val location: Path) {
                             ctx.fail(IllegalStateException("Hash code is missing in ETag HTTP-Header."))
                         }
 
-                        if (wtx.hash != BigInteger(hashCode)) {
+                        if (wtx.hash != NodeHash.fromString(hashCode)) {
                             ctx.fail(IllegalArgumentException("Someone might have changed the resource in the meantime."))
                         }
                     }
@@ -40,6 +40,6 @@ public final class GetHash extends AbstractFunction {
   public Sequence execute(StaticContext sctx, QueryContext ctx, Sequence[] args) {
     final StructuredDBItem<?> doc = ((StructuredDBItem<?>) args[0]);
 
-    return new Str(String.valueOf(doc.getTrx().getHash()));
+    return new Str(doc.getTrx().getHash().toBigInteger().toString());
   }
 }